@@ -0,0 +1,58 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.audit.AuditTrail;
+import com.tekion.demo.lead.LeadState;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appending state transitions spread over the given number of leads
+ * The trail is cleared every iteration so its size stays bounded during measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AuditTrailBenchmark {
+
+    @Param({"100", "100000"})
+    int leadCount;
+
+    private AuditTrail auditTrail;
+    private String[] leadIds;
+    private int next;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stdout = BenchmarkData.silenceStdout();
+        auditTrail = new AuditTrail();
+        leadIds = new String[leadCount];
+        for (int i = 0; i < leadCount; i++) {
+            leadIds[i] = "lead-" + i;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTrail() {
+        auditTrail.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        auditTrail.close();
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public void logStateTransition() {
+        String leadId = leadIds[next];
+        next = next + 1 == leadIds.length ? 0 : next + 1;
+        auditTrail.logStateTransition(leadId, LeadState.NEW, LeadState.CONTACTED, "benchmark", "load test");
+    }
+}
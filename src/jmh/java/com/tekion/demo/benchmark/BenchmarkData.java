@@ -0,0 +1,81 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadSource;
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.valueObject.Email;
+import com.tekion.demo.lead.valueObject.PhoneCoordinate;
+import com.tekion.demo.lead.valueObject.VehicleInterest;
+import com.tekion.demo.scoring.ScoringRule;
+import com.tekion.demo.scoring.rules.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Deterministic lead fixtures shared by the JMH benchmarks
+ */
+final class BenchmarkData {
+
+    private static final String[] MAKES = {"Toyota", "Honda", "Ford", "Nissan", "Chevrolet"};
+    private static final String[] MODELS = {"Camry", "Accord", "F-150", "Altima", "Silverado"};
+
+    private BenchmarkData() {
+    }
+
+    static List<ScoringRule> rules() {
+        return List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        );
+    }
+
+    static LeadScoringEngine engine() {
+        return new LeadScoringEngine(rules());
+    }
+
+    /**
+     * Leads with varied sources, vehicles, states and ages so rule branches are all exercised
+     */
+    static Lead[] leads(String dealerId, int count) {
+        ZonedDateTime now = ZonedDateTime.now();
+        Lead[] leads = new Lead[count];
+        for (int i = 0; i < count; i++) {
+            leads[i] = lead(dealerId, i, now);
+        }
+        return leads;
+    }
+
+    static Lead lead(String dealerId, int i, ZonedDateTime now) {
+        return Lead.builder()
+                .leadId(dealerId + "-lead-" + i)
+                .dealerId(dealerId)
+                .tenantId("tenant" + (i % 5))
+                .siteId("site" + (i % 20))
+                .firstName("First" + i)
+                .lastName("Last" + i)
+                .email(new Email("customer" + i + "@example.com"))
+                .phone(new PhoneCoordinate("+1", String.format("555%07d", i % 10_000_000)))
+                .source(LeadSource.values()[i % LeadSource.values().length])
+                .state(LeadState.values()[i % LeadState.values().length])
+                .vehicleInterest(new VehicleInterest(MAKES[i % MAKES.length], MODELS[i % MODELS.length],
+                        2010 + i % 15, (double) (i % 20_000)))
+                .createdAt(now.minusHours(i % 2_000))
+                .updatedAt(now)
+                .build();
+    }
+
+    /**
+     * Silence System.out inside the benchmark fork so console I/O is not what gets measured
+     */
+    static PrintStream silenceStdout() {
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return original;
+    }
+}
@@ -0,0 +1,81 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoringResult;
+import com.tekion.demo.scoring.rules.LeadScoringEngine;
+import com.tekion.demo.service.BulkScoringService;
+import com.tekion.demo.service.execution.BulkExecutionStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * BulkScoringService.scoreBatch under each execution strategy
+ * "per-lead-futures" is the previous implementation, one CompletableFuture per lead on a fixed
+ * pool, and "sequential" is the single-threaded floor; the gap between them is per-lead overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkExecutionBenchmark {
+
+    @Param({"sequential", "per-lead-futures", "fork-join", "parallel-stream", "virtual-threads"})
+    String strategy;
+
+    @Param({"1000", "50000"})
+    int leadCount;
+
+    private LeadScoringEngine engine;
+    private BulkScoringService bulkScoringService;
+    private ExecutorService legacyPool;
+    private List<Lead> leads;
+    private PrintStream stdout;
+
+    @Setup
+    public void setUp() {
+        stdout = BenchmarkData.silenceStdout();
+        engine = BenchmarkData.engine();
+        leads = Arrays.asList(BenchmarkData.leads("dealer001", leadCount));
+        if (strategy.equals("per-lead-futures")) {
+            legacyPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        } else if (!strategy.equals("sequential")) {
+            bulkScoringService = new BulkScoringService(engine, BulkExecutionStrategy.of(strategy, 0));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (bulkScoringService != null) bulkScoringService.shutdown();
+        if (legacyPool != null) legacyPool.shutdown();
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public Map<String, ScoringResult> scoreBatch() {
+        switch (strategy) {
+            case "sequential":
+                return leads.stream().collect(Collectors.toMap(Lead::getLeadId, engine::score));
+            case "per-lead-futures":
+                Map<String, ScoringResult> results = new ConcurrentHashMap<>();
+                CompletableFuture.allOf(leads.stream()
+                        .map(lead -> CompletableFuture.runAsync(
+                                () -> results.put(lead.getLeadId(), engine.score(lead)), legacyPool))
+                        .toArray(CompletableFuture[]::new)).join();
+                return results;
+            default:
+                return bulkScoringService.scoreBatch(leads);
+        }
+    }
+}
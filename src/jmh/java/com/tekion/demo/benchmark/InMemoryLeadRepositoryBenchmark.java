@@ -0,0 +1,74 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.adapter.InMemoryLeadRepository;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository reads and writes against a single dealer of the given size
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InMemoryLeadRepositoryBenchmark {
+
+    private static final String DEALER = "dealer001";
+
+    @Param({"100", "10000", "100000"})
+    int dealerSize;
+
+    private InMemoryLeadRepository repository;
+    private Lead[] leads;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryLeadRepository(BenchmarkData.engine());
+        leads = BenchmarkData.leads(DEALER, dealerSize);
+        for (Lead lead : leads) {
+            repository.save(lead);
+        }
+    }
+
+    /**
+     * Re-saving an existing lead, so the dealer size stays constant across iterations
+     */
+    @Benchmark
+    public Lead save() {
+        return repository.save(nextLead());
+    }
+
+    @Benchmark
+    public Optional<Lead> findByIdAndDealerId() {
+        return repository.findByIdAndDealerId(nextLead().getLeadId(), DEALER);
+    }
+
+    @Benchmark
+    public List<Lead> findByDealerId() {
+        return repository.findByDealerId(DEALER);
+    }
+
+    @Benchmark
+    public List<Lead> findByDealerIdAndStatePage() {
+        return repository.findByDealerIdAndState(DEALER, LeadState.NEW, null, 100);
+    }
+
+    @Benchmark
+    public List<Lead> findTop100ByScore() {
+        return repository.findByDealerIdOrderByScore(DEALER, 100);
+    }
+
+    private Lead nextLead() {
+        Lead lead = leads[next];
+        next = next + 1 == leads.length ? 0 : next + 1;
+        return lead;
+    }
+}
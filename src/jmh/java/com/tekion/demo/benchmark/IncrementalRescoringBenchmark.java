@@ -0,0 +1,77 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadSource;
+import com.tekion.demo.scoring.rules.LeadScoringEngine;
+import com.tekion.demo.scoring.rules.PartialScores;
+import com.tekion.demo.scoring.rules.ScoringSession;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-scoring a whole dealer: every rule from scratch versus reusing cached partial scores
+ * after the clock moved by an hour, or after every lead's source changed
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IncrementalRescoringBenchmark {
+
+    @Param({"10000"})
+    int leadCount;
+
+    private LeadScoringEngine engine;
+    private Lead[] leads;
+    private Lead[] changedSource;
+    private PartialScores[] cached;
+    private Instant anHourLater;
+
+    @Setup
+    public void setUp() {
+        engine = BenchmarkData.engine();
+        leads = new Lead[leadCount];
+        changedSource = new Lead[leadCount];
+        cached = new PartialScores[leadCount];
+
+        ZonedDateTime now = ZonedDateTime.now();
+        ScoringSession session = engine.newSession(now.toInstant());
+        for (int i = 0; i < leadCount; i++) {
+            leads[i] = BenchmarkData.lead("dealer001", i, now);
+            cached[i] = session.evaluate(leads[i]);
+            changedSource[i] = BenchmarkData.lead("dealer001", i, now);
+            changedSource[i].setSource(LeadSource.values()[(i + 1) % LeadSource.values().length]);
+        }
+        anHourLater = now.toInstant().plus(Duration.ofHours(1));
+    }
+
+    @Benchmark
+    public void fullScore(Blackhole blackhole) {
+        for (Lead lead : leads) {
+            blackhole.consume(engine.scoreTotalOnly(lead));
+        }
+    }
+
+    @Benchmark
+    public void rescoreAfterClockTick(Blackhole blackhole) {
+        ScoringSession session = engine.newSession(anHourLater);
+        for (int i = 0; i < leads.length; i++) {
+            blackhole.consume(session.rescore(cached[i], leads[i]).getTotalScore());
+        }
+    }
+
+    @Benchmark
+    public void rescoreAfterSourceChange(Blackhole blackhole) {
+        ScoringSession session = engine.newSession(anHourLater);
+        for (int i = 0; i < leads.length; i++) {
+            blackhole.consume(session.rescore(cached[i], changedSource[i]).getTotalScore());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.adapter.ColumnarLeadRepository;
+import com.tekion.demo.adapter.InMemoryLeadRepository;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadQuery;
+import com.tekion.demo.port.LeadPersistencePort;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One listing page read from the repository and serialized to JSON, as the list endpoints do
+ * "full" returns whole leads, "summary" the LeadSummary projection; "deep" pages start from
+ * a cursor half-way down the dealer instead of the top.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LeadListingBenchmark {
+
+    private static final String DEALER = "dealer001";
+    private static final int DEALER_SIZE = 20_000;
+
+    @Param({"heap", "columnar"})
+    String store;
+
+    @Param({"full", "summary"})
+    String view;
+
+    @Param({"100"})
+    int pageSize;
+
+    private LeadPersistencePort repository;
+    private ObjectMapper objectMapper;
+    private String deepCursor;
+
+    @Setup
+    public void setUp() throws IOException {
+        repository = store.equals("heap")
+                ? new InMemoryLeadRepository(BenchmarkData.engine())
+                : new ColumnarLeadRepository(BenchmarkData.engine(), "");
+        for (Lead lead : BenchmarkData.leads(DEALER, DEALER_SIZE)) {
+            repository.save(lead);
+        }
+        objectMapper = JsonMapper.builder().build();
+
+        String cursor = null;
+        for (int i = 0; i < DEALER_SIZE / 2 / pageSize; i++) {
+            cursor = repository.findPage(LeadQuery.builder().dealerId(DEALER).cursor(cursor).limit(pageSize).build())
+                    .getNextCursor();
+        }
+        deepCursor = cursor;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (repository instanceof ColumnarLeadRepository columnar) {
+            columnar.close();
+        }
+    }
+
+    @Benchmark
+    public byte[] firstPage() {
+        return page(null);
+    }
+
+    @Benchmark
+    public byte[] deepPage() {
+        return page(deepCursor);
+    }
+
+    private byte[] page(String cursor) {
+        LeadQuery query = LeadQuery.builder().dealerId(DEALER).cursor(cursor).limit(pageSize).build();
+        return objectMapper.writeValueAsBytes(view.equals("summary")
+                ? repository.findSummaryPage(query)
+                : repository.findPage(query));
+    }
+}
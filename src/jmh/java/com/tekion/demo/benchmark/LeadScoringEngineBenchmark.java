@@ -0,0 +1,49 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoringResult;
+import com.tekion.demo.scoring.rules.LeadScoringEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full scoring with breakdown versus the total-only path used by the repositories
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LeadScoringEngineBenchmark {
+
+    @Param({"1024"})
+    int leadCount;
+
+    private LeadScoringEngine engine;
+    private Lead[] leads;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        engine = BenchmarkData.engine();
+        leads = BenchmarkData.leads("dealer001", leadCount);
+    }
+
+    @Benchmark
+    public ScoringResult score() {
+        return engine.score(nextLead());
+    }
+
+    @Benchmark
+    public double scoreTotalOnly() {
+        return engine.scoreTotalOnly(nextLead());
+    }
+
+    private Lead nextLead() {
+        Lead lead = leads[next];
+        next = next + 1 == leads.length ? 0 : next + 1;
+        return lead;
+    }
+}
@@ -0,0 +1,105 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.adapter.InMemoryLeadRepository;
+import com.tekion.demo.adapter.WriteAheadLogLeadRepository;
+import com.tekion.demo.audit.AuditTrail;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.port.LeadPersistencePort;
+import com.tekion.demo.service.LeadStateService;
+import com.tekion.demo.service.StateTransition;
+import com.tekion.demo.service.TransitionOutcome;
+import com.tekion.demo.service.execution.ForkJoinExecutionStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marking every lead of several dealers LOST, one service call per lead versus one bulk call
+ * Leads are reset to NEW before each measured call. On the write-ahead log store the bulk call
+ * commits each round of leads with one group commit instead of one fsync wait per lead.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeadStateTransitionBenchmark {
+
+    private static final int DEALERS = 10;
+
+    @Param({"10000"})
+    int leadCount;
+
+    @Param({"memory", "wal"})
+    String store;
+
+    private LeadPersistencePort repository;
+    private AuditTrail auditTrail;
+    private ForkJoinExecutionStrategy executionStrategy;
+    private LeadStateService service;
+    private List<StateTransition> transitions;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stdout = BenchmarkData.silenceStdout();
+        repository = store.equals("wal")
+                ? new WriteAheadLogLeadRepository(BenchmarkData.engine(),
+                        Files.createTempDirectory("lead-wal-bench").toString(), Duration.ZERO)
+                : new InMemoryLeadRepository(BenchmarkData.engine());
+        auditTrail = new AuditTrail();
+        executionStrategy = new ForkJoinExecutionStrategy(Runtime.getRuntime().availableProcessors());
+        service = new LeadStateService(repository, auditTrail, executionStrategy);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetLeads() {
+        auditTrail.clear();
+        transitions = new ArrayList<>(leadCount);
+        for (int d = 0; d < DEALERS; d++) {
+            for (Lead lead : BenchmarkData.leads("dealer-" + d, leadCount / DEALERS)) {
+                lead.setState(LeadState.NEW);
+                repository.save(lead);
+                transitions.add(StateTransition.builder()
+                        .leadId(lead.getLeadId())
+                        .dealerId(lead.getDealerId())
+                        .newState(LeadState.LOST)
+                        .build());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executionStrategy.close();
+        auditTrail.close();
+        if (repository instanceof WriteAheadLogLeadRepository wal) {
+            wal.close();
+        }
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public int transitionEach() {
+        int done = 0;
+        for (StateTransition transition : transitions) {
+            service.transitionState(transition.getLeadId(), transition.getDealerId(),
+                    transition.getNewState(), "nightly-job", "Stale");
+            done++;
+        }
+        return done;
+    }
+
+    @Benchmark
+    public List<TransitionOutcome> transitionBulk() {
+        return service.transitionStates(transitions, "nightly-job", "Stale");
+    }
+}
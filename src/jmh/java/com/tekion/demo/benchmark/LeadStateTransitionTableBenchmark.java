@@ -0,0 +1,76 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.LeadWorkflow;
+import com.tekion.demo.service.LeadWorkflowRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking every (from, to) state pair: the previous switch building a Set per call,
+ * the precomputed LeadState table and a tenant workflow looked up by tenantId
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LeadStateTransitionTableBenchmark {
+
+    private static final LeadState[] STATES = LeadState.values();
+
+    private LeadWorkflowRegistry workflows;
+    private String tenantId;
+
+    @Setup
+    public void setUp() {
+        workflows = new LeadWorkflowRegistry(Map.of(
+                "tenant2", LeadWorkflow.STANDARD.withTransitions(LeadState.QUALIFIED,
+                        Set.of(LeadState.CONTACTED, LeadState.CONVERTED, LeadState.LOST))));
+        tenantId = "tenant2";
+    }
+
+    @Benchmark
+    public void switchWithSetOf(Blackhole blackhole) {
+        for (LeadState from : STATES) {
+            for (LeadState to : STATES) {
+                blackhole.consume(legacyCanTransitionTo(from, to));
+            }
+        }
+    }
+
+    @Benchmark
+    public void precomputedTable(Blackhole blackhole) {
+        for (LeadState from : STATES) {
+            for (LeadState to : STATES) {
+                blackhole.consume(from.canTransitionTo(to));
+            }
+        }
+    }
+
+    @Benchmark
+    public void tenantWorkflow(Blackhole blackhole) {
+        for (LeadState from : STATES) {
+            for (LeadState to : STATES) {
+                blackhole.consume(workflows.forTenant(tenantId).canTransition(from, to));
+            }
+        }
+    }
+
+    /**
+     * LeadState.canTransitionTo as it was before the transition table
+     */
+    private static boolean legacyCanTransitionTo(LeadState from, LeadState target) {
+        return switch (from) {
+            case NEW -> Set.of(LeadState.CONTACTED, LeadState.LOST).contains(target);
+            case CONTACTED -> Set.of(LeadState.QUALIFIED, LeadState.LOST).contains(target);
+            case QUALIFIED -> Set.of(LeadState.CONVERTED, LeadState.LOST).contains(target);
+            case CONVERTED, LOST -> false;
+        };
+    }
+}
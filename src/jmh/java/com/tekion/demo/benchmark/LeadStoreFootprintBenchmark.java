@@ -0,0 +1,81 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.adapter.ColumnarLeadRepository;
+import com.tekion.demo.adapter.InMemoryLeadRepository;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.port.LeadPersistencePort;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a dealer-spread population of leads into the heap and columnar stores
+ * The score is load time; retainedBytesPerLead is the settled heap the loaded store keeps, and
+ * the default -prof gc adds bytes allocated per load. gc.count and gc.time also include the
+ * collections forced around each load to settle the heap. Leads are built inside the measured
+ * load so the heap store is charged for the lead objects it keeps.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Thread)
+public class LeadStoreFootprintBenchmark {
+
+    private static final int DEALERS = 50;
+
+    @Param({"heap", "columnar"})
+    String store;
+
+    @Param({"1000000"})
+    int leadCount;
+
+    private LeadPersistencePort repository;
+    private long baseline;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public double retainedBytesPerLead;
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() throws InterruptedException {
+        baseline = settledHeapUsed();
+    }
+
+    @Benchmark
+    public LeadPersistencePort load() throws IOException {
+        repository = store.equals("heap")
+                ? new InMemoryLeadRepository(BenchmarkData.engine())
+                : new ColumnarLeadRepository(BenchmarkData.engine(), "");
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int i = 0; i < leadCount; i++) {
+            Lead lead = BenchmarkData.lead("dealer" + (i % DEALERS), i, now);
+            repository.save(lead);
+        }
+        return repository;
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown(Footprint footprint) throws IOException, InterruptedException {
+        footprint.retainedBytesPerLead = (double) (settledHeapUsed() - baseline) / leadCount;
+        if (repository instanceof Closeable closeable) {
+            closeable.close();
+        }
+        repository = null;
+    }
+
+    private static long settledHeapUsed() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,114 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.adapter.InMemoryLeadRepository;
+import com.tekion.demo.adapter.LeadBinaryCodec;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.service.LeadImportResult;
+import com.tekion.demo.service.LeadTransferService;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moving a batch of leads in and out in the binary import format versus a JSON array of Lead
+ * decode/encode measure the wire format alone; importLeads adds the batched repository writes,
+ * with the JSON side bound to List<Lead> and saved through the same saveAll.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LeadTransferBenchmark {
+
+    private static final TypeReference<List<Lead>> LEAD_LIST = new TypeReference<>() {
+    };
+
+    @Param({"binary", "json"})
+    String format;
+
+    @Param({"10000"})
+    int leadCount;
+
+    private List<Lead> leads;
+    private byte[] payload;
+    private ObjectMapper objectMapper;
+    private PrintStream stdout;
+
+    @Setup
+    public void setUp() throws IOException {
+        stdout = BenchmarkData.silenceStdout();
+        objectMapper = JsonMapper.builder().build();
+        leads = Arrays.asList(BenchmarkData.leads("dealer001", leadCount));
+        payload = encode();
+        // JSON brings timestamps back in UTC, so compare identities rather than whole leads
+        List<Lead> decoded = decode();
+        for (int i = 0; i < leadCount; i++) {
+            if (!decoded.get(i).getLeadId().equals(leads.get(i).getLeadId())
+                    || !decoded.get(i).getVehicleInterest().equals(leads.get(i).getVehicleInterest())) {
+                throw new IllegalStateException(format + " round trip changed lead " + i);
+            }
+        }
+        System.err.println(format + " payload: " + payload.length + " bytes");
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if (format.equals("json")) {
+            return objectMapper.writeValueAsBytes(leads);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(leadCount * 160);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Lead lead : leads) {
+            LeadBinaryCodec.writeFrame(out, lead);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<Lead> decode() throws IOException {
+        if (format.equals("json")) {
+            return objectMapper.readValue(payload, LEAD_LIST);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        List<Lead> decoded = new ArrayList<>(leadCount);
+        byte[] record;
+        while ((record = LeadBinaryCodec.readFrame(in)) != null) {
+            decoded.add(LeadBinaryCodec.decode(record));
+        }
+        return decoded;
+    }
+
+    @Benchmark
+    public int importLeads() throws IOException {
+        InMemoryLeadRepository repository = new InMemoryLeadRepository(BenchmarkData.engine());
+        if (format.equals("json")) {
+            List<Lead> decoded = objectMapper.readValue(payload, LEAD_LIST);
+            for (int from = 0; from < decoded.size(); from += 1000) {
+                repository.saveAll(decoded.subList(from, Math.min(decoded.size(), from + 1000)));
+            }
+            return decoded.size();
+        }
+        LeadImportResult result = new LeadTransferService(repository, 1000)
+                .importLeads(new ByteArrayInputStream(payload));
+        return result.getImported();
+    }
+}
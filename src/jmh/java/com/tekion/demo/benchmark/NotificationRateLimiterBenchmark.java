@@ -0,0 +1,44 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.notification.NotificationType;
+import com.tekion.demo.router.NotificationRateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NotificationRateLimiter.tryAcquire under 64 concurrent senders
+ * Few recipients means every sender fights over the same counters; many recipients spreads
+ * them out. Exactness under the same load is covered by NotificationRateLimiterTest.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class NotificationRateLimiterBenchmark {
+
+    @Param({"8", "100000"})
+    int recipientCount;
+
+    private NotificationRateLimiter limiter;
+    private String[] recipients;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        limiter = NotificationRateLimiter.daily(1 << 19);
+        recipients = new String[recipientCount];
+        for (int i = 0; i < recipientCount; i++) {
+            recipients[i] = "lead-" + i;
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        String recipient = recipients[ThreadLocalRandom.current().nextInt(recipients.length)];
+        return limiter.tryAcquire(NotificationType.EMAIL, recipient);
+    }
+}
@@ -0,0 +1,65 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.adapter.EmailNotificationAdapter;
+import com.tekion.demo.adapter.SmsNotificationAdapter;
+import com.tekion.demo.notification.Notification;
+import com.tekion.demo.notification.NotificationResult;
+import com.tekion.demo.notification.NotificationType;
+import com.tekion.demo.router.NotificationRouter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Router overhead: rate-limit bookkeeping plus adapter selection
+ * Adapters never fail, and the router is rebuilt every iteration because recipients
+ * run into the daily limit; most calls in an iteration therefore measure the rejection path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NotificationRouterBenchmark {
+
+    @Param({"100", "100000"})
+    int recipientCount;
+
+    private NotificationRouter router;
+    private Notification[] notifications;
+    private int next;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUpNotifications() {
+        stdout = BenchmarkData.silenceStdout();
+        notifications = new Notification[recipientCount];
+        for (int i = 0; i < recipientCount; i++) {
+            notifications[i] = Notification.builder()
+                    .recipient("lead-" + i)
+                    .message("Your quote is ready")
+                    .type(i % 2 == 0 ? NotificationType.EMAIL : NotificationType.SMS)
+                    .build();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpRouter() {
+        router = new NotificationRouter(List.of(new EmailNotificationAdapter(0.0), new SmsNotificationAdapter(0.0)));
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreStdout() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public NotificationResult send() {
+        Notification notification = notifications[next];
+        next = next + 1 == notifications.length ? 0 : next + 1;
+        return router.send(notification);
+    }
+}
@@ -0,0 +1,64 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoringResult;
+import com.tekion.demo.scoring.rules.LeadScoringEngine;
+import com.tekion.demo.service.BulkScoringService;
+import com.tekion.demo.service.ScoreCache;
+import com.tekion.demo.service.execution.ForkJoinExecutionStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A dashboard polling /api/bulk/score for the same dealer: scored from scratch versus served from the score cache
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreCacheBenchmark {
+
+    @Param({"10000"})
+    int leadCount;
+
+    private List<Lead> leads;
+    private BulkScoringService uncached;
+    private BulkScoringService cached;
+    private PrintStream stdout;
+
+    @Setup
+    public void setUp() {
+        stdout = BenchmarkData.silenceStdout();
+        LeadScoringEngine engine = BenchmarkData.engine();
+        leads = Arrays.asList(BenchmarkData.leads("dealer001", leadCount));
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        uncached = new BulkScoringService(engine, new ForkJoinExecutionStrategy(parallelism));
+        cached = new BulkScoringService(engine, new ForkJoinExecutionStrategy(parallelism),
+                new ScoreCache(leadCount * 2));
+        cached.scoreBatch(leads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        uncached.shutdown();
+        cached.shutdown();
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public Map<String, ScoringResult> scoreFromScratch() {
+        return uncached.scoreBatch(leads);
+    }
+
+    @Benchmark
+    public Map<String, ScoringResult> scoreFromCache() {
+        return cached.scoreBatch(leads);
+    }
+}
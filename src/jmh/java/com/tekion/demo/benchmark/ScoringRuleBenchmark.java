@@ -0,0 +1,42 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoringRule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each ScoringRule.evaluate in isolation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoringRuleBenchmark {
+
+    @Param({"Source Quality", "Vehicle Age", "Trade-In Value", "Engagement", "Recency"})
+    String rule;
+
+    private ScoringRule scoringRule;
+    private Lead[] leads;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        scoringRule = BenchmarkData.rules().stream()
+                .filter(candidate -> candidate.getName().equals(rule))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown rule: " + rule));
+        leads = BenchmarkData.leads("dealer001", 1024);
+    }
+
+    @Benchmark
+    public double evaluate() {
+        Lead lead = leads[next];
+        next = next + 1 == leads.length ? 0 : next + 1;
+        return scoringRule.evaluate(lead);
+    }
+}
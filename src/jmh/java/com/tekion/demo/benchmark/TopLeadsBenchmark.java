@@ -0,0 +1,69 @@
+package com.tekion.demo.benchmark;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoringResult;
+import com.tekion.demo.service.BulkScoringService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded-heap BulkScoringService.getTopLeads against the previous score-map plus full sort
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TopLeadsBenchmark {
+
+    @Param({"1000", "50000"})
+    int leadCount;
+
+    @Param({"10", "100"})
+    int topN;
+
+    private BulkScoringService bulkScoringService;
+    private List<Lead> leads;
+    private PrintStream stdout;
+
+    @Setup
+    public void setUp() {
+        stdout = BenchmarkData.silenceStdout();
+        bulkScoringService = new BulkScoringService(BenchmarkData.engine());
+        leads = Arrays.asList(BenchmarkData.leads("dealer001", leadCount));
+    }
+
+    @TearDown
+    public void tearDown() {
+        bulkScoringService.shutdown();
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public List<Lead> boundedHeap() {
+        return bulkScoringService.getTopLeads(leads, topN);
+    }
+
+    /**
+     * The implementation getTopLeads replaced
+     */
+    @Benchmark
+    public List<Lead> scoreMapFullSort() {
+        Map<String, ScoringResult> scores = bulkScoringService.scoreBatch(leads);
+        return leads.stream()
+                .sorted((a, b) -> {
+                    double scoreA = scores.get(a.getLeadId()).getTotalScore();
+                    double scoreB = scores.get(b.getLeadId()).getTotalScore();
+                    return Double.compare(scoreB, scoreA);
+                })
+                .limit(topN)
+                .collect(Collectors.toList());
+    }
+}
@@ -20,8 +20,6 @@ public class TestLeadApp {
 
     public static void main(String[] args) {
 
-        InMemoryLeadRepository repo = new InMemoryLeadRepository();
-
         NotificationRouter router = new NotificationRouter(List.of(
                 new EmailNotificationAdapter(),
                 new SmsNotificationAdapter()
@@ -35,6 +33,8 @@ public class TestLeadApp {
                 new RecencyRule()
         ));
 
+        InMemoryLeadRepository repo = new InMemoryLeadRepository(engine);
+
         Lead lead = Lead.builder()
                 .leadId(UUID.randomUUID().toString())
                 .dealerId("dealer123")
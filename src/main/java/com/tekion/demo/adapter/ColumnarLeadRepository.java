@@ -0,0 +1,383 @@
+package com.tekion.demo.adapter;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadQuery;
+import com.tekion.demo.lead.LeadSource;
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.LeadSummary;
+import com.tekion.demo.lead.valueObject.Email;
+import com.tekion.demo.lead.valueObject.PhoneCoordinate;
+import com.tekion.demo.lead.valueObject.VehicleInterest;
+import com.tekion.demo.port.LeadPersistencePort;
+import com.tekion.demo.scoring.rules.LeadScoringEngine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Off-heap lead repository storing each field in its own memory-mapped column file
+ * Enabled with the "columnar" Spring profile.
+ *
+ * Dealer, tenant, site, make and model are dictionary-encoded ints, year and trade-in value
+ * are primitives, timestamps are epoch millis and free-text fields live in a string heap.
+ * Only the per-dealer score and state indexes stay on the Java heap; Lead objects are
+ * materialized on read. Timestamps come back in the system default zone at millisecond
+ * precision. Column files are scratch space and are truncated on startup, use the "wal"
+ * profile for durability. Replaced strings are not reclaimed until then (see MappedStringHeap).
+ */
+@Repository
+@Profile("columnar")
+public class ColumnarLeadRepository implements LeadPersistencePort, Closeable {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final int NULL_YEAR = Integer.MIN_VALUE;
+
+    private final LeadScoringEngine scoringEngine;
+    private final Map<String, DealerPartition<Integer>> storage = new ConcurrentHashMap<>();
+    private final AtomicInteger nextRow = new AtomicInteger();
+    private final List<Consumer<Lead>> saveListeners = new CopyOnWriteArrayList<>();
+
+    // Writers lock the lead stripe then the row stripe, readers only the row stripe
+    private final Object[] leadStripes = new Object[LOCK_STRIPES];
+    private final Object[] rowStripes = new Object[LOCK_STRIPES];
+
+    private final StringDictionary tenants = new StringDictionary();
+    private final StringDictionary dealers = new StringDictionary();
+    private final StringDictionary sites = new StringDictionary();
+    private final StringDictionary makes = new StringDictionary();
+    private final StringDictionary models = new StringDictionary();
+
+    private final MappedStringHeap strings;
+    private final List<Closeable> files = new ArrayList<>();
+    private final MappedColumn leadIdColumn;
+    private final MappedColumn firstNameColumn;
+    private final MappedColumn lastNameColumn;
+    private final MappedColumn emailColumn;
+    private final MappedColumn phoneCountryCodeColumn;
+    private final MappedColumn phoneNumberColumn;
+    private final MappedColumn tenantColumn;
+    private final MappedColumn dealerColumn;
+    private final MappedColumn siteColumn;
+    private final MappedColumn vehicleColumn;
+    private final MappedColumn makeColumn;
+    private final MappedColumn modelColumn;
+    private final MappedColumn yearColumn;
+    private final MappedColumn tradeInValueColumn;
+    private final MappedColumn sourceColumn;
+    private final MappedColumn stateColumn;
+    private final MappedColumn createdAtColumn;
+    private final MappedColumn updatedAtColumn;
+    private final MappedColumn versionColumn;
+
+    public ColumnarLeadRepository(LeadScoringEngine scoringEngine,
+                                  @Value("${lead.columnar.directory:}") String directory) throws IOException {
+        this.scoringEngine = scoringEngine;
+        Path dir = directory == null || directory.isBlank()
+                ? Files.createTempDirectory("lead-columns")
+                : Files.createDirectories(Paths.get(directory));
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            leadStripes[i] = new Object();
+            rowStripes[i] = new Object();
+        }
+
+        this.strings = open(new MappedStringHeap(dir.resolve("strings.heap")));
+        this.leadIdColumn = column(dir, "leadId", Long.BYTES);
+        this.firstNameColumn = column(dir, "firstName", Long.BYTES);
+        this.lastNameColumn = column(dir, "lastName", Long.BYTES);
+        this.emailColumn = column(dir, "email", Long.BYTES);
+        this.phoneCountryCodeColumn = column(dir, "phoneCountryCode", Long.BYTES);
+        this.phoneNumberColumn = column(dir, "phoneNumber", Long.BYTES);
+        this.tenantColumn = column(dir, "tenant", Integer.BYTES);
+        this.dealerColumn = column(dir, "dealer", Integer.BYTES);
+        this.siteColumn = column(dir, "site", Integer.BYTES);
+        this.vehicleColumn = column(dir, "vehicle", Byte.BYTES);
+        this.makeColumn = column(dir, "make", Integer.BYTES);
+        this.modelColumn = column(dir, "model", Integer.BYTES);
+        this.yearColumn = column(dir, "year", Integer.BYTES);
+        this.tradeInValueColumn = column(dir, "tradeInValue", Double.BYTES);
+        this.sourceColumn = column(dir, "source", Byte.BYTES);
+        this.stateColumn = column(dir, "state", Byte.BYTES);
+        this.createdAtColumn = column(dir, "createdAt", Long.BYTES);
+        this.updatedAtColumn = column(dir, "updatedAt", Long.BYTES);
+        this.versionColumn = column(dir, "version", Long.BYTES);
+    }
+
+    @Override
+    public Lead save(Lead lead) {
+        double score = scoringEngine.scoreTotalOnly(lead);
+        DealerPartition<Integer> partition = storage.computeIfAbsent(lead.getDealerId(), k -> new DealerPartition<>());
+
+        synchronized (leadStripes[Math.floorMod(lead.getLeadId().hashCode(), LOCK_STRIPES)]) {
+            Integer row = partition.get(lead.getLeadId());
+            lead.setVersion(row == null ? 1 : versionColumn.getLong(row) + 1);
+            store(partition, row, lead, score);
+        }
+        saved(lead);
+        return lead;
+    }
+
+    @Override
+    public boolean saveIfVersion(Lead lead, long expectedVersion, Runnable onCommit) {
+        double score = scoringEngine.scoreTotalOnly(lead);
+        DealerPartition<Integer> partition = storage.computeIfAbsent(lead.getDealerId(), k -> new DealerPartition<>());
+
+        synchronized (leadStripes[Math.floorMod(lead.getLeadId().hashCode(), LOCK_STRIPES)]) {
+            Integer row = partition.get(lead.getLeadId());
+            long currentVersion = row == null ? 0 : versionColumn.getLong(row);
+            if (currentVersion != expectedVersion) {
+                return false;
+            }
+            onCommit.run();
+            lead.setVersion(expectedVersion + 1);
+            store(partition, row, lead, score);
+        }
+        saved(lead);
+        return true;
+    }
+
+    private void saved(Lead lead) {
+        for (Consumer<Lead> listener : saveListeners) {
+            listener.accept(lead);
+        }
+    }
+
+    /**
+     * Must hold the lead's stripe
+     */
+    private void store(DealerPartition<Integer> partition, Integer row, Lead lead, double score) {
+        boolean fresh = row == null;
+        if (fresh) {
+            row = nextRow.getAndIncrement();
+        }
+        writeRow(row, fresh, lead);
+        partition.put(lead.getLeadId(), row, lead.getState(), score);
+    }
+
+    @Override
+    public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
+        DealerPartition<Integer> partition = storage.get(dealerId);
+        Integer row = partition == null ? null : partition.get(leadId);
+        return row == null ? Optional.empty() : Optional.of(readRow(row));
+    }
+
+    @Override
+    public List<Lead> findByDealerId(String dealerId) {
+        DealerPartition<Integer> partition = storage.get(dealerId);
+        return partition == null ? new ArrayList<>() : materialize(partition.values());
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state) {
+        return findByDealerIdAndState(dealerId, state, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state, String afterLeadId, int limit) {
+        DealerPartition<Integer> partition = storage.get(dealerId);
+        return partition == null ? new ArrayList<>() : materialize(partition.byState(state, afterLeadId, limit));
+    }
+
+    @Override
+    public int countByDealerIdAndState(String dealerId, LeadState state) {
+        DealerPartition<Integer> partition = storage.get(dealerId);
+        return partition == null ? 0 : partition.countByState(state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdOrderByScore(String dealerId, int limit) {
+        DealerPartition<Integer> partition = storage.get(dealerId);
+        return partition == null ? new ArrayList<>() : materialize(partition.topByScore(limit));
+    }
+
+    @Override
+    public LeadPage<Lead> findPage(LeadQuery query) {
+        DealerPartition<Integer> partition = storage.get(query.getDealerId());
+        return partition == null ? DealerPartition.emptyPage(query) : partition.pageByScore(query, (row, key) -> readRow(row));
+    }
+
+    /**
+     * Decodes only the id, name and state columns of each row
+     */
+    @Override
+    public LeadPage<LeadSummary> findSummaryPage(LeadQuery query) {
+        DealerPartition<Integer> partition = storage.get(query.getDealerId());
+        return partition == null
+                ? DealerPartition.emptyPage(query)
+                : partition.pageByScore(query, (row, key) -> readSummary(row, key.getScore()));
+    }
+
+    @Override
+    public int[] getScoreHistogram(String dealerId) {
+        DealerPartition<Integer> partition = storage.get(dealerId);
+        return partition == null ? new int[DealerPartition.SCORE_BANDS] : partition.scoreHistogram();
+    }
+
+    @Override
+    public boolean updateScore(Lead lead, double score) {
+        DealerPartition<Integer> partition = storage.get(lead.getDealerId());
+        if (partition == null) {
+            return false;
+        }
+        synchronized (leadStripes[Math.floorMod(lead.getLeadId().hashCode(), LOCK_STRIPES)]) {
+            return partition.rescore(lead.getLeadId(),
+                    row -> versionColumn.getLong(row) == lead.getVersion()
+                            && updatedAtColumn.getLong(row) == toEpochMillis(lead.getUpdatedAt()),
+                    score);
+        }
+    }
+
+    @Override
+    public void addSaveListener(Consumer<Lead> listener) {
+        saveListeners.add(listener);
+    }
+
+    @PreDestroy
+    @Override
+    public void close() throws IOException {
+        for (Closeable file : files) {
+            file.close();
+        }
+    }
+
+    /**
+     * Must hold the lead's stripe, which also keeps the row's current string refs stable
+     */
+    private void writeRow(int row, boolean fresh, Lead lead) {
+        // String payloads go to the heap before the row lock; readers only see them once the refs are written.
+        // Unchanged strings keep their refs, so a state change adds nothing to the heap.
+        long leadId = string(leadIdColumn, row, fresh, lead.getLeadId());
+        long firstName = string(firstNameColumn, row, fresh, lead.getFirstName());
+        long lastName = string(lastNameColumn, row, fresh, lead.getLastName());
+        long email = string(emailColumn, row, fresh, lead.getEmail() == null ? null : lead.getEmail().getValue());
+        long phoneCountryCode = string(phoneCountryCodeColumn, row, fresh,
+                lead.getPhone() == null ? null : lead.getPhone().getCountryCode());
+        long phoneNumber = string(phoneNumberColumn, row, fresh,
+                lead.getPhone() == null ? null : lead.getPhone().getNumber());
+        VehicleInterest vehicle = lead.getVehicleInterest();
+
+        synchronized (rowStripes[row & (LOCK_STRIPES - 1)]) {
+            leadIdColumn.putLong(row, leadId);
+            firstNameColumn.putLong(row, firstName);
+            lastNameColumn.putLong(row, lastName);
+            emailColumn.putLong(row, email);
+            phoneCountryCodeColumn.putLong(row, phoneCountryCode);
+            phoneNumberColumn.putLong(row, phoneNumber);
+            tenantColumn.putInt(row, tenants.encode(lead.getTenantId()));
+            dealerColumn.putInt(row, dealers.encode(lead.getDealerId()));
+            siteColumn.putInt(row, sites.encode(lead.getSiteId()));
+
+            vehicleColumn.putByte(row, (byte) (vehicle == null ? 0 : 1));
+            if (vehicle != null) {
+                makeColumn.putInt(row, makes.encode(vehicle.getMake()));
+                modelColumn.putInt(row, models.encode(vehicle.getModel()));
+                yearColumn.putInt(row, vehicle.getYear() == null ? NULL_YEAR : vehicle.getYear());
+                tradeInValueColumn.putDouble(row, vehicle.getTradeInValue() == null ? Double.NaN : vehicle.getTradeInValue());
+            }
+
+            sourceColumn.putByte(row, (byte) (lead.getSource() == null ? -1 : lead.getSource().ordinal()));
+            stateColumn.putByte(row, (byte) (lead.getState() == null ? -1 : lead.getState().ordinal()));
+            createdAtColumn.putLong(row, toEpochMillis(lead.getCreatedAt()));
+            updatedAtColumn.putLong(row, toEpochMillis(lead.getUpdatedAt()));
+            versionColumn.putLong(row, lead.getVersion());
+        }
+    }
+
+    private long string(MappedColumn column, int row, boolean fresh, String value) {
+        return fresh ? strings.append(value) : strings.appendIfChanged(column.getLong(row), value);
+    }
+
+    private Lead readRow(int row) {
+        synchronized (rowStripes[row & (LOCK_STRIPES - 1)]) {
+            Lead.LeadBuilder builder = Lead.builder()
+                    .leadId(strings.read(leadIdColumn.getLong(row)))
+                    .firstName(strings.read(firstNameColumn.getLong(row)))
+                    .lastName(strings.read(lastNameColumn.getLong(row)))
+                    .tenantId(tenants.decode(tenantColumn.getInt(row)))
+                    .dealerId(dealers.decode(dealerColumn.getInt(row)))
+                    .siteId(sites.decode(siteColumn.getInt(row)));
+
+            String email = strings.read(emailColumn.getLong(row));
+            if (email != null) builder.email(new Email(email));
+
+            String phoneNumber = strings.read(phoneNumberColumn.getLong(row));
+            if (phoneNumber != null) {
+                builder.phone(new PhoneCoordinate(strings.read(phoneCountryCodeColumn.getLong(row)), phoneNumber));
+            }
+
+            if (vehicleColumn.getByte(row) == 1) {
+                int year = yearColumn.getInt(row);
+                double tradeInValue = tradeInValueColumn.getDouble(row);
+                builder.vehicleInterest(new VehicleInterest(
+                        makes.decode(makeColumn.getInt(row)),
+                        models.decode(modelColumn.getInt(row)),
+                        year == NULL_YEAR ? null : year,
+                        Double.isNaN(tradeInValue) ? null : tradeInValue));
+            }
+
+            byte source = sourceColumn.getByte(row);
+            byte state = stateColumn.getByte(row);
+            return builder
+                    .source(source < 0 ? null : LeadSource.values()[source])
+                    .state(state < 0 ? null : LeadState.values()[state])
+                    .createdAt(fromEpochMillis(createdAtColumn.getLong(row)))
+                    .updatedAt(fromEpochMillis(updatedAtColumn.getLong(row)))
+                    .version(versionColumn.getLong(row))
+                    .build();
+        }
+    }
+
+    private LeadSummary readSummary(int row, double score) {
+        synchronized (rowStripes[row & (LOCK_STRIPES - 1)]) {
+            byte state = stateColumn.getByte(row);
+            return LeadSummary.builder()
+                    .leadId(strings.read(leadIdColumn.getLong(row)))
+                    .firstName(strings.read(firstNameColumn.getLong(row)))
+                    .lastName(strings.read(lastNameColumn.getLong(row)))
+                    .state(state < 0 ? null : LeadState.values()[state])
+                    .score(score)
+                    .build();
+        }
+    }
+
+    private List<Lead> materialize(List<Integer> rows) {
+        List<Lead> leads = new ArrayList<>(rows.size());
+        for (int row : rows) {
+            leads.add(readRow(row));
+        }
+        return leads;
+    }
+
+    private MappedColumn column(Path dir, String name, int width) throws IOException {
+        return open(new MappedColumn(dir.resolve(name + ".col"), width));
+    }
+
+    private <C extends Closeable> C open(C file) {
+        files.add(file);
+        return file;
+    }
+
+    private static long toEpochMillis(ZonedDateTime timestamp) {
+        return timestamp == null ? NULL_TIMESTAMP : timestamp.toInstant().toEpochMilli();
+    }
+
+    private static ZonedDateTime fromEpochMillis(long millis) {
+        return millis == NULL_TIMESTAMP ? null : ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
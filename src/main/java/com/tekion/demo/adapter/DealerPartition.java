@@ -0,0 +1,291 @@
+package com.tekion.demo.adapter;
+
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadQuery;
+import com.tekion.demo.lead.LeadState;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Storage for a single dealer's leads
+ * Keeps score-ordered and state secondary indexes next to the primary map so
+ * ranked and per-state reads cost in proportion to the result, not the dealer size,
+ * plus a histogram of scores per 10-point band that is read in O(bands)
+ *
+ * The stored value is whatever the repository uses to represent a lead: the Lead
+ * itself for the heap store, a row number for the columnar store.
+ *
+ * Thread-safe without a partition-wide lock: every write runs inside
+ * ConcurrentHashMap.compute for its leadId, so writes to the same lead are
+ * serialized (together with their index updates) while different leads proceed
+ * in parallel. Readers never block and see each lead either before or after a write.
+ */
+class DealerPartition<T> {
+
+    static final int SCORE_BANDS = 10;
+    private static final double BAND_WIDTH = 100.0 / SCORE_BANDS;
+
+    private final ConcurrentHashMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final NavigableMap<ScoreKey, T> byScore = new ConcurrentSkipListMap<>();
+    private final EnumMap<LeadState, NavigableSet<String>> byState = new EnumMap<>(LeadState.class);
+    private final AtomicIntegerArray bands = new AtomicIntegerArray(SCORE_BANDS);
+
+    DealerPartition() {
+        for (LeadState state : LeadState.values()) {
+            byState.put(state, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    /**
+     * Store a lead together with its state and score, replacing any previous index entries
+     */
+    void put(String leadId, T value, LeadState state, double score) {
+        put(leadId, value, state, score, null);
+    }
+
+    /**
+     * Store a lead unconditionally; onCommit, if given, receives the value being replaced
+     * (null when absent) before the write becomes visible, while other writers of the same
+     * lead are held off
+     */
+    void put(String leadId, T value, LeadState state, double score, Consumer<T> onCommit) {
+        entries.compute(leadId, (id, previous) -> {
+            if (onCommit != null) {
+                onCommit.accept(previous == null ? null : previous.getValue());
+            }
+            return reindex(previous, id, value, state, score);
+        });
+    }
+
+    /**
+     * Store a lead only if the currently stored value is still the expected instance
+     * Returns false without writing if another writer got there first
+     */
+    boolean replace(String leadId, T expected, T value, LeadState state, double score) {
+        return putIf(leadId, current -> current == expected, value, state, score, null);
+    }
+
+    /**
+     * Store a lead only if the currently stored value (null when absent) passes the check
+     * onCommit, if given, runs after the check passed and before the write becomes visible,
+     * while other writers of the same lead are held off
+     */
+    boolean putIf(String leadId, Predicate<T> check, T value, LeadState state, double score, Runnable onCommit) {
+        boolean[] replaced = new boolean[1];
+        entries.compute(leadId, (id, previous) -> {
+            T current = previous == null ? null : previous.getValue();
+            if (!check.test(current)) {
+                return previous;
+            }
+            if (onCommit != null) {
+                onCommit.run();
+            }
+            replaced[0] = true;
+            return reindex(previous, id, value, state, score);
+        });
+        return replaced[0];
+    }
+
+    /**
+     * Move a stored lead to a new score, keeping its value and state, if it still passes the check
+     * Returns false if the lead is absent or was replaced since the score was computed
+     */
+    boolean rescore(String leadId, Predicate<T> check, double score) {
+        boolean[] rescored = new boolean[1];
+        entries.computeIfPresent(leadId, (id, previous) -> {
+            if (!check.test(previous.getValue())) {
+                return previous;
+            }
+            rescored[0] = true;
+            return reindex(previous, id, previous.getValue(), previous.getState(), score);
+        });
+        return rescored[0];
+    }
+
+    /**
+     * Must only be called from within compute for the lead's key
+     */
+    private Entry<T> reindex(Entry<T> previous, String leadId, T value, LeadState state, double score) {
+        Entry<T> entry = new Entry<>(value, new ScoreKey(score, leadId), state);
+
+        // Indexes are cleaned up from the values captured at the previous save,
+        // callers may have mutated the stored Lead instance since then
+        if (previous != null) {
+            byScore.remove(previous.getScoreKey());
+            bands.decrementAndGet(band(previous.getScoreKey().getScore()));
+            if (previous.getState() != null) {
+                byState.get(previous.getState()).remove(leadId);
+            }
+        }
+        byScore.put(entry.getScoreKey(), value);
+        bands.incrementAndGet(band(score));
+        if (state != null) {
+            byState.get(state).add(leadId);
+        }
+        return entry;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    T get(String leadId) {
+        Entry<T> entry = entries.get(leadId);
+        return entry == null ? null : entry.getValue();
+    }
+
+    List<T> values() {
+        List<T> result = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries.values()) {
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Highest scoring leads first, ties broken by leadId
+     */
+    List<T> topByScore(int limit) {
+        List<T> result = new ArrayList<>(Math.min(limit, entries.size()));
+        for (T value : byScore.values()) {
+            if (result.size() >= limit) break;
+            result.add(value);
+        }
+        return result;
+    }
+
+    /**
+     * One page of leads by descending score, resuming after the lead named by the query's cursor
+     * and stopping below its minScore. mapper turns each stored value and its index key into
+     * the page item, so callers only build what the page shows. Leads rescored between pages
+     * may be skipped or returned twice.
+     */
+    <R> LeadPage<R> pageByScore(LeadQuery query, BiFunction<T, ScoreKey, R> mapper) {
+        checkLimit(query);
+        NavigableMap<ScoreKey, T> view = query.getCursor() == null
+                ? byScore
+                : byScore.tailMap(ScoreKey.fromCursor(query.getCursor()), false);
+        double minScore = query.getMinScore() == null ? Double.NEGATIVE_INFINITY : query.getMinScore();
+
+        List<R> leads = new ArrayList<>(Math.min(query.getLimit(), entries.size()));
+        ScoreKey last = null;
+        for (Map.Entry<ScoreKey, T> entry : view.entrySet()) {
+            if (entry.getKey().getScore() < minScore) break;
+            // Only a further match proves there is a next page
+            if (leads.size() == query.getLimit()) {
+                return LeadPage.<R>builder().leads(leads).nextCursor(last.toCursor()).build();
+            }
+            leads.add(mapper.apply(entry.getValue(), entry.getKey()));
+            last = entry.getKey();
+        }
+        return LeadPage.<R>builder().leads(leads).nextCursor(null).build();
+    }
+
+    /**
+     * The page for a dealer with no partition, after the same argument checks as pageByScore
+     */
+    static <R> LeadPage<R> emptyPage(LeadQuery query) {
+        checkLimit(query);
+        if (query.getCursor() != null) {
+            ScoreKey.fromCursor(query.getCursor());
+        }
+        return LeadPage.<R>builder().leads(new ArrayList<>()).nextCursor(null).build();
+    }
+
+    private static void checkLimit(LeadQuery query) {
+        if (query.getLimit() <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+    }
+
+    /**
+     * Number of leads per 10-point score band; band i covers [10i, 10i + 10), the last one includes 100
+     * Concurrent writes may be observed half applied
+     */
+    int[] scoreHistogram() {
+        int[] counts = new int[SCORE_BANDS];
+        for (int i = 0; i < SCORE_BANDS; i++) {
+            counts[i] = bands.get(i);
+        }
+        return counts;
+    }
+
+    static int band(double score) {
+        if (!(score > 0)) return 0;
+        return Math.min(SCORE_BANDS - 1, (int) (score / BAND_WIDTH));
+    }
+
+    /**
+     * Leads in the given state ordered by leadId, starting after afterLeadId (exclusive)
+     * A null afterLeadId starts from the first lead
+     */
+    List<T> byState(LeadState state, String afterLeadId, int limit) {
+        NavigableSet<String> ids = byState.get(state);
+        if (afterLeadId != null) {
+            ids = ids.tailSet(afterLeadId, false);
+        }
+        List<T> result = new ArrayList<>();
+        for (String leadId : ids) {
+            if (result.size() >= limit) break;
+            T value = get(leadId);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    int countByState(LeadState state) {
+        return byState.get(state).size();
+    }
+
+    @Value
+    private static class Entry<T> {
+        T value;
+        ScoreKey scoreKey;
+        LeadState state;
+    }
+
+    /**
+     * Index key ordered by score descending, then leadId ascending
+     */
+    @Value
+    static class ScoreKey implements Comparable<ScoreKey> {
+        double score;
+        String leadId;
+
+        @Override
+        public int compareTo(ScoreKey other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : leadId.compareTo(other.leadId);
+        }
+
+        /**
+         * Opaque, URL-safe page cursor naming this position in the score order
+         */
+        String toCursor() {
+            String raw = Long.toHexString(Double.doubleToLongBits(score)) + ':' + leadId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ScoreKey fromCursor(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                double score = Double.longBitsToDouble(Long.parseUnsignedLong(raw.substring(0, separator), 16));
+                return new ScoreKey(score, raw.substring(separator + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid lead cursor: " + cursor);
+            }
+        }
+    }
+}
@@ -1,40 +1,170 @@
 package com.tekion.demo.adapter;
 
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadQuery;
 import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.LeadSummary;
 import com.tekion.demo.port.LeadPersistencePort;
+import com.tekion.demo.scoring.rules.LeadScoringEngine;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 @Repository
+@Profile("!wal & !columnar")
 public class InMemoryLeadRepository implements LeadPersistencePort {
 
-    private final Map<String, Map<String, Lead>> storage = new ConcurrentHashMap<>();
+    private final Map<String, DealerPartition<Lead>> storage = new ConcurrentHashMap<>();
 
+    private final LeadScoringEngine scoringEngine;
+    private final List<Consumer<Lead>> saveListeners = new CopyOnWriteArrayList<>();
+
+    public InMemoryLeadRepository(LeadScoringEngine scoringEngine) {
+        this.scoringEngine = scoringEngine;
+    }
+
+    /**
+     * Stores the lead as the stored version + 1, so a version read before this save never
+     * matches again
+     */
     @Override
     public Lead save(Lead lead) {
-        storage.computeIfAbsent(lead.getDealerId(), k -> new HashMap<>())
-                .put(lead.getLeadId(), lead);
+        // Score once on write so ranked reads never have to re-score
+        double score = scoringEngine.scoreTotalOnly(lead);
+        storage.computeIfAbsent(lead.getDealerId(), k -> new DealerPartition<>())
+                .put(lead.getLeadId(), lead, lead.getState(), score,
+                        current -> lead.setVersion(current == null ? 1 : current.getVersion() + 1));
+        saved(lead);
         return lead;
     }
 
+    /**
+     * Store a lead exactly as given, keeping its version (used to replay durable records)
+     */
+    void restore(Lead lead) {
+        storage.computeIfAbsent(lead.getDealerId(), k -> new DealerPartition<>())
+                .put(lead.getLeadId(), lead, lead.getState(), scoringEngine.scoreTotalOnly(lead));
+        saved(lead);
+    }
+
+    @Override
+    public boolean saveIfVersion(Lead lead, long expectedVersion, Runnable onCommit) {
+        double score = scoringEngine.scoreTotalOnly(lead);
+        long originalVersion = lead.getVersion();
+        // The lead is not visible to readers until the write below succeeds
+        lead.setVersion(expectedVersion + 1);
+        boolean saved = storage.computeIfAbsent(lead.getDealerId(), k -> new DealerPartition<>())
+                .putIf(lead.getLeadId(),
+                        current -> (current == null ? 0 : current.getVersion()) == expectedVersion,
+                        lead, lead.getState(), score, onCommit);
+        if (!saved) {
+            lead.setVersion(originalVersion);
+        } else {
+            saved(lead);
+        }
+        return saved;
+    }
+
+    /**
+     * Atomically replace the stored lead if it is still the expected instance
+     * (typically the one returned by a previous find). Returns false on a lost race
+     */
+    public boolean compareAndSave(Lead expected, Lead updated) {
+        double score = scoringEngine.scoreTotalOnly(updated);
+        boolean replaced = storage.computeIfAbsent(updated.getDealerId(), k -> new DealerPartition<>())
+                .replace(updated.getLeadId(), expected, updated, updated.getState(), score);
+        if (replaced) {
+            saved(updated);
+        }
+        return replaced;
+    }
+
     @Override
     public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
-        return Optional.ofNullable(storage.getOrDefault(dealerId, Collections.emptyMap()).get(leadId));
+        DealerPartition<Lead> partition = storage.get(dealerId);
+        return partition == null ? Optional.empty() : Optional.ofNullable(partition.get(leadId));
+    }
+
+    @Override
+    public List<Lead> findByDealerId(String dealerId) {
+        DealerPartition<Lead> partition = storage.get(dealerId);
+        return partition == null ? new ArrayList<>() : partition.values();
     }
 
     @Override
     public List<Lead> findByDealerIdAndState(String dealerId, LeadState state) {
-        return storage.getOrDefault(dealerId, Collections.emptyMap()).values().stream()
-                .filter(l -> l.getState() == state).collect(Collectors.toList());
+        return findByDealerIdAndState(dealerId, state, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state, String afterLeadId, int limit) {
+        DealerPartition<Lead> partition = storage.get(dealerId);
+        return partition == null ? new ArrayList<>() : partition.byState(state, afterLeadId, limit);
+    }
+
+    @Override
+    public int countByDealerIdAndState(String dealerId, LeadState state) {
+        DealerPartition<Lead> partition = storage.get(dealerId);
+        return partition == null ? 0 : partition.countByState(state);
     }
 
     @Override
     public List<Lead> findByDealerIdOrderByScore(String dealerId, int limit) {
-        return storage.getOrDefault(dealerId, Collections.emptyMap()).values().stream()
-                .limit(limit).collect(Collectors.toList());
+        DealerPartition<Lead> partition = storage.get(dealerId);
+        return partition == null ? new ArrayList<>() : partition.topByScore(limit);
+    }
+
+    @Override
+    public LeadPage<Lead> findPage(LeadQuery query) {
+        DealerPartition<Lead> partition = storage.get(query.getDealerId());
+        return partition == null ? DealerPartition.emptyPage(query) : partition.pageByScore(query, (lead, key) -> lead);
+    }
+
+    @Override
+    public LeadPage<LeadSummary> findSummaryPage(LeadQuery query) {
+        DealerPartition<Lead> partition = storage.get(query.getDealerId());
+        return partition == null
+                ? DealerPartition.emptyPage(query)
+                : partition.pageByScore(query, (lead, key) -> LeadSummary.of(lead, key.getScore()));
+    }
+
+    @Override
+    public int[] getScoreHistogram(String dealerId) {
+        DealerPartition<Lead> partition = storage.get(dealerId);
+        return partition == null ? new int[DealerPartition.SCORE_BANDS] : partition.scoreHistogram();
+    }
+
+    @Override
+    public boolean updateScore(Lead lead, double score) {
+        DealerPartition<Lead> partition = storage.get(lead.getDealerId());
+        return partition != null && partition.rescore(lead.getLeadId(),
+                current -> current.getVersion() == lead.getVersion()
+                        && Objects.equals(current.getUpdatedAt(), lead.getUpdatedAt()),
+                score);
+    }
+
+    @Override
+    public void addSaveListener(Consumer<Lead> listener) {
+        saveListeners.add(listener);
+    }
+
+    /**
+     * Visit every stored lead across all dealers (used for snapshots)
+     */
+    void forEachLead(Consumer<Lead> consumer) {
+        for (DealerPartition<Lead> partition : storage.values()) {
+            partition.values().forEach(consumer);
+        }
+    }
+
+    private void saved(Lead lead) {
+        for (Consumer<Lead> listener : saveListeners) {
+            listener.accept(lead);
+        }
     }
 }
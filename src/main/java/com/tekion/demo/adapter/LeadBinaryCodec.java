@@ -0,0 +1,207 @@
+package com.tekion.demo.adapter;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadSource;
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.valueObject.Email;
+import com.tekion.demo.lead.valueObject.PhoneCoordinate;
+import com.tekion.demo.lead.valueObject.VehicleInterest;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Compact binary encoding of a Lead
+ * Every nullable field is prefixed with a presence flag; enums are written as ordinals.
+ * Strings are an int byte length followed by UTF-8, so free-text fields have no 64 KB limit.
+ *
+ * Streams of leads, as used by bulk import and export, frame each record as [int length][record]
+ * so a reader can skip a record it fails to decode and carry on with the next one.
+ */
+public final class LeadBinaryCodec {
+
+    static final byte FORMAT_VERSION = 1;
+    private static final int MAX_FRAME_BYTES = 1 << 20;
+
+    private LeadBinaryCodec() {
+    }
+
+    public static byte[] encode(Lead lead) {
+        return encode(lead, lead.getVersion());
+    }
+
+    /**
+     * Encode the lead as it will be once saved at the given version, without touching the lead
+     */
+    public static byte[] encode(Lead lead, long version) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            write(new DataOutputStream(bytes), lead, version);
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode one record
+     * Any failure, whether a short read, a bad ordinal, an unknown zone id or a value object
+     * rejecting its input, surfaces as an IllegalArgumentException so callers need only one catch.
+     */
+    public static Lead decode(byte[] payload) {
+        try {
+            return read(new DataInputStream(new ByteArrayInputStream(payload)));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Corrupt lead record", e);
+        }
+    }
+
+    /**
+     * Append one length-prefixed lead to a stream of leads
+     */
+    public static void writeFrame(DataOutput out, Lead lead) throws IOException {
+        byte[] record = encode(lead);
+        out.writeInt(record.length);
+        out.write(record);
+    }
+
+    /**
+     * Next record of a stream of leads, still encoded; null at a clean end of stream
+     * Throws EOFException if the stream ends inside a frame
+     */
+    public static byte[] readFrame(DataInputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        int length = first << 24 | in.readUnsignedByte() << 16 | in.readUnsignedByte() << 8 | in.readUnsignedByte();
+        if (length < 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid lead frame length: " + length);
+        }
+        byte[] record = new byte[length];
+        in.readFully(record);
+        return record;
+    }
+
+    public static void write(DataOutput out, Lead lead) throws IOException {
+        write(out, lead, lead.getVersion());
+    }
+
+    private static void write(DataOutput out, Lead lead, long version) throws IOException {
+        out.writeByte(FORMAT_VERSION);
+        writeString(out, lead.getLeadId());
+        writeString(out, lead.getTenantId());
+        writeString(out, lead.getDealerId());
+        writeString(out, lead.getSiteId());
+        writeString(out, lead.getFirstName());
+        writeString(out, lead.getLastName());
+
+        writeString(out, lead.getEmail() == null ? null : lead.getEmail().getValue());
+
+        PhoneCoordinate phone = lead.getPhone();
+        out.writeBoolean(phone != null);
+        if (phone != null) {
+            writeString(out, phone.getCountryCode());
+            writeString(out, phone.getNumber());
+        }
+
+        VehicleInterest vehicle = lead.getVehicleInterest();
+        out.writeBoolean(vehicle != null);
+        if (vehicle != null) {
+            writeString(out, vehicle.getMake());
+            writeString(out, vehicle.getModel());
+            out.writeBoolean(vehicle.getYear() != null);
+            if (vehicle.getYear() != null) out.writeInt(vehicle.getYear());
+            out.writeBoolean(vehicle.getTradeInValue() != null);
+            if (vehicle.getTradeInValue() != null) out.writeDouble(vehicle.getTradeInValue());
+        }
+
+        out.writeByte(lead.getSource() == null ? -1 : lead.getSource().ordinal());
+        out.writeByte(lead.getState() == null ? -1 : lead.getState().ordinal());
+        writeTimestamp(out, lead.getCreatedAt());
+        writeTimestamp(out, lead.getUpdatedAt());
+        out.writeLong(version);
+    }
+
+    public static Lead read(DataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported lead format version: " + version);
+        }
+
+        Lead.LeadBuilder builder = Lead.builder()
+                .leadId(readString(in))
+                .tenantId(readString(in))
+                .dealerId(readString(in))
+                .siteId(readString(in))
+                .firstName(readString(in))
+                .lastName(readString(in));
+
+        String email = readString(in);
+        if (email != null) builder.email(new Email(email));
+
+        if (in.readBoolean()) {
+            builder.phone(new PhoneCoordinate(readString(in), readString(in)));
+        }
+
+        if (in.readBoolean()) {
+            String make = readString(in);
+            String model = readString(in);
+            Integer year = in.readBoolean() ? in.readInt() : null;
+            Double tradeInValue = in.readBoolean() ? in.readDouble() : null;
+            builder.vehicleInterest(new VehicleInterest(make, model, year, tradeInValue));
+        }
+
+        byte source = in.readByte();
+        byte state = in.readByte();
+        return builder
+                .source(source < 0 ? null : LeadSource.values()[source])
+                .state(state < 0 ? null : LeadState.values()[state])
+                .createdAt(readTimestamp(in))
+                .updatedAt(readTimestamp(in))
+                .version(in.readLong())
+                .build();
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        if (!in.readBoolean()) return null;
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Negative string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTimestamp(DataOutput out, ZonedDateTime timestamp) throws IOException {
+        out.writeBoolean(timestamp != null);
+        if (timestamp != null) {
+            Instant instant = timestamp.toInstant();
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+            out.writeUTF(timestamp.getZone().getId());
+        }
+    }
+
+    private static ZonedDateTime readTimestamp(DataInput in) throws IOException {
+        if (!in.readBoolean()) return null;
+        Instant instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        return ZonedDateTime.ofInstant(instant, ZoneId.of(in.readUTF()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.tekion.demo.adapter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Fixed-width column of primitive values in a memory-mapped file
+ * The file is mapped in fixed-size chunks so it can grow without remapping existing rows.
+ * Callers are responsible for coordinating concurrent access to the same row.
+ */
+class MappedColumn implements Closeable {
+
+    static final int ROWS_PER_CHUNK = 1 << 16;
+
+    private final FileChannel channel;
+    private final int width;
+    private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+
+    MappedColumn(Path file, int width) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.width = width;
+    }
+
+    byte getByte(int row) {
+        return chunk(row).get(offset(row));
+    }
+
+    void putByte(int row, byte value) {
+        chunk(row).put(offset(row), value);
+    }
+
+    int getInt(int row) {
+        return chunk(row).getInt(offset(row));
+    }
+
+    void putInt(int row, int value) {
+        chunk(row).putInt(offset(row), value);
+    }
+
+    long getLong(int row) {
+        return chunk(row).getLong(offset(row));
+    }
+
+    void putLong(int row, long value) {
+        chunk(row).putLong(offset(row), value);
+    }
+
+    double getDouble(int row) {
+        return chunk(row).getDouble(offset(row));
+    }
+
+    void putDouble(int row, double value) {
+        chunk(row).putDouble(offset(row), value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int offset(int row) {
+        return (row & (ROWS_PER_CHUNK - 1)) * width;
+    }
+
+    private MappedByteBuffer chunk(int row) {
+        int index = row / ROWS_PER_CHUNK;
+        MappedByteBuffer[] current = chunks;
+        if (index < current.length) {
+            return current[index];
+        }
+        return grow(index);
+    }
+
+    private synchronized MappedByteBuffer grow(int index) {
+        MappedByteBuffer[] current = chunks;
+        if (index < current.length) {
+            return current[index];
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(current, index + 1);
+        long chunkBytes = (long) ROWS_PER_CHUNK * width;
+        try {
+            for (int i = current.length; i <= index; i++) {
+                grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * chunkBytes, chunkBytes);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to map column chunk " + index, e);
+        }
+        chunks = grown;
+        return grown[index];
+    }
+}
@@ -0,0 +1,122 @@
+package com.tekion.demo.adapter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only store of variable-length strings in a memory-mapped file
+ * Each string is written as [length][utf-8 bytes] and addressed by its file offset.
+ * A string never spans two chunks; space left at the end of a chunk is skipped.
+ *
+ * Space is never reclaimed: a string that is replaced stays in the file until it is truncated
+ * on the next startup. appendIfChanged keeps an unchanged string at its old offset, so rewriting
+ * a record only grows the heap by the fields that actually changed.
+ */
+class MappedStringHeap implements Closeable {
+
+    static final long NULL_REF = -1;
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+    private long next;
+
+    MappedStringHeap(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    long append(String value) {
+        if (value == null) return NULL_REF;
+        return append(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Ref of the value, reusing ref if it already holds the same string
+     * ref must come from this heap and must not be written concurrently.
+     */
+    long appendIfChanged(long ref, String value) {
+        if (value == null) return NULL_REF;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return ref != NULL_REF && holds(ref, bytes) ? ref : append(bytes);
+    }
+
+    /**
+     * Bytes taken so far, including the skipped chunk tails
+     */
+    synchronized long size() {
+        return next;
+    }
+
+    private long append(byte[] bytes) {
+        int size = 4 + bytes.length;
+        if (size > CHUNK_BYTES) {
+            throw new IllegalArgumentException("String too large for heap: " + bytes.length + " bytes");
+        }
+
+        long ref;
+        MappedByteBuffer chunk;
+        synchronized (this) {
+            if (next % CHUNK_BYTES + size > CHUNK_BYTES) {
+                next = (next / CHUNK_BYTES + 1) * CHUNK_BYTES;
+            }
+            ref = next;
+            next += size;
+            chunk = chunk((int) (ref / CHUNK_BYTES));
+        }
+
+        // The reserved range is private to this caller, so it can be filled outside the lock
+        int position = (int) (ref % CHUNK_BYTES);
+        chunk.putInt(position, bytes.length);
+        chunk.put(position + 4, bytes);
+        return ref;
+    }
+
+    String read(long ref) {
+        if (ref == NULL_REF) return null;
+        MappedByteBuffer chunk = chunks[(int) (ref / CHUNK_BYTES)];
+        int position = (int) (ref % CHUNK_BYTES);
+        byte[] bytes = new byte[chunk.getInt(position)];
+        chunk.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean holds(long ref, byte[] bytes) {
+        MappedByteBuffer chunk = chunks[(int) (ref / CHUNK_BYTES)];
+        int position = (int) (ref % CHUNK_BYTES);
+        if (chunk.getInt(position) != bytes.length) return false;
+        for (int i = 0; i < bytes.length; i++) {
+            if (chunk.get(position + 4 + i) != bytes[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Caller holds the heap lock
+    private MappedByteBuffer chunk(int index) {
+        MappedByteBuffer[] current = chunks;
+        if (index < current.length) {
+            return current[index];
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(current, index + 1);
+        try {
+            for (int i = current.length; i <= index; i++) {
+                grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i * CHUNK_BYTES, CHUNK_BYTES);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to map string heap chunk " + index, e);
+        }
+        chunks = grown;
+        return grown[index];
+    }
+}
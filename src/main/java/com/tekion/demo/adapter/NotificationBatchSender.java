@@ -0,0 +1,109 @@
+package com.tekion.demo.adapter;
+
+import com.tekion.demo.circuitbreaker.CircuitBreaker;
+import com.tekion.demo.notification.Notification;
+import com.tekion.demo.notification.NotificationResult;
+import com.tekion.demo.notification.NotificationType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Batch sending shared by the notification adapters
+ * Notifications are grouped by recipient, in order of each recipient's first notification, then
+ * go to the provider in chunks of up to CHUNK_SIZE, one provider call and one circuit breaker
+ * admission per chunk, and every notification in a chunk gets that call's result. A recipient's
+ * notifications therefore share as few chunks as possible. Results keep the input order, and
+ * notifications of other types fail without being sent.
+ */
+final class NotificationBatchSender {
+
+    private static final int CHUNK_SIZE = 100;
+
+    private final NotificationType type;
+    // Channel name as it appears in result messages, e.g. "Email"
+    private final String channel;
+    private final CircuitBreaker circuitBreaker;
+    private final double simulatedFailureRate;
+
+    NotificationBatchSender(NotificationType type, String channel, CircuitBreaker circuitBreaker,
+                            double simulatedFailureRate) {
+        this.type = type;
+        this.channel = channel;
+        this.circuitBreaker = circuitBreaker;
+        this.simulatedFailureRate = simulatedFailureRate;
+    }
+
+    List<NotificationResult> sendBatch(List<Notification> notifications) {
+        NotificationResult[] results = new NotificationResult[notifications.size()];
+        Map<String, List<Integer>> byRecipient = new LinkedHashMap<>();
+        for (int i = 0; i < notifications.size(); i++) {
+            if (notifications.get(i).getType() != type) {
+                results[i] = NotificationResult.builder()
+                        .success(false)
+                        .message(channel + " adapter does not support " + notifications.get(i).getType())
+                        .build();
+                continue;
+            }
+            byRecipient.computeIfAbsent(notifications.get(i).getRecipient(), r -> new ArrayList<>()).add(i);
+        }
+
+        List<Integer> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (List<Integer> recipient : byRecipient.values()) {
+            for (int i : recipient) {
+                chunk.add(i);
+                if (chunk.size() == CHUNK_SIZE) {
+                    sendChunk(notifications, chunk, results);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            sendChunk(notifications, chunk, results);
+        }
+        return List.of(results);
+    }
+
+    private void sendChunk(List<Notification> notifications, List<Integer> chunk, NotificationResult[] results) {
+        String tag = channel.toUpperCase(Locale.ROOT);
+        NotificationResult outcome;
+        if (!circuitBreaker.allowRequest()) {
+            System.out.println(tag + " Circuit Breaker is OPEN - batch of " + chunk.size() + " blocked");
+            outcome = NotificationResult.builder()
+                    .success(false)
+                    .message(channel + " service unavailable (circuit breaker open)")
+                    .build();
+        } else {
+            long start = System.nanoTime();
+            try {
+                long recipients = chunk.stream().map(i -> notifications.get(i).getRecipient()).distinct().count();
+                System.out.println("Sending " + tag + " batch: " + chunk.size() + " messages to " + recipients + " recipients");
+
+                if (Math.random() < simulatedFailureRate) {
+                    throw new RuntimeException(channel + " service temporarily unavailable");
+                }
+
+                circuitBreaker.recordSuccess(Duration.ofNanos(System.nanoTime() - start));
+                outcome = NotificationResult.builder()
+                        .success(true)
+                        .message(channel + " sent successfully")
+                        .build();
+            } catch (Exception e) {
+                circuitBreaker.recordFailure(Duration.ofNanos(System.nanoTime() - start));
+                System.out.println(tag + " batch failed: " + e.getMessage() +
+                        " (failures: " + circuitBreaker.getFailureCount() + ")");
+                outcome = NotificationResult.builder()
+                        .success(false)
+                        .message(channel + " failed: " + e.getMessage())
+                        .build();
+            }
+        }
+        for (int i : chunk) {
+            results[i] = outcome;
+        }
+    }
+}
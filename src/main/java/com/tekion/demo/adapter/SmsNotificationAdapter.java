@@ -1,23 +1,45 @@
 package com.tekion.demo.adapter;
 
 import com.tekion.demo.circuitbreaker.CircuitBreaker;
+import com.tekion.demo.circuitbreaker.CircuitBreakerConfig;
 import com.tekion.demo.circuitbreaker.CircuitBreakerState;
 import com.tekion.demo.notification.Notification;
 import com.tekion.demo.notification.NotificationResult;
 import com.tekion.demo.notification.NotificationType;
 import com.tekion.demo.port.NotificationPort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.List;
 
 @Component
 public class SmsNotificationAdapter implements NotificationPort {
 
     private final CircuitBreaker circuitBreaker;
+    private final double simulatedFailureRate;
+    private final NotificationBatchSender batchSender;
 
     public SmsNotificationAdapter() {
-        // Circuit breaker: 3 failures threshold, 30 seconds timeout
-        this.circuitBreaker = new CircuitBreaker(3, Duration.ofSeconds(30));
+        // 10% failure rate for demo
+        this(0.1);
+    }
+
+    public SmsNotificationAdapter(double simulatedFailureRate) {
+        this(CircuitBreakerConfig.builder().name("sms").build(), simulatedFailureRate);
+    }
+
+    @Autowired
+    public SmsNotificationAdapter(@Qualifier("smsCircuitBreakerConfig") CircuitBreakerConfig circuitBreakerConfig) {
+        // 10% failure rate for demo
+        this(circuitBreakerConfig, 0.1);
+    }
+
+    public SmsNotificationAdapter(CircuitBreakerConfig circuitBreakerConfig, double simulatedFailureRate) {
+        this.circuitBreaker = new CircuitBreaker(circuitBreakerConfig);
+        this.simulatedFailureRate = simulatedFailureRate;
+        this.batchSender = new NotificationBatchSender(NotificationType.SMS, "SMS", circuitBreaker, simulatedFailureRate);
     }
 
     @Override
@@ -31,23 +53,24 @@ public class SmsNotificationAdapter implements NotificationPort {
                     .build();
         }
 
+        long start = System.nanoTime();
         try {
             // Simulate SMS sending
             System.out.println("Sending SMS to: " + notification.getRecipient() +
                     " | Message: " + notification.getMessage());
 
-            // Simulate occasional failures (10% failure rate for demo)
-            if (Math.random() < 0.1) {
+            // Simulate occasional failures
+            if (Math.random() < simulatedFailureRate) {
                 throw new RuntimeException("SMS service temporarily unavailable");
             }
 
-            circuitBreaker.recordSuccess();
+            circuitBreaker.recordSuccess(Duration.ofNanos(System.nanoTime() - start));
             return NotificationResult.builder()
                     .success(true)
                     .message("SMS sent successfully")
                     .build();
         } catch (Exception e) {
-            circuitBreaker.recordFailure();
+            circuitBreaker.recordFailure(Duration.ofNanos(System.nanoTime() - start));
             System.out.println("SMS failed: " + e.getMessage() +
                     " (failures: " + circuitBreaker.getFailureCount() + ")");
             return NotificationResult.builder()
@@ -57,6 +80,15 @@ public class SmsNotificationAdapter implements NotificationPort {
         }
     }
 
+    /**
+     * Send in chunks, one provider call and one circuit breaker admission per chunk
+     * (see NotificationBatchSender); notifications of other types fail without being sent
+     */
+    @Override
+    public List<NotificationResult> sendBatch(List<Notification> notifications) {
+        return batchSender.sendBatch(notifications);
+    }
+
     @Override
     public boolean supports(NotificationType type) {
         return type == NotificationType.SMS;
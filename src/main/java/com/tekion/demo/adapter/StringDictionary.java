@@ -0,0 +1,36 @@
+package com.tekion.demo.adapter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Dictionary encoding for low-cardinality strings such as dealer, tenant or vehicle make
+ * Each distinct value is stored once and referenced by an int code; null encodes as -1.
+ */
+class StringDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final List<String> values = new CopyOnWriteArrayList<>();
+
+    int encode(String value) {
+        if (value == null) return NULL_CODE;
+        return codes.computeIfAbsent(value, key -> {
+            synchronized (values) {
+                values.add(key);
+                return values.size() - 1;
+            }
+        });
+    }
+
+    String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,242 @@
+package com.tekion.demo.adapter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Segmented append-only log with group commit
+ * A single writer thread drains every pending append, writes them with one
+ * FileChannel write and makes them durable with one force, so concurrent callers
+ * share the cost of an fsync. Records are framed as [length][crc32][payload].
+ */
+class WriteAheadLog implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d{20})\\.log");
+    private static final int MAX_BATCH = 4096;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 16 << 20;
+
+    private final Path directory;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // Owned by the writer thread
+    private FileChannel channel;
+    private long segment;
+
+    WriteAheadLog(Path directory, long firstSegment) throws IOException {
+        this.directory = directory;
+        this.segment = firstSegment;
+        this.channel = openSegment(firstSegment);
+        this.writer = new Thread(this::run, "lead-wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queue a record; the future completes once it has been forced to disk
+     */
+    CompletableFuture<Void> append(byte[] payload) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Write-ahead log is closed"));
+        }
+        Request request = new Request(payload);
+        queue.add(request);
+        return request.done.thenApply(segment -> null);
+    }
+
+    /**
+     * Start a new segment after everything queued so far
+     * Completes with the number of the last sealed segment
+     */
+    CompletableFuture<Long> roll() {
+        Request request = new Request(null);
+        queue.add(request);
+        return request.done;
+    }
+
+    /**
+     * Remove sealed segments that are fully covered by a snapshot
+     */
+    void deleteSegmentsUpTo(long lastCovered) throws IOException {
+        for (long number : listSegments(directory)) {
+            if (number <= lastCovered) {
+                Files.deleteIfExists(segmentPath(directory, number));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything that raced with close never reached the writer
+        Request leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.done.completeExceptionally(new IllegalStateException("Write-ahead log is closed"));
+        }
+        channel.close();
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Request> batch) {
+        int from = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).isRoll()) {
+                commit(batch.subList(from, i));
+                rollSegment(batch.get(i));
+                from = i + 1;
+            }
+        }
+        commit(batch.subList(from, batch.size()));
+    }
+
+    private void commit(List<Request> appends) {
+        if (appends.isEmpty()) return;
+        int size = 0;
+        for (Request request : appends) {
+            size += HEADER_BYTES + request.payload.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (Request request : appends) {
+            frame(buffer, request.payload);
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            appends.forEach(request -> request.done.complete(segment));
+        } catch (IOException e) {
+            appends.forEach(request -> request.done.completeExceptionally(e));
+        }
+    }
+
+    private void rollSegment(Request request) {
+        try {
+            channel.force(true);
+            channel.close();
+            long sealed = segment;
+            segment++;
+            channel = openSegment(segment);
+            request.done.complete(sealed);
+        } catch (IOException e) {
+            request.done.completeExceptionally(e);
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(segmentPath(directory, number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    static void frame(ByteBuffer buffer, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+    }
+
+    /**
+     * Read framed records until end of file or the first torn/corrupt record
+     * Returns false if reading stopped early because of a damaged record
+     */
+    static boolean readRecords(Path file, Consumer<byte[]> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             DataInputStream in = new DataInputStream(
+                     new BufferedInputStream(Channels.newInputStream(channel), 1 << 20))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return true;
+                }
+                try {
+                    int expectedCrc = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_BYTES) return false;
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != expectedCrc) return false;
+                    consumer.accept(payload);
+                } catch (EOFException e) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    static List<Long> listSegments(Path directory) throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    static Path segmentPath(Path directory, long number) {
+        return directory.resolve(String.format("wal-%020d.log", number));
+    }
+
+    private static class Request {
+        final byte[] payload;
+        final CompletableFuture<Long> done = new CompletableFuture<>();
+
+        Request(byte[] payload) {
+            this.payload = payload;
+        }
+
+        boolean isRoll() {
+            return payload == null;
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package com.tekion.demo.adapter;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadQuery;
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.LeadSummary;
+import com.tekion.demo.port.LeadPersistencePort;
+import com.tekion.demo.scoring.rules.LeadScoringEngine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Durable lead repository: in-memory indexes backed by a write-ahead log and periodic snapshots
+ * Enabled with the "wal" Spring profile.
+ *
+ * On startup the latest snapshot is loaded and every log segment written after it is replayed.
+ * A snapshot seals the current log segment, writes all leads to a new snapshot file and then
+ * deletes the segments it covers, which keeps replay time bounded.
+ *
+ * A write is applied in memory, and becomes visible to readers and listeners, only once its
+ * record has been forced to disk; a write that fails to persist leaves memory untouched.
+ */
+@Repository
+@Profile("wal")
+public class WriteAheadLogLeadRepository implements LeadPersistencePort {
+
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{20})\\.bin");
+    private static final int LOCK_STRIPES = 64;
+    private static final int SNAPSHOT_BUFFER_BYTES = 1 << 20;
+
+    private final InMemoryLeadRepository memory;
+    private final Path directory;
+    private final WriteAheadLog log;
+    private final Lock[] stripes = new Lock[LOCK_STRIPES];
+    private final Object snapshotLock = new Object();
+    private final ScheduledExecutorService snapshotScheduler;
+
+    public WriteAheadLogLeadRepository(LeadScoringEngine scoringEngine,
+                                       @Value("${lead.wal.directory:data/wal}") String directory,
+                                       @Value("${lead.wal.snapshot-interval:PT5M}") Duration snapshotInterval)
+            throws IOException {
+        this.memory = new InMemoryLeadRepository(scoringEngine);
+        this.directory = Files.createDirectories(Paths.get(directory));
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+
+        long nextSegment = recover();
+        this.log = new WriteAheadLog(this.directory, nextSegment);
+
+        if (snapshotInterval.isZero() || snapshotInterval.isNegative()) {
+            this.snapshotScheduler = null;
+        } else {
+            this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "lead-wal-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = snapshotInterval.toMillis();
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Lead save(Lead lead) {
+        // The stripe is held until the record is durable and published, so no other writer
+        // of this lead can read or build on a version that might still be lost
+        Lock stripe = stripeFor(lead.getLeadId());
+        stripe.lock();
+        try {
+            // Encoded before the version moves on, so a lead that fails to encode is left as it was
+            long version = storedVersion(lead) + 1;
+            byte[] record = LeadBinaryCodec.encode(lead, version);
+            lead.setVersion(version);
+            awaitDurable(log.append(record), "lead " + lead.getLeadId());
+            memory.restore(lead);
+        } finally {
+            stripe.unlock();
+        }
+        return lead;
+    }
+
+    /**
+     * Queues every record before waiting, so the log writer forces the whole batch to disk
+     * in a few group commits instead of one fsync per lead
+     * Every stripe the batch touches is held until the batch is durable and published.
+     */
+    @Override
+    public List<Lead> saveAll(List<Lead> leads) {
+        List<Lock> held = stripesFor(leads);
+        held.forEach(Lock::lock);
+        try {
+            // A lead repeated in the batch builds on the version queued before it
+            Map<String, Long> queued = new HashMap<>();
+            long[] versions = new long[leads.size()];
+            byte[][] records = new byte[leads.size()][];
+            for (int i = 0; i < versions.length; i++) {
+                Lead lead = leads.get(i);
+                String key = lead.getDealerId() + '\u0000' + lead.getLeadId();
+                Long previous = queued.get(key);
+                versions[i] = (previous == null ? storedVersion(lead) : previous) + 1;
+                queued.put(key, versions[i]);
+                records[i] = LeadBinaryCodec.encode(lead, versions[i]);
+            }
+            // Every record is encoded before any lead is touched or logged
+            List<CompletableFuture<Void>> durable = new ArrayList<>(leads.size());
+            for (int i = 0; i < versions.length; i++) {
+                leads.get(i).setVersion(versions[i]);
+                durable.add(log.append(records[i]));
+            }
+            awaitDurable(CompletableFuture.allOf(durable.toArray(new CompletableFuture[0])),
+                    "batch of " + leads.size() + " leads");
+            for (Lead lead : leads) {
+                memory.restore(lead);
+            }
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+        return leads;
+    }
+
+    /**
+     * onCommit runs and the lead becomes visible only after its record is durable
+     */
+    @Override
+    public boolean saveIfVersion(Lead lead, long expectedVersion, Runnable onCommit) {
+        Lock stripe = stripeFor(lead.getLeadId());
+        stripe.lock();
+        try {
+            if (storedVersion(lead) != expectedVersion) {
+                return false;
+            }
+            byte[] record = LeadBinaryCodec.encode(lead, expectedVersion + 1);
+            long originalVersion = lead.getVersion();
+            lead.setVersion(expectedVersion + 1);
+            try {
+                awaitDurable(log.append(record), "lead " + lead.getLeadId());
+            } catch (IllegalStateException e) {
+                lead.setVersion(originalVersion);
+                throw e;
+            }
+            onCommit.run();
+            memory.restore(lead);
+            return true;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Checks every version, then waits once for all records that passed before running
+     * onCommit and publishing them
+     */
+    @Override
+    public boolean[] saveAllIfVersion(List<Lead> leads, long[] expectedVersions, IntConsumer onCommit) {
+        boolean[] saved = new boolean[leads.size()];
+        List<Lock> held = stripesFor(leads);
+        held.forEach(Lock::lock);
+        try {
+            byte[][] records = new byte[leads.size()][];
+            for (int i = 0; i < saved.length; i++) {
+                Lead lead = leads.get(i);
+                if (storedVersion(lead) != expectedVersions[i]) continue;
+                records[i] = LeadBinaryCodec.encode(lead, expectedVersions[i] + 1);
+                saved[i] = true;
+            }
+            long[] originalVersions = new long[leads.size()];
+            List<CompletableFuture<Void>> durable = new ArrayList<>(leads.size());
+            for (int i = 0; i < saved.length; i++) {
+                if (!saved[i]) continue;
+                originalVersions[i] = leads.get(i).getVersion();
+                leads.get(i).setVersion(expectedVersions[i] + 1);
+                durable.add(log.append(records[i]));
+            }
+            try {
+                awaitDurable(CompletableFuture.allOf(durable.toArray(new CompletableFuture[0])),
+                        "batch of " + durable.size() + " leads");
+            } catch (IllegalStateException e) {
+                for (int i = 0; i < saved.length; i++) {
+                    if (saved[i]) leads.get(i).setVersion(originalVersions[i]);
+                }
+                throw e;
+            }
+            for (int i = 0; i < saved.length; i++) {
+                if (!saved[i]) continue;
+                onCommit.accept(i);
+                memory.restore(leads.get(i));
+            }
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Must hold the lead's stripe; every write of a lead goes through this repository under
+     * that stripe, so the in-memory version is the latest durable one
+     */
+    private long storedVersion(Lead lead) {
+        return memory.findByIdAndDealerId(lead.getLeadId(), lead.getDealerId()).map(Lead::getVersion).orElse(0L);
+    }
+
+    private static void awaitDurable(CompletableFuture<Void> durable, String what) {
+        try {
+            durable.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to persist " + what, e.getCause());
+        }
+    }
+
+    @Override
+    public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
+        return memory.findByIdAndDealerId(leadId, dealerId);
+    }
+
+    @Override
+    public List<Lead> findByDealerId(String dealerId) {
+        return memory.findByDealerId(dealerId);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state) {
+        return memory.findByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state, String afterLeadId, int limit) {
+        return memory.findByDealerIdAndState(dealerId, state, afterLeadId, limit);
+    }
+
+    @Override
+    public int countByDealerIdAndState(String dealerId, LeadState state) {
+        return memory.countByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdOrderByScore(String dealerId, int limit) {
+        return memory.findByDealerIdOrderByScore(dealerId, limit);
+    }
+
+    @Override
+    public LeadPage<Lead> findPage(LeadQuery query) {
+        return memory.findPage(query);
+    }
+
+    @Override
+    public LeadPage<LeadSummary> findSummaryPage(LeadQuery query) {
+        return memory.findSummaryPage(query);
+    }
+
+    @Override
+    public int[] getScoreHistogram(String dealerId) {
+        return memory.getScoreHistogram(dealerId);
+    }
+
+    /**
+     * Scores are not logged; recovery recomputes them from the replayed leads
+     */
+    @Override
+    public boolean updateScore(Lead lead, double score) {
+        return memory.updateScore(lead, score);
+    }
+
+    /**
+     * Listeners run once the write is durable and applied in memory
+     */
+    @Override
+    public void addSaveListener(Consumer<Lead> listener) {
+        memory.addSaveListener(listener);
+    }
+
+    /**
+     * Write a compact snapshot of all leads and truncate the log segments it covers
+     */
+    public void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            // With every stripe held no record is durable but unpublished, so the snapshot
+            // below sees everything in the segments the roll seals
+            long covered;
+            List<Lock> all = List.of(stripes);
+            all.forEach(Lock::lock);
+            try {
+                covered = log.roll().join();
+            } finally {
+                all.forEach(Lock::unlock);
+            }
+
+            Path temp = directory.resolve("snapshot.tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_BUFFER_BYTES);
+                memory.forEachLead(lead -> {
+                    byte[] record = LeadBinaryCodec.encode(lead);
+                    try {
+                        if (buffer.remaining() < record.length + 8) {
+                            drain(channel, buffer);
+                        }
+                        if (buffer.remaining() < record.length + 8) {
+                            ByteBuffer large = ByteBuffer.allocate(record.length + 8);
+                            WriteAheadLog.frame(large, record);
+                            drain(channel, large);
+                        } else {
+                            WriteAheadLog.frame(buffer, record);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                drain(channel, buffer);
+                channel.force(true);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            Files.move(temp, snapshotPath(covered), StandardCopyOption.ATOMIC_MOVE);
+            for (long older : listSnapshots()) {
+                if (older < covered) {
+                    Files.deleteIfExists(snapshotPath(older));
+                }
+            }
+            log.deleteSegmentsUpTo(covered);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+        log.close();
+    }
+
+    /**
+     * Load the latest snapshot and replay newer log segments
+     * Returns the number of the segment new writes should go to
+     */
+    private long recover() throws IOException {
+        long started = System.currentTimeMillis();
+        long lastCovered = -1;
+        int[] replayed = new int[1];
+
+        List<Long> snapshots = listSnapshots();
+        if (!snapshots.isEmpty()) {
+            lastCovered = snapshots.get(snapshots.size() - 1);
+            WriteAheadLog.readRecords(snapshotPath(lastCovered), record -> {
+                memory.restore(LeadBinaryCodec.decode(record));
+                replayed[0]++;
+            });
+        }
+
+        long lastSegment = lastCovered;
+        for (long segment : WriteAheadLog.listSegments(directory)) {
+            if (segment <= lastCovered) continue;
+            boolean clean = WriteAheadLog.readRecords(WriteAheadLog.segmentPath(directory, segment), record -> {
+                memory.restore(LeadBinaryCodec.decode(record));
+                replayed[0]++;
+            });
+            if (!clean) {
+                System.out.println("WAL: ignoring torn record at end of segment " + segment);
+            }
+            lastSegment = segment;
+        }
+
+        System.out.println(String.format("WAL: recovered %d records in %d ms",
+                replayed[0], System.currentTimeMillis() - started));
+        return lastSegment + 1;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            System.out.println("WAL snapshot failed: " + e.getMessage());
+        }
+    }
+
+    private List<Long> listSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SNAPSHOT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path snapshotPath(long covered) {
+        return directory.resolve(String.format("snapshot-%020d.bin", covered));
+    }
+
+    private Lock stripeFor(String leadId) {
+        return stripes[Math.floorMod(leadId.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * Distinct stripes of the leads in stripe order, so concurrent batches never deadlock
+     */
+    private List<Lock> stripesFor(List<Lead> leads) {
+        BitSet used = new BitSet(LOCK_STRIPES);
+        for (Lead lead : leads) {
+            used.set(Math.floorMod(lead.getLeadId().hashCode(), LOCK_STRIPES));
+        }
+        List<Lock> locks = new ArrayList<>(used.cardinality());
+        for (int i = used.nextSetBit(0); i >= 0; i = used.nextSetBit(i + 1)) {
+            locks.add(stripes[i]);
+        }
+        return locks;
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
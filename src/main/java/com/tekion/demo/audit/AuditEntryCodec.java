@@ -0,0 +1,88 @@
+package com.tekion.demo.audit;
+
+import com.tekion.demo.lead.LeadState;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Compact binary encoding of an AuditEntry
+ * Nullable fields are prefixed with a presence flag; states are written as ordinals.
+ * Strings are an int byte length followed by UTF-8, so free-text fields such as the reason
+ * have no 64 KB limit. A record that could not be encoded is written as a single
+ * DROPPED byte and reads back as null, the same as a slot that was never written.
+ */
+final class AuditEntryCodec {
+
+    static final byte FORMAT_VERSION = 2;
+    static final byte DROPPED = 0;
+
+    private AuditEntryCodec() {
+    }
+
+    static void write(DataOutput out, AuditEntry entry) throws IOException {
+        out.writeByte(FORMAT_VERSION);
+        writeString(out, entry.getLeadId());
+        out.writeByte(entry.getFromState() == null ? -1 : entry.getFromState().ordinal());
+        out.writeByte(entry.getToState() == null ? -1 : entry.getToState().ordinal());
+        writeString(out, entry.getActor());
+        writeString(out, entry.getReason());
+
+        ZonedDateTime timestamp = entry.getTimestamp();
+        out.writeBoolean(timestamp != null);
+        if (timestamp != null) {
+            Instant instant = timestamp.toInstant();
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+            out.writeUTF(timestamp.getZone().getId());
+        }
+    }
+
+    /**
+     * Null for a dropped record
+     */
+    static AuditEntry read(DataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version == DROPPED) {
+            return null;
+        }
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported audit format version: " + version);
+        }
+        AuditEntry.AuditEntryBuilder builder = AuditEntry.builder().leadId(readString(in));
+        byte from = in.readByte();
+        byte to = in.readByte();
+        builder.fromState(from < 0 ? null : LeadState.values()[from])
+                .toState(to < 0 ? null : LeadState.values()[to])
+                .actor(readString(in))
+                .reason(readString(in));
+        if (in.readBoolean()) {
+            Instant instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            builder.timestamp(ZonedDateTime.ofInstant(instant, ZoneId.of(in.readUTF())));
+        }
+        return builder.build();
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        if (!in.readBoolean()) return null;
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Negative string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
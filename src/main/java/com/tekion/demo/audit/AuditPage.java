@@ -0,0 +1,16 @@
+package com.tekion.demo.audit;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of audit entries; nextCursor is null once there are no more entries
+ */
+@Value
+@Builder
+public class AuditPage {
+    List<AuditEntry> entries;
+    String nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.tekion.demo.audit;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A page request over the audit trail, newest entries first
+ * Every filter is optional; cursor is the nextCursor of the previous page.
+ */
+@Value
+@Builder
+public class AuditQuery {
+    String actor;
+    // Inclusive
+    Instant from;
+    // Exclusive
+    Instant to;
+    String cursor;
+    @Builder.Default
+    int limit = 50;
+}
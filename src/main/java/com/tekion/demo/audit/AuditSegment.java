@@ -0,0 +1,212 @@
+package com.tekion.demo.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed-size run of consecutive audit sequence numbers
+ * Writers fill their own slot and bump the fill count; the writer that completes the
+ * segment hands it off to be spilled. Once spilled the file layout is
+ * [entry count][byte offset of each entry][encoded entries], so any single entry can be
+ * read back with two positional reads.
+ */
+class AuditSegment {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditSegment.class);
+
+    private final long number;
+    private final AtomicReferenceArray<AuditEntry> entries;
+    private final AtomicInteger filled = new AtomicInteger();
+    private final TimeBounds bounds = new TimeBounds();
+    private volatile boolean spilled;
+
+    AuditSegment(long number, int size) {
+        this.number = number;
+        this.entries = new AtomicReferenceArray<>(size);
+    }
+
+    long getNumber() {
+        return number;
+    }
+
+    /**
+     * Timestamp range of the entries written so far; outlives the in-memory segment
+     */
+    TimeBounds getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Returns true if this write completed the segment
+     */
+    boolean set(int slot, AuditEntry entry) {
+        entries.set(slot, entry);
+        if (entry.getTimestamp() != null) {
+            bounds.include(entry.getTimestamp().toInstant().toEpochMilli());
+        }
+        return filled.incrementAndGet() == entries.length();
+    }
+
+    /**
+     * Null if the slot has been claimed but not written yet
+     */
+    AuditEntry get(int slot) {
+        return entries.get(slot);
+    }
+
+    int size() {
+        return entries.length();
+    }
+
+    boolean isSpilled() {
+        return spilled;
+    }
+
+    /**
+     * File image of the completed segment
+     * Encoding is deterministic, so an entry that fails to encode is logged and dropped
+     * here once instead of failing every spill attempt; its slot reads back as null.
+     */
+    byte[] encode() {
+        int count = entries.length();
+        int headerBytes = 4 + 4 * count;
+        ByteArrayOutputStream body = new ByteArrayOutputStream(count * 64);
+        ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+        DataOutputStream recordOut = new DataOutputStream(record);
+        ByteBuffer header = ByteBuffer.allocate(headerBytes);
+        header.putInt(count);
+        for (int i = 0; i < count; i++) {
+            header.putInt(headerBytes + body.size());
+            record.reset();
+            try {
+                AuditEntryCodec.write(recordOut, entries.get(i));
+            } catch (IOException | RuntimeException e) {
+                log.error("Dropping audit entry {} of segment {}: {}", i, number, e.toString());
+                record.reset();
+                record.write(AuditEntryCodec.DROPPED);
+            }
+            body.writeBytes(record.toByteArray());
+        }
+
+        byte[] image = new byte[headerBytes + body.size()];
+        System.arraycopy(header.array(), 0, image, 0, headerBytes);
+        System.arraycopy(body.toByteArray(), 0, image, headerBytes, body.size());
+        return image;
+    }
+
+    /**
+     * Write the encoded segment to file; the file appears atomically and only then
+     * is the segment marked as spilled
+     */
+    void spill(Path file, byte[] image) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.wrap(image);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        spilled = true;
+    }
+
+    /**
+     * Read the entries at the given slots, in the order given; dropped entries are null
+     */
+    static List<AuditEntry> read(Path file, int[] slots) throws IOException {
+        List<AuditEntry> result = new ArrayList<>(slots.length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int count = readInt(channel, 0);
+            long fileSize = channel.size();
+            ByteBuffer bounds = ByteBuffer.allocate(8);
+            for (int slot : slots) {
+                bounds.clear();
+                if (slot + 1 < count) {
+                    readFully(channel, bounds, 4 + 4L * slot);
+                    bounds.flip();
+                } else {
+                    bounds.putInt(readInt(channel, 4 + 4L * slot)).putInt((int) fileSize).flip();
+                }
+                int start = bounds.getInt();
+                int end = bounds.getInt();
+                ByteBuffer record = ByteBuffer.allocate(end - start);
+                readFully(channel, record, start);
+                result.add(AuditEntryCodec.read(new DataInputStream(
+                        new ByteArrayInputStream(record.array()))));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Read every entry in the file in slot order
+     */
+    static List<AuditEntry> readAll(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             DataInputStream in = new DataInputStream(
+                     new BufferedInputStream(Channels.newInputStream(channel), 1 << 16))) {
+            int count = in.readInt();
+            in.skipNBytes(4L * count);
+            List<AuditEntry> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(AuditEntryCodec.read(in));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Earliest and latest entry timestamp in a segment, in epoch millis
+     */
+    static final class TimeBounds {
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+        void include(long epochMilli) {
+            if (epochMilli < min.get()) min.accumulateAndGet(epochMilli, Math::min);
+            if (epochMilli > max.get()) max.accumulateAndGet(epochMilli, Math::max);
+        }
+
+        /**
+         * Whether any entry may fall in [fromMilli, toMilli)
+         */
+        boolean overlaps(long fromMilli, long toMilli) {
+            return min.get() < toMilli && max.get() >= fromMilli;
+        }
+    }
+
+    private static int readInt(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        readFully(channel, buffer, position);
+        return buffer.getInt(0);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Truncated audit segment");
+            }
+        }
+    }
+}
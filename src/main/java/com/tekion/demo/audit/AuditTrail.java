@@ -1,28 +1,166 @@
 package com.tekion.demo.audit;
 
 import com.tekion.demo.lead.LeadState;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
 
 /**
  * Audit trail for tracking all state transitions
- * Thread-safe implementation using ConcurrentHashMap
+ *
+ * Entries form one append-only sequence cut into fixed-size segments. The most recent
+ * segments live in an in-memory ring; completed segments are spilled to compact binary
+ * files by a background thread and their ring slot is reused once the file exists, so
+ * heap usage is bounded by memory-segments * segment-size entries plus a per-lead index
+ * of sequence numbers.
+ *
+ * Writers claim a sequence number with one atomic increment and write their own slot,
+ * there is no lock on the append path. A writer only waits when it needs a ring slot
+ * whose previous segment has not finished spilling yet, which is the backpressure that
+ * keeps memory bounded.
+ *
+ * Queries never scan unrelated entries: every lead and actor has its own list of sequence
+ * numbers, and a skip list of per-segment timestamp bounds lets time-range queries skip
+ * whole segments. Results are ordered by sequence, which is the order entries were logged.
+ *
+ * The trail is not durable: spill files from a previous run are removed on startup.
  */
 @Component
 public class AuditTrail {
 
-    private final ConcurrentHashMap<String, List<AuditEntry>> auditLog = new ConcurrentHashMap<>();
+    private static final Logger log = LoggerFactory.getLogger(AuditTrail.class);
+
+    static final int DEFAULT_SEGMENT_SIZE = 4096;
+    static final int DEFAULT_MEMORY_SEGMENTS = 8;
+
+    private static final long[] NO_ENTRIES = new long[0];
+    private static final String FILE_PREFIX = "audit-";
+    private static final String FILE_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final boolean temporaryDirectory;
+    private final int segmentSize;
+    private final int memorySegments;
+    private final ExecutorService spiller;
+    private final AtomicLong generationIds = new AtomicLong();
+    private final AtomicReference<Generation> current;
+    private volatile boolean closed;
+
+    public AuditTrail() {
+        this(createTempDirectory(), true, DEFAULT_SEGMENT_SIZE, DEFAULT_MEMORY_SEGMENTS);
+    }
+
+    @Autowired
+    public AuditTrail(@Value("${audit.spill.directory:}") String directory,
+                      @Value("${audit.segment-size:4096}") int segmentSize,
+                      @Value("${audit.memory-segments:8}") int memorySegments) throws IOException {
+        this(directory == null || directory.isBlank()
+                        ? Files.createTempDirectory("audit-trail")
+                        : Files.createDirectories(Paths.get(directory)),
+                directory == null || directory.isBlank(), segmentSize, memorySegments);
+    }
+
+    AuditTrail(Path directory, boolean temporaryDirectory, int segmentSize, int memorySegments) {
+        if (segmentSize <= 0 || memorySegments <= 0) {
+            throw new IllegalArgumentException("Segment size and memory segments must be positive");
+        }
+        this.directory = directory;
+        this.temporaryDirectory = temporaryDirectory;
+        this.segmentSize = segmentSize;
+        this.memorySegments = memorySegments;
+        this.spiller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-spill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        deleteSpillFiles(null);
+        this.current = new AtomicReference<>(new Generation(generationIds.getAndIncrement()));
+    }
 
     /**
      * Log a state transition
      */
     public void logStateTransition(String leadId, LeadState fromState, LeadState toState, String actor, String reason) {
-        AuditEntry entry = AuditEntry.builder()
+        AuditEntry entry = entry(leadId, fromState, toState, actor, reason);
+        Generation generation = current.get();
+        write(generation, generation.sequence.getAndIncrement(), entry);
+    }
+
+    /**
+     * Start collecting entries for one bulk operation; the batch must always be passed to
+     * append, even if the operation fails part way
+     */
+    public Batch newBatch() {
+        return new Batch(current.get());
+    }
+
+    /**
+     * Most entries one batch may hold: the in-memory ring
+     * Reserved but unwritten entries keep their segments from spilling, so a batch that
+     * outgrew the ring would make every other writer wait on it until it is appended.
+     */
+    public int getMaxBatchSize() {
+        return segmentSize * memorySegments;
+    }
+
+    /**
+     * Write every entry of the batch in sequence order
+     */
+    public void append(Batch batch) {
+        List<Reserved> reserved = new ArrayList<>(batch.entries);
+        reserved.sort(Comparator.comparingLong(entry -> entry.sequence));
+        for (Reserved entry : reserved) {
+            write(batch.generation, entry.sequence, entry.entry);
+        }
+    }
+
+    private void write(Generation generation, long sequence, AuditEntry entry) {
+        AuditSegment segment = generation.segmentFor(sequence / segmentSize);
+        if (segment == null) {
+            // The trail was cleared while this entry was being written
+            return;
+        }
+        if (segment.set((int) (sequence % segmentSize), entry)) {
+            spiller.execute(() -> spill(generation, segment));
+        }
+        generation.index(generation.byLead, entry.getLeadId(), sequence);
+        if (entry.getActor() != null) {
+            generation.index(generation.byActor, entry.getActor(), sequence);
+        }
+    }
+
+    private static AuditEntry entry(String leadId, LeadState fromState, LeadState toState, String actor, String reason) {
+        return AuditEntry.builder()
                 .leadId(leadId)
                 .fromState(fromState)
                 .toState(toState)
@@ -30,53 +168,439 @@ public class AuditTrail {
                 .timestamp(ZonedDateTime.now())
                 .reason(reason)
                 .build();
-
-        auditLog.computeIfAbsent(leadId, k -> new ArrayList<>()).add(entry);
-        
-        // Log to console for visibility
-        System.out.println("AUDIT: " + entry);
     }
 
     /**
-     * Get audit history for a specific lead
+     * Get audit history for a specific lead, oldest first
      */
     public List<AuditEntry> getAuditHistory(String leadId) {
-        return new ArrayList<>(auditLog.getOrDefault(leadId, new ArrayList<>()));
+        Generation generation = current.get();
+        return generation.read(generation.sequencesFor(generation.byLead, leadId));
     }
 
     /**
-     * Get all audit entries
+     * Get all audit entries, newest first
      */
     public List<AuditEntry> getAllAuditEntries() {
-        return auditLog.values().stream()
-                .flatMap(List::stream)
-                .sorted((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()))
-                .collect(Collectors.toList());
+        List<AuditEntry> entries = current.get().readAll();
+        Collections.reverse(entries);
+        return entries;
     }
 
     /**
-     * Get audit entries by actor
+     * Get audit entries by actor, newest first
      */
     public List<AuditEntry> getAuditEntriesByActor(String actor) {
-        return auditLog.values().stream()
-                .flatMap(List::stream)
-                .filter(entry -> entry.getActor().equals(actor))
-                .sorted((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()))
-                .collect(Collectors.toList());
+        Generation generation = current.get();
+        List<AuditEntry> entries = generation.read(generation.sequencesFor(generation.byActor, actor));
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    /**
+     * One page of entries matching the query, newest first
+     * Actor queries walk only that actor's entries; time ranges skip every segment whose
+     * timestamp bounds fall outside the range without reading it.
+     */
+    public AuditPage query(AuditQuery query) {
+        if (query.getLimit() <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        Generation generation = current.get();
+        long before = query.getCursor() == null ? generation.sequence.get() : parseCursor(query.getCursor());
+        long fromMilli = query.getFrom() == null ? Long.MIN_VALUE : query.getFrom().toEpochMilli();
+        long toMilli = query.getTo() == null ? Long.MAX_VALUE : query.getTo().toEpochMilli();
+
+        // One extra match tells whether there is a next page
+        PageCollector page = new PageCollector(query.getLimit() + 1, query.getFrom(), query.getTo());
+        if (query.getActor() != null) {
+            generation.scanSequences(generation.sequencesFor(generation.byActor, query.getActor()),
+                    before, fromMilli, toMilli, page);
+        } else {
+            generation.scanSegments(before, fromMilli, toMilli, page);
+        }
+        return page.toPage(query.getLimit());
     }
 
     /**
      * Get count of state transitions for a lead
      */
     public int getTransitionCount(String leadId) {
-        return auditLog.getOrDefault(leadId, new ArrayList<>()).size();
+        Generation generation = current.get();
+        SequenceList sequences = generation.byLead.get(leadId);
+        return sequences == null ? 0 : sequences.size();
     }
 
     /**
      * Clear audit log (for testing)
      */
     public void clear() {
-        auditLog.clear();
+        Generation previous = current.getAndSet(new Generation(generationIds.getAndIncrement()));
+        deleteSpillFiles(previous.id);
+    }
+
+    /**
+     * Number of segments that have been written to disk
+     */
+    public long getSpilledSegmentCount() {
+        Generation generation = current.get();
+        long completed = generation.sequence.get() / segmentSize;
+        long spilled = 0;
+        for (long number = 0; number < completed; number++) {
+            if (Files.exists(segmentFile(generation.id, number))) {
+                spilled++;
+            }
+        }
+        return spilled;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        closed = true;
+        spiller.shutdownNow();
+        try {
+            spiller.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (temporaryDirectory) {
+            deleteSpillFiles(null);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private void spill(Generation generation, AuditSegment segment) {
+        Path file = segmentFile(generation.id, segment.getNumber());
+        // Encoding cannot fail transiently, so only the file write is retried
+        byte[] image = segment.encode();
+        while (!closed && current.get() == generation) {
+            try {
+                segment.spill(file, image);
+                if (current.get() != generation) {
+                    // Cleared while spilling
+                    Files.deleteIfExists(file);
+                }
+                return;
+            } catch (IOException e) {
+                // Writers wait on this segment's ring slot, so keep trying rather than drop it
+                log.warn("Audit spill of segment {} failed, retrying: {}", segment.getNumber(), e.getMessage());
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+    }
+
+    private Path segmentFile(long generation, long segment) {
+        return directory.resolve(String.format("%s%d-%020d%s", FILE_PREFIX, generation, segment, FILE_SUFFIX));
     }
-}
 
+    /**
+     * Remove spill files of one generation, or of every generation when null
+     */
+    private void deleteSpillFiles(Long generation) {
+        String prefix = generation == null ? FILE_PREFIX : FILE_PREFIX + generation + "-";
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix) && (name.endsWith(FILE_SUFFIX) || name.endsWith(FILE_SUFFIX + ".tmp"))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to remove audit spill files: {}", e.getMessage());
+        }
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("audit-trail");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Everything written since the trail was created or last cleared
+     */
+    private final class Generation {
+        final long id;
+        final AtomicLong sequence = new AtomicLong();
+        final AtomicReferenceArray<AuditSegment> ring = new AtomicReferenceArray<>(memorySegments);
+        final ConcurrentHashMap<String, SequenceList> byLead = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, SequenceList> byActor = new ConcurrentHashMap<>();
+        // Timestamp bounds of every segment ever created, in sequence order
+        final ConcurrentSkipListMap<Long, AuditSegment.TimeBounds> timeIndex = new ConcurrentSkipListMap<>();
+
+        Generation(long id) {
+            this.id = id;
+        }
+
+        /**
+         * The in-memory segment for the given number, installing it into its ring slot
+         * once the previous occupant has been spilled; null if this generation was cleared
+         */
+        AuditSegment segmentFor(long number) {
+            int slot = (int) (number % memorySegments);
+            int spins = 0;
+            while (current.get() == this && !closed) {
+                AuditSegment occupant = ring.get(slot);
+                if (occupant != null && occupant.getNumber() == number) {
+                    return occupant;
+                }
+                boolean free = occupant == null
+                        ? number < memorySegments
+                        : occupant.getNumber() == number - memorySegments && occupant.isSpilled();
+                if (free) {
+                    AuditSegment fresh = new AuditSegment(number, segmentSize);
+                    if (ring.compareAndSet(slot, occupant, fresh)) {
+                        timeIndex.put(number, fresh.getBounds());
+                        return fresh;
+                    }
+                    continue;
+                }
+                // Waiting for an earlier segment to be created or spilled
+                if (++spins < 100) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                }
+            }
+            return null;
+        }
+
+        void index(ConcurrentHashMap<String, SequenceList> index, String key, long sequence) {
+            SequenceList sequences = index.get(key);
+            if (sequences == null) {
+                SequenceList created = new SequenceList();
+                sequences = index.putIfAbsent(key, created);
+                if (sequences == null) {
+                    sequences = created;
+                }
+            }
+            sequences.add(sequence);
+        }
+
+        long[] sequencesFor(ConcurrentHashMap<String, SequenceList> index, String key) {
+            SequenceList sequences = index.get(key);
+            return sequences == null ? NO_ENTRIES : sequences.toSortedArray();
+        }
+
+        /**
+         * Entries for ascending sequence numbers, one read per segment touched; entries
+         * dropped at spill time are skipped
+         */
+        List<AuditEntry> read(long[] sequences) {
+            List<AuditEntry> entries = new ArrayList<>(sequences.length);
+            int from = 0;
+            while (from < sequences.length) {
+                long segmentNumber = sequences[from] / segmentSize;
+                int to = from;
+                while (to < sequences.length && sequences[to] / segmentSize == segmentNumber) {
+                    to++;
+                }
+                for (AuditEntry entry : read(segmentNumber, slots(sequences, from, to))) {
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+                from = to;
+            }
+            return entries;
+        }
+
+        /**
+         * Feed the given ascending sequences below before to the collector, newest first
+         */
+        void scanSequences(long[] sequences, long before, long fromMilli, long toMilli, PageCollector page) {
+            int to = Arrays.binarySearch(sequences, before);
+            to = to >= 0 ? to : -to - 1;
+            while (to > 0 && !page.isFull()) {
+                long segmentNumber = sequences[to - 1] / segmentSize;
+                int from = to - 1;
+                while (from > 0 && sequences[from - 1] / segmentSize == segmentNumber) {
+                    from--;
+                }
+                AuditSegment.TimeBounds bounds = timeIndex.get(segmentNumber);
+                if (bounds == null || bounds.overlaps(fromMilli, toMilli)) {
+                    List<AuditEntry> entries = read(segmentNumber, slots(sequences, from, to));
+                    for (int i = entries.size() - 1; i >= 0 && !page.isFull(); i--) {
+                        if (entries.get(i) != null) {
+                            page.offer(sequences[from + i], entries.get(i));
+                        }
+                    }
+                }
+                to = from;
+            }
+        }
+
+        /**
+         * Feed every entry below before to the collector, newest first, skipping segments
+         * outside the time range
+         */
+        void scanSegments(long before, long fromMilli, long toMilli, PageCollector page) {
+            if (before <= 0) return;
+            long lastSegment = (before - 1) / segmentSize;
+            for (Map.Entry<Long, AuditSegment.TimeBounds> indexed
+                    : timeIndex.headMap(lastSegment, true).descendingMap().entrySet()) {
+                if (page.isFull()) return;
+                if (!indexed.getValue().overlaps(fromMilli, toMilli)) continue;
+                long number = indexed.getKey();
+                List<AuditEntry> entries = readSegment(number);
+                long base = number * segmentSize;
+                int last = (int) Math.min(entries.size() - 1, before - 1 - base);
+                for (int slot = last; slot >= 0 && !page.isFull(); slot--) {
+                    AuditEntry entry = entries.get(slot);
+                    if (entry != null) {
+                        page.offer(base + slot, entry);
+                    }
+                }
+            }
+        }
+
+        private int[] slots(long[] sequences, int from, int to) {
+            int[] slots = new int[to - from];
+            for (int i = from; i < to; i++) {
+                slots[i - from] = (int) (sequences[i] % segmentSize);
+            }
+            return slots;
+        }
+
+        List<AuditEntry> read(long segmentNumber, int[] slots) {
+            AuditSegment segment = ring.get((int) (segmentNumber % memorySegments));
+            if (segment != null && segment.getNumber() == segmentNumber) {
+                List<AuditEntry> entries = new ArrayList<>(slots.length);
+                for (int slot : slots) {
+                    entries.add(segment.get(slot));
+                }
+                return entries;
+            }
+            // A ring slot is only reused after its segment reached disk
+            try {
+                return AuditSegment.read(segmentFile(id, segmentNumber), slots);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read audit segment " + segmentNumber, e);
+            }
+        }
+
+        List<AuditEntry> readAll() {
+            List<AuditEntry> entries = new ArrayList<>();
+            for (long number : timeIndex.keySet()) {
+                for (AuditEntry entry : readSegment(number)) {
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+            }
+            return entries;
+        }
+
+        /**
+         * All slots of a segment; slots claimed but not yet written are null
+         */
+        List<AuditEntry> readSegment(long number) {
+            AuditSegment segment = ring.get((int) (number % memorySegments));
+            if (segment != null && segment.getNumber() == number) {
+                List<AuditEntry> entries = new ArrayList<>(segment.size());
+                for (int slot = 0; slot < segment.size(); slot++) {
+                    entries.add(segment.get(slot));
+                }
+                return entries;
+            }
+            try {
+                return AuditSegment.readAll(segmentFile(id, number));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read audit segment " + number, e);
+            }
+        }
+    }
+
+    private static long parseCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid audit cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Collects matching entries for one page; the cursor is the sequence number of the
+     * last entry returned
+     */
+    private static final class PageCollector {
+        private final int capacity;
+        private final Instant from;
+        private final Instant to;
+        private final List<AuditEntry> entries = new ArrayList<>();
+        private final List<Long> sequences = new ArrayList<>();
+
+        PageCollector(int capacity, Instant from, Instant to) {
+            this.capacity = capacity;
+            this.from = from;
+            this.to = to;
+        }
+
+        void offer(long sequence, AuditEntry entry) {
+            Instant timestamp = entry.getTimestamp() == null ? null : entry.getTimestamp().toInstant();
+            if (from != null && (timestamp == null || timestamp.isBefore(from))) return;
+            if (to != null && (timestamp == null || !timestamp.isBefore(to))) return;
+            entries.add(entry);
+            sequences.add(sequence);
+        }
+
+        boolean isFull() {
+            return entries.size() >= capacity;
+        }
+
+        AuditPage toPage(int limit) {
+            if (entries.size() <= limit) {
+                return AuditPage.builder().entries(entries).nextCursor(null).build();
+            }
+            return AuditPage.builder()
+                    .entries(new ArrayList<>(entries.subList(0, limit)))
+                    .nextCursor(String.valueOf(sequences.get(limit - 1)))
+                    .build();
+        }
+    }
+
+    /**
+     * Entries of one bulk operation, written together by append
+     * logStateTransition reserves the entry's sequence number immediately, so calling it from
+     * a save's onCommit hook orders the entry with the write even though it is stored later.
+     * Reserving never waits, which makes it safe inside a store's per-lead atomic step.
+     * Holds at most getMaxBatchSize entries. Safe to fill from several threads.
+     */
+    public final class Batch {
+        private final Generation generation;
+        private final Queue<Reserved> entries = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Batch(Generation generation) {
+            this.generation = generation;
+        }
+
+        /**
+         * Throws IllegalStateException once the batch holds getMaxBatchSize entries
+         */
+        public void logStateTransition(String leadId, LeadState fromState, LeadState toState, String actor, String reason) {
+            if (size.incrementAndGet() > getMaxBatchSize()) {
+                size.decrementAndGet();
+                throw new IllegalStateException("Audit batch is full, append it first");
+            }
+            entries.add(new Reserved(generation.sequence.getAndIncrement(),
+                    entry(leadId, fromState, toState, actor, reason)));
+        }
+
+        public int size() {
+            return size.get();
+        }
+    }
+
+    private static final class Reserved {
+        final long sequence;
+        final AuditEntry entry;
+
+        Reserved(long sequence, AuditEntry entry) {
+            this.sequence = sequence;
+            this.entry = entry;
+        }
+    }
+}
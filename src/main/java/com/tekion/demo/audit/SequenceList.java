@@ -0,0 +1,83 @@
+package com.tekion.demo.audit;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Append-only list of audit sequence numbers, one per indexed lead or actor
+ * Stored in a chain of chunks that double in size up to MAX_CHUNK, so an append claims a
+ * slot with one atomic increment and never copies earlier entries.
+ */
+class SequenceList {
+
+    private static final int FIRST_CHUNK = 4;
+    private static final int MAX_CHUNK = 1024;
+    private static final long UNWRITTEN = -1;
+
+    private final Chunk head = new Chunk(FIRST_CHUNK);
+    private final AtomicReference<Chunk> tail = new AtomicReference<>(head);
+
+    void add(long sequence) {
+        while (true) {
+            Chunk chunk = tail.get();
+            int slot = chunk.claimed.getAndIncrement();
+            if (slot < chunk.sequences.length()) {
+                chunk.sequences.set(slot, sequence);
+                return;
+            }
+            Chunk next = chunk.next.get();
+            if (next == null) {
+                Chunk fresh = new Chunk(Math.min(chunk.sequences.length() * 2, MAX_CHUNK));
+                next = chunk.next.compareAndSet(null, fresh) ? fresh : chunk.next.get();
+            }
+            tail.compareAndSet(chunk, next);
+        }
+    }
+
+    /**
+     * Number of entries added so far, including ones still being written
+     */
+    int size() {
+        int size = 0;
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next.get()) {
+            size += Math.min(chunk.claimed.get(), chunk.sequences.length());
+        }
+        return size;
+    }
+
+    /**
+     * Written sequence numbers in ascending order
+     */
+    long[] toSortedArray() {
+        long[] result = new long[size()];
+        int count = 0;
+        for (Chunk chunk = head; chunk != null && count < result.length; chunk = chunk.next.get()) {
+            int claimed = Math.min(chunk.claimed.get(), chunk.sequences.length());
+            for (int i = 0; i < claimed && count < result.length; i++) {
+                long sequence = chunk.sequences.get(i);
+                if (sequence != UNWRITTEN) {
+                    result[count++] = sequence;
+                }
+            }
+        }
+        // Concurrent writers of the same key can fill their slots out of sequence order
+        long[] written = count == result.length ? result : Arrays.copyOf(result, count);
+        Arrays.sort(written);
+        return written;
+    }
+
+    private static final class Chunk {
+        final AtomicLongArray sequences;
+        final AtomicInteger claimed = new AtomicInteger();
+        final AtomicReference<Chunk> next = new AtomicReference<>();
+
+        Chunk(int size) {
+            this.sequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, UNWRITTEN);
+            }
+        }
+    }
+}
@@ -2,86 +2,263 @@ package com.tekion.demo.circuitbreaker;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 /**
  * Circuit Breaker implementation to prevent cascading failures
  * States: CLOSED (normal) -> OPEN (failing) -> HALF_OPEN (testing) -> CLOSED
+ *
+ * The breaker trips on the failure rate or slow-call rate over a sliding window rather
+ * than on consecutive failures, so an occasional success no longer hides a mostly failing
+ * dependency. HALF_OPEN admits a fixed number of trial calls; all of them must succeed to
+ * close again and any failure reopens the circuit.
+ *
+ * Lock-free: the current state lives in an immutable Phase swapped with compareAndSet,
+ * so exactly one caller wins each transition and publishes its event.
  */
 public class CircuitBreaker {
 
-    private final int failureThreshold;
-    private final Duration timeout;
-    private final AtomicInteger failureCount;
-    private final AtomicReference<CircuitBreakerState> state;
-    private final AtomicReference<Instant> lastFailureTime;
+    private final CircuitBreakerConfig config;
+    private final long openDurationNanos;
+    private final long slowCallNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<Phase> phase;
+    // Consecutive failures since the last success, kept for diagnostics
+    private final AtomicInteger failureCount = new AtomicInteger();
+    private final List<Consumer<CircuitBreakerEvent>> listeners = new CopyOnWriteArrayList<>();
 
+    /**
+     * Opens after failureThreshold failures in a window of the last failureThreshold calls
+     * and admits a single trial call once timeout has elapsed
+     */
     public CircuitBreaker(int failureThreshold, Duration timeout) {
-        this.failureThreshold = failureThreshold;
-        this.timeout = timeout;
-        this.failureCount = new AtomicInteger(0);
-        this.state = new AtomicReference<>(CircuitBreakerState.CLOSED);
-        this.lastFailureTime = new AtomicReference<>(Instant.now());
+        this(CircuitBreakerConfig.builder()
+                .windowType(CircuitBreakerConfig.WindowType.COUNT_BASED)
+                .windowSize(failureThreshold)
+                .minimumCalls(failureThreshold)
+                .failureRateThreshold(100)
+                .slowCallRateThreshold(100)
+                .slowCallDuration(Duration.ofSeconds(Long.MAX_VALUE))
+                .openDuration(timeout)
+                .permittedTrialCalls(1)
+                .build());
+    }
+
+    public CircuitBreaker(CircuitBreakerConfig config) {
+        this(config, System::nanoTime);
+    }
+
+    CircuitBreaker(CircuitBreakerConfig config, LongSupplier nanoClock) {
+        if (config.getWindowSize() <= 0 || config.getMinimumCalls() <= 0 || config.getPermittedTrialCalls() <= 0) {
+            throw new IllegalArgumentException("Window size, minimum calls and trial calls must be positive");
+        }
+        this.config = config;
+        this.openDurationNanos = saturatedNanos(config.getOpenDuration());
+        this.slowCallNanos = saturatedNanos(config.getSlowCallDuration());
+        this.nanoClock = nanoClock;
+        this.phase = new AtomicReference<>(closed());
     }
 
     public CircuitBreakerState getState() {
-        // Check if we should transition from OPEN to HALF_OPEN
-        if (state.get() == CircuitBreakerState.OPEN) {
-            if (Duration.between(lastFailureTime.get(), Instant.now()).compareTo(timeout) > 0) {
-                state.set(CircuitBreakerState.HALF_OPEN);
-                System.out.println("Circuit breaker transitioning to HALF_OPEN");
-            }
+        return current().state;
+    }
+
+    public boolean allowRequest() {
+        Phase current = current();
+        switch (current.state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                return current.tryAcquireTrial();
+            default:
+                return false;
         }
-        return state.get();
     }
 
     public void recordSuccess() {
-        if (state.get() == CircuitBreakerState.HALF_OPEN) {
-            // Successful call in HALF_OPEN state, close the circuit
-            state.set(CircuitBreakerState.CLOSED);
-            failureCount.set(0);
-            System.out.println("Circuit breaker CLOSED after successful call");
-        } else if (state.get() == CircuitBreakerState.CLOSED) {
-            // Reset failure count on success
-            failureCount.set(0);
-        }
+        onResult(false, 0);
     }
 
     public void recordFailure() {
-        lastFailureTime.set(Instant.now());
-        int failures = failureCount.incrementAndGet();
-
-        if (state.get() == CircuitBreakerState.HALF_OPEN) {
-            // Failed in HALF_OPEN, go back to OPEN
-            state.set(CircuitBreakerState.OPEN);
-            System.out.println("Circuit breaker OPEN after failed test call");
-        } else if (failures >= failureThreshold && state.get() == CircuitBreakerState.CLOSED) {
-            // Too many failures, open the circuit
-            state.set(CircuitBreakerState.OPEN);
-            System.out.println("Circuit breaker OPEN after " + failures + " failures");
-        }
+        onResult(true, 0);
     }
 
-    public boolean allowRequest() {
-        CircuitBreakerState currentState = getState();
-        
-        if (currentState == CircuitBreakerState.OPEN) {
-            return false;
-        }
-        
-        // Allow requests in CLOSED and HALF_OPEN states
-        return true;
+    /**
+     * Record a successful call and how long it took; calls slower than slowCallDuration
+     * count towards the slow-call rate
+     */
+    public void recordSuccess(Duration elapsed) {
+        onResult(false, elapsed.toNanos());
+    }
+
+    public void recordFailure(Duration elapsed) {
+        onResult(true, elapsed.toNanos());
     }
 
     public void reset() {
-        state.set(CircuitBreakerState.CLOSED);
+        Phase previous = phase.getAndSet(closed());
         failureCount.set(0);
         System.out.println("Circuit breaker manually RESET");
+        publish(previous.state, CircuitBreakerState.CLOSED, "manual reset");
     }
 
     public int getFailureCount() {
         return failureCount.get();
     }
-}
 
+    /**
+     * Failure rate of the current window as a percentage, 0 outside CLOSED
+     */
+    public double getFailureRate() {
+        Phase current = current();
+        return current.window == null ? 0 : current.window.snapshot(nanoClock.getAsLong()).failureRate();
+    }
+
+    public double getSlowCallRate() {
+        Phase current = current();
+        return current.window == null ? 0 : current.window.snapshot(nanoClock.getAsLong()).slowCallRate();
+    }
+
+    public CircuitBreakerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Listeners run on the thread that won the transition and must not block
+     */
+    public void addListener(Consumer<CircuitBreakerEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<CircuitBreakerEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    private void onResult(boolean failure, long elapsedNanos) {
+        if (failure) {
+            failureCount.incrementAndGet();
+        } else {
+            failureCount.set(0);
+        }
+
+        Phase current = current();
+        switch (current.state) {
+            case CLOSED: {
+                long now = nanoClock.getAsLong();
+                current.window.record(failure, elapsedNanos >= slowCallNanos, now);
+                SlidingWindow.Snapshot snapshot = current.window.snapshot(now);
+                if (snapshot.calls < config.getMinimumCalls()) {
+                    return;
+                }
+                if (snapshot.failureRate() >= config.getFailureRateThreshold()) {
+                    transition(current, opened(now), String.format("failure rate %.1f%% over %d calls",
+                            snapshot.failureRate(), snapshot.calls));
+                } else if (snapshot.slowCallRate() >= config.getSlowCallRateThreshold()) {
+                    transition(current, opened(now), String.format("slow call rate %.1f%% over %d calls",
+                            snapshot.slowCallRate(), snapshot.calls));
+                }
+                return;
+            }
+            case HALF_OPEN:
+                if (failure || elapsedNanos >= slowCallNanos) {
+                    transition(current, opened(nanoClock.getAsLong()), "trial call failed");
+                } else if (current.trialSuccesses.incrementAndGet() >= config.getPermittedTrialCalls()) {
+                    transition(current, closed(), config.getPermittedTrialCalls() + " trial calls succeeded");
+                }
+                return;
+            default:
+                // Late results from calls admitted before the circuit opened
+        }
+    }
+
+    /**
+     * The current phase, moving an expired OPEN phase to HALF_OPEN first
+     */
+    private Phase current() {
+        Phase current = phase.get();
+        if (current.state == CircuitBreakerState.OPEN
+                && nanoClock.getAsLong() - current.since >= openDurationNanos) {
+            Phase halfOpen = new Phase(CircuitBreakerState.HALF_OPEN, nanoClock.getAsLong(), null,
+                    config.getPermittedTrialCalls());
+            transition(current, halfOpen, "open duration elapsed");
+            return phase.get();
+        }
+        return current;
+    }
+
+    private void transition(Phase from, Phase to, String reason) {
+        if (!phase.compareAndSet(from, to)) {
+            // Another caller already moved the breaker on
+            return;
+        }
+        System.out.println("Circuit breaker " + config.getName() + " " + to.state + " (" + reason + ")");
+        publish(from.state, to.state, reason);
+    }
+
+    private void publish(CircuitBreakerState from, CircuitBreakerState to, String reason) {
+        if (listeners.isEmpty()) return;
+        CircuitBreakerEvent event = CircuitBreakerEvent.builder()
+                .breakerName(config.getName())
+                .fromState(from)
+                .toState(to)
+                .reason(reason)
+                .timestamp(Instant.now())
+                .build();
+        for (Consumer<CircuitBreakerEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                System.out.println("Circuit breaker listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private Phase closed() {
+        return new Phase(CircuitBreakerState.CLOSED, nanoClock.getAsLong(), SlidingWindow.of(config), 0);
+    }
+
+    private Phase opened(long now) {
+        return new Phase(CircuitBreakerState.OPEN, now, null, 0);
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Immutable state plus the counters that belong to it; a new instance is created for
+     * every transition so stale counters can never leak into the next phase
+     */
+    private static final class Phase {
+        final CircuitBreakerState state;
+        final long since;
+        final SlidingWindow window;
+        final AtomicInteger trialPermits;
+        final AtomicInteger trialSuccesses = new AtomicInteger();
+
+        Phase(CircuitBreakerState state, long since, SlidingWindow window, int trialPermits) {
+            this.state = state;
+            this.since = since;
+            this.window = window;
+            this.trialPermits = new AtomicInteger(trialPermits);
+        }
+
+        boolean tryAcquireTrial() {
+            int permits;
+            do {
+                permits = trialPermits.get();
+                if (permits <= 0) return false;
+            } while (!trialPermits.compareAndSet(permits, permits - 1));
+            return true;
+        }
+    }
+}
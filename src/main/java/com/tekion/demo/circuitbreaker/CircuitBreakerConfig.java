@@ -0,0 +1,53 @@
+package com.tekion.demo.circuitbreaker;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Tuning for a CircuitBreaker
+ * The breaker opens once the sliding window holds at least minimumCalls outcomes and either
+ * the failure rate or the slow-call rate reaches its threshold.
+ */
+@Value
+@Builder
+public class CircuitBreakerConfig {
+
+    public enum WindowType {
+        /** The last windowSize calls */
+        COUNT_BASED,
+        /** Calls made in the last windowSize seconds */
+        TIME_BASED
+    }
+
+    @Builder.Default
+    String name = "circuit-breaker";
+
+    @Builder.Default
+    WindowType windowType = WindowType.COUNT_BASED;
+
+    @Builder.Default
+    int windowSize = 20;
+
+    @Builder.Default
+    int minimumCalls = 10;
+
+    // Percentages, 0-100
+    @Builder.Default
+    double failureRateThreshold = 50;
+
+    @Builder.Default
+    double slowCallRateThreshold = 100;
+
+    @Builder.Default
+    Duration slowCallDuration = Duration.ofSeconds(5);
+
+    // How long the breaker stays OPEN before admitting trial calls
+    @Builder.Default
+    Duration openDuration = Duration.ofSeconds(30);
+
+    // Trial calls admitted in HALF_OPEN; all must succeed to close again
+    @Builder.Default
+    int permittedTrialCalls = 3;
+}
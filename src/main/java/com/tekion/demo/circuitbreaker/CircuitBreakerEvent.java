@@ -0,0 +1,19 @@
+package com.tekion.demo.circuitbreaker;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A state transition published to CircuitBreaker listeners
+ */
+@Value
+@Builder
+public class CircuitBreakerEvent {
+    String breakerName;
+    CircuitBreakerState fromState;
+    CircuitBreakerState toState;
+    String reason;
+    Instant timestamp;
+}
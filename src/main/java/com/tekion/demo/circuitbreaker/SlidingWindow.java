@@ -0,0 +1,145 @@
+package com.tekion.demo.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free ring-buffer of call outcomes used to compute failure and slow-call rates
+ */
+abstract class SlidingWindow {
+
+    abstract void record(boolean failure, boolean slow, long nowNanos);
+
+    abstract Snapshot snapshot(long nowNanos);
+
+    static SlidingWindow of(CircuitBreakerConfig config) {
+        return config.getWindowType() == CircuitBreakerConfig.WindowType.TIME_BASED
+                ? new TimeBased(config.getWindowSize())
+                : new CountBased(config.getWindowSize());
+    }
+
+    static final class Snapshot {
+        final int calls;
+        final int failures;
+        final int slowCalls;
+
+        Snapshot(int calls, int failures, int slowCalls) {
+            this.calls = calls;
+            this.failures = failures;
+            this.slowCalls = slowCalls;
+        }
+
+        double failureRate() {
+            return calls == 0 ? 0 : failures * 100.0 / calls;
+        }
+
+        double slowCallRate() {
+            return calls == 0 ? 0 : slowCalls * 100.0 / calls;
+        }
+    }
+
+    /**
+     * The last N outcomes; each slot holds an encoded outcome and running totals are
+     * adjusted by the difference between the outcome written and the one it replaced
+     */
+    static final class CountBased extends SlidingWindow {
+        private static final int EMPTY = 0;
+        private static final int RECORDED = 1;
+        private static final int FAILED = 2;
+        private static final int SLOW = 4;
+
+        private final AtomicIntegerArray slots;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        CountBased(int size) {
+            this.slots = new AtomicIntegerArray(size);
+        }
+
+        @Override
+        void record(boolean failure, boolean slow, long nowNanos) {
+            int outcome = RECORDED | (failure ? FAILED : 0) | (slow ? SLOW : 0);
+            int slot = (int) Math.floorMod(cursor.getAndIncrement(), (long) slots.length());
+            int replaced = slots.getAndSet(slot, outcome);
+
+            calls.addAndGet(count(outcome, RECORDED) - count(replaced, RECORDED));
+            failures.addAndGet(count(outcome, FAILED) - count(replaced, FAILED));
+            slowCalls.addAndGet(count(outcome, SLOW) - count(replaced, SLOW));
+        }
+
+        @Override
+        Snapshot snapshot(long nowNanos) {
+            return new Snapshot(calls.get(), failures.get(), slowCalls.get());
+        }
+
+        private static int count(int outcome, int flag) {
+            return outcome != EMPTY && (outcome & flag) != 0 ? 1 : 0;
+        }
+    }
+
+    /**
+     * One bucket per second for the last N seconds; a bucket from an older second is
+     * swapped for a fresh one with CAS the first time it is written again
+     */
+    static final class TimeBased extends SlidingWindow {
+        private final AtomicReferenceArray<Bucket> buckets;
+
+        TimeBased(int seconds) {
+            this.buckets = new AtomicReferenceArray<>(seconds);
+        }
+
+        @Override
+        void record(boolean failure, boolean slow, long nowNanos) {
+            Bucket bucket = current(nowNanos / 1_000_000_000L);
+            bucket.calls.incrementAndGet();
+            if (failure) bucket.failures.incrementAndGet();
+            if (slow) bucket.slowCalls.incrementAndGet();
+        }
+
+        @Override
+        Snapshot snapshot(long nowNanos) {
+            long second = nowNanos / 1_000_000_000L;
+            int calls = 0;
+            int failures = 0;
+            int slowCalls = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                Bucket bucket = buckets.get(i);
+                if (bucket != null && second - bucket.second < buckets.length()) {
+                    calls += bucket.calls.get();
+                    failures += bucket.failures.get();
+                    slowCalls += bucket.slowCalls.get();
+                }
+            }
+            return new Snapshot(calls, failures, slowCalls);
+        }
+
+        private Bucket current(long second) {
+            int index = (int) Math.floorMod(second, (long) buckets.length());
+            while (true) {
+                Bucket bucket = buckets.get(index);
+                if (bucket != null && bucket.second == second) {
+                    return bucket;
+                }
+                Bucket fresh = new Bucket(second);
+                if (buckets.compareAndSet(index, bucket, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+
+        private static final class Bucket {
+            final long second;
+            final AtomicInteger calls = new AtomicInteger();
+            final AtomicInteger failures = new AtomicInteger();
+            final AtomicInteger slowCalls = new AtomicInteger();
+
+            Bucket(long second) {
+                this.second = second;
+            }
+        }
+    }
+}
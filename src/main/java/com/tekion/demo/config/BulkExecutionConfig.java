@@ -0,0 +1,29 @@
+package com.tekion.demo.config;
+
+import com.tekion.demo.service.execution.BulkExecutionStrategy;
+import com.tekion.demo.service.execution.ShardedExecutionStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects how bulk scoring is parallelized
+ * With lead.shards above 1 every dealer shard gets its own instance of the strategy, sized by
+ * bulk.scoring.parallelism per shard. The strategy's threads are released when the application context closes.
+ */
+@Configuration
+public class BulkExecutionConfig {
+
+    @Bean(destroyMethod = "close")
+    public BulkExecutionStrategy bulkExecutionStrategy(
+            @Value("${bulk.scoring.execution:fork-join}") String strategy,
+            @Value("${bulk.scoring.parallelism:0}") int parallelism,
+            @Value("${lead.shards:1}") int shards,
+            @Value("${bulk.scoring.shard-queue-capacity:4}") int shardQueueCapacity) {
+        BulkExecutionStrategy executionStrategy = shards > 1
+                ? new ShardedExecutionStrategy(shards, strategy, parallelism, shardQueueCapacity)
+                : BulkExecutionStrategy.of(strategy, parallelism);
+        System.out.println("Bulk scoring execution strategy: " + executionStrategy.getName());
+        return executionStrategy;
+    }
+}
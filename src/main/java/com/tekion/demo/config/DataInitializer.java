@@ -1,12 +1,12 @@
 package com.tekion.demo.config;
 
-import com.tekion.demo.adapter.InMemoryLeadRepository;
 import com.tekion.demo.lead.Lead;
 import com.tekion.demo.lead.LeadSource;
 import com.tekion.demo.lead.LeadState;
 import com.tekion.demo.lead.valueObject.Email;
 import com.tekion.demo.lead.valueObject.PhoneCoordinate;
 import com.tekion.demo.lead.valueObject.VehicleInterest;
+import com.tekion.demo.port.LeadPersistencePort;
 import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Component;
 
@@ -14,19 +14,25 @@ import java.time.ZonedDateTime;
 import java.util.UUID;
 
 /**
- * Initializes the in-memory repository with sample data on application startup
+ * Initializes the lead repository with sample data on application startup
  */
 @Component
 public class DataInitializer {
 
-    private final InMemoryLeadRepository repository;
+    private final LeadPersistencePort repository;
 
-    public DataInitializer(InMemoryLeadRepository repository) {
+    public DataInitializer(LeadPersistencePort repository) {
         this.repository = repository;
     }
 
     @PostConstruct
     public void init() {
+        // Durable repositories keep the sample data from a previous run
+        if (!repository.findByDealerId("dealer001").isEmpty()) {
+            System.out.println("Sample data already present, skipping initialization");
+            return;
+        }
+
         System.out.println("Initializing sample data...");
 
         // Lead 1: High-value referral lead
@@ -0,0 +1,42 @@
+package com.tekion.demo.config;
+
+import com.tekion.demo.lead.LeadWorkflow;
+import com.tekion.demo.service.LeadWorkflowRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads per-tenant lead workflows from lead.workflow.&lt;tenantId&gt;.&lt;STATE&gt;=TARGET,...
+ * Each listed state replaces that row of the standard workflow; unlisted states keep it.
+ */
+@Configuration
+public class LeadWorkflowConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(LeadWorkflowConfig.class);
+
+    private static final Bindable<Map<String, Map<String, String>>> WORKFLOWS = Bindable.of(
+            ResolvableType.forClassWithGenerics(Map.class,
+                    ResolvableType.forClass(String.class),
+                    ResolvableType.forClassWithGenerics(Map.class, String.class, String.class)));
+
+    @Bean
+    public LeadWorkflowRegistry leadWorkflowRegistry(Environment environment) {
+        Map<String, LeadWorkflow> workflows = new HashMap<>();
+        Binder.get(environment).bind("lead.workflow", WORKFLOWS).ifBound(tenants ->
+                tenants.forEach((tenantId, rows) -> workflows.put(tenantId, LeadWorkflow.parse(rows))));
+        LeadWorkflowRegistry registry = new LeadWorkflowRegistry(workflows);
+        log.info("Lead workflows loaded for tenants: {}", registry.getTenants());
+        return registry;
+    }
+}
@@ -0,0 +1,49 @@
+package com.tekion.demo.config;
+
+import com.tekion.demo.circuitbreaker.CircuitBreakerConfig;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker tuning per notification channel, from notification.circuit-breaker.&lt;channel&gt;.*
+ * Unset properties keep the CircuitBreakerConfig defaults; each breaker is named after its channel.
+ */
+@Configuration
+public class NotificationBreakerConfig {
+
+    @Bean
+    public CircuitBreakerConfig emailCircuitBreakerConfig(Environment environment) {
+        return forChannel(environment, "email");
+    }
+
+    @Bean
+    public CircuitBreakerConfig smsCircuitBreakerConfig(Environment environment) {
+        return forChannel(environment, "sms");
+    }
+
+    static CircuitBreakerConfig forChannel(Environment environment, String channel) {
+        Binder binder = Binder.get(environment);
+        String prefix = "notification.circuit-breaker." + channel + ".";
+        CircuitBreakerConfig defaults = CircuitBreakerConfig.builder().build();
+        return CircuitBreakerConfig.builder()
+                .name(channel)
+                .windowType(binder.bind(prefix + "window-type", CircuitBreakerConfig.WindowType.class)
+                        .orElse(defaults.getWindowType()))
+                .windowSize(binder.bind(prefix + "window-size", Integer.class).orElse(defaults.getWindowSize()))
+                .minimumCalls(binder.bind(prefix + "minimum-calls", Integer.class).orElse(defaults.getMinimumCalls()))
+                .failureRateThreshold(binder.bind(prefix + "failure-rate-threshold", Double.class)
+                        .orElse(defaults.getFailureRateThreshold()))
+                .slowCallRateThreshold(binder.bind(prefix + "slow-call-rate-threshold", Double.class)
+                        .orElse(defaults.getSlowCallRateThreshold()))
+                .slowCallDuration(binder.bind(prefix + "slow-call-duration", Duration.class)
+                        .orElse(defaults.getSlowCallDuration()))
+                .openDuration(binder.bind(prefix + "open-duration", Duration.class).orElse(defaults.getOpenDuration()))
+                .permittedTrialCalls(binder.bind(prefix + "permitted-trial-calls", Integer.class)
+                        .orElse(defaults.getPermittedTrialCalls()))
+                .build();
+    }
+}
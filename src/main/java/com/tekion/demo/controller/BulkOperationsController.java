@@ -1,14 +1,34 @@
 package com.tekion.demo.controller;
 
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadQuery;
 import com.tekion.demo.port.LeadPersistencePort;
 import com.tekion.demo.scoring.ScoringResult;
 import com.tekion.demo.service.BulkScoringService;
 import com.tekion.demo.service.BulkScoringStats;
+import com.tekion.demo.service.ImportPolicy;
+import com.tekion.demo.service.LeadImportResult;
+import com.tekion.demo.service.LeadTransferService;
+import com.tekion.demo.service.ScoreCacheMetrics;
+import com.tekion.demo.service.execution.ShardMetrics;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * REST Controller for bulk operations
@@ -17,12 +37,19 @@ import java.util.Map;
 @RequestMapping("/api/bulk")
 public class BulkOperationsController {
 
+    private static final int STREAM_PAGE_SIZE = 500;
+
     private final BulkScoringService bulkScoringService;
     private final LeadPersistencePort repository;
+    private final ObjectMapper objectMapper;
+    private final LeadTransferService transferService;
 
-    public BulkOperationsController(BulkScoringService bulkScoringService, LeadPersistencePort repository) {
+    public BulkOperationsController(BulkScoringService bulkScoringService, LeadPersistencePort repository,
+                                    ObjectMapper objectMapper, LeadTransferService transferService) {
         this.bulkScoringService = bulkScoringService;
         this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transferService = transferService;
     }
 
     /**
@@ -35,8 +62,61 @@ public class BulkOperationsController {
         return bulkScoringService.scoreBatch(leads);
     }
 
+    /**
+     * Re-score all leads for a dealer, re-evaluating only rules affected since the last rescore
+     * The new scores are written back to the dealer's score index used by /filter and
+     * /distribution; leads saved in the meantime keep the score from their save.
+     * POST /api/bulk/rescore/{dealerId}
+     */
+    @PostMapping("/rescore/{dealerId}")
+    public Map<String, ScoringResult> rescoreBulk(@PathVariable String dealerId) {
+        List<Lead> leads = repository.findByDealerId(dealerId);
+        Map<String, ScoringResult> scores = bulkScoringService.rescore(leads);
+        for (Lead lead : leads) {
+            repository.updateScore(lead, scores.get(lead.getLeadId()).getTotalScore());
+        }
+        return scores;
+    }
+
+    /**
+     * Score all leads for a dealer, streamed as one NDJSON line per lead
+     * POST /api/bulk/score/{dealerId}/stream
+     *
+     * Leads are read in keyset pages of the dealer's score index, which holds every lead whatever
+     * its state, and each page is scored in parallel, so memory is bounded by the page size rather
+     * than the dealer size. Lines follow the index order, highest indexed score first; each page is
+     * written and flushed once all of its leads are scored.
+     * A lead saved or rescored while the stream is running may be skipped or scored twice.
+     */
+    @PostMapping(value = "/score/{dealerId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> scoreBulkStream(@PathVariable String dealerId) {
+        StreamingResponseBody body = out -> {
+            String cursor = null;
+            do {
+                LeadPage<Lead> page = repository.findPage(LeadQuery.builder()
+                        .dealerId(dealerId)
+                        .cursor(cursor)
+                        .limit(STREAM_PAGE_SIZE)
+                        .build());
+                bulkScoringService.scoreEach(page.getLeads(), (lead, score) -> writeLine(out, ScoredLead.builder()
+                        .leadId(lead.getLeadId())
+                        .totalScore(score.getTotalScore())
+                        .breakdown(score.getBreakdown())
+                        .build()));
+                out.flush();
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Get top N leads by score
+     * Scores every lead as of now, so time-based rules are current. /filter and /distribution
+     * read the indexed score instead, as of the last save or POST /rescore, and can rank a lead
+     * differently until the dealer is rescored.
      * GET /api/bulk/top/{dealerId}?limit=10
      */
     @GetMapping("/top/{dealerId}")
@@ -48,15 +128,69 @@ public class BulkOperationsController {
     }
 
     /**
-     * Filter leads by minimum score
-     * GET /api/bulk/filter/{dealerId}?minScore=70
+     * Filter leads by minimum score, highest first, one page at a time
+     * Seeks the dealer's score index instead of scoring every lead; scores are as of the last
+     * save or POST /rescore, unlike /top which scores live. view=summary returns only id, name,
+     * state and score.
+     * GET /api/bulk/filter/{dealerId}?minScore=70&limit=100&view=summary&cursor=...
      */
     @GetMapping("/filter/{dealerId}")
-    public List<Lead> filterByScore(
+    public LeadPage<?> filterByScore(
             @PathVariable String dealerId,
-            @RequestParam(defaultValue = "70") double minScore) {
-        List<Lead> leads = repository.findByDealerId(dealerId);
-        return bulkScoringService.filterByMinScore(leads, minScore);
+            @RequestParam(defaultValue = "70") double minScore,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "full") String view) {
+        return LeadView.parse(view).findPage(repository, LeadQuery.builder()
+                .dealerId(dealerId)
+                .minScore(minScore)
+                .cursor(cursor)
+                .limit(limit)
+                .build());
+    }
+
+    /**
+     * Lead count per 10-point score band, from counters kept up to date on every save
+     * GET /api/bulk/distribution/{dealerId}
+     */
+    @GetMapping("/distribution/{dealerId}")
+    public List<ScoreBand> getScoreDistribution(@PathVariable String dealerId) {
+        int[] counts = repository.getScoreHistogram(dealerId);
+        double width = 100.0 / counts.length;
+        List<ScoreBand> bands = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            bands.add(ScoreBand.builder()
+                    .minScore(i * width)
+                    .maxScore((i + 1) * width)
+                    .count(counts[i])
+                    .build());
+        }
+        return bands;
+    }
+
+    /**
+     * Import leads sent as a stream of length-prefixed binary records (see LeadBinaryCodec)
+     * Invalid records are rejected one by one and reported; the rest are saved in batches.
+     * Leads already stored are skipped and counted as conflicts unless policy is OVERWRITE.
+     * POST /api/bulk/import?policy=SKIP_EXISTING  (Content-Type: application/x-lead-records)
+     */
+    @PostMapping(value = "/import", consumes = LeadTransferService.MEDIA_TYPE)
+    public LeadImportResult importLeads(
+            InputStream body,
+            @RequestParam(defaultValue = "SKIP_EXISTING") ImportPolicy policy) throws IOException {
+        return transferService.importLeads(body, policy);
+    }
+
+    /**
+     * Export all leads for a dealer in the import format, highest score first
+     * GET /api/bulk/export/{dealerId}
+     */
+    @GetMapping(value = "/export/{dealerId}", produces = LeadTransferService.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportLeads(@PathVariable String dealerId) {
+        StreamingResponseBody body = out -> transferService.exportLeads(dealerId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(LeadTransferService.MEDIA_TYPE))
+                .body(body);
     }
 
     /**
@@ -68,5 +202,69 @@ public class BulkOperationsController {
         List<Lead> leads = repository.findByDealerId(dealerId);
         return bulkScoringService.getPerformanceStats(leads);
     }
-}
 
+    /**
+     * Score cache hit, miss and eviction counters
+     * GET /api/bulk/cache/metrics
+     */
+    @GetMapping("/cache/metrics")
+    public ScoreCacheMetrics getScoreCacheMetrics() {
+        return bulkScoringService.getScoreCacheMetrics();
+    }
+
+    /**
+     * Bulk scoring job counters per dealer shard, empty when scoring is not sharded (lead.shards=1)
+     * GET /api/bulk/shards
+     */
+    @GetMapping("/shards")
+    public List<ShardMetrics> getShardMetrics() {
+        return bulkScoringService.getShardMetrics();
+    }
+
+    /**
+     * Malformed cursors, unknown views and out-of-range limits answer 400 with the reason
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * A dealer shard already holding its maximum number of bulk jobs answers 503 so the caller retries later
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleShardFull(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    private void writeLine(OutputStream out, ScoredLead line) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Leads scoring in [minScore, maxScore); the top band also includes maxScore
+     */
+    @Value
+    @Builder
+    public static class ScoreBand {
+        double minScore;
+        double maxScore;
+        int count;
+    }
+
+    /**
+     * One line of the NDJSON bulk scoring stream
+     */
+    @Value
+    @Builder
+    public static class ScoredLead {
+        String leadId;
+        double totalScore;
+        Map<String, Double> breakdown;
+    }
+}
@@ -1,17 +1,20 @@
 package com.tekion.demo.controller;
 
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadQuery;
 import com.tekion.demo.lead.LeadState;
 import com.tekion.demo.notification.Notification;
 import com.tekion.demo.notification.NotificationType;
 import com.tekion.demo.port.LeadPersistencePort;
-import com.tekion.demo.port.NotificationPort;
+import com.tekion.demo.notification.NotificationResult;
+import com.tekion.demo.router.NotificationDispatcher;
 import com.tekion.demo.scoring.rules.LeadScoringEngine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.ZonedDateTime;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -23,7 +26,7 @@ public class LeadController {
     private LeadPersistencePort repository;
 
     @Autowired
-    private NotificationPort notificationRouter;
+    private NotificationDispatcher notificationDispatcher;
 
     @Autowired
     private LeadScoringEngine scoringEngine;
@@ -55,14 +58,18 @@ public class LeadController {
         // 3️⃣ Score
         var score = scoringEngine.score(lead);
 
-        // 4️⃣ Notify dealer
+        // 4️⃣ Notify dealer, delivered in the background
         Notification notification = Notification.builder()
                 .recipient(lead.getDealerId())
                 .message("New lead: " + lead.getFirstName() + " " + lead.getLastName())
                 .type(NotificationType.EMAIL)
                 .build();
 
-        var notificationResult = notificationRouter.send(notification);
+        var notificationResult = notificationDispatcher.dispatch(notification).getNow(
+                NotificationResult.builder()
+                        .success(true)
+                        .message("Notification queued for delivery")
+                        .build());
 
         return Map.of(
                 "lead", lead,
@@ -78,9 +85,25 @@ public class LeadController {
                 .orElseThrow(() -> new RuntimeException("Lead not found"));
     }
 
-    // List leads by dealer
+    // List leads by dealer, highest score first, one page at a time
+    // GET /api/leads/dealer/{dealerId}?limit=100&view=summary&cursor=<nextCursor of the previous page>
     @GetMapping("/dealer/{dealerId}")
-    public List<Lead> listLeads(@PathVariable String dealerId) {
-        return repository.findByDealerIdOrderByScore(dealerId, 100);
+    public LeadPage<?> listLeads(@PathVariable String dealerId,
+                                 @RequestParam(required = false) String cursor,
+                                 @RequestParam(defaultValue = "100") int limit,
+                                 @RequestParam(defaultValue = "full") String view) {
+        return LeadView.parse(view).findPage(repository, LeadQuery.builder()
+                .dealerId(dealerId)
+                .cursor(cursor)
+                .limit(limit)
+                .build());
+    }
+
+    /**
+     * Malformed cursors, unknown views and out-of-range limits answer 400 with the reason
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
     }
 }
@@ -1,13 +1,25 @@
 package com.tekion.demo.controller;
 
 import com.tekion.demo.audit.AuditEntry;
+import com.tekion.demo.audit.AuditPage;
+import com.tekion.demo.audit.AuditQuery;
 import com.tekion.demo.lead.Lead;
 import com.tekion.demo.lead.LeadState;
 import com.tekion.demo.service.LeadStateService;
+import com.tekion.demo.service.StateTransition;
+import com.tekion.demo.service.TransitionOutcome;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * REST Controller for lead state transitions with audit trail
@@ -37,6 +49,35 @@ public class LeadStateController {
         );
     }
 
+    /**
+     * Transition many leads at once, one outcome per item in request order
+     * POST /api/leads/state/transition/bulk
+     */
+    @PostMapping("/transition/bulk")
+    public List<TransitionOutcome> transitionStates(@RequestBody BulkStateTransitionRequest request) {
+        if (request.getItems() == null) {
+            throw new IllegalArgumentException("items is required");
+        }
+        List<StateTransition> transitions = new ArrayList<>(request.getItems().size());
+        for (BulkStateTransitionRequest.Item item : request.getItems()) {
+            transitions.add(StateTransition.builder()
+                    .leadId(item.getLeadId())
+                    .dealerId(item.getDealerId())
+                    .newState(item.getNewState())
+                    .build());
+        }
+        return stateService.transitionStates(transitions, request.getActor(), request.getReason());
+    }
+
+    /**
+     * States a lead may move to next
+     * GET /api/leads/state/next/{dealerId}/{leadId}
+     */
+    @GetMapping("/next/{dealerId}/{leadId}")
+    public Set<LeadState> getAllowedNextStates(@PathVariable String dealerId, @PathVariable String leadId) {
+        return stateService.allowedNextStates(leadId, dealerId);
+    }
+
     /**
      * Get audit history for a lead
      * GET /api/leads/state/audit/{leadId}
@@ -46,6 +87,63 @@ public class LeadStateController {
         return stateService.getAuditHistory(leadId);
     }
 
+    /**
+     * Page through audit entries, newest first
+     * GET /api/leads/state/audit?actor=user1&within=PT1H&limit=50&cursor=...
+     * from and to are ISO-8601 instants; within is an ISO-8601 duration ending now and replaces from
+     */
+    @GetMapping("/audit")
+    public AuditPage queryAudit(
+            @RequestParam(required = false) String actor,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String within,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        Instant start = within != null
+                ? Instant.now().minus(parseDuration("within", within))
+                : from != null ? parseInstant("from", from) : null;
+        return stateService.queryAudit(AuditQuery.builder()
+                .actor(actor)
+                .from(start)
+                .to(to != null ? parseInstant("to", to) : null)
+                .cursor(cursor)
+                .limit(limit)
+                .build());
+    }
+
+    private static Instant parseInstant(String name, String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + " instant: " + value);
+        }
+    }
+
+    private static Duration parseDuration(String name, String value) {
+        try {
+            return Duration.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + " duration: " + value);
+        }
+    }
+
+    /**
+     * Malformed requests and unknown leads answer 400 with the reason
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * A bulk transition whose dealer shards were all full answers 503 so the caller retries later
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleShardFull(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
     /**
      * Request DTO for state transition
      */
@@ -71,5 +169,37 @@ public class LeadStateController {
         public String getReason() { return reason; }
         public void setReason(String reason) { this.reason = reason; }
     }
-}
 
+    /**
+     * Request DTO for bulk state transition; actor and reason apply to every item
+     */
+    public static class BulkStateTransitionRequest {
+        private String actor;
+        private String reason;
+        private List<Item> items = new ArrayList<>();
+
+        public String getActor() { return actor; }
+        public void setActor(String actor) { this.actor = actor; }
+
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+
+        public List<Item> getItems() { return items; }
+        public void setItems(List<Item> items) { this.items = items; }
+
+        public static class Item {
+            private String leadId;
+            private String dealerId;
+            private LeadState newState;
+
+            public String getLeadId() { return leadId; }
+            public void setLeadId(String leadId) { this.leadId = leadId; }
+
+            public String getDealerId() { return dealerId; }
+            public void setDealerId(String dealerId) { this.dealerId = dealerId; }
+
+            public LeadState getNewState() { return newState; }
+            public void setNewState(LeadState newState) { this.newState = newState; }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.tekion.demo.controller;
+
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadQuery;
+import com.tekion.demo.port.LeadPersistencePort;
+
+import java.util.Locale;
+
+/**
+ * Fields returned by lead listing endpoints, chosen with ?view=
+ * "full" returns whole leads, "summary" only id, name, state and score (see LeadSummary).
+ * Pages are capped at MAX_LIMIT leads.
+ */
+public enum LeadView {
+
+    FULL,
+    SUMMARY;
+
+    public static final int MAX_LIMIT = 1000;
+
+    public LeadPage<?> findPage(LeadPersistencePort repository, LeadQuery query) {
+        if (query.getLimit() > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be at most " + MAX_LIMIT);
+        }
+        return this == SUMMARY ? repository.findSummaryPage(query) : repository.findPage(query);
+    }
+
+    public static LeadView parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown lead view: " + name);
+        }
+    }
+}
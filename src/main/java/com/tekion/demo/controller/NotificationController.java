@@ -0,0 +1,28 @@
+package com.tekion.demo.controller;
+
+import com.tekion.demo.router.DispatchMetrics;
+import com.tekion.demo.router.NotificationDispatcher;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for notification delivery monitoring
+ */
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationController {
+
+    private final NotificationDispatcher dispatcher;
+
+    public NotificationController(NotificationDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Queue depth, lag and drop counters of the dispatch queue
+     * GET /api/notifications/dispatch/metrics
+     */
+    @GetMapping("/dispatch/metrics")
+    public DispatchMetrics getDispatchMetrics() {
+        return dispatcher.getMetrics();
+    }
+}
@@ -29,4 +29,7 @@ public class Lead {
     private LeadState state;
     private ZonedDateTime createdAt;
     private ZonedDateTime updatedAt;
-}
\ No newline at end of file
+
+    // Set by every save to the stored version + 1, 0 until first saved; saveIfVersion checks it first
+    private long version;
+}
@@ -0,0 +1,16 @@
+package com.tekion.demo.lead;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of a dealer's leads, or of their projections; nextCursor is null once there are no more leads
+ */
+@Value
+@Builder
+public class LeadPage<T> {
+    List<T> leads;
+    String nextCursor;
+}
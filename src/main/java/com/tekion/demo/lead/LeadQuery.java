@@ -0,0 +1,19 @@
+package com.tekion.demo.lead;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A page request over one dealer's leads, highest indexed score first
+ * minScore is optional; cursor is the nextCursor of the previous page.
+ */
+@Value
+@Builder
+public class LeadQuery {
+    String dealerId;
+    // Inclusive
+    Double minScore;
+    String cursor;
+    @Builder.Default
+    int limit = 100;
+}
@@ -1,7 +1,9 @@
 package com.tekion.demo.lead;
 
-import lombok.*;
-
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
 import java.util.Set;
 
 public enum LeadState {
@@ -12,19 +14,41 @@ public enum LeadState {
     CONVERTED("Converted"),
     LOST("Lost");
 
+    /**
+     * Standard transition table, one bitmask of allowed target ordinals per source ordinal
+     * Built once when the enum is initialized so checks are a single array read and bit test
+     */
+    private static final int[] NEXT = new int[values().length];
+    private static final Map<LeadState, Set<LeadState>> NEXT_STATES = new EnumMap<>(LeadState.class);
+
+    static {
+        allow(NEW, CONTACTED, LOST);
+        allow(CONTACTED, QUALIFIED, LOST);
+        allow(QUALIFIED, CONVERTED, LOST);
+        for (LeadState state : values()) {
+            NEXT_STATES.put(state, Collections.unmodifiableSet(statesOf(NEXT[state.ordinal()])));
+        }
+    }
+
     private final String displayName;
 
+    /**
+     * Terminal under the standard workflow; a tenant's own workflow may differ, so lead-facing
+     * checks go through LeadWorkflowRegistry.forTenant(tenantId).isTerminal(state)
+     */
     public boolean isTerminal() {
-        return this == CONVERTED || this == LOST;
+        return LeadWorkflow.STANDARD.isTerminal(this);
     }
 
     public boolean canTransitionTo(LeadState target) {
-        return switch (this) {
-            case NEW -> Set.of(CONTACTED, LOST).contains(target);
-            case CONTACTED -> Set.of(QUALIFIED, LOST).contains(target);
-            case QUALIFIED -> Set.of(CONVERTED, LOST).contains(target);
-            case CONVERTED, LOST -> false;
-        };
+        return target != null && (NEXT[ordinal()] & target.bit()) != 0;
+    }
+
+    /**
+     * States reachable in one step under the standard workflow, as a shared read-only set
+     */
+    public Set<LeadState> allowedNextStates() {
+        return NEXT_STATES.get(this);
     }
 
     LeadState(String displayName) {
@@ -34,5 +58,27 @@ public enum LeadState {
     public String getDisplayName() {
         return displayName;
     }
-}
 
+    /**
+     * Single-bit mask for this state, used by transition tables
+     */
+    int bit() {
+        return 1 << ordinal();
+    }
+
+    static EnumSet<LeadState> statesOf(int mask) {
+        EnumSet<LeadState> states = EnumSet.noneOf(LeadState.class);
+        for (LeadState state : values()) {
+            if ((mask & state.bit()) != 0) {
+                states.add(state);
+            }
+        }
+        return states;
+    }
+
+    private static void allow(LeadState from, LeadState... targets) {
+        for (LeadState target : targets) {
+            NEXT[from.ordinal()] |= target.bit();
+        }
+    }
+}
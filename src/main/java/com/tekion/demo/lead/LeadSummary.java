@@ -0,0 +1,28 @@
+package com.tekion.demo.lead;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * List-view projection of a lead: id, name, state and indexed score only
+ * Leaves out the contact, vehicle and timestamp value objects a full Lead carries.
+ */
+@Value
+@Builder
+public class LeadSummary {
+    String leadId;
+    String firstName;
+    String lastName;
+    LeadState state;
+    double score;
+
+    public static LeadSummary of(Lead lead, double score) {
+        return LeadSummary.builder()
+                .leadId(lead.getLeadId())
+                .firstName(lead.getFirstName())
+                .lastName(lead.getLastName())
+                .state(lead.getState())
+                .score(score)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.tekion.demo.lead;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable lead state machine: which states each state may move to
+ * Transitions are held as one bitmask per source state, so checks never allocate;
+ * the allowed-next sets are built once and shared read-only.
+ */
+public final class LeadWorkflow {
+
+    public static final LeadWorkflow STANDARD = standard();
+
+    private final int[] next;
+    private final Map<LeadState, Set<LeadState>> nextStates = new EnumMap<>(LeadState.class);
+
+    private LeadWorkflow(int[] next) {
+        this.next = next;
+        for (LeadState state : LeadState.values()) {
+            nextStates.put(state, Collections.unmodifiableSet(LeadState.statesOf(next[state.ordinal()])));
+        }
+    }
+
+    public boolean canTransition(LeadState from, LeadState to) {
+        return from != null && to != null && (next[from.ordinal()] & to.bit()) != 0;
+    }
+
+    public Set<LeadState> allowedNextStates(LeadState from) {
+        return from == null ? Set.of() : nextStates.get(from);
+    }
+
+    /**
+     * True when the state has no outgoing transitions, so allowedNextStates is empty
+     */
+    public boolean isTerminal(LeadState state) {
+        return state != null && next[state.ordinal()] == 0;
+    }
+
+    /**
+     * Copy of this workflow with the transitions out of one state replaced
+     */
+    public LeadWorkflow withTransitions(LeadState from, Collection<LeadState> targets) {
+        int[] copy = next.clone();
+        copy[from.ordinal()] = mask(targets);
+        return new LeadWorkflow(copy);
+    }
+
+    /**
+     * Standard workflow with the rows given as state name to comma-separated target names
+     * A blank value leaves the state with no outgoing transitions
+     */
+    public static LeadWorkflow parse(Map<String, String> transitions) {
+        LeadWorkflow workflow = STANDARD;
+        for (Map.Entry<String, String> row : transitions.entrySet()) {
+            LeadState from = parseState(row.getKey());
+            Set<LeadState> targets = EnumSet.noneOf(LeadState.class);
+            String value = row.getValue() == null ? "" : row.getValue();
+            for (String target : value.split(",")) {
+                if (!target.isBlank()) {
+                    targets.add(parseState(target));
+                }
+            }
+            workflow = workflow.withTransitions(from, targets);
+        }
+        return workflow;
+    }
+
+    private static LeadWorkflow standard() {
+        int[] next = new int[LeadState.values().length];
+        for (LeadState state : LeadState.values()) {
+            next[state.ordinal()] = mask(state.allowedNextStates());
+        }
+        return new LeadWorkflow(next);
+    }
+
+    private static int mask(Collection<LeadState> states) {
+        int mask = 0;
+        for (LeadState state : states) {
+            mask |= state.bit();
+        }
+        return mask;
+    }
+
+    private static LeadState parseState(String name) {
+        try {
+            return LeadState.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown lead state in workflow: " + name);
+        }
+    }
+}
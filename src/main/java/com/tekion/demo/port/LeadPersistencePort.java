@@ -1,17 +1,102 @@
 package com.tekion.demo.port;
 
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadQuery;
 import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.LeadSummary;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 public interface LeadPersistencePort {
 
     Lead save(Lead lead);
 
+    /**
+     * Store a batch of leads, returning them in input order
+     * Stores with a per-write fixed cost, such as an fsync, override this to pay it once per batch.
+     * Leads are not saved atomically as a group: on failure an earlier part of the batch may be stored.
+     */
+    default List<Lead> saveAll(List<Lead> leads) {
+        for (Lead lead : leads) {
+            save(lead);
+        }
+        return leads;
+    }
+
+    /**
+     * Store the lead only if the stored copy is still at expectedVersion (0 for a new lead)
+     * onCommit runs inside the same per-lead atomic step as the write, so side effects such
+     * as audit entries are ordered exactly like the writes. On success the lead carries
+     * version expectedVersion + 1; returns false if another writer got there first
+     */
+    boolean saveIfVersion(Lead lead, long expectedVersion, Runnable onCommit);
+
+    default boolean saveIfVersion(Lead lead, long expectedVersion) {
+        return saveIfVersion(lead, expectedVersion, () -> { });
+    }
+
+    /**
+     * saveIfVersion for a batch of distinct leads, returning whether each was saved, in input order
+     * onCommit receives the index of each lead as its write commits. Stores with a per-write
+     * fixed cost override this to pay it once per batch.
+     */
+    default boolean[] saveAllIfVersion(List<Lead> leads, long[] expectedVersions, IntConsumer onCommit) {
+        boolean[] saved = new boolean[leads.size()];
+        for (int i = 0; i < saved.length; i++) {
+            int index = i;
+            saved[i] = saveIfVersion(leads.get(i), expectedVersions[i], () -> onCommit.accept(index));
+        }
+        return saved;
+    }
+
     Optional<Lead> findByIdAndDealerId(String leadId, String dealerId);
 
+    List<Lead> findByDealerId(String dealerId);
+
     List<Lead> findByDealerIdAndState(String dealerId, LeadState state);
 
+    /**
+     * One page of leads in a state, ordered by leadId
+     * Pass the last leadId of the previous page as afterLeadId, or null for the first page
+     */
+    List<Lead> findByDealerIdAndState(String dealerId, LeadState state, String afterLeadId, int limit);
+
+    int countByDealerIdAndState(String dealerId, LeadState state);
+
+    /**
+     * Leads ranked by score at the time they were saved, highest first
+     */
     List<Lead> findByDealerIdOrderByScore(String dealerId, int limit);
+
+    /**
+     * One page of a dealer's leads ranked by indexed score, highest first, ties by leadId
+     * Pages are keyset based: each resumes after the last lead of the previous one, so deep
+     * pages cost the same as the first. Throws IllegalArgumentException for a malformed cursor.
+     */
+    LeadPage<Lead> findPage(LeadQuery query);
+
+    /**
+     * The same page as findPage projected to LeadSummary
+     * Stores that build leads on read only decode the summary fields
+     */
+    LeadPage<LeadSummary> findSummaryPage(LeadQuery query);
+
+    /**
+     * Lead count per 10-point band of indexed score; band i covers [10i, 10i + 10), the last one includes 100
+     */
+    int[] getScoreHistogram(String dealerId);
+
+    /**
+     * Re-rank a stored lead with a freshly computed score without rewriting it
+     * Ignored, returning false, if the stored lead's version or updatedAt no longer match
+     */
+    boolean updateScore(Lead lead, double score);
+
+    /**
+     * Register a callback run after every successful write, e.g. to invalidate caches derived from leads
+     */
+    void addSaveListener(Consumer<Lead> listener);
 }
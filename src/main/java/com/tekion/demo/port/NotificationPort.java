@@ -5,9 +5,24 @@ import com.tekion.demo.notification.Notification;
 import com.tekion.demo.notification.NotificationResult;
 import com.tekion.demo.notification.NotificationType;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface NotificationPort {
 
     NotificationResult send(Notification notification);
 
     boolean supports(NotificationType type);
+
+    /**
+     * Send several notifications, returning one result per notification in the same order
+     * The default sends them one at a time; adapters override it to share per-call costs
+     */
+    default List<NotificationResult> sendBatch(List<Notification> notifications) {
+        List<NotificationResult> results = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            results.add(send(notification));
+        }
+        return results;
+    }
 }
\ No newline at end of file
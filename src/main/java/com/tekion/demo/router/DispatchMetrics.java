@@ -0,0 +1,22 @@
+package com.tekion.demo.router;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Point-in-time counters for the notification dispatch queue
+ */
+@Value
+@Builder
+public class DispatchMetrics {
+    int queueDepth;
+    int capacity;
+    long enqueued;
+    long delivered;
+    long failed;
+    long dropped;
+    // Age of the oldest notification still waiting, 0 when the queue is empty
+    long currentLagMs;
+    double averageLagMs;
+    long maxLagMs;
+}
@@ -0,0 +1,272 @@
+package com.tekion.demo.router;
+
+import com.tekion.demo.notification.Notification;
+import com.tekion.demo.notification.NotificationResult;
+import com.tekion.demo.port.NotificationPort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process queue that delivers notifications on worker threads
+ * Callers only pay for an enqueue; delivery latency and adapter failures stay off their path.
+ * When the queue is full the OverflowPolicy decides what is dropped. With a batch size above 1
+ * a worker collects up to that many notifications, waiting at most the linger time, and
+ * delivers them with one sendBatch call.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final NotificationPort delivery;
+    private final BlockingQueue<Queued> queue;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutNanos;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder lagNanosTotal = new LongAdder();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    @Autowired
+    public NotificationDispatcher(NotificationRouter router,
+                                  @Value("${notification.dispatch.capacity:10000}") int capacity,
+                                  @Value("${notification.dispatch.workers:2}") int workers,
+                                  @Value("${notification.dispatch.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                                  @Value("${notification.dispatch.offer-timeout:PT0.05S}") Duration offerTimeout,
+                                  @Value("${notification.dispatch.batch-size:1}") int batchSize,
+                                  @Value("${notification.dispatch.linger:PT0S}") Duration linger) {
+        this((NotificationPort) router, capacity, workers, overflowPolicy, offerTimeout, batchSize, linger);
+    }
+
+    public NotificationDispatcher(NotificationPort delivery, int capacity, int workers, OverflowPolicy overflowPolicy,
+                                  Duration offerTimeout, int batchSize, Duration linger) {
+        if (capacity <= 0 || workers <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Dispatch capacity, workers and batch size must be positive");
+        }
+        this.delivery = delivery;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(this::run, "notification-dispatch-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            this.workers.add(worker);
+        }
+    }
+
+    /**
+     * Queue a notification for delivery
+     * The future completes with the delivery result, or with a failed result if the
+     * notification is dropped. It is already complete when this method returns a drop.
+     */
+    public CompletableFuture<NotificationResult> dispatch(Notification notification) {
+        Queued queued = new Queued(notification, System.nanoTime());
+        if (!running) {
+            drop(queued, "Notification dispatcher is stopped");
+            return queued.result;
+        }
+
+        boolean accepted = switch (overflowPolicy) {
+            case BLOCK -> offerWithTimeout(queued);
+            case DROP_NEWEST -> queue.offer(queued);
+            case DROP_OLDEST -> offerDroppingOldest(queued);
+        };
+        if (accepted && !running && queue.remove(queued)) {
+            // Raced with shutdown after the workers had already drained the queue
+            accepted = false;
+        }
+        if (accepted) {
+            enqueued.increment();
+        } else {
+            drop(queued, "Notification dropped: dispatch queue is full");
+        }
+        return queued.result;
+    }
+
+    public DispatchMetrics getMetrics() {
+        Queued oldest = queue.peek();
+        long deliveredCount = delivered.sum() + failed.sum();
+        return DispatchMetrics.builder()
+                .queueDepth(queue.size())
+                .capacity(capacity)
+                .enqueued(enqueued.sum())
+                .delivered(delivered.sum())
+                .failed(failed.sum())
+                .dropped(dropped.sum())
+                .currentLagMs(oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedAt))
+                .averageLagMs(deliveredCount == 0 ? 0 : lagNanosTotal.sum() / 1_000_000.0 / deliveredCount)
+                .maxLagMs(TimeUnit.NANOSECONDS.toMillis(maxLagNanos.get()))
+                .build();
+    }
+
+    /**
+     * Stop accepting notifications and give workers a few seconds to deliver what is queued
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        Queued leftover;
+        while ((leftover = queue.poll()) != null) {
+            drop(leftover, "Notification dispatcher is stopped");
+        }
+    }
+
+    private boolean offerWithTimeout(Queued queued) {
+        try {
+            return queue.offer(queued, offerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean offerDroppingOldest(Queued queued) {
+        while (!queue.offer(queued)) {
+            Queued oldest = queue.poll();
+            if (oldest != null) {
+                drop(oldest, "Notification dropped: displaced by newer notifications");
+            }
+        }
+        return true;
+    }
+
+    private void drop(Queued queued, String reason) {
+        dropped.increment();
+        queued.result.complete(NotificationResult.builder()
+                .success(false)
+                .message(reason)
+                .build());
+    }
+
+    private void run() {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Queued first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                if (batchSize > 1) {
+                    fillBatch(batch);
+                }
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(List<Queued> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) return;
+            Queued next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    private void deliver(List<Queued> batch) {
+        long now = System.nanoTime();
+        for (Queued queued : batch) {
+            recordLag(now - queued.enqueuedAt);
+        }
+        if (batch.size() == 1) {
+            complete(batch.get(0), sendQuietly(batch.get(0).notification));
+            return;
+        }
+
+        List<Notification> notifications = new ArrayList<>(batch.size());
+        batch.forEach(queued -> notifications.add(queued.notification));
+        List<NotificationResult> results;
+        try {
+            results = delivery.sendBatch(notifications);
+        } catch (Exception e) {
+            NotificationResult failure = NotificationResult.builder()
+                    .success(false)
+                    .message("Delivery failed: " + e.getMessage())
+                    .build();
+            batch.forEach(queued -> complete(queued, failure));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), results != null && i < results.size() ? results.get(i) : NotificationResult.builder()
+                    .success(false)
+                    .message("Delivery returned no result")
+                    .build());
+        }
+    }
+
+    private NotificationResult sendQuietly(Notification notification) {
+        try {
+            return delivery.send(notification);
+        } catch (Exception e) {
+            return NotificationResult.builder()
+                    .success(false)
+                    .message("Delivery failed: " + e.getMessage())
+                    .build();
+        }
+    }
+
+    private void complete(Queued queued, NotificationResult result) {
+        if (result.isSuccess()) {
+            delivered.increment();
+        } else {
+            failed.increment();
+        }
+        queued.result.complete(result);
+    }
+
+    private void recordLag(long lagNanos) {
+        lagNanosTotal.add(lagNanos);
+        maxLagNanos.accumulateAndGet(lagNanos, Math::max);
+    }
+
+    private static class Queued {
+        final Notification notification;
+        final long enqueuedAt;
+        final CompletableFuture<NotificationResult> result = new CompletableFuture<>();
+
+        Queued(Notification notification, long enqueuedAt) {
+            this.notification = notification;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.tekion.demo.router;
+
+import com.tekion.demo.notification.NotificationType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-recipient, per-NotificationType limit on sends within a time window
+ * Windows are aligned to local time in the clock's zone, so the default one-day window is a
+ * calendar day. Each recipient's window number and count are packed into one AtomicLong and
+ * updated with CAS, so concurrent senders never exceed the limit and never block each other.
+ * Counters from past windows are evicted in the background.
+ */
+@Component
+public class NotificationRateLimiter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    // Marks a counter that is being evicted; senders must fetch a fresh one
+    private static final long EVICTED = -1L;
+
+    private final Map<NotificationType, Integer> limits;
+    private final Map<NotificationType, ConcurrentHashMap<String, AtomicLong>> counters = new EnumMap<>(NotificationType.class);
+    private final long windowMillis;
+    private final Clock clock;
+    private final ScheduledExecutorService evictionScheduler;
+
+    @Autowired
+    public NotificationRateLimiter(@Value("${notification.rate-limit.email:3}") int emailLimit,
+                                   @Value("${notification.rate-limit.sms:3}") int smsLimit,
+                                   @Value("${notification.rate-limit.window:P1D}") Duration window,
+                                   @Value("${notification.rate-limit.eviction-interval:PT10M}") Duration evictionInterval) {
+        this(Map.of(NotificationType.EMAIL, emailLimit, NotificationType.SMS, smsLimit),
+                window, evictionInterval, Clock.systemDefaultZone());
+    }
+
+    public NotificationRateLimiter(Map<NotificationType, Integer> limits, Duration window,
+                                   Duration evictionInterval, Clock clock) {
+        if (window.toMillis() <= 0) {
+            throw new IllegalArgumentException("Rate limit window must be positive: " + window);
+        }
+        this.limits = new EnumMap<>(NotificationType.class);
+        for (NotificationType type : NotificationType.values()) {
+            Integer limit = limits.get(type);
+            if (limit == null || limit < 0 || limit > COUNT_MASK) {
+                throw new IllegalArgumentException("Invalid rate limit for " + type + ": " + limit);
+            }
+            this.limits.put(type, limit);
+            counters.put(type, new ConcurrentHashMap<>());
+        }
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+
+        if (evictionInterval.isZero() || evictionInterval.isNegative()) {
+            this.evictionScheduler = null;
+        } else {
+            this.evictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "notification-rate-limit-eviction");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = evictionInterval.toMillis();
+            evictionScheduler.scheduleWithFixedDelay(this::evictExpired, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * The same limit per calendar day for every type, without background eviction
+     */
+    public static NotificationRateLimiter daily(int limit) {
+        Map<NotificationType, Integer> limits = new EnumMap<>(NotificationType.class);
+        for (NotificationType type : NotificationType.values()) {
+            limits.put(type, limit);
+        }
+        return new NotificationRateLimiter(limits, Duration.ofDays(1), Duration.ZERO, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Take one send from the recipient's allowance in the current window
+     * Returns false, without taking anything, if the allowance is used up
+     */
+    public boolean tryAcquire(NotificationType type, String recipient) {
+        return tryAcquire(type, recipient, 1) == 1;
+    }
+
+    /**
+     * Take up to the requested number of sends in one atomic step
+     * Returns how many were granted, which is less than requested once the allowance runs out
+     */
+    public int tryAcquire(NotificationType type, String recipient, int permits) {
+        int limit = limitFor(type);
+        ConcurrentHashMap<String, AtomicLong> byRecipient = counters.get(type);
+        long window = currentWindow();
+
+        while (true) {
+            AtomicLong counter = byRecipient.computeIfAbsent(recipient, k -> new AtomicLong(pack(window, 0)));
+            long current = counter.get();
+            if (current == EVICTED) {
+                byRecipient.remove(recipient, counter);
+                continue;
+            }
+            long count = windowOf(current) == window ? countOf(current) : 0;
+            int granted = (int) Math.min(permits, limit - count);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (counter.compareAndSet(current, pack(window, count + granted))) {
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * Give back a send taken with tryAcquire that was not delivered
+     * Has no effect once the window it was taken from has passed.
+     */
+    public void release(NotificationType type, String recipient) {
+        release(type, recipient, 1);
+    }
+
+    /**
+     * Give back several sends taken with tryAcquire in one atomic step
+     * Never returns more than the recipient has used in the current window, and has no effect
+     * once the window the sends were taken from has passed.
+     */
+    public void release(NotificationType type, String recipient, int permits) {
+        AtomicLong counter = counters.get(type).get(recipient);
+        if (counter == null) return;
+        long window = currentWindow();
+
+        while (true) {
+            long current = counter.get();
+            if (current == EVICTED || windowOf(current) != window || countOf(current) == 0) {
+                return;
+            }
+            long returned = Math.min(permits, countOf(current));
+            if (counter.compareAndSet(current, current - returned)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sends the recipient has left in the current window
+     */
+    public int remaining(NotificationType type, String recipient) {
+        AtomicLong counter = counters.get(type).get(recipient);
+        long current = counter == null ? EVICTED : counter.get();
+        long used = current == EVICTED || windowOf(current) != currentWindow() ? 0 : countOf(current);
+        return (int) (limitFor(type) - used);
+    }
+
+    /**
+     * Drop counters whose window has passed
+     */
+    public void evictExpired() {
+        long window = currentWindow();
+        for (ConcurrentHashMap<String, AtomicLong> byRecipient : counters.values()) {
+            byRecipient.forEach((recipient, counter) -> {
+                long current = counter.get();
+                // Losing the CAS means a sender just used the counter; it stays
+                if (current != EVICTED && windowOf(current) < window && counter.compareAndSet(current, EVICTED)) {
+                    byRecipient.remove(recipient, counter);
+                }
+            });
+        }
+    }
+
+    /**
+     * Number of recipient counters currently held, across all types
+     */
+    public int trackedRecipients() {
+        return counters.values().stream().mapToInt(Map::size).sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (evictionScheduler != null) {
+            evictionScheduler.shutdownNow();
+        }
+    }
+
+    private int limitFor(NotificationType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Notification type is required for rate limiting");
+        }
+        return limits.get(type);
+    }
+
+    private long currentWindow() {
+        Instant now = clock.instant();
+        long offsetMillis = clock.getZone().getRules().getOffset(now).getTotalSeconds() * 1000L;
+        return Math.floorDiv(now.toEpochMilli() + offsetMillis, windowMillis);
+    }
+
+    private static long pack(long window, long count) {
+        return (window << COUNT_BITS) | count;
+    }
+
+    private static long windowOf(long packed) {
+        return packed >>> COUNT_BITS;
+    }
+
+    private static long countOf(long packed) {
+        return packed & COUNT_MASK;
+    }
+}
@@ -2,27 +2,34 @@ package com.tekion.demo.router;
 
 import com.tekion.demo.notification.Notification;
 import com.tekion.demo.notification.NotificationResult;
+import com.tekion.demo.notification.NotificationType;
 import com.tekion.demo.port.NotificationPort;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
 import java.util.*;
 
 @Component
 public class NotificationRouter implements NotificationPort {
 
-    private final List<NotificationPort> adapters;
+    private static final int MAX_PER_DAY = 3;
 
-    private final Map<String, Map<LocalDate, Integer>> rateLimitMap = new HashMap<>();
+    private final List<NotificationPort> adapters;
 
-    private final int MAX_PER_DAY = 3;
+    private final NotificationRateLimiter rateLimiter;
 
     public NotificationRouter(List<NotificationPort> adapters) {
+        this(adapters, NotificationRateLimiter.daily(MAX_PER_DAY));
+    }
+
+    @Autowired
+    public NotificationRouter(List<NotificationPort> adapters, NotificationRateLimiter rateLimiter) {
         this.adapters = adapters;
+        this.rateLimiter = rateLimiter;
     }
 
     @Override
-    public boolean supports(com.tekion.demo.notification.NotificationType type) {
+    public boolean supports(NotificationType type) {
         // Router supports all types by delegating to adapters
         return true;
     }
@@ -30,12 +37,15 @@ public class NotificationRouter implements NotificationPort {
     @Override
     public NotificationResult send(Notification notification) {
         String leadId = notification.getRecipient();
-        LocalDate today = LocalDate.now();
-        rateLimitMap.putIfAbsent(leadId, new HashMap<>());
-        Map<LocalDate, Integer> dailyMap = rateLimitMap.get(leadId);
-        int sentToday = dailyMap.getOrDefault(today, 0);
+        if (leadId == null || notification.getType() == null) {
+            return NotificationResult.builder()
+                    .success(false)
+                    .message("Notification recipient and type are required")
+                    .build();
+        }
 
-        if (sentToday >= MAX_PER_DAY) {
+        // Reserve the send up front so concurrent senders cannot overshoot the limit
+        if (!rateLimiter.tryAcquire(notification.getType(), leadId)) {
             return NotificationResult.builder()
                     .success(false)
                     .message("Rate limit exceeded for lead " + leadId)
@@ -54,7 +64,6 @@ public class NotificationRouter implements NotificationPort {
             try {
                 NotificationResult result = adapter.send(notification);
                 if (result.isSuccess()) {
-                    dailyMap.put(today, sentToday + 1);
                     return result;
                 } else {
                     errors.add(result.getMessage());
@@ -64,9 +73,104 @@ public class NotificationRouter implements NotificationPort {
             }
         }
 
+        // Nothing was delivered, so the reserved send does not count
+        rateLimiter.release(notification.getType(), leadId);
         return NotificationResult.builder()
                 .success(false)
                 .message("All notification attempts failed: " + String.join("; ", errors))
                 .build();
     }
+
+    /**
+     * Send a batch, rate limiting each recipient with one bulk acquisition per type
+     * Admitted notifications are grouped by type and handed to each supporting adapter as a
+     * batch; whatever an adapter fails to deliver falls through to the next one. Results
+     * come back in input order.
+     */
+    @Override
+    public List<NotificationResult> sendBatch(List<Notification> notifications) {
+        NotificationResult[] results = new NotificationResult[notifications.size()];
+
+        Map<NotificationType, Map<String, List<Integer>>> byRecipient = new EnumMap<>(NotificationType.class);
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            if (notification.getRecipient() == null || notification.getType() == null) {
+                results[i] = NotificationResult.builder()
+                        .success(false)
+                        .message("Notification recipient and type are required")
+                        .build();
+                continue;
+            }
+            byRecipient.computeIfAbsent(notification.getType(), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(notification.getRecipient(), k -> new ArrayList<>())
+                    .add(i);
+        }
+
+        for (Map.Entry<NotificationType, Map<String, List<Integer>>> typeEntry : byRecipient.entrySet()) {
+            NotificationType type = typeEntry.getKey();
+            List<Integer> admitted = new ArrayList<>();
+            typeEntry.getValue().forEach((recipient, indexes) -> {
+                int granted = rateLimiter.tryAcquire(type, recipient, indexes.size());
+                admitted.addAll(indexes.subList(0, granted));
+                for (int i : indexes.subList(granted, indexes.size())) {
+                    results[i] = NotificationResult.builder()
+                            .success(false)
+                            .message("Rate limit exceeded for lead " + recipient)
+                            .build();
+                }
+            });
+            admitted.sort(null);
+            deliverBatch(type, notifications, admitted, results);
+        }
+        return List.of(results);
+    }
+
+    private void deliverBatch(NotificationType type, List<Notification> notifications, List<Integer> pending,
+                              NotificationResult[] results) {
+        Map<Integer, List<String>> errors = new HashMap<>();
+        for (NotificationPort adapter : adapters) {
+            if (pending.isEmpty()) break;
+            if (!adapter.supports(type)) continue;
+
+            List<Notification> batch = new ArrayList<>(pending.size());
+            pending.forEach(i -> batch.add(notifications.get(i)));
+
+            List<NotificationResult> adapterResults;
+            try {
+                adapterResults = adapter.sendBatch(batch);
+            } catch (Exception e) {
+                String error = "Adapter " + adapter.getClass().getSimpleName() + " failed: " + e.getMessage();
+                pending.forEach(i -> errors.computeIfAbsent(i, k -> new ArrayList<>()).add(error));
+                continue;
+            }
+
+            List<Integer> undelivered = new ArrayList<>();
+            for (int j = 0; j < pending.size(); j++) {
+                int i = pending.get(j);
+                NotificationResult result = adapterResults != null && j < adapterResults.size() ? adapterResults.get(j) : null;
+                if (result != null && result.isSuccess()) {
+                    results[i] = result;
+                } else {
+                    errors.computeIfAbsent(i, k -> new ArrayList<>()).add(result == null
+                            ? "Adapter " + adapter.getClass().getSimpleName() + " returned no result"
+                            : result.getMessage());
+                    undelivered.add(i);
+                }
+            }
+            pending = undelivered;
+        }
+
+        // Nothing was delivered, so the reserved sends do not count; one release per recipient
+        Map<String, Integer> undeliveredByRecipient = new HashMap<>();
+        for (int i : pending) {
+            undeliveredByRecipient.merge(notifications.get(i).getRecipient(), 1, Integer::sum);
+        }
+        undeliveredByRecipient.forEach((recipient, permits) -> rateLimiter.release(type, recipient, permits));
+        for (int i : pending) {
+            results[i] = NotificationResult.builder()
+                    .success(false)
+                    .message("All notification attempts failed: " + String.join("; ", errors.getOrDefault(i, List.of())))
+                    .build();
+        }
+    }
 }
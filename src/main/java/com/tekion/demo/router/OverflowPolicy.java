@@ -0,0 +1,13 @@
+package com.tekion.demo.router;
+
+/**
+ * What the dispatcher does with a notification when its queue is full
+ */
+public enum OverflowPolicy {
+    /** Wait up to the offer timeout for space, then drop the new notification */
+    BLOCK,
+    /** Drop the new notification immediately */
+    DROP_NEWEST,
+    /** Drop the longest-waiting queued notification to make room */
+    DROP_OLDEST
+}
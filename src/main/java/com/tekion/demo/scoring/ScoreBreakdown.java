@@ -0,0 +1,82 @@
+package com.tekion.demo.scoring;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only Map view over per-rule scores stored in a fixed-index double[]
+ * Rule names are shared across all results of an engine, so a breakdown costs one array
+ * instead of a HashMap with boxed values. Names must be unique.
+ */
+public final class ScoreBreakdown extends AbstractMap<String, Double> {
+
+    private final String[] names;
+    private final double[] scores;
+
+    public ScoreBreakdown(String[] names, double[] scores) {
+        this.names = names;
+        this.scores = scores;
+    }
+
+    /**
+     * Weighted score of the rule at the given ordinal
+     */
+    public double scoreAt(int ordinal) {
+        return scores[ordinal];
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Double get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : scores[index];
+    }
+
+    @Override
+    public Set<Entry<String, Double>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Double>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, Double> next() {
+                        if (next >= names.length) throw new NoSuchElementException();
+                        int index = next++;
+                        return new SimpleImmutableEntry<>(names[index], scores[index]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(key)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,69 @@
+package com.tekion.demo.scoring;
+
+import com.tekion.demo.lead.Lead;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Inputs a ScoringRule can depend on
+ * CLOCK is not a lead field: it marks rules whose result also depends on the current time.
+ */
+public enum ScoringInput {
+
+    SOURCE(Lead::getSource),
+    VEHICLE_INTEREST(Lead::getVehicleInterest),
+    CREATED_AT(Lead::getCreatedAt),
+    STATE(Lead::getState),
+    EMAIL(Lead::getEmail),
+    PHONE(Lead::getPhone),
+    CLOCK(lead -> null);
+
+    private static final ScoringInput[] VALUES = values();
+
+    private final Function<Lead, Object> extractor;
+
+    ScoringInput(Function<Lead, Object> extractor) {
+        this.extractor = extractor;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static int mask(Collection<ScoringInput> inputs) {
+        int mask = 0;
+        for (ScoringInput input : inputs) {
+            mask |= input.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Current value of each input in the mask, indexed by ordinal (others stay null)
+     * Captured by value because leads are mutable and may be changed in place after scoring
+     */
+    public static Object[] capture(Lead lead, int mask) {
+        Object[] values = new Object[VALUES.length];
+        for (ScoringInput input : VALUES) {
+            if ((mask & input.bit()) != 0) {
+                values[input.ordinal()] = input.extractor.apply(lead);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Mask of the inputs in the mask whose current values differ from the captured ones
+     */
+    public static int changed(Object[] captured, Lead lead, int mask) {
+        int changed = 0;
+        for (ScoringInput input : VALUES) {
+            if ((mask & input.bit()) != 0 && !Objects.equals(captured[input.ordinal()], input.extractor.apply(lead))) {
+                changed |= input.bit();
+            }
+        }
+        return changed;
+    }
+}
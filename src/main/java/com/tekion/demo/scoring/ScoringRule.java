@@ -2,6 +2,10 @@ package com.tekion.demo.scoring;
 
 import com.tekion.demo.lead.Lead;
 
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
+
 public interface ScoringRule {
 
     String getName();
@@ -9,4 +13,27 @@ public interface ScoringRule {
     double getWeight();
 
     double evaluate(Lead lead);
+
+    /**
+     * Inputs the rule reads, used to skip it when re-scoring a lead whose inputs did not change
+     * Defaults to every input, so a rule that does not declare them is always re-evaluated
+     */
+    default Set<ScoringInput> getInputs() {
+        return EnumSet.allOf(ScoringInput.class);
+    }
+
+    /**
+     * Evaluate as of the given instant; rules depending on CLOCK must use it instead of Instant.now()
+     */
+    default double evaluate(Lead lead, Instant now) {
+        return evaluate(lead);
+    }
+
+    /**
+     * Earliest instant at which the result for this lead may differ from the one at now
+     * Rules not depending on CLOCK never expire; others expire immediately unless they know better
+     */
+    default Instant validUntil(Lead lead, Instant now) {
+        return getInputs().contains(ScoringInput.CLOCK) ? now : Instant.MAX;
+    }
 }
@@ -1,12 +1,17 @@
 package com.tekion.demo.scoring.rules;
 
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoringInput;
 import com.tekion.demo.scoring.ScoringRule;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class EngagementRule implements ScoringRule {
 
+    private static final Set<ScoringInput> INPUTS = Set.of();
+
     @Override
     public String getName() {
         return "Engagement";
@@ -17,6 +22,11 @@ public class EngagementRule implements ScoringRule {
         return 0.15; // 15%
     }
 
+    @Override
+    public Set<ScoringInput> getInputs() {
+        return INPUTS;
+    }
+
     @Override
     public double evaluate(Lead lead) {
         return 0.5;
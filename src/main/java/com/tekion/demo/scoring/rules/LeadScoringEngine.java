@@ -1,35 +1,163 @@
 package com.tekion.demo.scoring.rules;
 
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoreBreakdown;
+import com.tekion.demo.scoring.ScoringInput;
 import com.tekion.demo.scoring.ScoringResult;
 import com.tekion.demo.scoring.ScoringRule;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Component
 public class LeadScoringEngine {
 
-    private final List<ScoringRule> rules;
+    private final ScoringRule[] rules;
+
+    // Resolved once so the scoring loop only calls evaluate()
+    private final String[] names;
+    private final double[] weights;
+    private final int[] inputMasks;
+    private final int usedInputs;
+    private final boolean uniqueNames;
 
     public LeadScoringEngine(List<ScoringRule> rules) {
-        this.rules = rules;
+        this.rules = rules.toArray(new ScoringRule[0]);
+        this.names = new String[this.rules.length];
+        this.weights = new double[this.rules.length];
+        this.inputMasks = new int[this.rules.length];
+
+        Set<String> seen = new HashSet<>();
+        int used = 0;
+        for (int i = 0; i < this.rules.length; i++) {
+            names[i] = this.rules[i].getName();
+            weights[i] = this.rules[i].getWeight();
+            inputMasks[i] = ScoringInput.mask(this.rules[i].getInputs());
+            used |= inputMasks[i];
+            seen.add(names[i]);
+        }
+        this.usedInputs = used;
+        this.uniqueNames = seen.size() == names.length;
     }
 
     public ScoringResult score(Lead lead) {
-        Map<String, Double> breakdown = new HashMap<>();
+        if (!uniqueNames) {
+            return scoreWithMap(lead);
+        }
+
+        Instant now = Instant.now();
+        double[] breakdown = new double[rules.length];
         double total = 0.0;
 
-        for (ScoringRule rule : rules) {
-            double score = rule.evaluate(lead) * rule.getWeight();
-            breakdown.put(rule.getName(), score);
+        for (int i = 0; i < rules.length; i++) {
+            double score = rules[i].evaluate(lead, now) * weights[i];
+            breakdown[i] = score;
             total += score;
         }
 
         return ScoringResult.builder()
                 .totalScore(total * 100) // convert to 0-100 scale
+                .breakdown(new ScoreBreakdown(names, breakdown))
+                .build();
+    }
+
+    /**
+     * Total score only, without building a breakdown
+     * Same value as score(lead).getTotalScore() for ranking and filtering
+     */
+    public double scoreTotalOnly(Lead lead) {
+        Instant now = Instant.now();
+        double total = 0.0;
+        for (int i = 0; i < rules.length; i++) {
+            total += rules[i].evaluate(lead, now) * weights[i];
+        }
+        return total * 100;
+    }
+
+    /**
+     * Session that evaluates every time-dependent rule against the current instant, captured once
+     */
+    public ScoringSession newSession() {
+        return newSession(Instant.now());
+    }
+
+    public ScoringSession newSession(Instant now) {
+        return new ScoringSession(this, now);
+    }
+
+    /**
+     * Rule names in ordinal order, matching ScoreBreakdown.scoreAt
+     */
+    public List<String> getRuleNames() {
+        return List.of(names);
+    }
+
+    int ruleCount() {
+        return rules.length;
+    }
+
+    ScoringRule rule(int ordinal) {
+        return rules[ordinal];
+    }
+
+    double weight(int ordinal) {
+        return weights[ordinal];
+    }
+
+    int inputMask(int ordinal) {
+        return inputMasks[ordinal];
+    }
+
+    /**
+     * Inputs read by at least one rule; only these are captured and compared when rescoring
+     */
+    int usedInputs() {
+        return usedInputs;
+    }
+
+    /**
+     * Result from already weighted per-rule scores, summed in rule order like score()
+     */
+    ScoringResult result(double[] breakdown) {
+        double total = 0.0;
+        for (double score : breakdown) {
+            total += score;
+        }
+        if (!uniqueNames) {
+            Map<String, Double> byName = new HashMap<>();
+            for (int i = 0; i < breakdown.length; i++) {
+                byName.put(names[i], breakdown[i]);
+            }
+            return ScoringResult.builder()
+                    .totalScore(total * 100)
+                    .breakdown(byName)
+                    .build();
+        }
+        return ScoringResult.builder()
+                .totalScore(total * 100)
+                .breakdown(new ScoreBreakdown(names, breakdown))
+                .build();
+    }
+
+    // Rules sharing a name collapse into one breakdown entry (last one wins), as before
+    private ScoringResult scoreWithMap(Lead lead) {
+        Instant now = Instant.now();
+        Map<String, Double> breakdown = new HashMap<>();
+        double total = 0.0;
+
+        for (int i = 0; i < rules.length; i++) {
+            double score = rules[i].evaluate(lead, now) * weights[i];
+            breakdown.put(names[i], score);
+            total += score;
+        }
+
+        return ScoringResult.builder()
+                .totalScore(total * 100)
                 .breakdown(breakdown)
                 .build();
     }
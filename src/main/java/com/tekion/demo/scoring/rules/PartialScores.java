@@ -0,0 +1,63 @@
+package com.tekion.demo.scoring.rules;
+
+import java.time.Instant;
+
+/**
+ * Per-rule scores of one lead, kept so a later session can re-evaluate only what changed
+ * Holds the captured rule inputs, the weighted score of each rule and the instant until which
+ * each time-dependent score stays valid. Produced and consumed by ScoringSession.
+ */
+public final class PartialScores {
+
+    final Object[] inputs;
+    final double[] scores;
+    final Instant[] validUntil;
+    final Instant evaluatedAt;
+    private final int evaluatedRules;
+    private final double totalScore;
+
+    PartialScores(Object[] inputs, double[] scores, Instant[] validUntil, Instant evaluatedAt, int evaluatedRules) {
+        this.inputs = inputs;
+        this.scores = scores;
+        this.validUntil = validUntil;
+        this.evaluatedAt = evaluatedAt;
+        this.evaluatedRules = evaluatedRules;
+
+        double total = 0.0;
+        for (double score : scores) {
+            total += score;
+        }
+        this.totalScore = total * 100;
+    }
+
+    /**
+     * Same value as LeadScoringEngine.score(lead).getTotalScore() at evaluatedAt
+     */
+    public double getTotalScore() {
+        return totalScore;
+    }
+
+    /**
+     * How many rules were actually evaluated to produce these scores; the rest were reused
+     */
+    public int getEvaluatedRules() {
+        return evaluatedRules;
+    }
+
+    public Instant getEvaluatedAt() {
+        return evaluatedAt;
+    }
+
+    /**
+     * Earliest instant at which any rule's score may change, Instant.MAX if none is time-dependent
+     */
+    public Instant getValidUntil() {
+        Instant earliest = Instant.MAX;
+        for (Instant until : validUntil) {
+            if (until.isBefore(earliest)) {
+                earliest = until;
+            }
+        }
+        return earliest;
+    }
+}
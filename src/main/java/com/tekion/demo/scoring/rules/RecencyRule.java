@@ -1,15 +1,22 @@
 package com.tekion.demo.scoring.rules;
 
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoringInput;
 import com.tekion.demo.scoring.ScoringRule;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Set;
 
 @Component
 public class RecencyRule implements ScoringRule {
 
+    private static final Set<ScoringInput> INPUTS = Set.of(ScoringInput.CREATED_AT, ScoringInput.CLOCK);
+
+    // Upper bounds (inclusive, in whole hours since creation) of the score buckets
+    private static final long[] BUCKET_HOURS = {24, 24 * 7, 24 * 30};
+
     @Override
     public String getName() {
         return "Recency";
@@ -20,16 +27,43 @@ public class RecencyRule implements ScoringRule {
         return 0.15; // 15%
     }
 
+    @Override
+    public Set<ScoringInput> getInputs() {
+        return INPUTS;
+    }
+
     @Override
     public double evaluate(Lead lead) {
+        return evaluate(lead, Instant.now());
+    }
+
+    @Override
+    public double evaluate(Lead lead, Instant now) {
+        if (lead.getCreatedAt() == null) return 0.1;
         Instant created = Instant.from(lead.getCreatedAt());
-        if (created == null) return 0.1;
 
-        long hours = Duration.between(created, Instant.now()).toHours();
+        long hours = Duration.between(created, now).toHours();
 
-        if (hours <= 24) return 1.0;
-        if (hours <= 24 * 7) return 0.7;
-        if (hours <= 24 * 30) return 0.4;
+        if (hours <= BUCKET_HOURS[0]) return 1.0;
+        if (hours <= BUCKET_HOURS[1]) return 0.7;
+        if (hours <= BUCKET_HOURS[2]) return 0.4;
         return 0.1;
     }
+
+    /**
+     * The score only changes when the lead's age crosses into the next bucket
+     */
+    @Override
+    public Instant validUntil(Lead lead, Instant now) {
+        if (lead.getCreatedAt() == null) return Instant.MAX;
+        Instant created = Instant.from(lead.getCreatedAt());
+
+        long hours = Duration.between(created, now).toHours();
+        for (long bound : BUCKET_HOURS) {
+            if (hours <= bound) {
+                return created.plus(Duration.ofHours(bound + 1));
+            }
+        }
+        return Instant.MAX;
+    }
 }
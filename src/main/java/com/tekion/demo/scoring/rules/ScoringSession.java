@@ -0,0 +1,104 @@
+package com.tekion.demo.scoring.rules;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoringInput;
+import com.tekion.demo.scoring.ScoringResult;
+
+import java.time.Instant;
+
+/**
+ * Scores leads as of one instant captured when the session is created
+ * Time-dependent rules see the same "now" for every lead, and rescore() reuses cached
+ * per-rule scores whose declared inputs did not change and whose time bucket has not expired.
+ * Stateless apart from that instant, so a session can be shared across threads.
+ */
+public final class ScoringSession {
+
+    private final LeadScoringEngine engine;
+    private final Instant now;
+
+    ScoringSession(LeadScoringEngine engine, Instant now) {
+        this.engine = engine;
+        this.now = now;
+    }
+
+    public Instant getNow() {
+        return now;
+    }
+
+    public ScoringResult score(Lead lead) {
+        double[] breakdown = new double[engine.ruleCount()];
+        for (int i = 0; i < breakdown.length; i++) {
+            breakdown[i] = engine.rule(i).evaluate(lead, now) * engine.weight(i);
+        }
+        return engine.result(breakdown);
+    }
+
+    public double scoreTotalOnly(Lead lead) {
+        double total = 0.0;
+        for (int i = 0; i < engine.ruleCount(); i++) {
+            total += engine.rule(i).evaluate(lead, now) * engine.weight(i);
+        }
+        return total * 100;
+    }
+
+    /**
+     * Evaluate every rule, keeping the per-rule scores for later rescoring
+     */
+    public PartialScores evaluate(Lead lead) {
+        return rescore(null, lead);
+    }
+
+    /**
+     * Re-evaluate only the rules affected since previous was computed for the same lead
+     * A rule is re-run if one of its inputs changed or its cached score expired by now.
+     * Everything is re-run when previous is null or was computed later than this session's now.
+     */
+    public PartialScores rescore(PartialScores previous, Lead lead) {
+        int count = engine.ruleCount();
+        if (previous == null || now.isBefore(previous.evaluatedAt)) {
+            return evaluateAll(lead, count);
+        }
+        if (previous.scores.length != count) {
+            throw new IllegalArgumentException("Partial scores come from a different scoring engine");
+        }
+
+        int changed = ScoringInput.changed(previous.inputs, lead, engine.usedInputs());
+        double[] scores = null;
+        Instant[] validUntil = null;
+        int evaluated = 0;
+        for (int i = 0; i < count; i++) {
+            if ((engine.inputMask(i) & changed) == 0 && now.isBefore(previous.validUntil[i])) {
+                continue;
+            }
+            // Copied on the first stale rule; unchanged arrays are shared with previous
+            if (scores == null) {
+                scores = previous.scores.clone();
+                validUntil = previous.validUntil.clone();
+            }
+            scores[i] = engine.rule(i).evaluate(lead, now) * engine.weight(i);
+            validUntil[i] = engine.rule(i).validUntil(lead, now);
+            evaluated++;
+        }
+        return new PartialScores(
+                changed == 0 ? previous.inputs : ScoringInput.capture(lead, engine.usedInputs()),
+                scores == null ? previous.scores : scores,
+                validUntil == null ? previous.validUntil : validUntil,
+                now,
+                evaluated);
+    }
+
+    private PartialScores evaluateAll(Lead lead, int count) {
+        double[] scores = new double[count];
+        Instant[] validUntil = new Instant[count];
+        for (int i = 0; i < count; i++) {
+            scores[i] = engine.rule(i).evaluate(lead, now) * engine.weight(i);
+            validUntil[i] = engine.rule(i).validUntil(lead, now);
+        }
+        return new PartialScores(ScoringInput.capture(lead, engine.usedInputs()), scores, validUntil, now, count);
+    }
+
+    public ScoringResult toResult(PartialScores partial) {
+        return engine.result(partial.scores.clone());
+    }
+}
@@ -1,12 +1,17 @@
 package com.tekion.demo.scoring.rules;
 
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoringInput;
 import com.tekion.demo.scoring.ScoringRule;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class SourceQualityRule implements ScoringRule {
 
+    private static final Set<ScoringInput> INPUTS = Set.of(ScoringInput.SOURCE);
+
     @Override
     public String getName() {
         return "Source Quality";
@@ -17,6 +22,11 @@ public class SourceQualityRule implements ScoringRule {
         return 0.2;
     }
 
+    @Override
+    public Set<ScoringInput> getInputs() {
+        return INPUTS;
+    }
+
     @Override
     public double evaluate(Lead lead) {
         if (lead.getSource() == null) return 0.0;
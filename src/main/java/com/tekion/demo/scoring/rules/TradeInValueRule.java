@@ -1,12 +1,17 @@
 package com.tekion.demo.scoring.rules;
 
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoringInput;
 import com.tekion.demo.scoring.ScoringRule;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class TradeInValueRule implements ScoringRule {
 
+    private static final Set<ScoringInput> INPUTS = Set.of(ScoringInput.VEHICLE_INTEREST);
+
     @Override
     public String getName() {
         return "Trade-In Value";
@@ -17,6 +22,11 @@ public class TradeInValueRule implements ScoringRule {
         return 0.25;
     }
 
+    @Override
+    public Set<ScoringInput> getInputs() {
+        return INPUTS;
+    }
+
     @Override
     public double evaluate(Lead lead) {
         if (lead.getVehicleInterest() == null || lead.getVehicleInterest().getTradeInValue() == null)
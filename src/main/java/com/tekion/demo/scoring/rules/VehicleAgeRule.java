@@ -1,15 +1,20 @@
 package com.tekion.demo.scoring.rules;
 
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.scoring.ScoringInput;
 import com.tekion.demo.scoring.ScoringRule;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.time.Year;
 import java.time.ZoneId;
+import java.util.Set;
 
 @Component
 public class VehicleAgeRule implements ScoringRule {
 
+    private static final Set<ScoringInput> INPUTS = Set.of(ScoringInput.VEHICLE_INTEREST, ScoringInput.CLOCK);
+
     @Override
     public String getName() {
         return "Vehicle Age";
@@ -20,16 +25,38 @@ public class VehicleAgeRule implements ScoringRule {
         return 0.25; // 25%
     }
 
+    @Override
+    public Set<ScoringInput> getInputs() {
+        return INPUTS;
+    }
+
     @Override
     public double evaluate(Lead lead) {
-        if (lead.getVehicleInterest() == null) return 0.0;
+        return evaluate(lead, Instant.now());
+    }
+
+    @Override
+    public double evaluate(Lead lead, Instant now) {
+        if (lead.getVehicleInterest() == null || lead.getVehicleInterest().getYear() == null) return 0.0;
         int vehicleYear = lead.getVehicleInterest().getYear();
-        int currentYear = Instant.now().atZone(ZoneId.systemDefault()).getYear();
+        int currentYear = now.atZone(ZoneId.systemDefault()).getYear();
         int age = currentYear - vehicleYear;
 
         if (age >= 5) return 1.0;
         if (age >= 3) return 0.6;
         return 0.2;
     }
-}
 
+    /**
+     * The age only changes at the start of a calendar year, and vehicles five or more years old keep the top score
+     */
+    @Override
+    public Instant validUntil(Lead lead, Instant now) {
+        if (lead.getVehicleInterest() == null || lead.getVehicleInterest().getYear() == null) return Instant.MAX;
+        ZoneId zone = ZoneId.systemDefault();
+        int currentYear = now.atZone(zone).getYear();
+        if (currentYear - lead.getVehicleInterest().getYear() >= 5) return Instant.MAX;
+
+        return Year.of(currentYear + 1).atDay(1).atStartOfDay(zone).toInstant();
+    }
+}
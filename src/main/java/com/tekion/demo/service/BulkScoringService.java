@@ -3,31 +3,54 @@ package com.tekion.demo.service;
 import com.tekion.demo.lead.Lead;
 import com.tekion.demo.scoring.ScoringResult;
 import com.tekion.demo.scoring.rules.LeadScoringEngine;
+import com.tekion.demo.scoring.rules.PartialScores;
+import com.tekion.demo.scoring.rules.ScoringSession;
 import org.springframework.stereotype.Service;
 
+import com.tekion.demo.service.execution.BulkExecutionStrategy;
+import com.tekion.demo.service.execution.ForkJoinExecutionStrategy;
+import com.tekion.demo.service.execution.ShardMetrics;
+import com.tekion.demo.service.execution.ShardedExecutionStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
  * Bulk scoring service for high-performance batch operations
- * Uses parallel processing and CompletableFuture for async execution
+ * Leads are scored in chunks by a pluggable BulkExecutionStrategy (see bulk.scoring.execution);
+ * a batch of one dealer's leads is tagged with that dealer so sharded strategies can isolate it
  */
 @Service
 public class BulkScoringService {
 
     private final LeadScoringEngine scoringEngine;
-    private final ExecutorService executorService;
+    private final BulkExecutionStrategy executionStrategy;
+    // Null when scores are always computed
+    private final ScoreCache scoreCache;
 
     public BulkScoringService(LeadScoringEngine scoringEngine) {
+        this(scoringEngine, new ForkJoinExecutionStrategy(Runtime.getRuntime().availableProcessors()));
+    }
+
+    public BulkScoringService(LeadScoringEngine scoringEngine, BulkExecutionStrategy executionStrategy) {
+        this(scoringEngine, executionStrategy, null);
+    }
+
+    @Autowired
+    public BulkScoringService(LeadScoringEngine scoringEngine, BulkExecutionStrategy executionStrategy,
+                              ScoreCache scoreCache) {
         this.scoringEngine = scoringEngine;
-        // Create thread pool with available processors
-        this.executorService = Executors.newFixedThreadPool(
-                Runtime.getRuntime().availableProcessors());
+        this.executionStrategy = executionStrategy;
+        this.scoreCache = scoreCache;
     }
 
     /**
@@ -35,20 +58,14 @@ public class BulkScoringService {
      * Returns a map of leadId -> ScoringResult
      */
     public Map<String, ScoringResult> scoreBatch(List<Lead> leads) {
-        long startTime = System.currentTimeMillis();
-        
-        Map<String, ScoringResult> results = new ConcurrentHashMap<>();
+        return scoreBatch(leads, true);
+    }
 
-        // Create CompletableFuture for each lead
-        List<CompletableFuture<Void>> futures = leads.stream()
-                .map(lead -> CompletableFuture.runAsync(() -> {
-                    ScoringResult score = scoringEngine.score(lead);
-                    results.put(lead.getLeadId(), score);
-                }, executorService))
-                .collect(Collectors.toList());
+    private Map<String, ScoringResult> scoreBatch(List<Lead> leads, boolean cached) {
+        long startTime = System.currentTimeMillis();
 
-        // Wait for all futures to complete
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        Map<String, ScoringResult> results = new HashMap<>();
+        scoreEach(leads, cached, (lead, score) -> results.put(lead.getLeadId(), score));
 
         long endTime = System.currentTimeMillis();
         System.out.println(String.format(
@@ -60,6 +77,82 @@ public class BulkScoringService {
         return results;
     }
 
+    /**
+     * Score leads in parallel, then hand each result to the consumer in input order
+     * The consumer always runs on the calling thread, so it may write to a sink that is not thread-safe.
+     */
+    public void scoreEach(List<Lead> leads, BiConsumer<Lead, ScoringResult> consumer) {
+        scoreEach(leads, true, consumer);
+    }
+
+    private void scoreEach(List<Lead> leads, boolean cached, BiConsumer<Lead, ScoringResult> consumer) {
+        ScoringSession session = cached ? newCachedSession() : null;
+        List<ScoringResult[]> chunks;
+        try {
+            chunks = executionStrategy.mapChunks(dealerOf(leads), leads, (chunk, offset) -> {
+                ScoringResult[] scores = new ScoringResult[chunk.size()];
+                int i = 0;
+                for (Lead lead : chunk) {
+                    scores[i++] = session == null ? scoringEngine.score(lead) : scoreCache.score(lead, session);
+                }
+                return scores;
+            });
+        } catch (RejectedExecutionException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Failed to score lead", e);
+        }
+
+        Iterator<Lead> lead = leads.iterator();
+        for (ScoringResult[] scores : chunks) {
+            for (ScoringResult score : scores) {
+                consumer.accept(lead.next(), score);
+            }
+        }
+    }
+
+    /**
+     * Score leads reusing the per-rule scores the score cache holds for each lead
+     * Only rules whose declared inputs changed, or whose time bucket ran out, are evaluated again;
+     * leads evicted from the cache or saved since, and every lead when no cache is configured,
+     * are scored in full. All leads are scored as of one instant. Returns a map of leadId -> ScoringResult.
+     */
+    public Map<String, ScoringResult> rescore(List<Lead> leads) {
+        long startTime = System.currentTimeMillis();
+        ScoringSession session = scoringEngine.newSession();
+        LongAdder evaluated = new LongAdder();
+
+        List<ScoringResult[]> chunks = executionStrategy.mapChunks(dealerOf(leads), leads, (chunk, offset) -> {
+            ScoringResult[] scores = new ScoringResult[chunk.size()];
+            int i = 0;
+            for (Lead lead : chunk) {
+                PartialScores partial = scoreCache == null
+                        ? session.rescore(null, lead)
+                        : scoreCache.rescore(lead, session);
+                evaluated.add(partial.getEvaluatedRules());
+                scores[i++] = session.toResult(partial);
+            }
+            return scores;
+        });
+
+        Map<String, ScoringResult> results = new HashMap<>();
+        Iterator<Lead> lead = leads.iterator();
+        for (ScoringResult[] scores : chunks) {
+            for (ScoringResult score : scores) {
+                results.put(lead.next().getLeadId(), score);
+            }
+        }
+
+        System.out.println(String.format(
+                "Incremental rescoring completed: %d leads, %d of %d rule evaluations in %d ms",
+                leads.size(),
+                evaluated.sum(),
+                (long) leads.size() * scoringEngine.getRuleNames().size(),
+                System.currentTimeMillis() - startTime));
+
+        return results;
+    }
+
     /**
      * Score leads sequentially (for comparison)
      */
@@ -83,38 +176,45 @@ public class BulkScoringService {
 
     /**
      * Get top N leads by score from a batch
+     * Each chunk of the batch is scored once and ranked in a bounded heap, so only topN
+     * candidates per chunk are kept. Leads with equal scores keep their input order.
      */
     public List<Lead> getTopLeads(List<Lead> leads, int topN) {
-        Map<String, ScoringResult> scores = scoreBatch(leads);
-        
-        return leads.stream()
-                .sorted((a, b) -> {
-                    double scoreA = scores.get(a.getLeadId()).getTotalScore();
-                    double scoreB = scores.get(b.getLeadId()).getTotalScore();
-                    return Double.compare(scoreB, scoreA);
-                })
-                .limit(topN)
-                .collect(Collectors.toList());
-    }
+        if (topN <= 0 || leads.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-    /**
-     * Filter leads by minimum score threshold
-     */
-    public List<Lead> filterByMinScore(List<Lead> leads, double minScore) {
-        Map<String, ScoringResult> scores = scoreBatch(leads);
-        
-        return leads.stream()
-                .filter(lead -> scores.get(lead.getLeadId()).getTotalScore() >= minScore)
-                .collect(Collectors.toList());
+        ScoringSession session = newCachedSession();
+        List<TopNSelector> chunks = executionStrategy.mapChunks(dealerOf(leads), leads, (chunk, offset) -> {
+            TopNSelector selector = new TopNSelector(topN);
+            int position = offset;
+            for (Lead lead : chunk) {
+                selector.offer(position++, session == null
+                        ? scoringEngine.scoreTotalOnly(lead)
+                        : scoreCache.score(lead, session).getTotalScore());
+            }
+            return selector;
+        });
+
+        TopNSelector top = new TopNSelector(topN);
+        chunks.forEach(top::merge);
+
+        int[] positions = top.positions();
+        List<Lead> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(leads.get(position));
+        }
+        return result;
     }
 
     /**
      * Get performance statistics for bulk scoring
+     * Both runs bypass the score cache so they measure actual scoring
      */
     public BulkScoringStats getPerformanceStats(List<Lead> leads) {
         // Parallel scoring
         long parallelStart = System.currentTimeMillis();
-        scoreBatch(leads);
+        scoreBatch(leads, false);
         long parallelTime = System.currentTimeMillis() - parallelStart;
 
         // Sequential scoring
@@ -130,8 +230,49 @@ public class BulkScoringService {
                 .build();
     }
 
+    /**
+     * Score cache counters, all zero when no cache is configured
+     */
+    public ScoreCacheMetrics getScoreCacheMetrics() {
+        return scoreCache == null ? ScoreCacheMetrics.builder().build() : scoreCache.getMetrics();
+    }
+
+    /**
+     * One session per batch so every cached score is checked against the same instant
+     */
+    private ScoringSession newCachedSession() {
+        return scoreCache == null ? null : scoringEngine.newSession();
+    }
+
+    /**
+     * Per-shard job counters, empty unless bulk scoring is sharded
+     */
+    public List<ShardMetrics> getShardMetrics() {
+        return executionStrategy instanceof ShardedExecutionStrategy sharded ? sharded.getMetrics() : List.of();
+    }
+
+    /**
+     * The dealer all leads belong to, or null for an empty or mixed batch
+     */
+    private static String dealerOf(List<Lead> leads) {
+        if (leads.isEmpty()) {
+            return null;
+        }
+        String dealerId = leads.get(0).getDealerId();
+        for (Lead lead : leads) {
+            if (!Objects.equals(dealerId, lead.getDealerId())) {
+                return null;
+            }
+        }
+        return dealerId;
+    }
+
+    public String getExecutionStrategyName() {
+        return executionStrategy.getName();
+    }
+
     public void shutdown() {
-        executorService.shutdown();
+        executionStrategy.close();
     }
 }
 
@@ -0,0 +1,11 @@
+package com.tekion.demo.service;
+
+/**
+ * What a bulk import does with a lead that is already stored
+ */
+public enum ImportPolicy {
+    /** Keep the stored lead and count the record as a conflict */
+    SKIP_EXISTING,
+    /** Replace the stored lead; its version moves on from the stored one, not the record's */
+    OVERWRITE
+}
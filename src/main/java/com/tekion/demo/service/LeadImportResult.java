@@ -0,0 +1,25 @@
+package com.tekion.demo.service;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk lead import
+ * complete is false when the stream was cut off or its framing was corrupt; leads read before
+ * that point are still imported. errors holds the first few problems, one line per record.
+ * conflicts counts leads left alone because they were already stored (ImportPolicy.SKIP_EXISTING);
+ * failed counts valid leads in batches the repository could not write.
+ */
+@Value
+@Builder
+public class LeadImportResult {
+    int imported;
+    int rejected;
+    int conflicts;
+    int failed;
+    boolean complete;
+    List<String> errors;
+    long elapsedMs;
+}
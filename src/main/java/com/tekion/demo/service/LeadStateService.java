@@ -1,12 +1,26 @@
 package com.tekion.demo.service;
 
+import com.tekion.demo.audit.AuditEntry;
+import com.tekion.demo.audit.AuditPage;
+import com.tekion.demo.audit.AuditQuery;
 import com.tekion.demo.audit.AuditTrail;
 import com.tekion.demo.lead.Lead;
 import com.tekion.demo.lead.LeadState;
 import com.tekion.demo.port.LeadPersistencePort;
+import com.tekion.demo.service.execution.BulkExecutionStrategy;
+import com.tekion.demo.service.execution.ForkJoinExecutionStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 /**
  * Service for managing lead state transitions with audit trail
@@ -16,33 +30,290 @@ public class LeadStateService {
 
     private final LeadPersistencePort repository;
     private final AuditTrail auditTrail;
+    private final BulkExecutionStrategy executionStrategy;
+    private final LeadWorkflowRegistry workflows;
 
     public LeadStateService(LeadPersistencePort repository, AuditTrail auditTrail) {
+        this(repository, auditTrail, new ForkJoinExecutionStrategy(Runtime.getRuntime().availableProcessors()));
+    }
+
+    public LeadStateService(LeadPersistencePort repository, AuditTrail auditTrail,
+                            BulkExecutionStrategy executionStrategy) {
+        this(repository, auditTrail, executionStrategy, LeadWorkflowRegistry.standard());
+    }
+
+    @Autowired
+    public LeadStateService(LeadPersistencePort repository, AuditTrail auditTrail,
+                            BulkExecutionStrategy executionStrategy, LeadWorkflowRegistry workflows) {
         this.repository = repository;
         this.auditTrail = auditTrail;
+        this.executionStrategy = executionStrategy;
+        this.workflows = workflows;
     }
 
+    static final int MAX_ATTEMPTS = 5;
+
     /**
      * Transition lead to a new state with validation and audit logging
+     * Uses optimistic concurrency: the save only succeeds if nobody changed the lead since
+     * it was read, and the audit entry is reserved in the same atomic step. On a conflict the
+     * lead is re-read and the transition re-validated, so a transition that is no longer
+     * valid is rejected instead of overwriting the other writer.
      */
     public Lead transitionState(String leadId, String dealerId, LeadState newState, String actor, String reason) {
-        // Fetch the lead
-        Lead lead = repository.findByIdAndDealerId(leadId, dealerId)
-                .orElseThrow(() -> new IllegalArgumentException("Lead not found: " + leadId));
+        // Reserving inside the save and writing after it keeps audit waits out of the store's atomic step
+        AuditTrail.Batch audit = auditTrail.newBatch();
+        try {
+            return apply(leadId, dealerId, newState,
+                    fromState -> audit.logStateTransition(leadId, fromState, newState, actor, reason));
+        } finally {
+            auditTrail.append(audit);
+        }
+    }
+
+    /**
+     * Apply many transitions at once, returning one outcome per item in request order
+     * Items are grouped per lead (repeats apply in request order) and per dealer; each dealer's
+     * leads are processed in parallel by the bulk execution strategy under that dealer, so a
+     * sharded strategy runs them on the dealer's shard.
+     *
+     * Each chunk works in rounds over its leads: one round reads and validates the next item
+     * of every lead, saves all of them with one saveAllIfVersion and appends their audit
+     * entries as one batch, so a durable store commits a round together. Leads that lost a
+     * race are re-read and re-validated in the next round. A round never holds more leads
+     * than an audit batch.
+     *
+     * A dealer whose shard is full gets a failed outcome for each of its items; if every
+     * dealer was rejected nothing was applied and the RejectedExecutionException is rethrown.
+     */
+    public List<TransitionOutcome> transitionStates(List<StateTransition> transitions, String actor, String reason) {
+        if (transitions == null) {
+            throw new IllegalArgumentException("Transitions are required");
+        }
+        Map<String, List<Integer>> byLead = new LinkedHashMap<>();
+        for (int i = 0; i < transitions.size(); i++) {
+            StateTransition transition = transitions.get(i);
+            byLead.computeIfAbsent(transition.getDealerId() + '\u0000' + transition.getLeadId(),
+                    k -> new ArrayList<>(1)).add(i);
+        }
+        Map<String, List<List<Integer>>> byDealer = new LinkedHashMap<>();
+        for (List<Integer> unit : byLead.values()) {
+            byDealer.computeIfAbsent(transitions.get(unit.get(0)).getDealerId(), k -> new ArrayList<>()).add(unit);
+        }
 
-        LeadState currentState = lead.getState();
+        TransitionOutcome[] outcomes = new TransitionOutcome[transitions.size()];
+        RejectedExecutionException rejected = null;
+        int rejectedDealers = 0;
+        for (Map.Entry<String, List<List<Integer>>> dealer : byDealer.entrySet()) {
+            try {
+                executionStrategy.mapChunks(dealer.getKey(), dealer.getValue(), (chunk, offset) -> {
+                    int roundSize = auditTrail.getMaxBatchSize();
+                    for (int from = 0; from < chunk.size(); from += roundSize) {
+                        applyInRounds(chunk.subList(from, Math.min(chunk.size(), from + roundSize)),
+                                transitions, actor, reason, outcomes);
+                    }
+                    return null;
+                });
+            } catch (RejectedExecutionException e) {
+                rejected = e;
+                rejectedDealers++;
+                for (List<Integer> unit : dealer.getValue()) {
+                    for (int index : unit) {
+                        StateTransition transition = transitions.get(index);
+                        outcomes[index] = outcome(transition).success(false).message(e.getMessage()).build();
+                    }
+                }
+            }
+        }
+        if (rejected != null && rejectedDealers == byDealer.size()) {
+            throw rejected;
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Apply every item of the given leads, one item per lead per round
+     */
+    private void applyInRounds(List<List<Integer>> units, List<StateTransition> transitions,
+                               String actor, String reason, TransitionOutcome[] outcomes) {
+        int[] next = new int[units.size()];
+        int[] attempts = new int[units.size()];
+        List<Integer> pending = new ArrayList<>(units.size());
+        List<Lead> updates = new ArrayList<>(units.size());
+        List<LeadState> fromStates = new ArrayList<>(units.size());
+        while (true) {
+            pending.clear();
+            updates.clear();
+            fromStates.clear();
+            for (int u = 0; u < units.size(); u++) {
+                if (next[u] == units.get(u).size()) continue;
+                int index = units.get(u).get(next[u]);
+                StateTransition transition = transitions.get(index);
+                try {
+                    Lead lead = validated(transition);
+                    pending.add(u);
+                    updates.add(withState(lead, transition.getNewState()));
+                    fromStates.add(lead.getState());
+                } catch (RuntimeException e) {
+                    outcomes[index] = failed(transition, e);
+                    next[u]++;
+                }
+            }
+            if (pending.isEmpty()) {
+                if (allDone(units, next)) return;
+                continue;
+            }
+
+            long[] expectedVersions = new long[updates.size()];
+            for (int k = 0; k < expectedVersions.length; k++) {
+                expectedVersions[k] = updates.get(k).getVersion();
+            }
+            AuditTrail.Batch audit = auditTrail.newBatch();
+            boolean[] committed = new boolean[updates.size()];
+            boolean[] saved;
+            try {
+                saved = repository.saveAllIfVersion(updates, expectedVersions, k -> {
+                    committed[k] = true;
+                    Lead lead = updates.get(k);
+                    audit.logStateTransition(lead.getLeadId(), fromStates.get(k), lead.getState(), actor, reason);
+                });
+            } catch (RuntimeException e) {
+                // Writes committed before the failure stay in the store and the audit trail
+                for (int k = 0; k < committed.length; k++) {
+                    int u = pending.get(k);
+                    int index = units.get(u).get(next[u]++);
+                    attempts[u] = 0;
+                    outcomes[index] = committed[k]
+                            ? transitioned(transitions.get(index), fromStates.get(k))
+                            : failed(transitions.get(index), e);
+                }
+                continue;
+            } finally {
+                auditTrail.append(audit);
+            }
+
+            for (int k = 0; k < saved.length; k++) {
+                int u = pending.get(k);
+                int index = units.get(u).get(next[u]);
+                StateTransition transition = transitions.get(index);
+                if (saved[k]) {
+                    outcomes[index] = transitioned(transition, fromStates.get(k));
+                } else if (++attempts[u] < MAX_ATTEMPTS) {
+                    continue;
+                } else {
+                    outcomes[index] = failed(transition, new IllegalStateException(String.format(
+                            "Lead %s was modified concurrently, gave up after %d attempts",
+                            transition.getLeadId(), attempts[u])));
+                }
+                next[u]++;
+                attempts[u] = 0;
+            }
+        }
+    }
+
+    private static boolean allDone(List<List<Integer>> units, int[] next) {
+        for (int u = 0; u < units.size(); u++) {
+            if (next[u] < units.get(u).size()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * The lead to transition, after checking the item and the lead's tenant workflow
+     */
+    private Lead validated(StateTransition transition) {
+        if (transition.getLeadId() == null || transition.getDealerId() == null || transition.getNewState() == null) {
+            throw new IllegalArgumentException("leadId, dealerId and newState are required");
+        }
+        Lead lead = repository.findByIdAndDealerId(transition.getLeadId(), transition.getDealerId())
+                .orElseThrow(() -> new IllegalArgumentException("Lead not found: " + transition.getLeadId()));
+        checkTransition(lead, transition.getNewState());
+        return lead;
+    }
+
+    private static TransitionOutcome transitioned(StateTransition transition, LeadState fromState) {
+        return outcome(transition).fromState(fromState).success(true).message("Transitioned").build();
+    }
+
+    private TransitionOutcome failed(StateTransition transition, RuntimeException e) {
+        LeadState current = transition.getLeadId() == null || transition.getDealerId() == null
+                ? null
+                : repository.findByIdAndDealerId(transition.getLeadId(), transition.getDealerId())
+                        .map(Lead::getState)
+                        .orElse(null);
+        return outcome(transition).fromState(current).success(false).message(e.getMessage()).build();
+    }
+
+    private static TransitionOutcome.TransitionOutcomeBuilder outcome(StateTransition transition) {
+        return TransitionOutcome.builder()
+                .leadId(transition.getLeadId())
+                .dealerId(transition.getDealerId())
+                .toState(transition.getNewState());
+    }
 
-        // Validate transition
-        if (!currentState.canTransitionTo(newState)) {
+    private Lead apply(String leadId, String dealerId, LeadState newState, Consumer<LeadState> audit) {
+        for (int attempt = 1; ; attempt++) {
+            Lead lead = repository.findByIdAndDealerId(leadId, dealerId)
+                    .orElseThrow(() -> new IllegalArgumentException("Lead not found: " + leadId));
+
+            LeadState currentState = lead.getState();
+            checkTransition(lead, newState);
+
+            Lead updatedLead = withState(lead, newState);
+            if (repository.saveIfVersion(updatedLead, lead.getVersion(), () -> audit.accept(currentState))) {
+                return updatedLead;
+            }
+            if (attempt == MAX_ATTEMPTS) {
+                throw new IllegalStateException(String.format(
+                        "Lead %s was modified concurrently, gave up after %d attempts", leadId, attempt));
+            }
+        }
+    }
+
+    /**
+     * Validate against the lead's tenant workflow
+     */
+    private void checkTransition(Lead lead, LeadState newState) {
+        if (!workflows.forTenant(lead.getTenantId()).canTransition(lead.getState(), newState)) {
             throw new IllegalStateException(
-                    String.format("Invalid state transition: %s -> %s", currentState, newState));
+                    String.format("Invalid state transition: %s -> %s", lead.getState(), newState));
         }
+    }
+
+    /**
+     * States the lead may move to next under its tenant's workflow
+     */
+    public Set<LeadState> allowedNextStates(String leadId, String dealerId) {
+        Lead lead = repository.findByIdAndDealerId(leadId, dealerId)
+                .orElseThrow(() -> new IllegalArgumentException("Lead not found: " + leadId));
+        return workflows.forTenant(lead.getTenantId()).allowedNextStates(lead.getState());
+    }
+
+    /**
+     * Whether the lead can no longer move under its tenant's workflow, agreeing with allowedNextStates
+     */
+    public boolean isTerminal(String leadId, String dealerId) {
+        Lead lead = repository.findByIdAndDealerId(leadId, dealerId)
+                .orElseThrow(() -> new IllegalArgumentException("Lead not found: " + leadId));
+        return workflows.forTenant(lead.getTenantId()).isTerminal(lead.getState());
+    }
+
+    /**
+     * Get audit history for a lead
+     */
+    public List<AuditEntry> getAuditHistory(String leadId) {
+        return auditTrail.getAuditHistory(leadId);
+    }
 
-        // Log the transition
-        auditTrail.logStateTransition(leadId, currentState, newState, actor, reason);
+    /**
+     * Page through audit entries by actor and time range
+     */
+    public AuditPage queryAudit(AuditQuery query) {
+        return auditTrail.query(query);
+    }
 
-        // Update the lead
-        Lead updatedLead = Lead.builder()
+    private static Lead withState(Lead lead, LeadState newState) {
+        return Lead.builder()
                 .leadId(lead.getLeadId())
                 .dealerId(lead.getDealerId())
                 .tenantId(lead.getTenantId())
@@ -56,18 +327,7 @@ public class LeadStateService {
                 .vehicleInterest(lead.getVehicleInterest())
                 .createdAt(lead.getCreatedAt())
                 .updatedAt(ZonedDateTime.now())
+                .version(lead.getVersion())
                 .build();
-
-        repository.save(updatedLead);
-
-        return updatedLead;
-    }
-
-    /**
-     * Get audit history for a lead
-     */
-    public var getAuditHistory(String leadId) {
-        return auditTrail.getAuditHistory(leadId);
     }
 }
-
@@ -0,0 +1,225 @@
+package com.tekion.demo.service;
+
+import com.tekion.demo.adapter.LeadBinaryCodec;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadQuery;
+import com.tekion.demo.port.LeadPersistencePort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk lead import and export in the LeadBinaryCodec stream format
+ * Records decode straight into Lead and its value objects, whose constructors validate email
+ * and phone; a record that fails to decode is rejected on its own and the import carries on.
+ * Valid leads are written to the repository in batches (see bulk.import.batch-size).
+ */
+@Service
+public class LeadTransferService {
+
+    public static final String MEDIA_TYPE = "application/x-lead-records";
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int EXPORT_PAGE_SIZE = 1000;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final LeadPersistencePort repository;
+    private final int batchSize;
+
+    @Autowired
+    public LeadTransferService(LeadPersistencePort repository,
+                               @Value("${bulk.import.batch-size:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Import batch size must be positive");
+        }
+        this.repository = repository;
+        this.batchSize = batchSize;
+    }
+
+    public LeadImportResult importLeads(InputStream body) throws IOException {
+        return importLeads(body, ImportPolicy.SKIP_EXISTING);
+    }
+
+    /**
+     * Read leads from the stream until it ends and save them
+     * Leads without a leadId or dealerId are rejected. The policy decides what happens to leads
+     * that are already stored; a batch the repository fails to write is reported and the import
+     * carries on with the next one.
+     */
+    public LeadImportResult importLeads(InputStream body, ImportPolicy policy) throws IOException {
+        long startTime = System.currentTimeMillis();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(body, BUFFER_BYTES));
+        Batch batch = new Batch(batchSize);
+        Tally tally = new Tally();
+        List<String> errors = new ArrayList<>();
+        int rejected = 0;
+        int index = 0;
+        boolean complete = true;
+
+        while (true) {
+            byte[] record;
+            try {
+                record = LeadBinaryCodec.readFrame(in);
+            } catch (IOException e) {
+                // Without a trustworthy length prefix there is no next record to resume from
+                complete = false;
+                report(errors, "Stream unreadable after record " + index + ": " + describe(e));
+                break;
+            }
+            if (record == null) break;
+
+            try {
+                Lead lead = LeadBinaryCodec.decode(record);
+                if (lead.getLeadId() == null || lead.getDealerId() == null) {
+                    throw new IllegalArgumentException("leadId and dealerId are required");
+                }
+                // A batch holds each lead once, so a repeat sees the earlier copy already stored
+                if (batch.contains(lead)) {
+                    store(batch, policy, tally, errors);
+                }
+                batch.add(lead, index);
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                report(errors, "Record " + index + ": " + describe(e));
+            }
+            index++;
+
+            if (batch.size() == batchSize) {
+                store(batch, policy, tally, errors);
+            }
+        }
+        if (batch.size() > 0) {
+            store(batch, policy, tally, errors);
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        System.out.println(String.format(
+                "Bulk import completed: %d leads imported, %d rejected, %d conflicts, %d failed in %d ms",
+                tally.imported, rejected, tally.conflicts, tally.failed, elapsed));
+        return LeadImportResult.builder()
+                .imported(tally.imported)
+                .rejected(rejected)
+                .conflicts(tally.conflicts)
+                .failed(tally.failed)
+                .complete(complete)
+                .errors(errors)
+                .elapsedMs(elapsed)
+                .build();
+    }
+
+    /**
+     * Write every lead of the dealer to the stream, highest score first
+     * Leads are read in keyset pages, so memory is bounded by the page size. Returns the lead count.
+     */
+    public int exportLeads(String dealerId, OutputStream body) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(body, BUFFER_BYTES));
+        int exported = 0;
+        String cursor = null;
+        do {
+            LeadPage<Lead> page = repository.findPage(LeadQuery.builder()
+                    .dealerId(dealerId)
+                    .cursor(cursor)
+                    .limit(EXPORT_PAGE_SIZE)
+                    .build());
+            for (Lead lead : page.getLeads()) {
+                LeadBinaryCodec.writeFrame(out, lead);
+            }
+            exported += page.getLeads().size();
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        out.flush();
+        return exported;
+    }
+
+    private void store(Batch batch, ImportPolicy policy, Tally tally, List<String> errors) {
+        try {
+            if (policy == ImportPolicy.OVERWRITE) {
+                tally.imported += repository.saveAll(batch.leads).size();
+            } else {
+                // Expected version 0 only matches a lead that is not stored yet
+                boolean[] saved = repository.saveAllIfVersion(batch.leads, new long[batch.size()], i -> { });
+                for (boolean stored : saved) {
+                    if (stored) tally.imported++;
+                    else tally.conflicts++;
+                }
+            }
+        } catch (RuntimeException e) {
+            tally.failed += batch.size();
+            report(errors, "Records " + batch.firstIndex + "-" + batch.lastIndex + ": " + describe(e));
+        }
+        batch.clear();
+    }
+
+    private static void report(List<String> errors, String error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    private static String describe(Exception e) {
+        // The codec reports corrupt records as an IllegalArgumentException wrapping the read failure
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+    }
+
+    private static final class Tally {
+        int imported;
+        int conflicts;
+        int failed;
+    }
+
+    /**
+     * Leads waiting to be written, with the stream positions they came from for error reports
+     */
+    private static final class Batch {
+        final int capacity;
+        final Set<String> keys;
+        List<Lead> leads;
+        int firstIndex;
+        int lastIndex;
+
+        Batch(int capacity) {
+            this.capacity = capacity;
+            this.keys = new HashSet<>(capacity * 2);
+            this.leads = new ArrayList<>(capacity);
+        }
+
+        boolean contains(Lead lead) {
+            return keys.contains(key(lead));
+        }
+
+        void add(Lead lead, int index) {
+            if (leads.isEmpty()) firstIndex = index;
+            lastIndex = index;
+            leads.add(lead);
+            keys.add(key(lead));
+        }
+
+        int size() {
+            return leads.size();
+        }
+
+        void clear() {
+            // The repository may keep the list it was given, so start a new one
+            leads = new ArrayList<>(capacity);
+            keys.clear();
+        }
+
+        private static String key(Lead lead) {
+            return lead.getDealerId() + '\u0000' + lead.getLeadId();
+        }
+    }
+}
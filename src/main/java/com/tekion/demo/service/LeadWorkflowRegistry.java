@@ -0,0 +1,34 @@
+package com.tekion.demo.service;
+
+import com.tekion.demo.lead.LeadWorkflow;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-tenant lead workflows, fixed at startup
+ * Tenants without their own workflow (and leads without a tenant) use the standard one.
+ */
+public class LeadWorkflowRegistry {
+
+    private final Map<String, LeadWorkflow> byTenant;
+
+    public LeadWorkflowRegistry(Map<String, LeadWorkflow> byTenant) {
+        this.byTenant = Map.copyOf(byTenant);
+    }
+
+    public static LeadWorkflowRegistry standard() {
+        return new LeadWorkflowRegistry(Map.of());
+    }
+
+    public LeadWorkflow forTenant(String tenantId) {
+        if (tenantId == null) {
+            return LeadWorkflow.STANDARD;
+        }
+        return byTenant.getOrDefault(tenantId, LeadWorkflow.STANDARD);
+    }
+
+    public Set<String> getTenants() {
+        return byTenant.keySet();
+    }
+}
@@ -0,0 +1,227 @@
+package com.tekion.demo.service;
+
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.port.LeadPersistencePort;
+import com.tekion.demo.scoring.ScoringResult;
+import com.tekion.demo.scoring.rules.PartialScores;
+import com.tekion.demo.scoring.rules.ScoringSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded cache of lead scores for dashboards that re-score the same dealer repeatedly
+ * An entry is used only while the lead's version and updatedAt match and no time-dependent rule
+ * has crossed into its next bucket; it is dropped whenever the repository saves the lead.
+ * A stale entry still left in the cache is re-scored incrementally, re-running only affected rules.
+ *
+ * Entries are spread over independently locked LRU segments, so eviction is least recently used
+ * per segment rather than globally. A max-entries of 0 disables caching.
+ */
+@Component
+public class ScoreCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final int maxEntries;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public ScoreCache(LeadPersistencePort repository, @Value("${score.cache.max-entries:50000}") int maxEntries) {
+        this(maxEntries);
+        repository.addSaveListener(this::invalidate);
+    }
+
+    public ScoreCache(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+        int perSegment = (this.maxEntries + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Score of the lead as of the session's instant, served from the cache while still valid
+     */
+    public ScoringResult score(Lead lead, ScoringSession session) {
+        if (maxEntries == 0) {
+            misses.increment();
+            return session.score(lead);
+        }
+
+        Key key = new Key(lead.getDealerId(), lead.getLeadId());
+        Segment segment = segmentFor(key);
+        Entry entry = segment.get(key);
+        Instant now = session.getNow();
+
+        if (entry != null && entry.isFor(lead)) {
+            if (!now.isBefore(entry.scores.getEvaluatedAt()) && now.isBefore(entry.validUntil)) {
+                hits.increment();
+                return entry.result;
+            }
+            expirations.increment();
+        }
+        misses.increment();
+
+        // Partial scores of any earlier version are still a valid base: rescore diffs the inputs
+        PartialScores scores = session.rescore(entry == null ? null : entry.scores, lead);
+        ScoringResult result = session.toResult(scores);
+        segment.put(key, new Entry(lead.getVersion(), lead.getUpdatedAt(), scores, result));
+        return result;
+    }
+
+    /**
+     * Per-rule scores of the lead as of the session's instant, re-running only the rules whose
+     * inputs or time bucket changed since the cached entry, whatever its version
+     * The result replaces the entry, so later score calls for the same lead hit. Not counted as a
+     * lookup in the metrics; with caching disabled every rule is evaluated.
+     */
+    public PartialScores rescore(Lead lead, ScoringSession session) {
+        if (maxEntries == 0) {
+            return session.rescore(null, lead);
+        }
+
+        Key key = new Key(lead.getDealerId(), lead.getLeadId());
+        Segment segment = segmentFor(key);
+        Entry entry = segment.get(key);
+        PartialScores scores = session.rescore(entry == null ? null : entry.scores, lead);
+        segment.put(key, new Entry(lead.getVersion(), lead.getUpdatedAt(), scores, session.toResult(scores)));
+        return scores;
+    }
+
+    /**
+     * Drop the cached score of a lead, called by the repository on every save
+     */
+    public void invalidate(Lead lead) {
+        Key key = new Key(lead.getDealerId(), lead.getLeadId());
+        if (segmentFor(key).remove(key)) {
+            invalidations.increment();
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public ScoreCacheMetrics getMetrics() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return ScoreCacheMetrics.builder()
+                .size(size)
+                .maxEntries(maxEntries)
+                .hits(hitCount)
+                .misses(lookups - hitCount)
+                .expirations(expirations.sum())
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .hitRate(lookups == 0 ? 0.0 : (double) hitCount / lookups)
+                .build();
+    }
+
+    private Segment segmentFor(Key key) {
+        return segments[Math.floorMod(key.hash, SEGMENTS)];
+    }
+
+    /**
+     * Reuses the cached hash codes of the id strings instead of hashing a concatenation per lookup
+     */
+    private static final class Key {
+        final String dealerId;
+        final String leadId;
+        final int hash;
+
+        Key(String dealerId, String leadId) {
+            this.dealerId = dealerId;
+            this.leadId = leadId;
+            this.hash = 31 * Objects.hashCode(dealerId) + Objects.hashCode(leadId);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && Objects.equals(dealerId, key.dealerId)
+                    && Objects.equals(leadId, key.leadId);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        final long version;
+        final ZonedDateTime updatedAt;
+        final PartialScores scores;
+        final ScoringResult result;
+        final Instant validUntil;
+
+        Entry(long version, ZonedDateTime updatedAt, PartialScores scores, ScoringResult result) {
+            this.version = version;
+            this.updatedAt = updatedAt;
+            this.scores = scores;
+            this.result = result;
+            this.validUntil = scores.getValidUntil();
+        }
+
+        boolean isFor(Lead lead) {
+            return version == lead.getVersion() && Objects.equals(updatedAt, lead.getUpdatedAt());
+        }
+    }
+
+    private final class Segment {
+        private final LinkedHashMap<Key, Entry> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Entry get(Key key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(Key key, Entry entry) {
+            entries.put(key, entry);
+        }
+
+        synchronized boolean remove(Key key) {
+            return entries.remove(key) != null;
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.tekion.demo.service;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Point-in-time counters for the score cache
+ */
+@Value
+@Builder
+public class ScoreCacheMetrics {
+    int size;
+    int maxEntries;
+    long hits;
+    long misses;
+    // Misses on an entry for the same lead version whose time bucket had run out
+    long expirations;
+    long evictions;
+    long invalidations;
+    double hitRate;
+}
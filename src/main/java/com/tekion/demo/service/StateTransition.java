@@ -0,0 +1,16 @@
+package com.tekion.demo.service;
+
+import com.tekion.demo.lead.LeadState;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * One item of a bulk state transition
+ */
+@Value
+@Builder
+public class StateTransition {
+    String leadId;
+    String dealerId;
+    LeadState newState;
+}
@@ -0,0 +1,72 @@
+package com.tekion.demo.service;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k highest scores seen so far in a bounded min-heap
+ * Equal scores rank by input position, earlier first, which matches a stable descending sort.
+ * Offering n candidates costs O(n log k) time and O(k) memory.
+ */
+class TopNSelector {
+
+    private final int limit;
+    // Head is the weakest candidate: lowest score, then latest position
+    private final PriorityQueue<Candidate> heap;
+
+    TopNSelector(int limit) {
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(limit, 1024)), (a, b) -> -a.compareTo(b));
+    }
+
+    void offer(int position, double score) {
+        if (limit <= 0) return;
+        if (heap.size() < limit) {
+            heap.add(new Candidate(position, score));
+            return;
+        }
+        Candidate weakest = heap.peek();
+        if (score > weakest.score || (score == weakest.score && position < weakest.position)) {
+            heap.poll();
+            heap.add(new Candidate(position, score));
+        }
+    }
+
+    void merge(TopNSelector other) {
+        for (Candidate candidate : other.heap) {
+            offer(candidate.position, candidate.score);
+        }
+    }
+
+    /**
+     * Positions of the selected candidates, best first
+     */
+    int[] positions() {
+        Candidate[] ranked = heap.toArray(new Candidate[0]);
+        Arrays.sort(ranked);
+        int[] positions = new int[ranked.length];
+        for (int i = 0; i < ranked.length; i++) {
+            positions[i] = ranked[i].position;
+        }
+        return positions;
+    }
+
+    /**
+     * Natural order is rank order: score descending, then position ascending
+     */
+    private static class Candidate implements Comparable<Candidate> {
+        final int position;
+        final double score;
+
+        Candidate(int position, double score) {
+            this.position = position;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : Integer.compare(position, other.position);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.tekion.demo.service;
+
+import com.tekion.demo.lead.LeadState;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Result of one item of a bulk state transition
+ * fromState is the state the lead was moved out of, or its current state if the item failed
+ */
+@Value
+@Builder
+public class TransitionOutcome {
+    String leadId;
+    String dealerId;
+    LeadState fromState;
+    LeadState toState;
+    boolean success;
+    String message;
+}
@@ -0,0 +1,54 @@
+package com.tekion.demo.service.execution;
+
+import java.util.List;
+
+/**
+ * How BulkScoringService spreads work over threads
+ * Work is handed out in contiguous chunks so per-task overhead is paid per chunk, not per lead.
+ */
+public interface BulkExecutionStrategy extends AutoCloseable {
+
+    /**
+     * Run the task over contiguous chunks of the list
+     * Returns one result per chunk, in list order. An exception thrown by any chunk is rethrown.
+     */
+    <T, R> List<R> mapChunks(List<T> items, ChunkTask<T, R> task);
+
+    /**
+     * Run the task over work that belongs to one dealer (null when the work spans dealers)
+     * Strategies that isolate dealers from each other route on the dealer; others ignore it.
+     */
+    default <T, R> List<R> mapChunks(String dealerId, List<T> items, ChunkTask<T, R> task) {
+        return mapChunks(items, task);
+    }
+
+    String getName();
+
+    /**
+     * Release the strategy's threads; safe to call more than once
+     */
+    @Override
+    void close();
+
+    /**
+     * Create a strategy by its configuration name: fork-join, parallel-stream or virtual-threads
+     */
+    static BulkExecutionStrategy of(String name, int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return switch (name) {
+            case ForkJoinExecutionStrategy.NAME -> new ForkJoinExecutionStrategy(threads);
+            case ParallelStreamExecutionStrategy.NAME -> new ParallelStreamExecutionStrategy(threads);
+            case VirtualThreadExecutionStrategy.NAME -> new VirtualThreadExecutionStrategy(threads);
+            default -> throw new IllegalArgumentException("Unknown bulk execution strategy: " + name);
+        };
+    }
+
+    @FunctionalInterface
+    interface ChunkTask<T, R> {
+        /**
+         * @param chunk  contiguous slice of the input
+         * @param offset index of the chunk's first element in the input
+         */
+        R apply(List<T> chunk, int offset);
+    }
+}
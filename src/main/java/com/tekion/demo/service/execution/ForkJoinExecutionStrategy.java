@@ -0,0 +1,78 @@
+package com.tekion.demo.service.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Recursively splits the list on a dedicated ForkJoinPool until slices are small enough,
+ * letting idle workers steal the other halves
+ */
+public class ForkJoinExecutionStrategy implements BulkExecutionStrategy {
+
+    static final String NAME = "fork-join";
+
+    // Below this many items per slice, splitting costs more than it saves
+    private static final int MIN_SLICE = 256;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+
+    public ForkJoinExecutionStrategy(int parallelism) {
+        this.parallelism = parallelism;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @Override
+    public <T, R> List<R> mapChunks(List<T> items, ChunkTask<T, R> task) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // A few slices per worker keeps stealing effective when chunks are uneven
+        int threshold = Math.max(MIN_SLICE, items.size() / (parallelism * 4));
+        return pool.invoke(new Slice<>(items, 0, items.size(), threshold, task));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static class Slice<T, R> extends RecursiveTask<List<R>> {
+        private final List<T> items;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final ChunkTask<T, R> task;
+
+        Slice(List<T> items, int from, int to, int threshold, ChunkTask<T, R> task) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.task = task;
+        }
+
+        @Override
+        protected List<R> compute() {
+            if (to - from <= threshold) {
+                List<R> result = new ArrayList<>(1);
+                result.add(task.apply(items.subList(from, to), from));
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            Slice<T, R> left = new Slice<>(items, from, middle, threshold, task);
+            left.fork();
+            List<R> right = new Slice<>(items, middle, to, threshold, task).compute();
+            List<R> result = left.join();
+            result.addAll(right);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tekion.demo.service.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel stream over fixed-size chunks, run inside a dedicated ForkJoinPool
+ * so bulk scoring never competes with other users of the common pool
+ */
+public class ParallelStreamExecutionStrategy implements BulkExecutionStrategy {
+
+    static final String NAME = "parallel-stream";
+
+    private static final int MIN_CHUNK = 256;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+
+    public ParallelStreamExecutionStrategy(int parallelism) {
+        this.parallelism = parallelism;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @Override
+    public <T, R> List<R> mapChunks(List<T> items, ChunkTask<T, R> task) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int chunkSize = Math.max(MIN_CHUNK, (items.size() + parallelism * 4 - 1) / (parallelism * 4));
+        int chunks = (items.size() + chunkSize - 1) / chunkSize;
+
+        // Parallel streams started from a pool worker run in that pool
+        return pool.submit(() -> IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(i -> {
+                    int from = i * chunkSize;
+                    return task.apply(items.subList(from, Math.min(items.size(), from + chunkSize)), from);
+                })
+                .collect(Collectors.toList())).join();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,19 @@
+package com.tekion.demo.service.execution;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Point-in-time counters for one bulk scoring shard
+ */
+@Value
+@Builder
+public class ShardMetrics {
+    int shard;
+    int parallelism;
+    // Jobs the shard admits at once, running or waiting for its threads
+    int capacity;
+    int activeJobs;
+    long completedJobs;
+    long rejectedJobs;
+}
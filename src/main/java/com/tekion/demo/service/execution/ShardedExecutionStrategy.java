@@ -0,0 +1,120 @@
+package com.tekion.demo.service.execution;
+
+import com.tekion.demo.shard.ShardRing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gives every shard of dealers its own threads and its own bound on queued work
+ * A consistent hash of the dealer (see ShardRing) picks the shard, so one dealer's huge bulk
+ * job can only occupy its own shard's threads while dealers on other shards keep theirs.
+ * Each shard admits at most queueCapacity jobs at a time, running or waiting; further jobs
+ * for that shard are rejected at once with RejectedExecutionException instead of piling up.
+ * Work without a single dealer runs on shard 0.
+ */
+public class ShardedExecutionStrategy implements BulkExecutionStrategy {
+
+    static final String NAME = "sharded";
+
+    private final ShardRing ring;
+    private final Shard[] shards;
+    private final String name;
+    private final int parallelism;
+    private final int queueCapacity;
+
+    /**
+     * @param strategy    strategy name run inside each shard, as for BulkExecutionStrategy.of
+     * @param parallelism threads per shard, 0 to split the available processors between shards
+     */
+    public ShardedExecutionStrategy(int shardCount, String strategy, int parallelism, int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Shard queue capacity must be positive");
+        }
+        this.ring = new ShardRing(shardCount);
+        this.parallelism = parallelism > 0
+                ? parallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / shardCount);
+        this.queueCapacity = queueCapacity;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(BulkExecutionStrategy.of(strategy, this.parallelism), queueCapacity);
+        }
+        this.name = NAME + "-" + shards[0].strategy.getName();
+    }
+
+    @Override
+    public <T, R> List<R> mapChunks(List<T> items, ChunkTask<T, R> task) {
+        return mapChunks(null, items, task);
+    }
+
+    @Override
+    public <T, R> List<R> mapChunks(String dealerId, List<T> items, ChunkTask<T, R> task) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int index = dealerId == null ? 0 : ring.shardFor(dealerId);
+        Shard shard = shards[index];
+        if (!shard.admitted.tryAcquire()) {
+            shard.rejected.increment();
+            throw new RejectedExecutionException(String.format(
+                    "Bulk scoring shard %d already has %d jobs, retry later", index, queueCapacity));
+        }
+        try {
+            return shard.strategy.mapChunks(items, task);
+        } finally {
+            shard.admitted.release();
+            shard.completed.increment();
+        }
+    }
+
+    /**
+     * Shard number whose threads run the dealer's work
+     */
+    public int shardOf(String dealerId) {
+        return ring.shardFor(dealerId);
+    }
+
+    public List<ShardMetrics> getMetrics() {
+        List<ShardMetrics> metrics = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = shards[i];
+            metrics.add(ShardMetrics.builder()
+                    .shard(i)
+                    .parallelism(parallelism)
+                    .capacity(queueCapacity)
+                    .activeJobs(queueCapacity - shard.admitted.availablePermits())
+                    .completedJobs(shard.completed.sum())
+                    .rejectedJobs(shard.rejected.sum())
+                    .build());
+        }
+        return metrics;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.strategy.close();
+        }
+    }
+
+    private static class Shard {
+        private final BulkExecutionStrategy strategy;
+        private final Semaphore admitted;
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        Shard(BulkExecutionStrategy strategy, int queueCapacity) {
+            this.strategy = strategy;
+            this.admitted = new Semaphore(queueCapacity);
+        }
+    }
+}
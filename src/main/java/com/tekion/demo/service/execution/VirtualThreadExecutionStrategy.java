@@ -0,0 +1,97 @@
+package com.tekion.demo.service.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One small chunk per thread, meant for scoring rules that block on I/O
+ * Uses a virtual thread per task when the runtime provides them (Java 21+). Older runtimes
+ * fall back to a bounded pool of platform threads sized for blocking work.
+ */
+public class VirtualThreadExecutionStrategy implements BulkExecutionStrategy {
+
+    static final String NAME = "virtual-threads";
+
+    // Small chunks: with blocking rules, concurrency matters more than per-task overhead
+    private static final int CHUNK_SIZE = 16;
+    private static final int PLATFORM_THREADS_PER_CPU = 8;
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+
+    public VirtualThreadExecutionStrategy(int parallelism) {
+        ExecutorService virtualExecutor = newVirtualThreadExecutor();
+        this.virtual = virtualExecutor != null;
+        if (virtual) {
+            this.executor = virtualExecutor;
+        } else {
+            System.out.println("Virtual threads are not available on this runtime, using platform threads for bulk scoring");
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(parallelism * PLATFORM_THREADS_PER_CPU, runnable -> {
+                Thread thread = new Thread(runnable, "bulk-scoring-io-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public <T, R> List<R> mapChunks(List<T> items, ChunkTask<T, R> task) {
+        List<Future<R>> futures = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += CHUNK_SIZE) {
+            int offset = from;
+            List<T> chunk = items.subList(offset, Math.min(items.size(), offset + CHUNK_SIZE));
+            futures.add(executor.submit(() -> task.apply(chunk, offset)));
+        }
+
+        List<R> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during bulk execution", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            // Rethrow what the task threw, like the fork-join based strategies do
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new CompletionException(e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Whether tasks run on virtual threads rather than the platform-thread fallback
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // Looked up reflectively so the project still compiles for Java 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.tekion.demo.shard;
+
+import java.util.Arrays;
+
+/**
+ * Consistent hash ring mapping dealers to a fixed number of shards
+ * Keys are dealer ids: every dealer belongs to one tenant and every lead lookup carries the
+ * dealer, so a large tenant's dealers spread over shards and reads never need the tenant.
+ * Each shard owns many points on the ring so keys spread evenly. Growing the ring from
+ * n to n + 1 shards moves only about 1/(n + 1) of the keys, all of them to the new shard.
+ *
+ * Immutable and thread-safe; a lookup is one hash and a binary search, with no allocation.
+ */
+public final class ShardRing {
+
+    private static final int POINTS_PER_SHARD = 128;
+
+    private final int shardCount;
+    private final int[] points;
+    private final int[] owners;
+
+    public ShardRing(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shardCount = shardCount;
+
+        // Point in the high half, owning shard in the low half, so sorting keeps them together
+        long[] ring = new long[shardCount * POINTS_PER_SHARD];
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int i = 0; i < POINTS_PER_SHARD; i++) {
+                int point = (int) mix(((long) shard << 32) | i);
+                ring[shard * POINTS_PER_SHARD + i] = ((long) point << 32) | shard;
+            }
+        }
+        Arrays.sort(ring);
+
+        this.points = new int[ring.length];
+        this.owners = new int[ring.length];
+        for (int i = 0; i < ring.length; i++) {
+            points[i] = (int) (ring[i] >> 32);
+            owners[i] = (int) ring[i];
+        }
+    }
+
+    /**
+     * Shard owning the key: the owner of the first ring point at or after the key's hash
+     */
+    public int shardFor(String key) {
+        int hash = (int) mix(key.hashCode());
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads String.hashCode's clustered values over the whole ring
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
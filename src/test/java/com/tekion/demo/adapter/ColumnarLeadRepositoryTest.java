@@ -0,0 +1,244 @@
+package com.tekion.demo.adapter;
+
+import com.tekion.demo.TestDataBuilder;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadQuery;
+import com.tekion.demo.lead.LeadSource;
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.LeadSummary;
+import com.tekion.demo.lead.valueObject.VehicleInterest;
+import com.tekion.demo.scoring.rules.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarLeadRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private ColumnarLeadRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        LeadScoringEngine engine = new LeadScoringEngine(List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        ));
+        repository = new ColumnarLeadRepository(engine, directory.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void shouldStoreVersionAndRejectStaleSaves() {
+        Lead lead = TestDataBuilder.defaultLead().leadId("lead1").build();
+        assertTrue(repository.saveIfVersion(lead, 0));
+
+        Lead stored = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+        assertEquals(1, stored.getVersion());
+
+        stored.setState(LeadState.CONTACTED);
+        assertTrue(repository.saveIfVersion(stored, 1));
+        assertFalse(repository.saveIfVersion(TestDataBuilder.defaultLead().leadId("lead1").build(), 1));
+
+        Lead latest = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+        assertEquals(2, latest.getVersion());
+        assertEquals(LeadState.CONTACTED, latest.getState());
+    }
+
+    @Test
+    void shouldMaterializeAllFieldsOnRead() {
+        ZonedDateTime created = ZonedDateTime.now().minusDays(2).truncatedTo(ChronoUnit.MILLIS);
+        Lead lead = TestDataBuilder.defaultLead()
+                .leadId("lead1")
+                .source(LeadSource.REFERRAL)
+                .state(LeadState.CONTACTED)
+                .createdAt(created)
+                .updatedAt(created)
+                .build();
+
+        repository.save(lead);
+        Lead found = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+
+        assertEquals(lead.getLeadId(), found.getLeadId());
+        assertEquals(lead.getTenantId(), found.getTenantId());
+        assertEquals(lead.getDealerId(), found.getDealerId());
+        assertEquals(lead.getSiteId(), found.getSiteId());
+        assertEquals(lead.getFirstName(), found.getFirstName());
+        assertEquals(lead.getLastName(), found.getLastName());
+        assertEquals(lead.getEmail(), found.getEmail());
+        assertEquals(lead.getPhone(), found.getPhone());
+        assertEquals(lead.getVehicleInterest(), found.getVehicleInterest());
+        assertEquals(lead.getSource(), found.getSource());
+        assertEquals(lead.getState(), found.getState());
+        assertEquals(created.toInstant(), found.getCreatedAt().toInstant());
+        assertEquals(created.toInstant(), found.getUpdatedAt().toInstant());
+    }
+
+    @Test
+    void shouldPreserveNullOptionalFields() {
+        repository.save(Lead.builder()
+                .leadId("lead1")
+                .dealerId("dealer123")
+                .vehicleInterest(new VehicleInterest("Honda", null, 2019, null))
+                .createdAt(ZonedDateTime.now())
+                .build());
+
+        Lead found = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+
+        assertNull(found.getFirstName());
+        assertNull(found.getEmail());
+        assertNull(found.getPhone());
+        assertNull(found.getSource());
+        assertNull(found.getState());
+        assertNull(found.getUpdatedAt());
+        assertEquals(new VehicleInterest("Honda", null, 2019, null), found.getVehicleInterest());
+    }
+
+    @Test
+    void shouldOverwriteRowInPlaceOnResave() {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").state(LeadState.NEW).build());
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").state(LeadState.CONTACTED)
+                .vehicleInterest(null).build());
+
+        List<Lead> leads = repository.findByDealerId("dealer123");
+
+        assertEquals(1, leads.size());
+        assertEquals(LeadState.CONTACTED, leads.get(0).getState());
+        assertNull(leads.get(0).getVehicleInterest());
+        assertEquals(0, repository.countByDealerIdAndState("dealer123", LeadState.NEW));
+    }
+
+    @Test
+    void shouldServeScoreAndStateIndexes() {
+        repository.save(TestDataBuilder.defaultLead().leadId("walkin").source(LeadSource.WALKIN).build());
+        repository.save(TestDataBuilder.defaultLead().leadId("referral").source(LeadSource.REFERRAL)
+                .state(LeadState.QUALIFIED).build());
+
+        assertEquals("referral", repository.findByDealerIdOrderByScore("dealer123", 1).get(0).getLeadId());
+        assertEquals("walkin", repository.findByDealerIdAndState("dealer123", LeadState.NEW).get(0).getLeadId());
+        assertTrue(repository.findByIdAndDealerId("walkin", "otherDealer").isEmpty());
+    }
+
+    @Test
+    void shouldGrowColumnsBeyondOneChunk() {
+        int count = MappedColumn.ROWS_PER_CHUNK + 100;
+        for (int i = 0; i < count; i++) {
+            repository.save(TestDataBuilder.defaultLead()
+                    .leadId("lead" + i)
+                    .firstName("Customer" + i)
+                    .build());
+        }
+
+        assertEquals(count, repository.findByDealerId("dealer123").size());
+        assertEquals("Customer" + (count - 1),
+                repository.findByIdAndDealerId("lead" + (count - 1), "dealer123").orElseThrow().getFirstName());
+    }
+
+    @Test
+    void shouldNotifySaveListenersOnSuccessfulWrites() {
+        List<String> saved = new ArrayList<>();
+        repository.addSaveListener(lead -> saved.add(lead.getLeadId() + "@" + lead.getVersion()));
+
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        assertTrue(repository.saveIfVersion(TestDataBuilder.defaultLead().leadId("lead1").build(), 1));
+        assertFalse(repository.saveIfVersion(TestDataBuilder.defaultLead().leadId("lead1").build(), 1));
+
+        assertEquals(List.of("lead1@1", "lead1@2"), saved);
+    }
+
+    @Test
+    void shouldBumpVersionOnEverySave() {
+        Lead read = repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        assertEquals(1, read.getVersion());
+        long readVersion = read.getVersion();
+
+        // An unversioned save in between must invalidate the version read above
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").lastName("Changed").version(0).build());
+        assertEquals(2, repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow().getVersion());
+
+        assertFalse(repository.saveIfVersion(TestDataBuilder.defaultLead().leadId("lead1").build(), readVersion));
+        assertEquals("Changed", repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow().getLastName());
+    }
+
+    @Test
+    void shouldReadChangedAndUnchangedStringsAfterRewrite() {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        Lead stored = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+
+        stored.setState(LeadState.CONTACTED);
+        stored.setLastName("Changed");
+        stored.setFirstName(null);
+        repository.save(stored);
+
+        Lead read = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+        assertEquals("Changed", read.getLastName());
+        assertNull(read.getFirstName());
+        assertEquals(stored.getEmail(), read.getEmail());
+        assertEquals(stored.getPhone(), read.getPhone());
+        assertEquals(LeadState.CONTACTED, read.getState());
+    }
+
+    @Test
+    void shouldRerankThroughScoreIndexAndHistogram() {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        repository.save(TestDataBuilder.defaultLead().leadId("lead2").build());
+        Lead read = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+
+        assertTrue(repository.updateScore(read, 99.0));
+
+        assertEquals(List.of("lead1"), atLeast("dealer123", 90).stream().map(Lead::getLeadId).toList());
+        assertEquals(1, repository.getScoreHistogram("dealer123")[9]);
+
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").version(3).build());
+        assertFalse(repository.updateScore(read, 99.0));
+        assertTrue(atLeast("dealer123", 90).isEmpty());
+    }
+
+    @Test
+    void shouldPageSummariesFromTheSameRowsAsFullLeads() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(TestDataBuilder.defaultLead().leadId("lead" + i).firstName("First" + i).build());
+        }
+
+        LeadPage<Lead> first = repository.findPage(LeadQuery.builder().dealerId("dealer123").limit(3).build());
+        LeadPage<Lead> second = repository.findPage(LeadQuery.builder()
+                .dealerId("dealer123").cursor(first.getNextCursor()).limit(3).build());
+        LeadPage<LeadSummary> summaries = repository.findSummaryPage(LeadQuery.builder().dealerId("dealer123").limit(3).build());
+
+        assertEquals(3, first.getLeads().size());
+        assertEquals(2, second.getLeads().size());
+        assertNull(second.getNextCursor());
+        assertEquals(first.getNextCursor(), summaries.getNextCursor());
+        for (int i = 0; i < 3; i++) {
+            Lead lead = first.getLeads().get(i);
+            LeadSummary summary = summaries.getLeads().get(i);
+            assertEquals(lead.getLeadId(), summary.getLeadId());
+            assertEquals(lead.getFirstName(), summary.getFirstName());
+            assertEquals(lead.getLastName(), summary.getLastName());
+            assertEquals(lead.getState(), summary.getState());
+        }
+    }
+
+    private List<Lead> atLeast(String dealerId, double minScore) {
+        return repository.findPage(LeadQuery.builder().dealerId(dealerId).minScore(minScore).limit(100).build()).getLeads();
+    }
+}
@@ -1,12 +1,18 @@
 package com.tekion.demo.adapter;
 
 import com.tekion.demo.TestDataBuilder;
+import com.tekion.demo.circuitbreaker.CircuitBreakerConfig;
+import com.tekion.demo.circuitbreaker.CircuitBreakerState;
 import com.tekion.demo.notification.Notification;
 import com.tekion.demo.notification.NotificationResult;
 import com.tekion.demo.notification.NotificationType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class EmailNotificationAdapterTest {
@@ -15,7 +21,7 @@ class EmailNotificationAdapterTest {
 
     @BeforeEach
     void setUp() {
-        adapter = new EmailNotificationAdapter();
+        adapter = new EmailNotificationAdapter(0.0);
     }
 
     @Test
@@ -63,5 +69,82 @@ class EmailNotificationAdapterTest {
         
         assertTrue(result.isSuccess());
     }
-}
 
+    @Test
+    void shouldSendBatchWithOneResultPerNotification() {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            notifications.add(Notification.builder()
+                    .recipient("lead-" + (i % 40))
+                    .message("Campaign message")
+                    .type(NotificationType.EMAIL)
+                    .build());
+        }
+        notifications.add(TestDataBuilder.createNotificationWithType(NotificationType.SMS));
+
+        List<NotificationResult> results = adapter.sendBatch(notifications);
+
+        assertEquals(251, results.size());
+        assertTrue(results.subList(0, 250).stream().allMatch(NotificationResult::isSuccess));
+        assertFalse(results.get(250).isSuccess());
+        assertTrue(results.get(250).getMessage().contains("does not support"));
+    }
+
+    @Test
+    void shouldChunkBatchByRecipientAndKeepResultsInInputOrder() {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            notifications.add(Notification.builder()
+                    .recipient(i % 2 == 0 ? "lead-a" : "lead-b")
+                    .message("Campaign message")
+                    .type(NotificationType.EMAIL)
+                    .build());
+        }
+
+        List<NotificationResult> results = adapter.sendBatch(notifications);
+
+        // Each recipient's 100 notifications fill one chunk and share that chunk's result
+        assertEquals(200, results.size());
+        for (int i = 2; i < 200; i++) {
+            assertSame(results.get(i % 2), results.get(i));
+        }
+        assertNotSame(results.get(0), results.get(1));
+    }
+
+    @Test
+    void shouldAdmitEachBatchChunkThroughCircuitBreakerOnce() {
+        // Trips once 3 of the last 3 calls failed
+        EmailNotificationAdapter failing = new EmailNotificationAdapter(CircuitBreakerConfig.builder()
+                .windowSize(3)
+                .minimumCalls(3)
+                .build(), 1.0);
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            notifications.add(TestDataBuilder.createNotificationWithType(NotificationType.EMAIL));
+        }
+
+        // Three chunks of 100 are three failures, which opens the breaker
+        List<NotificationResult> results = failing.sendBatch(notifications);
+
+        assertTrue(results.stream().noneMatch(NotificationResult::isSuccess));
+        assertEquals(CircuitBreakerState.OPEN, failing.getCircuitBreakerState());
+        assertTrue(failing.sendBatch(notifications.subList(0, 1)).get(0).getMessage().contains("circuit breaker open"));
+    }
+
+    @Test
+    void shouldTimeProviderCallsForTheSlowCallRate() {
+        // Every timed call takes longer than a nanosecond, so all of them count as slow
+        EmailNotificationAdapter slow = new EmailNotificationAdapter(CircuitBreakerConfig.builder()
+                .windowSize(2)
+                .minimumCalls(2)
+                .slowCallRateThreshold(100)
+                .slowCallDuration(Duration.ofNanos(1))
+                .build(), 0.0);
+
+        assertTrue(slow.send(TestDataBuilder.createNotificationWithType(NotificationType.EMAIL)).isSuccess());
+        assertTrue(slow.sendBatch(List.of(TestDataBuilder.createNotificationWithType(NotificationType.EMAIL)))
+                .get(0).isSuccess());
+
+        assertEquals(CircuitBreakerState.OPEN, slow.getCircuitBreakerState());
+    }
+}
@@ -0,0 +1,197 @@
+package com.tekion.demo.adapter;
+
+import com.tekion.demo.TestDataBuilder;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadSource;
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.scoring.rules.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Multi-threaded stress tests for InMemoryLeadRepository
+ */
+class InMemoryLeadRepositoryConcurrencyTest {
+
+    private static final int WRITERS = 32;
+    private static final int LEADS_PER_WRITER = 500;
+    private static final int UPDATES_PER_WRITER = 200;
+
+    private InMemoryLeadRepository repository;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        LeadScoringEngine engine = new LeadScoringEngine(List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        ));
+        repository = new InMemoryLeadRepository(engine);
+        executor = Executors.newFixedThreadPool(WRITERS);
+    }
+
+    @Test
+    void shouldNotLoseConcurrentInsertsForOneDealer() throws Exception {
+        runConcurrently(writer -> {
+            for (int i = 0; i < LEADS_PER_WRITER; i++) {
+                repository.save(TestDataBuilder.defaultLead()
+                        .leadId("w" + writer + "-lead" + i)
+                        .dealerId("busyDealer")
+                        .source(LeadSource.values()[i % LeadSource.values().length])
+                        .state(i % 2 == 0 ? LeadState.NEW : LeadState.CONTACTED)
+                        .build());
+            }
+        });
+
+        int expected = WRITERS * LEADS_PER_WRITER;
+        assertEquals(expected, repository.findByDealerId("busyDealer").size());
+        assertEquals(expected, repository.findByDealerIdOrderByScore("busyDealer", Integer.MAX_VALUE).size());
+        assertEquals(expected / 2, repository.countByDealerIdAndState("busyDealer", LeadState.NEW));
+        assertEquals(expected / 2, repository.countByDealerIdAndState("busyDealer", LeadState.CONTACTED));
+    }
+
+    @Test
+    void shouldKeepIndexesConsistentUnderConcurrentResavesOfSameLeads() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            repository.save(TestDataBuilder.defaultLead().leadId("lead" + i).dealerId("busyDealer").build());
+        }
+
+        runConcurrently(writer -> {
+            for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                repository.save(TestDataBuilder.defaultLead()
+                        .leadId("lead" + (i % 10))
+                        .dealerId("busyDealer")
+                        .source(LeadSource.values()[(writer + i) % LeadSource.values().length])
+                        .state(LeadState.values()[(writer + i) % LeadState.values().length])
+                        .build());
+            }
+        });
+
+        assertEquals(10, repository.findByDealerId("busyDealer").size());
+        assertEquals(10, repository.findByDealerIdOrderByScore("busyDealer", Integer.MAX_VALUE).size());
+        int indexed = 0;
+        for (LeadState state : LeadState.values()) {
+            indexed += repository.countByDealerIdAndState("busyDealer", state);
+        }
+        assertEquals(10, indexed);
+    }
+
+    @Test
+    void shouldNotLoseCompareAndSaveUpdates() throws Exception {
+        repository.save(TestDataBuilder.defaultLead()
+                .leadId("counter")
+                .dealerId("busyDealer")
+                .lastName("0")
+                .build());
+
+        runConcurrently(writer -> {
+            for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                boolean saved;
+                do {
+                    Lead current = repository.findByIdAndDealerId("counter", "busyDealer").orElseThrow();
+                    Lead incremented = TestDataBuilder.defaultLead()
+                            .leadId("counter")
+                            .dealerId("busyDealer")
+                            .lastName(String.valueOf(Integer.parseInt(current.getLastName()) + 1))
+                            .build();
+                    saved = repository.compareAndSave(current, incremented);
+                } while (!saved);
+            }
+        });
+
+        Lead result = repository.findByIdAndDealerId("counter", "busyDealer").orElseThrow();
+        assertEquals(String.valueOf(WRITERS * UPDATES_PER_WRITER), result.getLastName());
+    }
+
+    @Test
+    void shouldRejectCompareAndSaveWithStaleExpectation() {
+        Lead original = TestDataBuilder.defaultLead().leadId("lead1").build();
+        repository.save(original);
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").lastName("Changed").build());
+
+        boolean saved = repository.compareAndSave(original,
+                TestDataBuilder.defaultLead().leadId("lead1").lastName("Stale").build());
+
+        assertFalse(saved);
+        assertEquals("Changed", repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow().getLastName());
+    }
+
+    @Test
+    void shouldApplyEveryVersionedUpdateExactlyOnce() throws Exception {
+        repository.save(TestDataBuilder.defaultLead()
+                .leadId("counter").dealerId("busyDealer").lastName("0").build());
+        ConcurrentLinkedQueue<Long> committed = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(writer -> {
+            for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                boolean saved;
+                do {
+                    Lead current = repository.findByIdAndDealerId("counter", "busyDealer").orElseThrow();
+                    Lead incremented = TestDataBuilder.defaultLead()
+                            .leadId("counter").dealerId("busyDealer")
+                            .lastName(String.valueOf(Integer.parseInt(current.getLastName()) + 1))
+                            .build();
+                    long expected = current.getVersion();
+                    saved = repository.saveIfVersion(incremented, expected, () -> committed.add(expected + 1));
+                } while (!saved);
+            }
+        });
+
+        Lead result = repository.findByIdAndDealerId("counter", "busyDealer").orElseThrow();
+        int updates = WRITERS * UPDATES_PER_WRITER;
+        assertEquals(String.valueOf(updates), result.getLastName());
+        // The initial save created version 1
+        assertEquals(updates + 1, result.getVersion());
+        // onCommit ran once per successful save, in version order
+        List<Long> versions = new ArrayList<>(committed);
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(i + 2, versions.get(i));
+        }
+    }
+
+    @Test
+    void shouldRejectSaveIfVersionWithStaleVersion() {
+        Lead lead = TestDataBuilder.defaultLead().leadId("lead1").build();
+        assertTrue(repository.saveIfVersion(lead, 0));
+        assertEquals(1, lead.getVersion());
+
+        Lead stale = TestDataBuilder.defaultLead().leadId("lead1").lastName("Stale").build();
+        boolean[] committed = new boolean[1];
+        assertFalse(repository.saveIfVersion(stale, 0, () -> committed[0] = true));
+
+        assertFalse(committed[0]);
+        assertEquals(0, stale.getVersion());
+        assertEquals(lead.getLastName(), repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow().getLastName());
+    }
+
+    private void runConcurrently(WriterTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(writer);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private interface WriterTask {
+        void run(int writer);
+    }
+}
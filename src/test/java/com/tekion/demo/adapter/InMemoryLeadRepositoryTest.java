@@ -2,10 +2,16 @@ package com.tekion.demo.adapter;
 
 import com.tekion.demo.TestDataBuilder;
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadQuery;
+import com.tekion.demo.lead.LeadSource;
 import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.LeadSummary;
+import com.tekion.demo.scoring.rules.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,10 +20,18 @@ import static org.junit.jupiter.api.Assertions.*;
 class InMemoryLeadRepositoryTest {
 
     private InMemoryLeadRepository repository;
+    private LeadScoringEngine engine;
 
     @BeforeEach
     void setUp() {
-        repository = new InMemoryLeadRepository();
+        engine = new LeadScoringEngine(List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        ));
+        repository = new InMemoryLeadRepository(engine);
     }
 
     @Test
@@ -111,6 +125,47 @@ class InMemoryLeadRepositoryTest {
         assertTrue(contactedLeads.isEmpty());
     }
 
+    @Test
+    void shouldMoveLeadBetweenStateIndexesWhenResavedWithNewState() {
+        Lead lead = TestDataBuilder.defaultLead()
+                .leadId("lead1")
+                .state(LeadState.NEW)
+                .build();
+        repository.save(lead);
+
+        repository.save(TestDataBuilder.defaultLead()
+                .leadId("lead1")
+                .state(LeadState.CONTACTED)
+                .build());
+
+        assertTrue(repository.findByDealerIdAndState("dealer123", LeadState.NEW).isEmpty());
+        assertEquals(1, repository.findByDealerIdAndState("dealer123", LeadState.CONTACTED).size());
+        assertEquals(0, repository.countByDealerIdAndState("dealer123", LeadState.NEW));
+        assertEquals(1, repository.countByDealerIdAndState("dealer123", LeadState.CONTACTED));
+    }
+
+    @Test
+    void shouldPageLeadsByState() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(TestDataBuilder.defaultLead()
+                    .leadId("lead" + i)
+                    .state(LeadState.NEW)
+                    .build());
+        }
+        repository.save(TestDataBuilder.defaultLead()
+                .leadId("lead9")
+                .state(LeadState.LOST)
+                .build());
+
+        List<Lead> firstPage = repository.findByDealerIdAndState("dealer123", LeadState.NEW, null, 2);
+        List<Lead> secondPage = repository.findByDealerIdAndState("dealer123", LeadState.NEW, "lead1", 2);
+        List<Lead> lastPage = repository.findByDealerIdAndState("dealer123", LeadState.NEW, "lead3", 2);
+
+        assertEquals(List.of("lead0", "lead1"), firstPage.stream().map(Lead::getLeadId).toList());
+        assertEquals(List.of("lead2", "lead3"), secondPage.stream().map(Lead::getLeadId).toList());
+        assertEquals(List.of("lead4"), lastPage.stream().map(Lead::getLeadId).toList());
+    }
+
     @Test
     void shouldFindLeadsByDealerIdOrderByScore() {
         Lead lead1 = TestDataBuilder.defaultLead()
@@ -146,6 +201,43 @@ class InMemoryLeadRepositoryTest {
         assertEquals(3, leads.size());
     }
 
+    @Test
+    void shouldOrderLeadsByScoreDescending() {
+        repository.save(TestDataBuilder.defaultLead().leadId("walkin").source(LeadSource.WALKIN).build());
+        repository.save(TestDataBuilder.defaultLead().leadId("referral").source(LeadSource.REFERRAL).build());
+        repository.save(TestDataBuilder.defaultLead().leadId("phone").source(LeadSource.PHONE).build());
+
+        List<Lead> leads = repository.findByDealerIdOrderByScore("dealer123", 10);
+
+        assertEquals(List.of("referral", "phone", "walkin"),
+                leads.stream().map(Lead::getLeadId).toList());
+    }
+
+    @Test
+    void shouldBreakScoreTiesByLeadId() {
+        repository.save(TestDataBuilder.defaultLead().leadId("leadB").build());
+        repository.save(TestDataBuilder.defaultLead().leadId("leadA").build());
+
+        List<Lead> leads = repository.findByDealerIdOrderByScore("dealer123", 10);
+
+        assertEquals("leadA", leads.get(0).getLeadId());
+        assertEquals("leadB", leads.get(1).getLeadId());
+    }
+
+    @Test
+    void shouldReindexScoreWhenLeadIsResaved() {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").source(LeadSource.WALKIN).build());
+        repository.save(TestDataBuilder.defaultLead().leadId("lead2").source(LeadSource.PHONE).build());
+
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").source(LeadSource.REFERRAL).build());
+
+        List<Lead> leads = repository.findByDealerIdOrderByScore("dealer123", 10);
+
+        assertEquals(2, leads.size());
+        assertEquals("lead1", leads.get(0).getLeadId());
+        assertEquals(LeadSource.REFERRAL, leads.get(0).getSource());
+    }
+
     @Test
     void shouldIsolateLeadsByDealer() {
         Lead dealer1Lead = TestDataBuilder.defaultLead()
@@ -188,5 +280,148 @@ class InMemoryLeadRepositoryTest {
         assertTrue(found.isPresent());
         assertEquals(LeadState.CONTACTED, found.get().getState());
     }
-}
 
+    @Test
+    void shouldNotifySaveListenersOnSuccessfulWrites() {
+        List<String> saved = new ArrayList<>();
+        repository.addSaveListener(lead -> saved.add(lead.getLeadId() + "@" + lead.getVersion()));
+
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        assertTrue(repository.saveIfVersion(TestDataBuilder.defaultLead().leadId("lead1").build(), 1));
+        assertFalse(repository.saveIfVersion(TestDataBuilder.defaultLead().leadId("lead1").build(), 1));
+
+        assertEquals(List.of("lead1@1", "lead1@2"), saved);
+    }
+
+    @Test
+    void shouldBumpVersionOnEverySave() {
+        Lead read = repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        assertEquals(1, read.getVersion());
+        long readVersion = read.getVersion();
+
+        // An unversioned save in between must invalidate the version read above
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").lastName("Changed").version(0).build());
+        assertEquals(2, repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow().getVersion());
+
+        assertFalse(repository.saveIfVersion(TestDataBuilder.defaultLead().leadId("lead1").build(), readVersion));
+        assertEquals("Changed", repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow().getLastName());
+    }
+
+    @Test
+    void shouldPageLeadsAtOrAboveMinScoreHighestFirst() {
+        Lead walkin = TestDataBuilder.defaultLead().leadId("walkin").source(LeadSource.WALKIN).build();
+        Lead phone = TestDataBuilder.defaultLead().leadId("phone").source(LeadSource.PHONE).build();
+        Lead referral = TestDataBuilder.defaultLead().leadId("referral").source(LeadSource.REFERRAL).build();
+        repository.save(walkin);
+        repository.save(phone);
+        repository.save(referral);
+
+        double phoneScore = engine.scoreTotalOnly(phone);
+
+        assertEquals(List.of("referral", "phone"),
+                atLeast("dealer123", phoneScore).stream().map(Lead::getLeadId).toList());
+        assertEquals(3, atLeast("dealer123", 0).size());
+        assertTrue(atLeast("dealer123", 100.01).isEmpty());
+        assertTrue(atLeast("unknownDealer", 0).isEmpty());
+    }
+
+    @Test
+    void shouldKeepScoreHistogramInStepWithSaves() {
+        Lead walkin = TestDataBuilder.defaultLead().leadId("walkin").source(LeadSource.WALKIN).build();
+        Lead referral = TestDataBuilder.defaultLead().leadId("referral").source(LeadSource.REFERRAL).build();
+        repository.save(walkin);
+        repository.save(referral);
+        int walkinBand = (int) (engine.scoreTotalOnly(walkin) / 10);
+        int referralBand = (int) (engine.scoreTotalOnly(referral) / 10);
+        assertNotEquals(walkinBand, referralBand);
+
+        int[] histogram = repository.getScoreHistogram("dealer123");
+        assertEquals(10, histogram.length);
+        assertEquals(1, histogram[walkinBand]);
+        assertEquals(1, histogram[referralBand]);
+
+        repository.save(TestDataBuilder.defaultLead().leadId("walkin").source(LeadSource.REFERRAL).build());
+
+        histogram = repository.getScoreHistogram("dealer123");
+        assertEquals(0, histogram[walkinBand]);
+        assertEquals(2, histogram[referralBand]);
+        assertEquals(2, java.util.Arrays.stream(histogram).sum());
+        assertArrayEquals(new int[10], repository.getScoreHistogram("unknownDealer"));
+    }
+
+    @Test
+    void shouldUpdateScoreOnlyWhileLeadIsUnchanged() {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        Lead read = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+
+        assertTrue(repository.updateScore(read, 100.0));
+        assertEquals(1, repository.getScoreHistogram("dealer123")[9]);
+        assertEquals(List.of(read), atLeast("dealer123", 95));
+
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").updatedAt(read.getUpdatedAt().plusSeconds(1)).build());
+
+        assertFalse(repository.updateScore(read, 100.0));
+        assertEquals(0, repository.getScoreHistogram("dealer123")[9]);
+        assertFalse(repository.updateScore(TestDataBuilder.defaultLead().leadId("missing").build(), 50.0));
+    }
+
+    @Test
+    void shouldPageThroughLeadsInScoreOrderWithCursors() {
+        LeadSource[] sources = LeadSource.values();
+        for (int i = 0; i < 25; i++) {
+            repository.save(TestDataBuilder.defaultLead()
+                    .leadId(String.format("lead%02d", i))
+                    .source(sources[i % sources.length])
+                    .build());
+        }
+
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            LeadPage<Lead> page = repository.findPage(LeadQuery.builder()
+                    .dealerId("dealer123").cursor(cursor).limit(4).build());
+            assertTrue(page.getLeads().size() <= 4);
+            page.getLeads().forEach(lead -> paged.add(lead.getLeadId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(7, pages);
+        assertEquals(repository.findByDealerIdOrderByScore("dealer123", 100).stream().map(Lead::getLeadId).toList(), paged);
+    }
+
+    @Test
+    void shouldProjectPagesToSummariesAndStopBelowMinScore() {
+        Lead walkin = TestDataBuilder.defaultLead().leadId("walkin").source(LeadSource.WALKIN).build();
+        Lead referral = TestDataBuilder.defaultLead().leadId("referral").source(LeadSource.REFERRAL).state(LeadState.CONTACTED).build();
+        repository.save(walkin);
+        repository.save(referral);
+        double referralScore = engine.scoreTotalOnly(referral);
+
+        LeadPage<LeadSummary> page = repository.findSummaryPage(LeadQuery.builder()
+                .dealerId("dealer123").minScore(referralScore).limit(1).build());
+
+        assertEquals(List.of(LeadSummary.of(referral, referralScore)), page.getLeads());
+        assertNull(page.getNextCursor());
+        assertEquals(LeadState.CONTACTED, page.getLeads().get(0).getState());
+        assertEquals(2, repository.findSummaryPage(LeadQuery.builder().dealerId("dealer123").build()).getLeads().size());
+    }
+
+    @Test
+    void shouldRejectMalformedCursorsAndLimits() {
+        repository.save(TestDataBuilder.defaultLead().build());
+
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(
+                LeadQuery.builder().dealerId("dealer123").cursor("not a cursor").build()));
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(
+                LeadQuery.builder().dealerId("unknownDealer").cursor("bm8tc2VwYXJhdG9y").build()));
+        assertThrows(IllegalArgumentException.class, () -> repository.findSummaryPage(
+                LeadQuery.builder().dealerId("dealer123").limit(0).build()));
+        assertTrue(repository.findPage(LeadQuery.builder().dealerId("unknownDealer").build()).getLeads().isEmpty());
+    }
+
+    private List<Lead> atLeast(String dealerId, double minScore) {
+        return repository.findPage(LeadQuery.builder().dealerId(dealerId).minScore(minScore).limit(100).build()).getLeads();
+    }
+}
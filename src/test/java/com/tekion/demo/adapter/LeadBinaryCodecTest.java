@@ -0,0 +1,145 @@
+package com.tekion.demo.adapter;
+
+import com.tekion.demo.TestDataBuilder;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.valueObject.VehicleInterest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeadBinaryCodecTest {
+
+    @Test
+    void shouldRoundTripFullLead() {
+        Lead lead = TestDataBuilder.defaultLead()
+                .createdAt(ZonedDateTime.now(ZoneId.of("America/New_York")))
+                .build();
+
+        Lead decoded = LeadBinaryCodec.decode(LeadBinaryCodec.encode(lead));
+
+        assertEquals(lead, decoded);
+    }
+
+    @Test
+    void shouldRoundTripNullOptionalFields() {
+        Lead lead = Lead.builder()
+                .leadId("lead123")
+                .dealerId("dealer123")
+                .build();
+
+        Lead decoded = LeadBinaryCodec.decode(LeadBinaryCodec.encode(lead));
+
+        assertEquals(lead, decoded);
+        assertNull(decoded.getEmail());
+        assertNull(decoded.getPhone());
+        assertNull(decoded.getState());
+        assertNull(decoded.getCreatedAt());
+    }
+
+    @Test
+    void shouldRoundTripVehicleInterestWithNullValues() {
+        Lead lead = TestDataBuilder.defaultLead()
+                .vehicleInterest(new VehicleInterest("Honda", null, null, null))
+                .build();
+
+        Lead decoded = LeadBinaryCodec.decode(LeadBinaryCodec.encode(lead));
+
+        assertEquals(lead.getVehicleInterest(), decoded.getVehicleInterest());
+    }
+
+    @Test
+    void shouldRoundTripVersion() {
+        Lead lead = TestDataBuilder.defaultLead().version(42).build();
+
+        assertEquals(42, LeadBinaryCodec.decode(LeadBinaryCodec.encode(lead)).getVersion());
+    }
+
+    @Test
+    void shouldRoundTripStringsLongerThan64Kilobytes() {
+        String lastName = "é".repeat(40_000);
+        Lead lead = TestDataBuilder.defaultLead().lastName(lastName).build();
+
+        assertEquals(lastName, LeadBinaryCodec.decode(LeadBinaryCodec.encode(lead)).getLastName());
+    }
+
+    @Test
+    void shouldEncodeTheGivenVersionWithoutTouchingTheLead() {
+        Lead lead = TestDataBuilder.defaultLead().version(3).build();
+
+        Lead decoded = LeadBinaryCodec.decode(LeadBinaryCodec.encode(lead, 4));
+
+        assertEquals(4, decoded.getVersion());
+        assertEquals(3, lead.getVersion());
+    }
+
+    @Test
+    void shouldRejectUnknownFormatVersion() {
+        byte[] payload = LeadBinaryCodec.encode(TestDataBuilder.defaultLead().build());
+        payload[0] = 99;
+
+        assertThrows(IllegalArgumentException.class, () -> LeadBinaryCodec.decode(payload));
+    }
+
+    @Test
+    void shouldRejectUnknownZoneIdAsCorruptRecord() {
+        byte[] payload = LeadBinaryCodec.encode(TestDataBuilder.defaultLead()
+                .createdAt(ZonedDateTime.now(ZoneId.of("Europe/Paris")))
+                .build());
+        replace(payload, "Europe/Paris", "Europe/Parix");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> LeadBinaryCodec.decode(payload));
+        assertInstanceOf(DateTimeException.class, e.getCause());
+    }
+
+    @Test
+    void shouldReadBackFramedLeadsUntilEndOfStream() throws IOException {
+        Lead first = TestDataBuilder.defaultLead().leadId("lead1").build();
+        Lead second = Lead.builder().leadId("lead2").dealerId("dealer123").build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        LeadBinaryCodec.writeFrame(out, first);
+        LeadBinaryCodec.writeFrame(out, second);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(first, LeadBinaryCodec.decode(LeadBinaryCodec.readFrame(in)));
+        assertEquals(second, LeadBinaryCodec.decode(LeadBinaryCodec.readFrame(in)));
+        assertNull(LeadBinaryCodec.readFrame(in));
+    }
+
+    @Test
+    void shouldFailOnTruncatedOrOversizedFrames() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        LeadBinaryCodec.writeFrame(new DataOutputStream(bytes), TestDataBuilder.defaultLead().build());
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+        byte[] oversized = {0x7f, 0, 0, 0, 1};
+
+        assertThrows(EOFException.class,
+                () -> LeadBinaryCodec.readFrame(new DataInputStream(new ByteArrayInputStream(truncated))));
+        assertThrows(IOException.class,
+                () -> LeadBinaryCodec.readFrame(new DataInputStream(new ByteArrayInputStream(oversized))));
+    }
+
+    private static void replace(byte[] payload, String from, String to) {
+        byte[] target = from.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i + target.length <= payload.length; i++) {
+            if (Arrays.equals(payload, i, i + target.length, target, 0, target.length)) {
+                System.arraycopy(to.getBytes(StandardCharsets.UTF_8), 0, payload, i, target.length);
+                return;
+            }
+        }
+        throw new IllegalStateException(from + " not found in record");
+    }
+}
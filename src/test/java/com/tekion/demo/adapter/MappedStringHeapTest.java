@@ -0,0 +1,57 @@
+package com.tekion.demo.adapter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedStringHeapTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedStringHeap heap;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        heap = new MappedStringHeap(directory.resolve("strings.heap"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        heap.close();
+    }
+
+    @Test
+    void shouldKeepUnchangedStringAtItsOffset() {
+        long ref = heap.append("john@example.com");
+        long used = heap.size();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(ref, heap.appendIfChanged(ref, "john@example.com"));
+        }
+
+        assertEquals(used, heap.size());
+        assertEquals(MappedStringHeap.NULL_REF, heap.appendIfChanged(ref, null));
+    }
+
+    @Test
+    void shouldNotReclaimReplacedStrings() {
+        long ref = heap.append("john@example.com");
+        long used = heap.size();
+
+        long changed = heap.appendIfChanged(ref, "jane@example.com");
+        long fromNull = heap.appendIfChanged(MappedStringHeap.NULL_REF, "jane@example.com");
+
+        assertNotEquals(ref, changed);
+        assertNotEquals(changed, fromNull);
+        assertEquals("john@example.com", heap.read(ref));
+        assertEquals("jane@example.com", heap.read(changed));
+        assertEquals(used + 2 * (4 + "jane@example.com".length()), heap.size());
+    }
+}
@@ -0,0 +1,250 @@
+package com.tekion.demo.adapter;
+
+import com.tekion.demo.TestDataBuilder;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadSource;
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.scoring.rules.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogLeadRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private LeadScoringEngine engine;
+    private WriteAheadLogLeadRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        engine = new LeadScoringEngine(List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        ));
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void shouldRecoverLeadsAfterRestart() throws IOException {
+        Lead lead = TestDataBuilder.defaultLead().leadId("lead1").build();
+        repository.save(lead);
+
+        restart();
+
+        assertEquals(lead, repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow());
+    }
+
+    @Test
+    void shouldRecoverLeadsWithFieldsLongerThan64Kilobytes() throws IOException {
+        String notes = "x".repeat(100_000);
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").lastName(notes).build());
+
+        restart();
+
+        assertEquals(notes, repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow().getLastName());
+    }
+
+    @Test
+    void shouldRecoverEveryLeadOfABatchSave() throws IOException {
+        List<Lead> leads = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            leads.add(TestDataBuilder.defaultLead().leadId("batch" + i).build());
+        }
+
+        assertSame(leads, repository.saveAll(leads));
+        restart();
+
+        assertEquals(500, repository.findByDealerId("dealer123").size());
+        assertEquals(leads.get(499), repository.findByIdAndDealerId("batch499", "dealer123").orElseThrow());
+    }
+
+    @Test
+    void shouldRecoverLatestVersionAndRebuildIndexes() throws IOException {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").source(LeadSource.WALKIN).build());
+        repository.save(TestDataBuilder.defaultLead().leadId("lead2").source(LeadSource.PHONE).build());
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").source(LeadSource.REFERRAL)
+                .state(LeadState.CONTACTED).build());
+
+        restart();
+
+        assertEquals(LeadState.CONTACTED, repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow().getState());
+        assertEquals(1, repository.countByDealerIdAndState("dealer123", LeadState.NEW));
+        assertEquals("lead1", repository.findByDealerIdOrderByScore("dealer123", 1).get(0).getLeadId());
+    }
+
+    @Test
+    void shouldRecoverVersionOfVersionedSaves() throws IOException {
+        Lead lead = TestDataBuilder.defaultLead().leadId("lead1").build();
+        assertTrue(repository.saveIfVersion(lead, 0));
+        Lead contacted = TestDataBuilder.defaultLead().leadId("lead1").state(LeadState.CONTACTED).build();
+        assertTrue(repository.saveIfVersion(contacted, 1));
+        assertFalse(repository.saveIfVersion(TestDataBuilder.defaultLead().leadId("lead1").build(), 1));
+
+        restart();
+
+        Lead recovered = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+        assertEquals(2, recovered.getVersion());
+        assertEquals(LeadState.CONTACTED, recovered.getState());
+    }
+
+    @Test
+    void shouldNotPublishWritesThatFailedToPersist() throws IOException {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        List<String> published = new ArrayList<>();
+        repository.addSaveListener(lead -> published.add(lead.getLeadId()));
+        boolean[] committed = new boolean[1];
+        // A closed log fails every append
+        repository.close();
+
+        Lead contacted = TestDataBuilder.defaultLead().leadId("lead1").state(LeadState.CONTACTED).build();
+        assertThrows(IllegalStateException.class, () -> repository.saveIfVersion(contacted, 1, () -> committed[0] = true));
+        assertThrows(IllegalStateException.class,
+                () -> repository.save(TestDataBuilder.defaultLead().leadId("lead2").build()));
+        assertThrows(IllegalStateException.class,
+                () -> repository.saveAll(List.of(TestDataBuilder.defaultLead().leadId("lead3").build())));
+
+        assertFalse(committed[0]);
+        assertEquals(0, contacted.getVersion());
+        assertTrue(published.isEmpty());
+        Lead stored = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+        assertEquals(LeadState.NEW, stored.getState());
+        assertEquals(1, stored.getVersion());
+        assertEquals(1, repository.findByDealerId("dealer123").size());
+        repository = open();
+    }
+
+    @Test
+    void shouldGiveEachRepeatOfALeadInABatchItsOwnVersion() throws IOException {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+
+        repository.saveAll(List.of(
+                TestDataBuilder.defaultLead().leadId("lead1").state(LeadState.CONTACTED).build(),
+                TestDataBuilder.defaultLead().leadId("lead1").state(LeadState.QUALIFIED).build()));
+        restart();
+
+        Lead recovered = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+        assertEquals(3, recovered.getVersion());
+        assertEquals(LeadState.QUALIFIED, recovered.getState());
+    }
+
+    @Test
+    void shouldCommitOnlyLeadsWhoseVersionMatchesInABatch() throws IOException {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        repository.save(TestDataBuilder.defaultLead().leadId("lead2").build());
+        List<Integer> committed = new ArrayList<>();
+
+        boolean[] saved = repository.saveAllIfVersion(List.of(
+                TestDataBuilder.defaultLead().leadId("lead1").state(LeadState.CONTACTED).build(),
+                TestDataBuilder.defaultLead().leadId("lead2").state(LeadState.CONTACTED).build(),
+                TestDataBuilder.defaultLead().leadId("lead3").state(LeadState.CONTACTED).build()
+        ), new long[]{1, 0, 0}, committed::add);
+
+        assertArrayEquals(new boolean[]{true, false, true}, saved);
+        assertEquals(List.of(0, 2), committed);
+        restart();
+        assertEquals(2, repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow().getVersion());
+        assertEquals(LeadState.NEW, repository.findByIdAndDealerId("lead2", "dealer123").orElseThrow().getState());
+        assertEquals(1, repository.findByIdAndDealerId("lead3", "dealer123").orElseThrow().getVersion());
+    }
+
+    @Test
+    void shouldRecoverFromSnapshotPlusLogTail() throws IOException {
+        repository.save(TestDataBuilder.defaultLead().leadId("beforeSnapshot").build());
+        repository.snapshot();
+        repository.save(TestDataBuilder.defaultLead().leadId("afterSnapshot").build());
+
+        restart();
+
+        assertTrue(repository.findByIdAndDealerId("beforeSnapshot", "dealer123").isPresent());
+        assertTrue(repository.findByIdAndDealerId("afterSnapshot", "dealer123").isPresent());
+    }
+
+    @Test
+    void shouldTruncateLogSegmentsCoveredBySnapshot() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            repository.save(TestDataBuilder.defaultLead().leadId("lead" + i).build());
+        }
+
+        repository.snapshot();
+        repository.snapshot();
+
+        assertEquals(1, countFiles("snapshot-"));
+        assertEquals(1, countFiles("wal-"));
+        restart();
+        assertEquals(10, repository.findByDealerId("dealer123").size());
+    }
+
+    @Test
+    void shouldIgnoreTornRecordAtEndOfLog() throws IOException {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        repository.close();
+
+        Path lastSegment;
+        try (Stream<Path> files = Files.list(directory)) {
+            lastSegment = files.filter(f -> f.getFileName().toString().startsWith("wal-")).sorted()
+                    .reduce((a, b) -> b).orElseThrow();
+        }
+        // Length prefix of a record whose payload never made it to disk
+        Files.write(lastSegment, new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        repository = open();
+
+        assertTrue(repository.findByIdAndDealerId("lead1", "dealer123").isPresent());
+        repository.save(TestDataBuilder.defaultLead().leadId("lead2").build());
+        restart();
+        assertEquals(2, repository.findByDealerId("dealer123").size());
+    }
+
+    @Test
+    void shouldGroupCommitConcurrentSaves() throws IOException {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            futures.add(CompletableFuture.runAsync(() ->
+                    repository.save(TestDataBuilder.defaultLead().leadId("lead" + n).build())));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        restart();
+
+        assertEquals(200, repository.findByDealerId("dealer123").size());
+    }
+
+    private WriteAheadLogLeadRepository open() throws IOException {
+        return new WriteAheadLogLeadRepository(engine, directory.toString(), Duration.ZERO);
+    }
+
+    private void restart() throws IOException {
+        repository.close();
+        repository = open();
+    }
+
+    private long countFiles(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.tekion.demo.audit;
+
+import com.tekion.demo.lead.LeadState;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEntryCodecTest {
+
+    @Test
+    void shouldRoundTripFullEntry() throws IOException {
+        AuditEntry entry = AuditEntry.builder()
+                .leadId("lead1")
+                .fromState(LeadState.NEW)
+                .toState(LeadState.CONTACTED)
+                .actor("user1")
+                .reason("Initial contact")
+                .timestamp(ZonedDateTime.now(ZoneId.of("America/New_York")))
+                .build();
+
+        assertEquals(entry, roundTrip(entry));
+    }
+
+    @Test
+    void shouldRoundTripNullOptionalFields() throws IOException {
+        AuditEntry entry = AuditEntry.builder().leadId("lead1").build();
+
+        AuditEntry decoded = roundTrip(entry);
+
+        assertEquals(entry, decoded);
+        assertNull(decoded.getFromState());
+        assertNull(decoded.getReason());
+        assertNull(decoded.getTimestamp());
+    }
+
+    @Test
+    void shouldRoundTripFieldsLongerThan64Kb() throws IOException {
+        AuditEntry entry = AuditEntry.builder()
+                .leadId("lead1")
+                .reason("\u00e9".repeat(70_000))
+                .build();
+
+        assertEquals(entry, roundTrip(entry));
+    }
+
+    @Test
+    void shouldReadDroppedRecordAsNull() throws IOException {
+        byte[] dropped = {AuditEntryCodec.DROPPED};
+
+        assertNull(AuditEntryCodec.read(new DataInputStream(new ByteArrayInputStream(dropped))));
+    }
+
+    private static AuditEntry roundTrip(AuditEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AuditEntryCodec.write(new DataOutputStream(bytes), entry);
+        return AuditEntryCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
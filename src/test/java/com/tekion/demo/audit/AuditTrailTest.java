@@ -1,10 +1,20 @@
 package com.tekion.demo.audit;
 
 import com.tekion.demo.lead.LeadState;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,6 +30,11 @@ class AuditTrailTest {
         auditTrail = new AuditTrail();
     }
 
+    @AfterEach
+    void tearDown() throws IOException {
+        auditTrail.close();
+    }
+
     @Test
     void testLogStateTransition() {
         auditTrail.logStateTransition("lead1", LeadState.NEW, LeadState.CONTACTED, "user1", "Initial contact");
@@ -92,5 +107,222 @@ class AuditTrailTest {
         assertNotNull(history);
         assertTrue(history.isEmpty());
     }
-}
 
+    @Test
+    void testHistoryReadableAcrossSpilledSegments(@TempDir Path directory) throws Exception {
+        AuditTrail trail = new AuditTrail(directory, false, 4, 2);
+        try {
+            for (int i = 0; i < 50; i++) {
+                trail.logStateTransition("lead" + (i % 3), LeadState.NEW, LeadState.CONTACTED, "user" + (i % 2), "step " + i);
+            }
+            awaitSpilled(trail, 10);
+
+            List<AuditEntry> history = trail.getAuditHistory("lead1");
+            assertEquals(17, history.size());
+            for (int i = 0; i < history.size(); i++) {
+                assertEquals("step " + (1 + 3 * i), history.get(i).getReason());
+                assertEquals("lead1", history.get(i).getLeadId());
+                assertNotNull(history.get(i).getTimestamp());
+            }
+            assertEquals(50, trail.getAllAuditEntries().size());
+            assertEquals(25, trail.getAuditEntriesByActor("user0").size());
+            assertEquals(17, trail.getTransitionCount("lead1"));
+        } finally {
+            trail.close();
+        }
+    }
+
+    @Test
+    void testOversizedReasonSpillsWithoutBlockingWriters(@TempDir Path directory) throws Exception {
+        AuditTrail trail = new AuditTrail(directory, false, 2, 1);
+        String reason = "x".repeat(100_000);
+        try {
+            // One ring slot: the third entry waits until the first segment is on disk
+            trail.logStateTransition("lead1", LeadState.NEW, LeadState.CONTACTED, "user1", reason);
+            trail.logStateTransition("lead1", LeadState.CONTACTED, LeadState.QUALIFIED, "user1", "short");
+            trail.logStateTransition("lead1", LeadState.QUALIFIED, LeadState.CONVERTED, "user1", "done");
+            awaitSpilled(trail, 1);
+
+            List<AuditEntry> history = trail.getAuditHistory("lead1");
+            assertEquals(3, history.size());
+            assertEquals(reason, history.get(0).getReason());
+        } finally {
+            trail.close();
+        }
+    }
+
+    @Test
+    void testConcurrentWritersOnSameLeadKeepEveryEntry(@TempDir Path directory) throws Exception {
+        AuditTrail trail = new AuditTrail(directory, false, 16, 2);
+        int threads = 8;
+        int perThread = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    trail.logStateTransition("shared", LeadState.NEW, LeadState.CONTACTED, "worker" + worker, String.valueOf(i));
+                }
+            });
+            thread.start();
+            workers.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+
+        try {
+            List<AuditEntry> history = trail.getAuditHistory("shared");
+            assertEquals(threads * perThread, history.size());
+
+            // Each writer's own entries stay in the order it wrote them
+            int[] lastSeen = new int[threads];
+            Arrays.fill(lastSeen, -1);
+            for (AuditEntry entry : history) {
+                int worker = Integer.parseInt(entry.getActor().substring("worker".length()));
+                int step = Integer.parseInt(entry.getReason());
+                assertEquals(lastSeen[worker] + 1, step);
+                lastSeen[worker] = step;
+            }
+        } finally {
+            trail.close();
+        }
+    }
+
+    @Test
+    void testClearRemovesSpillFiles(@TempDir Path directory) throws Exception {
+        AuditTrail trail = new AuditTrail(directory, false, 2, 1);
+        try {
+            for (int i = 0; i < 10; i++) {
+                trail.logStateTransition("lead1", LeadState.NEW, LeadState.CONTACTED, "user1", "Contact");
+            }
+            awaitSpilled(trail, 5);
+
+            trail.clear();
+
+            assertEquals(0, trail.getTransitionCount("lead1"));
+            assertTrue(trail.getAllAuditEntries().isEmpty());
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(0, files.count());
+            }
+        } finally {
+            trail.close();
+        }
+    }
+
+    @Test
+    void testQueryPagesByActorNewestFirst(@TempDir Path directory) throws Exception {
+        AuditTrail trail = new AuditTrail(directory, false, 4, 2);
+        try {
+            for (int i = 0; i < 30; i++) {
+                trail.logStateTransition("lead" + i, LeadState.NEW, LeadState.CONTACTED, "user" + (i % 2), String.valueOf(i));
+            }
+            awaitSpilled(trail, 6);
+
+            List<String> reasons = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                AuditPage page = trail.query(AuditQuery.builder().actor("user1").cursor(cursor).limit(4).build());
+                page.getEntries().forEach(entry -> reasons.add(entry.getReason()));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertEquals(4, pages);
+            List<String> expected = new ArrayList<>();
+            for (int i = 29; i >= 0; i -= 2) {
+                expected.add(String.valueOf(i));
+            }
+            assertEquals(expected, reasons);
+        } finally {
+            trail.close();
+        }
+    }
+
+    @Test
+    void testQueryTimeRange() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            auditTrail.logStateTransition("lead" + i, LeadState.NEW, LeadState.CONTACTED, "user1", "before");
+        }
+        Thread.sleep(20);
+        Instant mark = Instant.now();
+        Thread.sleep(20);
+        for (int i = 0; i < 5; i++) {
+            auditTrail.logStateTransition("lead" + i, LeadState.CONTACTED, LeadState.QUALIFIED, "user2", "after");
+        }
+
+        AuditPage recent = auditTrail.query(AuditQuery.builder().from(mark).build());
+        assertEquals(5, recent.getEntries().size());
+        assertTrue(recent.getEntries().stream().allMatch(entry -> entry.getReason().equals("after")));
+        assertNull(recent.getNextCursor());
+
+        AuditPage older = auditTrail.query(AuditQuery.builder().to(mark).limit(6).build());
+        assertEquals(6, older.getEntries().size());
+        assertNotNull(older.getNextCursor());
+        AuditPage rest = auditTrail.query(AuditQuery.builder().to(mark).cursor(older.getNextCursor()).limit(6).build());
+        assertEquals(4, rest.getEntries().size());
+        assertNull(rest.getNextCursor());
+
+        AuditPage none = auditTrail.query(AuditQuery.builder().actor("user1").from(mark).build());
+        assertTrue(none.getEntries().isEmpty());
+    }
+
+    @Test
+    void testQueryRejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> auditTrail.query(AuditQuery.builder().cursor("not-a-cursor").build()));
+    }
+
+    @Test
+    void testBatchEntriesKeepReservationOrder() {
+        AuditTrail.Batch batch = auditTrail.newBatch();
+        batch.logStateTransition("lead1", LeadState.NEW, LeadState.CONTACTED, "job", "first");
+        auditTrail.logStateTransition("lead1", LeadState.CONTACTED, LeadState.QUALIFIED, "user1", "second");
+        batch.logStateTransition("lead1", LeadState.QUALIFIED, LeadState.CONVERTED, "job", "third");
+
+        // Nothing from the batch is visible before append
+        assertEquals(1, auditTrail.getAuditHistory("lead1").size());
+
+        auditTrail.append(batch);
+
+        List<AuditEntry> history = auditTrail.getAuditHistory("lead1");
+        assertEquals(List.of("first", "second", "third"), history.stream().map(AuditEntry::getReason).toList());
+        assertEquals(2, auditTrail.getAuditEntriesByActor("job").size());
+    }
+
+    @Test
+    void testBatchIsBoundedByTheRing(@TempDir Path directory) throws Exception {
+        AuditTrail trail = new AuditTrail(directory, false, 4, 2);
+        try {
+            assertEquals(8, trail.getMaxBatchSize());
+            AuditTrail.Batch batch = trail.newBatch();
+            for (int i = 0; i < 8; i++) {
+                batch.logStateTransition("lead" + i, LeadState.NEW, LeadState.LOST, "job", null);
+            }
+
+            assertThrows(IllegalStateException.class,
+                    () -> batch.logStateTransition("lead8", LeadState.NEW, LeadState.LOST, "job", null));
+            assertEquals(8, batch.size());
+            trail.append(batch);
+            assertEquals(8, trail.getAuditEntriesByActor("job").size());
+        } finally {
+            trail.close();
+        }
+    }
+
+    private static void awaitSpilled(AuditTrail trail, long segments) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (trail.getSpilledSegmentCount() < segments && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(trail.getSpilledSegmentCount() >= segments);
+    }
+}
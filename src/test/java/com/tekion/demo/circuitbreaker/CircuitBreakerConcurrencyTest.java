@@ -0,0 +1,144 @@
+package com.tekion.demo.circuitbreaker;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Thousands of threads hammering a single breaker
+ */
+class CircuitBreakerConcurrencyTest {
+
+    private static final int THREADS = 2000;
+
+    @Test
+    void testConcurrentFailuresOpenExactlyOnce() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(config().build());
+        Queue<CircuitBreakerEvent> events = new ConcurrentLinkedQueue<>();
+        breaker.addListener(events::add);
+
+        runConcurrently(() -> {
+            if (breaker.allowRequest()) {
+                breaker.recordFailure();
+            }
+        });
+
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        assertEquals(1, events.size());
+        assertEquals(CircuitBreakerState.CLOSED, events.peek().getFromState());
+    }
+
+    @Test
+    void testHalfOpenAdmitsExactlyPermittedTrialCalls() throws InterruptedException {
+        AtomicLong nanos = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(config().permittedTrialCalls(5).build(), nanos::get);
+        for (int i = 0; i < 100; i++) breaker.recordFailure();
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        Queue<CircuitBreakerEvent> events = new ConcurrentLinkedQueue<>();
+        breaker.addListener(events::add);
+        AtomicInteger admitted = new AtomicInteger();
+
+        runConcurrently(() -> {
+            if (breaker.allowRequest()) {
+                admitted.incrementAndGet();
+            }
+        });
+
+        assertEquals(5, admitted.get());
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void testMixedTrafficKeepsWindowCountsExact() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(config()
+                .windowSize(THREADS)
+                .minimumCalls(THREADS)
+                .failureRateThreshold(60)
+                .build());
+        AtomicInteger next = new AtomicInteger();
+
+        runConcurrently(() -> {
+            // Exactly half of the calls fail
+            if (next.getAndIncrement() % 2 == 0) breaker.recordFailure(); else breaker.recordSuccess();
+        });
+
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+        assertEquals(50.0, breaker.getFailureRate());
+    }
+
+    @Test
+    void testStateMachineOnlyMakesValidTransitions() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(config()
+                .openDuration(Duration.ofMillis(1))
+                .permittedTrialCalls(2)
+                .build());
+        Queue<CircuitBreakerEvent> events = new ConcurrentLinkedQueue<>();
+        breaker.addListener(events::add);
+        AtomicInteger next = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 20; i++) {
+                if (breaker.allowRequest()) {
+                    if (next.getAndIncrement() % 3 != 0) breaker.recordFailure(); else breaker.recordSuccess();
+                }
+            }
+        });
+
+        assertFalse(events.isEmpty());
+        for (CircuitBreakerEvent event : events) {
+            CircuitBreakerState from = event.getFromState();
+            CircuitBreakerState to = event.getToState();
+            boolean valid = (from == CircuitBreakerState.CLOSED && to == CircuitBreakerState.OPEN)
+                    || (from == CircuitBreakerState.OPEN && to == CircuitBreakerState.HALF_OPEN)
+                    || (from == CircuitBreakerState.HALF_OPEN && to != CircuitBreakerState.HALF_OPEN);
+            assertTrue(valid, "Invalid transition " + from + " -> " + to);
+        }
+    }
+
+    private static CircuitBreakerConfig.CircuitBreakerConfigBuilder config() {
+        return CircuitBreakerConfig.builder()
+                .windowSize(100)
+                .minimumCalls(20)
+                .failureRateThreshold(50)
+                .openDuration(Duration.ofSeconds(30))
+                .permittedTrialCalls(3);
+    }
+
+    private static void runConcurrently(Runnable task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (Throwable e) {
+                    errors.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        done.await();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(errors.isEmpty(), () -> "Worker failed: " + errors.peek());
+    }
+}
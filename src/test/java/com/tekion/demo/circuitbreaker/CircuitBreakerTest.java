@@ -4,6 +4,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -108,5 +111,127 @@ class CircuitBreakerTest {
         assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
         assertEquals(0, circuitBreaker.getFailureCount());
     }
-}
 
+    @Test
+    void testIntermittentSuccessDoesNotHideHighFailureRate() {
+        CircuitBreaker breaker = new CircuitBreaker(rateConfig().build());
+
+        // Alternating results never produce three consecutive failures but fail 50% of calls
+        for (int i = 0; i < 10; i++) {
+            assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+            if (i % 2 == 0) breaker.recordFailure(); else breaker.recordSuccess();
+        }
+
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testStaysClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(rateConfig().build());
+
+        for (int i = 0; i < 9; i++) {
+            breaker.recordFailure();
+        }
+
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+        assertEquals(100.0, breaker.getFailureRate());
+    }
+
+    @Test
+    void testCountWindowForgetsOldFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(rateConfig().build());
+
+        for (int i = 0; i < 4; i++) breaker.recordFailure();
+        for (int i = 0; i < 10; i++) breaker.recordSuccess();
+        for (int i = 0; i < 4; i++) breaker.recordFailure();
+
+        // Only the last 10 calls count: 4 failures out of 10
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+        assertEquals(40.0, breaker.getFailureRate());
+    }
+
+    @Test
+    void testOpensOnSlowCallRate() {
+        CircuitBreaker breaker = new CircuitBreaker(rateConfig()
+                .slowCallRateThreshold(60)
+                .slowCallDuration(Duration.ofMillis(500))
+                .build());
+
+        for (int i = 0; i < 10; i++) {
+            breaker.recordSuccess(Duration.ofMillis(i < 6 ? 800 : 10));
+        }
+
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        assertEquals(0, breaker.getFailureCount());
+    }
+
+    @Test
+    void testTimeWindowDropsExpiredBuckets() {
+        AtomicLong nanos = new AtomicLong(Duration.ofHours(1).toNanos());
+        CircuitBreaker breaker = new CircuitBreaker(rateConfig()
+                .windowType(CircuitBreakerConfig.WindowType.TIME_BASED)
+                .windowSize(5)
+                .build(), nanos::get);
+
+        for (int i = 0; i < 9; i++) breaker.recordFailure();
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        breaker.recordFailure();
+
+        // The first nine failures fell out of the 5 second window
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+
+        for (int i = 0; i < 9; i++) breaker.recordFailure();
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testHalfOpenAdmitsLimitedTrialCalls() {
+        AtomicLong nanos = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(rateConfig().build(), nanos::get);
+        for (int i = 0; i < 10; i++) breaker.recordFailure();
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+
+        breaker.recordSuccess();
+        breaker.recordSuccess();
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+        breaker.recordSuccess();
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+        assertEquals(0.0, breaker.getFailureRate());
+    }
+
+    @Test
+    void testPublishesStateChangeEvents() {
+        AtomicLong nanos = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(rateConfig().name("email").build(), nanos::get);
+        List<CircuitBreakerEvent> events = new ArrayList<>();
+        breaker.addListener(events::add);
+
+        for (int i = 0; i < 10; i++) breaker.recordFailure();
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        breaker.allowRequest();
+        breaker.recordFailure();
+        breaker.reset();
+
+        assertEquals(4, events.size());
+        assertEquals(CircuitBreakerState.OPEN, events.get(0).getToState());
+        assertEquals(CircuitBreakerState.HALF_OPEN, events.get(1).getToState());
+        assertEquals(CircuitBreakerState.OPEN, events.get(2).getToState());
+        assertEquals(CircuitBreakerState.CLOSED, events.get(3).getToState());
+        assertEquals(CircuitBreakerState.OPEN, events.get(3).getFromState());
+        assertEquals("email", events.get(0).getBreakerName());
+    }
+
+    private static CircuitBreakerConfig.CircuitBreakerConfigBuilder rateConfig() {
+        return CircuitBreakerConfig.builder()
+                .windowSize(10)
+                .minimumCalls(10)
+                .failureRateThreshold(50)
+                .openDuration(Duration.ofSeconds(30))
+                .permittedTrialCalls(3);
+    }
+}
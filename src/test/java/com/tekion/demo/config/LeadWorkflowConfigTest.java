@@ -0,0 +1,35 @@
+package com.tekion.demo.config;
+
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.LeadWorkflow;
+import com.tekion.demo.service.LeadWorkflowRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeadWorkflowConfigTest {
+
+    @Test
+    void shouldLoadWorkflowPerTenant() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("lead.workflow.tenant2.QUALIFIED", "CONTACTED,CONVERTED,LOST")
+                .withProperty("lead.workflow.tenant3.NEW", "QUALIFIED");
+
+        LeadWorkflowRegistry registry = new LeadWorkflowConfig().leadWorkflowRegistry(environment);
+
+        assertTrue(registry.forTenant("tenant2").canTransition(LeadState.QUALIFIED, LeadState.CONTACTED));
+        assertTrue(registry.forTenant("tenant3").canTransition(LeadState.NEW, LeadState.QUALIFIED));
+        assertFalse(registry.forTenant("tenant3").canTransition(LeadState.NEW, LeadState.CONTACTED));
+        assertSame(LeadWorkflow.STANDARD, registry.forTenant("tenant1"));
+        assertSame(LeadWorkflow.STANDARD, registry.forTenant(null));
+    }
+
+    @Test
+    void shouldUseStandardWorkflowWhenNothingConfigured() {
+        LeadWorkflowRegistry registry = new LeadWorkflowConfig().leadWorkflowRegistry(new MockEnvironment());
+
+        assertTrue(registry.getTenants().isEmpty());
+        assertSame(LeadWorkflow.STANDARD, registry.forTenant("tenant1"));
+    }
+}
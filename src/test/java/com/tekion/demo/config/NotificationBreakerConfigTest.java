@@ -0,0 +1,40 @@
+package com.tekion.demo.config;
+
+import com.tekion.demo.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationBreakerConfigTest {
+
+    @Test
+    void shouldBindEachChannelFromItsOwnProperties() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("notification.circuit-breaker.email.window-type", "TIME_BASED")
+                .withProperty("notification.circuit-breaker.email.window-size", "60")
+                .withProperty("notification.circuit-breaker.email.failure-rate-threshold", "25")
+                .withProperty("notification.circuit-breaker.email.slow-call-duration", "2s")
+                .withProperty("notification.circuit-breaker.email.permitted-trial-calls", "5")
+                .withProperty("notification.circuit-breaker.sms.open-duration", "PT1M");
+        NotificationBreakerConfig config = new NotificationBreakerConfig();
+
+        CircuitBreakerConfig email = config.emailCircuitBreakerConfig(environment);
+        CircuitBreakerConfig sms = config.smsCircuitBreakerConfig(environment);
+
+        assertEquals("email", email.getName());
+        assertEquals(CircuitBreakerConfig.WindowType.TIME_BASED, email.getWindowType());
+        assertEquals(60, email.getWindowSize());
+        assertEquals(25, email.getFailureRateThreshold());
+        assertEquals(Duration.ofSeconds(2), email.getSlowCallDuration());
+        assertEquals(5, email.getPermittedTrialCalls());
+
+        CircuitBreakerConfig defaults = CircuitBreakerConfig.builder().build();
+        assertEquals("sms", sms.getName());
+        assertEquals(Duration.ofMinutes(1), sms.getOpenDuration());
+        assertEquals(defaults.getWindowSize(), sms.getWindowSize());
+        assertEquals(defaults.getFailureRateThreshold(), sms.getFailureRateThreshold());
+    }
+}
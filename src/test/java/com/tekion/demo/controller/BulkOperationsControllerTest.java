@@ -0,0 +1,159 @@
+package com.tekion.demo.controller;
+
+import com.tekion.demo.TestDataBuilder;
+import com.tekion.demo.service.ImportPolicy;
+import com.tekion.demo.service.LeadImportResult;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadPage;
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.LeadSummary;
+import com.tekion.demo.port.LeadPersistencePort;
+import com.tekion.demo.scoring.rules.LeadScoringEngine;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BulkOperationsControllerTest {
+
+    @Autowired
+    private BulkOperationsController controller;
+
+    @Autowired
+    private LeadPersistencePort repository;
+
+    @Autowired
+    private LeadScoringEngine scoringEngine;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldStreamOneLinePerLeadAcrossPages() throws Exception {
+        // More than two pages, in every state and with no state at all
+        Map<String, Lead> saved = new HashMap<>();
+        for (int i = 0; i < 1203; i++) {
+            LeadState state = i < 1100 ? LeadState.NEW
+                    : i % 10 == 0 ? null : LeadState.values()[i % LeadState.values().length];
+            Lead lead = TestDataBuilder.defaultLead()
+                    .leadId(String.format("stream-%05d", i))
+                    .dealerId("dealer-stream")
+                    .state(state)
+                    .build();
+            repository.save(lead);
+            saved.put(lead.getLeadId(), lead);
+        }
+
+        ResponseEntity<StreamingResponseBody> response = controller.scoreBulkStream("dealer-stream");
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(1203, lines.length);
+        Map<String, Double> streamed = new HashMap<>();
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            streamed.put(node.get("leadId").asString(), node.get("totalScore").asDouble());
+            assertEquals(5, node.get("breakdown").size());
+        }
+        assertEquals(saved.keySet(), streamed.keySet());
+        saved.forEach((leadId, lead) ->
+                assertEquals(scoringEngine.score(lead).getTotalScore(), streamed.get(leadId), 0.0001));
+    }
+
+    @Test
+    void shouldStreamNothingForUnknownDealer() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        controller.scoreBulkStream("dealer-without-leads").getBody().writeTo(out);
+
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void shouldReturnScoreDistributionInTenPointBands() {
+        for (int i = 0; i < 7; i++) {
+            repository.save(TestDataBuilder.defaultLead()
+                    .leadId("distribution-" + i)
+                    .dealerId("dealer-distribution")
+                    .build());
+        }
+        Lead lead = repository.findByIdAndDealerId("distribution-0", "dealer-distribution").orElseThrow();
+        int band = (int) (scoringEngine.scoreTotalOnly(lead) / 10);
+
+        List<BulkOperationsController.ScoreBand> bands = controller.getScoreDistribution("dealer-distribution");
+
+        assertEquals(10, bands.size());
+        assertEquals(7, bands.get(band).getCount());
+        assertEquals(band * 10.0, bands.get(band).getMinScore());
+        assertEquals(100.0, bands.get(9).getMaxScore());
+        assertEquals(7, bands.stream().mapToInt(BulkOperationsController.ScoreBand::getCount).sum());
+    }
+
+    @Test
+    void shouldFilterInPagesWithSmallerSummaryView() {
+        for (int i = 0; i < 12; i++) {
+            repository.save(TestDataBuilder.defaultLead()
+                    .leadId(String.format("filter-%02d", i))
+                    .dealerId("dealer-filter")
+                    .build());
+        }
+
+        LeadPage<?> full = controller.filterByScore("dealer-filter", 0, null, 5, "full");
+        LeadPage<?> summary = controller.filterByScore("dealer-filter", 0, null, 5, "SUMMARY");
+        LeadPage<?> last = controller.filterByScore("dealer-filter", 0, full.getNextCursor(), 10, "full");
+
+        assertEquals(5, full.getLeads().size());
+        assertInstanceOf(Lead.class, full.getLeads().get(0));
+        assertInstanceOf(LeadSummary.class, summary.getLeads().get(0));
+        assertEquals(full.getNextCursor(), summary.getNextCursor());
+        assertEquals(7, last.getLeads().size());
+        assertNull(last.getNextCursor());
+        assertTrue(objectMapper.writeValueAsBytes(summary).length * 2 < objectMapper.writeValueAsBytes(full).length);
+        assertThrows(IllegalArgumentException.class, () -> controller.filterByScore("dealer-filter", 0, null, 5, "ids"));
+        assertThrows(IllegalArgumentException.class, () -> controller.filterByScore("dealer-filter", 0, "bogus", 5, "full"));
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.filterByScore("dealer-filter", 0, null, LeadView.MAX_LIMIT + 1, "full"));
+        assertEquals(HttpStatus.BAD_REQUEST,
+                controller.handleBadRequest(new IllegalArgumentException("Unknown lead view: ids")).getStatusCode());
+    }
+
+    @Test
+    void shouldImportWhatAnExportWrote() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            repository.save(TestDataBuilder.defaultLead()
+                    .leadId(String.format("export-%02d", i))
+                    .dealerId("dealer-export")
+                    .build());
+        }
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportLeads("dealer-export");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        LeadImportResult result = controller.importLeads(new ByteArrayInputStream(out.toByteArray()), ImportPolicy.OVERWRITE);
+        LeadImportResult again = controller.importLeads(new ByteArrayInputStream(out.toByteArray()), ImportPolicy.SKIP_EXISTING);
+
+        assertEquals("application/x-lead-records", response.getHeaders().getContentType().toString());
+        assertEquals(30, result.getImported());
+        assertTrue(result.isComplete());
+        assertEquals(0, again.getImported());
+        assertEquals(30, again.getConflicts());
+        assertEquals(30, repository.findByDealerId("dealer-export").size());
+    }
+}
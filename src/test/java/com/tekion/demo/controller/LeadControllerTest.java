@@ -1,12 +1,16 @@
 package com.tekion.demo.controller;
 
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadPage;
 import com.tekion.demo.lead.LeadSource;
 import com.tekion.demo.lead.valueObject.VehicleInterest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -145,11 +149,55 @@ class LeadControllerTest {
         }
 
         // List all leads for the dealer
-        List<Lead> leads = controller.listLeads(dealerId);
+        List<Lead> leads = controller.listLeads(dealerId, null, 100, "full").getLeads().stream()
+                .map(Lead.class::cast)
+                .toList();
 
         assertNotNull(leads);
         assertTrue(leads.size() >= 3);
         assertTrue(leads.stream().allMatch(l -> l.getDealerId().equals(dealerId)));
     }
-}
 
+    @Test
+    void shouldPageThroughDealerLeadsWithTheNextCursor() {
+        String dealerId = "dealer-cursor";
+        for (int i = 0; i < 5; i++) {
+            controller.createLead(Lead.builder()
+                    .dealerId(dealerId)
+                    .tenantId("tenant1")
+                    .siteId("site1")
+                    .firstName("Customer" + i)
+                    .lastName("Test")
+                    .source(LeadSource.WEBSITE)
+                    .vehicleInterest(new VehicleInterest("Toyota", "Camry", 2020, 5000.0))
+                    .build());
+        }
+
+        LeadPage<?> first = controller.listLeads(dealerId, null, 2, "full");
+        LeadPage<?> second = controller.listLeads(dealerId, first.getNextCursor(), 2, "full");
+        LeadPage<?> last = controller.listLeads(dealerId, second.getNextCursor(), 2, "full");
+
+        HashSet<String> ids = new HashSet<>();
+        for (LeadPage<?> page : List.of(first, second, last)) {
+            page.getLeads().forEach(l -> ids.add(((Lead) l).getLeadId()));
+        }
+        assertNotNull(first.getNextCursor());
+        assertEquals(1, last.getLeads().size());
+        assertNull(last.getNextCursor());
+        assertEquals(5, ids.size());
+    }
+
+    @Test
+    void shouldRejectBadCursorViewAndLimitAsBadRequest() {
+        IllegalArgumentException badCursor = assertThrows(IllegalArgumentException.class,
+                () -> controller.listLeads("dealer123", "not-a-cursor", 10, "full"));
+        assertThrows(IllegalArgumentException.class, () -> controller.listLeads("dealer123", null, 10, "ids"));
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.listLeads("dealer123", null, LeadView.MAX_LIMIT + 1, "full"));
+
+        ResponseEntity<String> response = controller.handleBadRequest(badCursor);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(badCursor.getMessage(), response.getBody());
+    }
+}
@@ -0,0 +1,40 @@
+package com.tekion.demo.controller;
+
+import com.tekion.demo.audit.AuditPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class LeadStateControllerTest {
+
+    @Autowired
+    private LeadStateController controller;
+
+    @Test
+    void shouldQueryAuditWithinIsoDuration() {
+        AuditPage page = controller.queryAudit("nobody", null, "2100-01-01T00:00:00Z", "PT1H", null, 10);
+
+        assertNotNull(page);
+        assertTrue(page.getEntries().isEmpty());
+    }
+
+    @Test
+    void shouldRejectMalformedAuditTimesAsBadRequest() {
+        IllegalArgumentException badFrom = assertThrows(IllegalArgumentException.class,
+                () -> controller.queryAudit(null, "yesterday", null, null, null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.queryAudit(null, null, "2024-13-01", null, null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.queryAudit(null, null, null, "1h", null, 10));
+
+        ResponseEntity<String> response = controller.handleBadRequest(badFrom);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid from instant: yesterday", response.getBody());
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.EnumSet;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class LeadStateTest {
@@ -69,5 +71,18 @@ class LeadStateTest {
         assertFalse(LeadState.LOST.canTransitionTo(LeadState.QUALIFIED));
         assertFalse(LeadState.LOST.canTransitionTo(LeadState.CONVERTED));
     }
-}
 
+    @Test
+    void shouldListAllowedNextStates() {
+        assertEquals(EnumSet.of(LeadState.CONTACTED, LeadState.LOST), LeadState.NEW.allowedNextStates());
+        assertEquals(EnumSet.of(LeadState.QUALIFIED, LeadState.LOST), LeadState.CONTACTED.allowedNextStates());
+        assertEquals(EnumSet.of(LeadState.CONVERTED, LeadState.LOST), LeadState.QUALIFIED.allowedNextStates());
+        assertTrue(LeadState.CONVERTED.allowedNextStates().isEmpty());
+        assertTrue(LeadState.LOST.allowedNextStates().isEmpty());
+    }
+
+    @Test
+    void shouldNotAllowTransitionToNull() {
+        assertFalse(LeadState.NEW.canTransitionTo(null));
+    }
+}
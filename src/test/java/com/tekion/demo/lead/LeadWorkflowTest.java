@@ -0,0 +1,68 @@
+package com.tekion.demo.lead;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeadWorkflowTest {
+
+    @Test
+    void standardWorkflowShouldMatchLeadState() {
+        for (LeadState from : LeadState.values()) {
+            for (LeadState to : LeadState.values()) {
+                assertEquals(from.canTransitionTo(to), LeadWorkflow.STANDARD.canTransition(from, to),
+                        from + " -> " + to);
+            }
+            assertEquals(from.allowedNextStates(), LeadWorkflow.STANDARD.allowedNextStates(from));
+            assertEquals(from.isTerminal(), LeadWorkflow.STANDARD.isTerminal(from));
+        }
+    }
+
+    @Test
+    void shouldReplaceOnlyListedRows() {
+        Map<String, String> rows = new LinkedHashMap<>();
+        rows.put("qualified", "CONTACTED, CONVERTED,LOST");
+        rows.put("NEW", "");
+
+        LeadWorkflow workflow = LeadWorkflow.parse(rows);
+
+        assertTrue(workflow.canTransition(LeadState.QUALIFIED, LeadState.CONTACTED));
+        assertEquals(EnumSet.of(LeadState.CONTACTED, LeadState.CONVERTED, LeadState.LOST),
+                workflow.allowedNextStates(LeadState.QUALIFIED));
+        assertTrue(workflow.allowedNextStates(LeadState.NEW).isEmpty());
+        assertTrue(workflow.isTerminal(LeadState.NEW));
+        assertFalse(workflow.isTerminal(LeadState.QUALIFIED));
+        assertFalse(workflow.canTransition(LeadState.NEW, LeadState.CONTACTED));
+        assertEquals(LeadState.CONTACTED.allowedNextStates(), workflow.allowedNextStates(LeadState.CONTACTED));
+
+        // The shared standard workflow is untouched
+        assertFalse(LeadWorkflow.STANDARD.canTransition(LeadState.QUALIFIED, LeadState.CONTACTED));
+    }
+
+    @Test
+    void shouldRejectUnknownStates() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> LeadWorkflow.parse(Map.of("NEW", "CONTACTED,CALLED")));
+        assertTrue(e.getMessage().contains("CALLED"));
+    }
+
+    @Test
+    void shouldRejectNullStates() {
+        assertFalse(LeadWorkflow.STANDARD.canTransition(null, LeadState.CONTACTED));
+        assertFalse(LeadWorkflow.STANDARD.canTransition(LeadState.NEW, null));
+        assertTrue(LeadWorkflow.STANDARD.allowedNextStates(null).isEmpty());
+        assertFalse(LeadWorkflow.STANDARD.isTerminal(null));
+    }
+
+    @Test
+    void allowedNextStatesShouldBeReadOnly() {
+        Set<LeadState> next = LeadWorkflow.STANDARD.allowedNextStates(LeadState.NEW);
+        assertThrows(UnsupportedOperationException.class, () -> next.add(LeadState.CONVERTED));
+        assertSame(next, LeadWorkflow.STANDARD.allowedNextStates(LeadState.NEW));
+    }
+}
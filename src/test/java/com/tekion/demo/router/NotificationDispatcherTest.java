@@ -0,0 +1,250 @@
+package com.tekion.demo.router;
+
+import com.tekion.demo.TestDataBuilder;
+import com.tekion.demo.notification.Notification;
+import com.tekion.demo.notification.NotificationResult;
+import com.tekion.demo.notification.NotificationType;
+import com.tekion.demo.port.NotificationPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    private final GatedPort port = new GatedPort();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        port.open();
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReturnBeforeSlowDeliveryCompletes() throws Exception {
+        dispatcher = new NotificationDispatcher(port, 10, 1, OverflowPolicy.BLOCK, Duration.ofMillis(50), 1, Duration.ZERO);
+
+        CompletableFuture<NotificationResult> result = dispatcher.dispatch(notification("lead-1"));
+
+        assertTrue(port.awaitEntered());
+        assertFalse(result.isDone());
+        port.open();
+        assertTrue(result.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(1, dispatcher.getMetrics().getDelivered());
+    }
+
+    @Test
+    void shouldDropNewestWhenFull() throws Exception {
+        dispatcher = new NotificationDispatcher(port, 2, 1, OverflowPolicy.DROP_NEWEST, Duration.ZERO, 1, Duration.ZERO);
+        CompletableFuture<NotificationResult> inFlight = dispatcher.dispatch(notification("lead-0"));
+        assertTrue(port.awaitEntered());
+
+        CompletableFuture<NotificationResult> first = dispatcher.dispatch(notification("lead-1"));
+        CompletableFuture<NotificationResult> second = dispatcher.dispatch(notification("lead-2"));
+        CompletableFuture<NotificationResult> overflow = dispatcher.dispatch(notification("lead-3"));
+
+        assertTrue(overflow.isDone());
+        assertFalse(overflow.join().isSuccess());
+        assertTrue(overflow.join().getMessage().contains("queue is full"));
+        DispatchMetrics metrics = dispatcher.getMetrics();
+        assertEquals(2, metrics.getQueueDepth());
+        assertEquals(1, metrics.getDropped());
+
+        port.open();
+        assertTrue(inFlight.get(5, TimeUnit.SECONDS).isSuccess());
+        assertTrue(first.get(5, TimeUnit.SECONDS).isSuccess());
+        assertTrue(second.get(5, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    void shouldDropOldestWhenFull() throws Exception {
+        dispatcher = new NotificationDispatcher(port, 2, 1, OverflowPolicy.DROP_OLDEST, Duration.ZERO, 1, Duration.ZERO);
+        dispatcher.dispatch(notification("lead-0"));
+        assertTrue(port.awaitEntered());
+
+        CompletableFuture<NotificationResult> oldest = dispatcher.dispatch(notification("lead-1"));
+        CompletableFuture<NotificationResult> second = dispatcher.dispatch(notification("lead-2"));
+        CompletableFuture<NotificationResult> newest = dispatcher.dispatch(notification("lead-3"));
+
+        assertTrue(oldest.isDone());
+        assertFalse(oldest.join().isSuccess());
+        port.open();
+        assertTrue(second.get(5, TimeUnit.SECONDS).isSuccess());
+        assertTrue(newest.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(List.of("lead-0", "lead-2", "lead-3"), port.recipients());
+    }
+
+    @Test
+    void shouldDropAfterBlockingForOfferTimeout() throws Exception {
+        dispatcher = new NotificationDispatcher(port, 1, 1, OverflowPolicy.BLOCK, Duration.ofMillis(100), 1, Duration.ZERO);
+        dispatcher.dispatch(notification("lead-0"));
+        assertTrue(port.awaitEntered());
+        dispatcher.dispatch(notification("lead-1"));
+
+        long started = System.nanoTime();
+        CompletableFuture<NotificationResult> overflow = dispatcher.dispatch(notification("lead-2"));
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue(waitedMs >= 90, "waited " + waitedMs + " ms");
+        assertFalse(overflow.join().isSuccess());
+        assertEquals(1, dispatcher.getMetrics().getDropped());
+    }
+
+    @Test
+    void shouldDeliverEverythingInBatches() throws Exception {
+        port.open();
+        dispatcher = new NotificationDispatcher(port, 100, 2, OverflowPolicy.BLOCK, Duration.ofMillis(50), 5, Duration.ofMillis(20));
+
+        List<CompletableFuture<NotificationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            results.add(dispatcher.dispatch(notification("lead-" + i)));
+        }
+        for (CompletableFuture<NotificationResult> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS).isSuccess());
+        }
+
+        DispatchMetrics metrics = dispatcher.getMetrics();
+        assertEquals(23, metrics.getEnqueued());
+        assertEquals(23, metrics.getDelivered());
+        assertEquals(0, metrics.getQueueDepth());
+        assertTrue(metrics.getMaxLagMs() >= 0);
+    }
+
+    @Test
+    void shouldHandOverBatchesWithOneSendBatchCall() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        NotificationPort batching = new NotificationPort() {
+            @Override
+            public NotificationResult send(Notification notification) {
+                return sendBatch(List.of(notification)).get(0);
+            }
+
+            @Override
+            public List<NotificationResult> sendBatch(List<Notification> notifications) {
+                synchronized (batchSizes) {
+                    batchSizes.add(notifications.size());
+                }
+                List<NotificationResult> results = new ArrayList<>();
+                notifications.forEach(n -> results.add(NotificationResult.builder().success(true).message("sent").build()));
+                return results;
+            }
+
+            @Override
+            public boolean supports(NotificationType type) {
+                return true;
+            }
+        };
+        dispatcher = new NotificationDispatcher(batching, 100, 1, OverflowPolicy.BLOCK, Duration.ZERO, 10, Duration.ofSeconds(1));
+
+        List<CompletableFuture<NotificationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(dispatcher.dispatch(notification("lead-" + i)));
+        }
+        for (CompletableFuture<NotificationResult> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS).isSuccess());
+        }
+
+        synchronized (batchSizes) {
+            assertEquals(10, batchSizes.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(batchSizes.stream().anyMatch(size -> size > 1), "sizes " + batchSizes);
+        }
+    }
+
+    @Test
+    void shouldCountAdapterExceptionsAsFailures() throws Exception {
+        NotificationPort throwing = new NotificationPort() {
+            @Override
+            public NotificationResult send(Notification notification) {
+                throw new IllegalStateException("smtp down");
+            }
+
+            @Override
+            public boolean supports(NotificationType type) {
+                return true;
+            }
+        };
+        dispatcher = new NotificationDispatcher(throwing, 10, 1, OverflowPolicy.BLOCK, Duration.ZERO, 1, Duration.ZERO);
+
+        NotificationResult result = dispatcher.dispatch(notification("lead-1")).get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getMessage().contains("smtp down"));
+        assertEquals(1, dispatcher.getMetrics().getFailed());
+    }
+
+    @Test
+    void shouldDrainQueueOnShutdownAndRejectAfterwards() throws Exception {
+        port.open();
+        dispatcher = new NotificationDispatcher(port, 100, 1, OverflowPolicy.BLOCK, Duration.ZERO, 1, Duration.ZERO);
+        List<CompletableFuture<NotificationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(dispatcher.dispatch(notification("lead-" + i)));
+        }
+
+        dispatcher.shutdown();
+
+        for (CompletableFuture<NotificationResult> result : results) {
+            assertTrue(result.isDone());
+            assertTrue(result.join().isSuccess());
+        }
+        assertFalse(dispatcher.dispatch(notification("lead-late")).join().isSuccess());
+    }
+
+    private static Notification notification(String recipient) {
+        return TestDataBuilder.defaultNotification()
+                .recipient(recipient)
+                .build();
+    }
+
+    /**
+     * Delivery port that holds every send until opened
+     */
+    private static class GatedPort implements NotificationPort {
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final List<String> recipients = new ArrayList<>();
+
+        @Override
+        public NotificationResult send(Notification notification) {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (recipients) {
+                recipients.add(notification.getRecipient());
+            }
+            return NotificationResult.builder().success(true).message("sent").build();
+        }
+
+        @Override
+        public boolean supports(NotificationType type) {
+            return true;
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        boolean awaitEntered() throws InterruptedException {
+            return entered.await(5, TimeUnit.SECONDS);
+        }
+
+        List<String> recipients() {
+            synchronized (recipients) {
+                return new ArrayList<>(recipients);
+            }
+        }
+    }
+}
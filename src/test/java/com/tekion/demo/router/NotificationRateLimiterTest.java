@@ -0,0 +1,215 @@
+package com.tekion.demo.router;
+
+import com.tekion.demo.notification.NotificationType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationRateLimiterTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-10T08:00:00Z"));
+
+    private NotificationRateLimiter limiter(int emailLimit, int smsLimit) {
+        return new NotificationRateLimiter(Map.of(NotificationType.EMAIL, emailLimit, NotificationType.SMS, smsLimit),
+                Duration.ofDays(1), Duration.ZERO, clock);
+    }
+
+    @Test
+    void shouldAllowUpToLimitPerRecipient() {
+        NotificationRateLimiter limiter = limiter(3, 3);
+
+        assertTrue(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+        assertTrue(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+        assertTrue(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+        assertFalse(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+
+        assertTrue(limiter.tryAcquire(NotificationType.EMAIL, "lead-2"));
+        assertEquals(0, limiter.remaining(NotificationType.EMAIL, "lead-1"));
+        assertEquals(2, limiter.remaining(NotificationType.EMAIL, "lead-2"));
+    }
+
+    @Test
+    void shouldApplyLimitsPerNotificationType() {
+        NotificationRateLimiter limiter = limiter(1, 2);
+
+        assertTrue(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+        assertFalse(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+        assertTrue(limiter.tryAcquire(NotificationType.SMS, "lead-1"));
+        assertTrue(limiter.tryAcquire(NotificationType.SMS, "lead-1"));
+        assertFalse(limiter.tryAcquire(NotificationType.SMS, "lead-1"));
+    }
+
+    @Test
+    void shouldResetAtNextCalendarDay() {
+        NotificationRateLimiter limiter = limiter(1, 1);
+        assertTrue(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+        assertFalse(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+
+        clock.set(Instant.parse("2026-03-10T23:59:59Z"));
+        assertFalse(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+
+        clock.set(Instant.parse("2026-03-11T00:00:00Z"));
+        assertTrue(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+    }
+
+    @Test
+    void shouldGrantPartOfABulkRequest() {
+        NotificationRateLimiter limiter = limiter(3, 3);
+        assertTrue(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+
+        assertEquals(2, limiter.tryAcquire(NotificationType.EMAIL, "lead-1", 5));
+        assertEquals(0, limiter.tryAcquire(NotificationType.EMAIL, "lead-1", 5));
+
+        limiter.release(NotificationType.EMAIL, "lead-1", 2);
+        assertEquals(2, limiter.remaining(NotificationType.EMAIL, "lead-1"));
+    }
+
+    @Test
+    void shouldReturnReleasedSend() {
+        NotificationRateLimiter limiter = limiter(1, 1);
+        assertTrue(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+
+        limiter.release(NotificationType.EMAIL, "lead-1");
+
+        assertTrue(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+        assertFalse(limiter.tryAcquire(NotificationType.EMAIL, "lead-1"));
+    }
+
+    @Test
+    void shouldEvictOnlyExpiredWindows() {
+        NotificationRateLimiter limiter = limiter(3, 3);
+        limiter.tryAcquire(NotificationType.EMAIL, "lead-1");
+        limiter.tryAcquire(NotificationType.SMS, "lead-2");
+
+        clock.set(Instant.parse("2026-03-11T09:00:00Z"));
+        limiter.tryAcquire(NotificationType.EMAIL, "lead-3");
+        limiter.evictExpired();
+
+        assertEquals(1, limiter.trackedRecipients());
+        assertEquals(2, limiter.remaining(NotificationType.EMAIL, "lead-3"));
+        assertEquals(3, limiter.remaining(NotificationType.EMAIL, "lead-1"));
+    }
+
+    @Test
+    void shouldStayExactUnder64ConcurrentSenders() throws Exception {
+        int limit = 3;
+        int recipients = 50;
+        NotificationRateLimiter limiter = limiter(limit, limit);
+        AtomicInteger granted = new AtomicInteger();
+        ConcurrentHashMap<String, AtomicInteger> perRecipient = new ConcurrentHashMap<>();
+
+        runConcurrently(64, 2_000, (thread, i) -> {
+            String recipient = "lead-" + (i % recipients);
+            if (limiter.tryAcquire(NotificationType.EMAIL, recipient)) {
+                granted.incrementAndGet();
+                perRecipient.computeIfAbsent(recipient, k -> new AtomicInteger()).incrementAndGet();
+            }
+        });
+
+        assertEquals(limit * recipients, granted.get());
+        perRecipient.values().forEach(count -> assertEquals(limit, count.get()));
+    }
+
+    @Test
+    void shouldStayExactWhileEvictingConcurrently() throws Exception {
+        int recipients = 200;
+        NotificationRateLimiter limiter = limiter(2, 2);
+        // Fill yesterday's window so every counter is an eviction candidate
+        for (int i = 0; i < recipients; i++) {
+            limiter.tryAcquire(NotificationType.EMAIL, "lead-" + i);
+        }
+        clock.set(Instant.parse("2026-03-11T08:00:00Z"));
+
+        AtomicInteger granted = new AtomicInteger();
+        Thread evictor = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                limiter.evictExpired();
+            }
+        });
+        evictor.start();
+        try {
+            runConcurrently(64, 1_000, (thread, i) -> {
+                if (limiter.tryAcquire(NotificationType.EMAIL, "lead-" + (i % recipients))) {
+                    granted.incrementAndGet();
+                }
+            });
+        } finally {
+            evictor.interrupt();
+            evictor.join();
+        }
+
+        assertEquals(2 * recipients, granted.get());
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new NotificationRateLimiter(
+                Map.of(NotificationType.EMAIL, 3), Duration.ofDays(1), Duration.ZERO, clock));
+        assertThrows(IllegalArgumentException.class, () -> new NotificationRateLimiter(
+                Map.of(NotificationType.EMAIL, 3, NotificationType.SMS, 3), Duration.ZERO, Duration.ZERO, clock));
+    }
+
+    private static void runConcurrently(int threads, int operationsPerThread, Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < operationsPerThread; i++) {
+                    operation.run(thread, thread * operationsPerThread + i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int thread, int index);
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -11,8 +11,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,8 +29,8 @@ class NotificationRouterTest {
 
     @BeforeEach
     void setUp() {
-        emailAdapter = new EmailNotificationAdapter();
-        smsAdapter = new SmsNotificationAdapter();
+        emailAdapter = new EmailNotificationAdapter(0.0);
+        smsAdapter = new SmsNotificationAdapter(0.0);
         router = new NotificationRouter(Arrays.asList(emailAdapter, smsAdapter));
     }
 
@@ -152,5 +155,120 @@ class NotificationRouterTest {
         assertFalse(result.isSuccess());
         assertTrue(result.getMessage().contains("failed"));
     }
-}
 
+    @Test
+    void shouldNotCountFailedSendsAgainstRateLimit() {
+        NotificationPort flakyAdapter = mock(NotificationPort.class);
+        when(flakyAdapter.supports(NotificationType.EMAIL)).thenReturn(true);
+        when(flakyAdapter.send(any())).thenReturn(
+                NotificationResult.builder().success(false).message("Adapter failed").build(),
+                NotificationResult.builder().success(true).message("Email sent").build());
+
+        NotificationRouter testRouter = new NotificationRouter(List.of(flakyAdapter));
+        Notification notification = TestDataBuilder.createNotificationWithType(NotificationType.EMAIL);
+
+        assertFalse(testRouter.send(notification).isSuccess());
+        assertTrue(testRouter.send(notification).isSuccess());
+        assertTrue(testRouter.send(notification).isSuccess());
+        assertTrue(testRouter.send(notification).isSuccess());
+        assertTrue(testRouter.send(notification).getMessage().contains("Rate limit exceeded"));
+    }
+
+    @Test
+    void shouldDeliverExactlyLimitUnderConcurrentSenders() throws Exception {
+        AtomicInteger delivered = new AtomicInteger();
+        NotificationPort countingAdapter = mock(NotificationPort.class);
+        when(countingAdapter.supports(NotificationType.EMAIL)).thenReturn(true);
+        when(countingAdapter.send(any())).thenAnswer(invocation -> {
+            delivered.incrementAndGet();
+            return NotificationResult.builder().success(true).message("Email sent").build();
+        });
+        NotificationRouter testRouter = new NotificationRouter(List.of(countingAdapter));
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 64; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    testRouter.send(Notification.builder()
+                            .recipient("lead-" + (i % 10))
+                            .message("Test")
+                            .type(NotificationType.EMAIL)
+                            .build());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(30, delivered.get());
+    }
+
+    @Test
+    void shouldRateLimitBatchPerRecipient() {
+        List<Notification> batch = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            batch.add(Notification.builder().recipient("lead-1").message("Test").type(NotificationType.EMAIL).build());
+        }
+        batch.add(Notification.builder().recipient("lead-2").message("Test").type(NotificationType.SMS).build());
+        batch.add(Notification.builder().recipient("lead-2").message("Test").type(NotificationType.EMAIL).build());
+
+        List<NotificationResult> results = router.sendBatch(batch);
+
+        assertEquals(7, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        assertTrue(results.get(2).isSuccess());
+        assertTrue(results.get(3).getMessage().contains("Rate limit exceeded"));
+        assertTrue(results.get(4).getMessage().contains("Rate limit exceeded"));
+        assertEquals("SMS sent successfully", results.get(5).getMessage());
+        assertEquals("Email sent successfully", results.get(6).getMessage());
+    }
+
+    @Test
+    void shouldFallBackToNextAdapterForUndeliveredBatchItems() {
+        NotificationPort partialAdapter = mock(NotificationPort.class);
+        NotificationPort backupAdapter = mock(NotificationPort.class);
+        when(partialAdapter.supports(NotificationType.EMAIL)).thenReturn(true);
+        when(backupAdapter.supports(NotificationType.EMAIL)).thenReturn(true);
+        NotificationResult sent = NotificationResult.builder().success(true).message("sent").build();
+        NotificationResult failed = NotificationResult.builder().success(false).message("bounced").build();
+        when(partialAdapter.sendBatch(any())).thenReturn(List.of(sent, failed, sent));
+        when(backupAdapter.sendBatch(any())).thenReturn(List.of(sent));
+
+        NotificationRouter testRouter = new NotificationRouter(List.of(partialAdapter, backupAdapter));
+        List<Notification> batch = List.of(
+                TestDataBuilder.defaultNotification().recipient("lead-1").build(),
+                TestDataBuilder.defaultNotification().recipient("lead-2").build(),
+                TestDataBuilder.defaultNotification().recipient("lead-3").build());
+
+        List<NotificationResult> results = testRouter.sendBatch(batch);
+
+        assertTrue(results.stream().allMatch(NotificationResult::isSuccess));
+        verify(backupAdapter).sendBatch(List.of(batch.get(1)));
+    }
+
+    @Test
+    void shouldReleaseRateLimitForUndeliveredBatchItems() {
+        NotificationPort failingAdapter = mock(NotificationPort.class);
+        when(failingAdapter.supports(NotificationType.EMAIL)).thenReturn(true);
+        when(failingAdapter.sendBatch(any())).thenThrow(new RuntimeException("Connection error"));
+        NotificationRateLimiter limiter = spy(NotificationRateLimiter.daily(3));
+
+        NotificationRouter testRouter = new NotificationRouter(List.of(failingAdapter), limiter);
+        List<NotificationResult> results = testRouter.sendBatch(List.of(
+                TestDataBuilder.defaultNotification().recipient("lead-1").build(),
+                TestDataBuilder.defaultNotification().recipient("lead-1").build()));
+
+        assertTrue(results.stream().allMatch(result -> result.getMessage().contains("Connection error")));
+        assertEquals(3, limiter.remaining(NotificationType.EMAIL, "lead-1"));
+        verify(limiter).release(NotificationType.EMAIL, "lead-1", 2);
+        verify(limiter, never()).release(NotificationType.EMAIL, "lead-1");
+    }
+}
@@ -10,7 +10,9 @@ import org.junit.jupiter.api.Test;
 
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -128,5 +130,70 @@ class LeadScoringEngineTest {
         
         assertEquals(expectedTotal, result.getTotalScore(), 0.01);
     }
-}
 
+    @Test
+    void shouldMatchFullScoreWhenScoringTotalOnly() {
+        int currentYear = ZonedDateTime.now().getYear();
+        List<Lead> leads = List.of(
+                TestDataBuilder.defaultLead().build(),
+                TestDataBuilder.defaultLead()
+                        .source(LeadSource.REFERRAL)
+                        .vehicleInterest(new com.tekion.demo.lead.valueObject.VehicleInterest("Honda", "Civic", currentYear - 9, 22000.0))
+                        .createdAt(ZonedDateTime.now().minusDays(3))
+                        .build(),
+                TestDataBuilder.defaultLead()
+                        .source(LeadSource.WALKIN)
+                        .vehicleInterest(new com.tekion.demo.lead.valueObject.VehicleInterest("Ford", "F-150", currentYear, 0.0))
+                        .createdAt(ZonedDateTime.now().minusMonths(4))
+                        .build()
+        );
+
+        for (Lead lead : leads) {
+            // Same summation order, so the values must be bit-for-bit equal
+            assertEquals(engine.score(lead).getTotalScore(), engine.scoreTotalOnly(lead));
+        }
+    }
+
+    @Test
+    void shouldMatchPerRuleBreakdown() {
+        Lead lead = TestDataBuilder.defaultLead()
+                .source(LeadSource.REFERRAL)
+                .createdAt(ZonedDateTime.now())
+                .build();
+        List<ScoringRule> rules = Arrays.asList(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        );
+
+        Map<String, Double> expected = new HashMap<>();
+        for (ScoringRule rule : rules) {
+            expected.put(rule.getName(), rule.evaluate(lead) * rule.getWeight());
+        }
+
+        Map<String, Double> breakdown = engine.score(lead).getBreakdown();
+        assertEquals(expected, breakdown);
+        assertEquals(breakdown, expected);
+        assertEquals(expected.hashCode(), breakdown.hashCode());
+        assertNull(breakdown.get("Unknown Rule"));
+        assertEquals(List.of("Source Quality", "Vehicle Age", "Trade-In Value", "Engagement", "Recency"),
+                engine.getRuleNames());
+    }
+
+    @Test
+    void shouldCollapseRulesSharingAName() {
+        LeadScoringEngine duplicateEngine = new LeadScoringEngine(List.of(new SourceQualityRule(), new SourceQualityRule()));
+        Lead lead = TestDataBuilder.defaultLead()
+                .source(LeadSource.REFERRAL)
+                .build();
+
+        ScoringResult result = duplicateEngine.score(lead);
+
+        assertEquals(1, result.getBreakdown().size());
+        assertEquals(0.2, result.getBreakdown().get("Source Quality"), 0.01);
+        assertEquals(40.0, result.getTotalScore(), 0.01);
+        assertEquals(result.getTotalScore(), duplicateEngine.scoreTotalOnly(lead));
+    }
+}
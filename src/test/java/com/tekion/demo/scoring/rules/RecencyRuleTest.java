@@ -5,6 +5,7 @@ import com.tekion.demo.lead.Lead;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -107,5 +108,32 @@ class RecencyRuleTest {
         
         assertEquals(0.4, score);
     }
-}
 
+    @Test
+    void shouldScoreAsOfGivenInstant() {
+        ZonedDateTime created = ZonedDateTime.now().minusYears(1);
+        Lead lead = TestDataBuilder.createLeadWithCreatedAt(created);
+
+        assertEquals(1.0, rule.evaluate(lead, created.plusHours(24).toInstant()));
+        assertEquals(0.7, rule.evaluate(lead, created.plusHours(25).toInstant()));
+    }
+
+    @Test
+    void shouldStayValidUntilNextBucket() {
+        ZonedDateTime created = ZonedDateTime.now().minusYears(1);
+        Lead lead = TestDataBuilder.createLeadWithCreatedAt(created);
+
+        assertEquals(created.plusHours(25).toInstant(), rule.validUntil(lead, created.plusHours(3).toInstant()));
+        assertEquals(created.plusHours(24 * 7 + 1).toInstant(), rule.validUntil(lead, created.plusDays(2).toInstant()));
+        assertEquals(created.plusHours(24 * 30 + 1).toInstant(), rule.validUntil(lead, created.plusDays(8).toInstant()));
+        assertEquals(Instant.MAX, rule.validUntil(lead, created.plusDays(31).toInstant()));
+    }
+
+    @Test
+    void shouldGiveLowScoreWithoutCreatedAt() {
+        Lead lead = TestDataBuilder.createLeadWithCreatedAt(null);
+
+        assertEquals(0.1, rule.evaluate(lead));
+        assertEquals(Instant.MAX, rule.validUntil(lead, Instant.now()));
+    }
+}
@@ -0,0 +1,174 @@
+package com.tekion.demo.scoring.rules;
+
+import com.tekion.demo.TestDataBuilder;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadSource;
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.valueObject.VehicleInterest;
+import com.tekion.demo.scoring.ScoringResult;
+import com.tekion.demo.scoring.ScoringRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoringSessionTest {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final Instant CREATED = ZonedDateTime.of(2025, 3, 10, 9, 0, 0, 0, ZONE).toInstant();
+
+    private LeadScoringEngine engine;
+    private Lead lead;
+
+    @BeforeEach
+    void setUp() {
+        engine = new LeadScoringEngine(List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        ));
+        lead = TestDataBuilder.defaultLead()
+                .createdAt(CREATED.atZone(ZONE))
+                .vehicleInterest(new VehicleInterest("Toyota", "Camry", 2023, 5000.0))
+                .build();
+    }
+
+    @Test
+    void shouldScoreEveryLeadAsOfTheSessionInstant() {
+        ScoringSession session = engine.newSession(CREATED.plus(Duration.ofDays(3)));
+
+        ScoringResult result = session.score(lead);
+
+        // WEBSITE 0.7*0.2 + 2-year-old vehicle 0.2*0.25 + trade-in 0.4*0.25 + 0.5*0.15 + 3 days 0.7*0.15
+        assertEquals(47.0, result.getTotalScore(), 0.0001);
+        assertEquals(result.getTotalScore(), session.scoreTotalOnly(lead), 0.0001);
+        assertEquals(0.7 * 0.15, result.getBreakdown().get("Recency"), 0.0001);
+    }
+
+    @Test
+    void shouldMatchFullScoringWhenEvaluatedFromScratch() {
+        ScoringSession session = engine.newSession(CREATED.plus(Duration.ofHours(2)));
+
+        PartialScores partial = session.evaluate(lead);
+
+        assertEquals(5, partial.getEvaluatedRules());
+        assertEquals(session.score(lead).getTotalScore(), partial.getTotalScore(), 0.0);
+        assertEquals(session.score(lead), session.toResult(partial));
+    }
+
+    @Test
+    void shouldReuseEverythingWhenNothingChangedWithinBuckets() {
+        PartialScores first = engine.newSession(CREATED.plus(Duration.ofHours(2))).evaluate(lead);
+
+        PartialScores second = engine.newSession(CREATED.plus(Duration.ofHours(20))).rescore(first, lead);
+
+        assertEquals(0, second.getEvaluatedRules());
+        assertEquals(first.getTotalScore(), second.getTotalScore(), 0.0);
+    }
+
+    @Test
+    void shouldReEvaluateOnlyRulesReadingChangedInput() {
+        ScoringSession session = engine.newSession(CREATED.plus(Duration.ofHours(2)));
+        PartialScores first = session.evaluate(lead);
+
+        // Mutated in place: inputs are captured by value, so the change is still detected
+        lead.setSource(LeadSource.REFERRAL);
+        lead.setState(LeadState.CONTACTED);
+        PartialScores second = session.rescore(first, lead);
+
+        assertEquals(1, second.getEvaluatedRules());
+        assertEquals(session.score(lead).getTotalScore(), second.getTotalScore(), 0.0);
+    }
+
+    @Test
+    void shouldReEvaluateBothRulesReadingVehicleInterest() {
+        ScoringSession session = engine.newSession(CREATED.plus(Duration.ofHours(2)));
+        PartialScores first = session.evaluate(lead);
+
+        lead.setVehicleInterest(new VehicleInterest("Toyota", "Camry", 2015, 20_000.0));
+        PartialScores second = session.rescore(first, lead);
+
+        assertEquals(2, second.getEvaluatedRules());
+        assertEquals(session.score(lead).getTotalScore(), second.getTotalScore(), 0.0);
+    }
+
+    @Test
+    void shouldReEvaluateTimeRuleWhenLeadCrossesBucketBoundary() {
+        PartialScores first = engine.newSession(CREATED.plus(Duration.ofHours(2))).evaluate(lead);
+
+        ScoringSession later = engine.newSession(CREATED.plus(Duration.ofHours(25)));
+        PartialScores second = later.rescore(first, lead);
+
+        assertEquals(1, second.getEvaluatedRules());
+        assertEquals(later.score(lead).getTotalScore(), second.getTotalScore(), 0.0);
+        assertEquals(first.getTotalScore() - 0.3 * 0.15 * 100, second.getTotalScore(), 0.0001);
+    }
+
+    @Test
+    void shouldReEvaluateVehicleAgeWhenYearTurns() {
+        PartialScores first = engine.newSession(CREATED).evaluate(lead);
+
+        Instant newYear = ZonedDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZONE).toInstant();
+        PartialScores beforeNewYear = engine.newSession(newYear.minusMillis(1)).rescore(first, lead);
+        PartialScores afterNewYear = engine.newSession(newYear).rescore(beforeNewYear, lead);
+
+        // Recency already sat in its last bucket, so only the vehicle age changes at new year
+        assertEquals(1, beforeNewYear.getEvaluatedRules());
+        assertEquals(1, afterNewYear.getEvaluatedRules());
+        assertEquals(engine.newSession(newYear).score(lead).getTotalScore(), afterNewYear.getTotalScore(), 0.0);
+    }
+
+    @Test
+    void shouldReEvaluateEverythingWhenSessionIsOlderThanCachedScores() {
+        PartialScores first = engine.newSession(CREATED.plus(Duration.ofDays(3))).evaluate(lead);
+
+        PartialScores second = engine.newSession(CREATED.plus(Duration.ofHours(2))).rescore(first, lead);
+
+        assertEquals(5, second.getEvaluatedRules());
+    }
+
+    @Test
+    void shouldAlwaysReEvaluateRulesWithoutDeclaredInputs() {
+        AtomicInteger calls = new AtomicInteger();
+        ScoringRule undeclared = new ScoringRule() {
+            @Override
+            public String getName() {
+                return "Undeclared";
+            }
+
+            @Override
+            public double getWeight() {
+                return 1.0;
+            }
+
+            @Override
+            public double evaluate(Lead lead) {
+                calls.incrementAndGet();
+                return 0.5;
+            }
+        };
+        LeadScoringEngine withUndeclared = new LeadScoringEngine(List.of(new SourceQualityRule(), undeclared));
+        ScoringSession session = withUndeclared.newSession(CREATED);
+
+        PartialScores second = session.rescore(session.evaluate(lead), lead);
+
+        assertEquals(1, second.getEvaluatedRules());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldRejectPartialScoresFromAnotherEngine() {
+        PartialScores partial = new LeadScoringEngine(List.of(new EngagementRule())).newSession(CREATED).evaluate(lead);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.newSession(CREATED).rescore(partial, lead));
+    }
+}
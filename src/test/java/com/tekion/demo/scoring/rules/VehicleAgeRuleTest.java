@@ -2,9 +2,12 @@ package com.tekion.demo.scoring.rules;
 
 import com.tekion.demo.TestDataBuilder;
 import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.valueObject.VehicleInterest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -88,5 +91,33 @@ class VehicleAgeRuleTest {
         
         assertEquals(1.0, score);
     }
-}
 
+    @Test
+    void shouldScoreAsOfGivenInstant() {
+        Lead lead = TestDataBuilder.createLeadWithVehicleYear(2020);
+        ZoneId zone = ZoneId.systemDefault();
+
+        assertEquals(0.2, rule.evaluate(lead, ZonedDateTime.of(2022, 12, 31, 23, 0, 0, 0, zone).toInstant()));
+        assertEquals(0.6, rule.evaluate(lead, ZonedDateTime.of(2023, 1, 1, 0, 0, 0, 0, zone).toInstant()));
+    }
+
+    @Test
+    void shouldStayValidUntilNextYearWhileAgeCanStillChangeScore() {
+        Lead lead = TestDataBuilder.createLeadWithVehicleYear(2020);
+        ZoneId zone = ZoneId.systemDefault();
+
+        assertEquals(ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, zone).toInstant(),
+                rule.validUntil(lead, ZonedDateTime.of(2023, 6, 1, 0, 0, 0, 0, zone).toInstant()));
+        assertEquals(Instant.MAX, rule.validUntil(lead, ZonedDateTime.of(2025, 6, 1, 0, 0, 0, 0, zone).toInstant()));
+    }
+
+    @Test
+    void shouldReturnZeroForMissingYear() {
+        Lead lead = TestDataBuilder.defaultLead()
+                .vehicleInterest(new VehicleInterest("Toyota", "Camry", null, 5000.0))
+                .build();
+
+        assertEquals(0.0, rule.evaluate(lead));
+        assertEquals(Instant.MAX, rule.validUntil(lead, Instant.now()));
+    }
+}
@@ -1,17 +1,28 @@
 package com.tekion.demo.service;
 
 import com.tekion.demo.lead.*;
+import com.tekion.demo.lead.valueObject.Email;
+import com.tekion.demo.lead.valueObject.PhoneCoordinate;
 import com.tekion.demo.scoring.ScoringResult;
-import com.tekion.demo.scoring.rules.LeadScoringEngine;
+import com.tekion.demo.scoring.rules.*;
+import com.tekion.demo.service.execution.BulkExecutionStrategy;
+import com.tekion.demo.service.execution.ShardMetrics;
+import com.tekion.demo.service.execution.ShardedExecutionStrategy;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,6 +38,11 @@ class BulkScoringServiceTest {
 
     private BulkScoringService bulkScoringService;
 
+    @AfterEach
+    void tearDown() {
+        bulkScoringService.shutdown();
+    }
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -40,6 +56,10 @@ class BulkScoringServiceTest {
                     .totalScore(score)
                     .build();
         });
+        when(scoringEngine.scoreTotalOnly(any(Lead.class))).thenAnswer(invocation -> {
+            Lead lead = invocation.getArgument(0);
+            return (double) (lead.getLeadId().hashCode() % 100);
+        });
     }
 
     @Test
@@ -55,6 +75,49 @@ class BulkScoringServiceTest {
         });
     }
 
+    @Test
+    void testScoreEachDeliversEveryLeadOnCallingThread() {
+        List<Lead> leads = createTestLeads(200);
+        Thread caller = Thread.currentThread();
+        Map<String, Double> delivered = new HashMap<>();
+
+        bulkScoringService.scoreEach(leads, (lead, score) -> {
+            assertSame(caller, Thread.currentThread());
+            delivered.put(lead.getLeadId(), score.getTotalScore());
+        });
+
+        assertEquals(200, delivered.size());
+        leads.forEach(lead -> assertEquals(lead.getLeadId().hashCode() % 100, delivered.get(lead.getLeadId())));
+    }
+
+    @Test
+    void testScoreEachPropagatesScoringFailure() {
+        when(scoringEngine.score(any(Lead.class))).thenThrow(new IllegalArgumentException("bad lead"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> bulkScoringService.scoreEach(createTestLeads(3), (lead, score) -> { }));
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"fork-join", "parallel-stream", "virtual-threads"})
+    void testScoreBatchWithEachExecutionStrategy(String strategy) {
+        BulkScoringService service = new BulkScoringService(scoringEngine, BulkExecutionStrategy.of(strategy, 4));
+        try {
+            List<Lead> leads = createTestLeads(3000);
+
+            Map<String, ScoringResult> results = service.scoreBatch(leads);
+
+            assertEquals(3000, results.size());
+            leads.forEach(lead -> assertEquals(lead.getLeadId().hashCode() % 100,
+                    results.get(lead.getLeadId()).getTotalScore()));
+            assertEquals(bulkScoringService.getTopLeads(leads, 10), service.getTopLeads(leads, 10));
+            assertEquals(strategy, service.getExecutionStrategyName());
+        } finally {
+            service.shutdown();
+        }
+    }
+
     @Test
     void testScoreSequential() {
         List<Lead> leads = createTestLeads(10);
@@ -78,17 +141,24 @@ class BulkScoringServiceTest {
     }
 
     @Test
-    void testFilterByMinScore() {
-        List<Lead> leads = createTestLeads(20);
+    void testGetTopLeadsMatchesFullSort() {
+        // Several chunks and many tied scores
+        List<Lead> leads = createTestLeads(5000);
+        List<Lead> expected = leads.stream()
+                .sorted(Comparator.comparingDouble((Lead lead) -> lead.getLeadId().hashCode() % 100).reversed())
+                .limit(25)
+                .collect(Collectors.toList());
 
-        List<Lead> filteredLeads = bulkScoringService.filterByMinScore(leads, 50);
+        assertEquals(expected, bulkScoringService.getTopLeads(leads, 25));
+    }
 
-        assertTrue(filteredLeads.size() <= 20);
-        // Verify all filtered leads meet the minimum score
-        Map<String, ScoringResult> scores = bulkScoringService.scoreBatch(filteredLeads);
-        filteredLeads.forEach(lead -> {
-            assertTrue(scores.get(lead.getLeadId()).getTotalScore() >= 50);
-        });
+    @Test
+    void testGetTopLeadsWithLimitAboveBatchSize() {
+        List<Lead> leads = createTestLeads(3);
+
+        assertEquals(3, bulkScoringService.getTopLeads(leads, 10).size());
+        assertTrue(bulkScoringService.getTopLeads(leads, 0).isEmpty());
+        assertTrue(bulkScoringService.getTopLeads(new ArrayList<>(), 10).isEmpty());
     }
 
     @Test
@@ -122,6 +192,84 @@ class BulkScoringServiceTest {
         assertEquals(1, results.size());
     }
 
+    @Test
+    void testRescoreMatchesFullScoringAndPicksUpChanges() {
+        LeadScoringEngine engine = new LeadScoringEngine(List.of(
+                new SourceQualityRule(), new VehicleAgeRule(), new TradeInValueRule(),
+                new EngagementRule(), new RecencyRule()));
+        BulkExecutionStrategy strategy = BulkExecutionStrategy.of("fork-join", 2);
+        BulkScoringService service = new BulkScoringService(engine, strategy, new ScoreCache(1000));
+        try {
+            List<Lead> leads = createTestLeads(50);
+
+            Map<String, ScoringResult> first = service.rescore(leads);
+            for (Lead lead : leads) {
+                assertEquals(engine.score(lead).getTotalScore(), first.get(lead.getLeadId()).getTotalScore(), 0.0001);
+            }
+
+            leads.get(7).setSource(LeadSource.REFERRAL);
+            Map<String, ScoringResult> second = service.rescore(leads);
+
+            assertEquals(first.get("lead6"), second.get("lead6"));
+            assertEquals(first.get("lead7").getTotalScore() + 0.3 * 0.2 * 100,
+                    second.get("lead7").getTotalScore(), 0.0001);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testRepeatedScoringIsServedFromScoreCache() {
+        LeadScoringEngine engine = new LeadScoringEngine(List.of(
+                new SourceQualityRule(), new VehicleAgeRule(), new TradeInValueRule(),
+                new EngagementRule(), new RecencyRule()));
+        BulkExecutionStrategy strategy = BulkExecutionStrategy.of("fork-join", 2);
+        BulkScoringService service = new BulkScoringService(engine, strategy, new ScoreCache(1000));
+        try {
+            List<Lead> leads = createTestLeads(40);
+
+            Map<String, ScoringResult> first = service.scoreBatch(leads);
+            Map<String, ScoringResult> second = service.scoreBatch(leads);
+            List<Lead> top = service.getTopLeads(leads, 5);
+
+            assertEquals(first, second);
+            assertEquals(5, top.size());
+            ScoreCacheMetrics metrics = service.getScoreCacheMetrics();
+            assertEquals(40, metrics.getMisses());
+            assertEquals(80, metrics.getHits());
+
+            service.getPerformanceStats(leads);
+            assertEquals(80, service.getScoreCacheMetrics().getHits());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testDealerBatchesRunOnTheDealersShard() {
+        LeadScoringEngine engine = new LeadScoringEngine(List.of(new SourceQualityRule(), new RecencyRule()));
+        ShardedExecutionStrategy strategy = new ShardedExecutionStrategy(4, "fork-join", 1, 2);
+        BulkScoringService service = new BulkScoringService(engine, strategy);
+        try {
+            List<Lead> leads = createTestLeads(30);
+            int shard = strategy.shardOf("dealer001");
+
+            assertEquals(30, service.scoreBatch(leads).size());
+            assertEquals(5, service.getTopLeads(leads, 5).size());
+            assertEquals(30, service.rescore(leads).size());
+
+            List<ShardMetrics> metrics = service.getShardMetrics();
+            assertEquals(4, metrics.size());
+            assertEquals(3, metrics.get(shard).getCompletedJobs());
+            assertEquals(3, metrics.stream().mapToLong(ShardMetrics::getCompletedJobs).sum());
+            try (BulkExecutionStrategy unsharded = BulkExecutionStrategy.of("fork-join", 1)) {
+                assertTrue(new BulkScoringService(engine, unsharded).getShardMetrics().isEmpty());
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+
     private List<Lead> createTestLeads(int count) {
         List<Lead> leads = new ArrayList<>();
         for (int i = 0; i < count; i++) {
@@ -132,19 +280,9 @@ class BulkScoringServiceTest {
                     .siteId("site001")
                     .firstName("John" + i)
                     .lastName("Doe" + i)
-                    .email(Email.builder()
-                            .address("john" + i + "@example.com")
-                            .verified(true)
-                            .build())
-                    .phone(Phone.builder()
-                            .countryCode("+1")
-                            .number("555000" + String.format("%04d", i))
-                            .verified(true)
-                            .build())
-                    .source(LeadSource.builder()
-                            .channel("WEB")
-                            .campaign("test")
-                            .build())
+                    .email(new Email("john" + i + "@example.com"))
+                    .phone(new PhoneCoordinate("+1", "555000" + String.format("%04d", i)))
+                    .source(LeadSource.WEBSITE)
                     .state(LeadState.NEW)
                     .createdAt(ZonedDateTime.now())
                     .updatedAt(ZonedDateTime.now())
@@ -0,0 +1,448 @@
+package com.tekion.demo.service;
+
+import com.tekion.demo.TestDataBuilder;
+import com.tekion.demo.adapter.InMemoryLeadRepository;
+import com.tekion.demo.audit.AuditEntry;
+import com.tekion.demo.audit.AuditTrail;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadState;
+import com.tekion.demo.lead.LeadWorkflow;
+import com.tekion.demo.port.LeadPersistencePort;
+import com.tekion.demo.scoring.rules.*;
+import com.tekion.demo.service.execution.BulkExecutionStrategy;
+import com.tekion.demo.service.execution.ForkJoinExecutionStrategy;
+import com.tekion.demo.service.execution.ShardMetrics;
+import com.tekion.demo.service.execution.ShardedExecutionStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LeadStateServiceTest {
+
+    private static final int THREADS = 16;
+
+    private InMemoryLeadRepository repository;
+    private AuditTrail auditTrail;
+    private LeadStateService service;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        LeadScoringEngine engine = new LeadScoringEngine(List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        ));
+        repository = new InMemoryLeadRepository(engine);
+        auditTrail = new AuditTrail();
+        service = new LeadStateService(repository, auditTrail);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdownNow();
+        auditTrail.close();
+    }
+
+    @Test
+    void shouldTransitionAndBumpVersion() {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+
+        Lead updated = service.transitionState("lead1", "dealer123", LeadState.CONTACTED, "user1", "Called");
+
+        assertEquals(LeadState.CONTACTED, updated.getState());
+        // Created at version 1 by save, the transition makes it 2
+        assertEquals(2, updated.getVersion());
+        assertEquals(updated, repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow());
+        assertEquals(1, service.getAuditHistory("lead1").size());
+    }
+
+    @Test
+    void shouldValidateAgainstTenantWorkflow() {
+        LeadWorkflowRegistry workflows = new LeadWorkflowRegistry(Map.of(
+                "tenant2", LeadWorkflow.STANDARD.withTransitions(LeadState.NEW, Set.of(LeadState.QUALIFIED))
+                        .withTransitions(LeadState.LOST, Set.of(LeadState.NEW))));
+        LeadStateService tenantService = new LeadStateService(repository, auditTrail,
+                new ForkJoinExecutionStrategy(1), workflows);
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").tenantId("tenant1").build());
+        repository.save(TestDataBuilder.defaultLead().leadId("lead2").tenantId("tenant2").build());
+
+        assertEquals(Set.of(LeadState.QUALIFIED), tenantService.allowedNextStates("lead2", "dealer123"));
+        assertEquals(Set.of(LeadState.CONTACTED, LeadState.LOST),
+                tenantService.allowedNextStates("lead1", "dealer123"));
+
+        assertEquals(LeadState.QUALIFIED,
+                tenantService.transitionState("lead2", "dealer123", LeadState.QUALIFIED, "user1", "Walk-in").getState());
+        assertThrows(IllegalStateException.class,
+                () -> tenantService.transitionState("lead1", "dealer123", LeadState.QUALIFIED, "user1", "Walk-in"));
+
+        // LOST is terminal in the standard workflow but reopens to NEW for tenant2
+        repository.save(TestDataBuilder.defaultLead().leadId("lost1").tenantId("tenant1").state(LeadState.LOST).build());
+        repository.save(TestDataBuilder.defaultLead().leadId("lost2").tenantId("tenant2").state(LeadState.LOST).build());
+        assertTrue(tenantService.isTerminal("lost1", "dealer123"));
+        assertFalse(tenantService.isTerminal("lost2", "dealer123"));
+        assertEquals(Set.of(LeadState.NEW), tenantService.allowedNextStates("lost2", "dealer123"));
+    }
+
+    @Test
+    void shouldLetExactlyOneConcurrentTransitionWin() throws Exception {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<String> winners = runConcurrently(worker -> {
+            try {
+                service.transitionState("lead1", "dealer123", LeadState.CONTACTED, "user" + worker, "Called");
+                return "user" + worker;
+            } catch (IllegalStateException e) {
+                rejected.incrementAndGet();
+                return null;
+            }
+        });
+
+        assertEquals(1, winners.size());
+        assertEquals(THREADS - 1, rejected.get());
+        List<AuditEntry> history = service.getAuditHistory("lead1");
+        assertEquals(1, history.size());
+        assertEquals(winners.get(0), history.get(0).getActor());
+        assertEquals(2, repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow().getVersion());
+    }
+
+    @Test
+    void shouldRetryConflictsWhileTransitionStaysValid() throws Exception {
+        // Every worker marks the lead LOST from NEW or CONTACTED; whoever loses the race
+        // against a CONTACTED transition re-reads and still finds LOST valid
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+
+        List<String> winners = runConcurrently(worker -> {
+            try {
+                LeadState target = worker == 0 ? LeadState.CONTACTED : LeadState.LOST;
+                service.transitionState("lead1", "dealer123", target, "user" + worker, null);
+                return target.name();
+            } catch (IllegalStateException e) {
+                return null;
+            }
+        });
+
+        Lead lead = repository.findByIdAndDealerId("lead1", "dealer123").orElseThrow();
+        assertEquals(LeadState.LOST, lead.getState());
+        assertTrue(winners.contains("LOST"));
+        // Audit entries match the applied transitions one for one and chain correctly
+        List<AuditEntry> history = service.getAuditHistory("lead1");
+        assertEquals(winners.size(), history.size());
+        assertEquals(history.size() + 1, lead.getVersion());
+        assertEquals(LeadState.NEW, history.get(0).getFromState());
+        for (int i = 1; i < history.size(); i++) {
+            assertEquals(history.get(i - 1).getToState(), history.get(i).getFromState());
+        }
+    }
+
+    @Test
+    void shouldTransitionDifferentLeadsInParallel() throws Exception {
+        for (int i = 0; i < THREADS; i++) {
+            repository.save(TestDataBuilder.defaultLead().leadId("lead" + i).build());
+        }
+
+        List<String> done = runConcurrently(worker -> {
+            String leadId = "lead" + worker;
+            service.transitionState(leadId, "dealer123", LeadState.CONTACTED, "user", null);
+            service.transitionState(leadId, "dealer123", LeadState.QUALIFIED, "user", null);
+            service.transitionState(leadId, "dealer123", LeadState.CONVERTED, "user", null);
+            return leadId;
+        });
+
+        assertEquals(THREADS, done.size());
+        for (int i = 0; i < THREADS; i++) {
+            Lead lead = repository.findByIdAndDealerId("lead" + i, "dealer123").orElseThrow();
+            assertEquals(LeadState.CONVERTED, lead.getState());
+            assertEquals(4, lead.getVersion());
+            assertEquals(3, auditTrail.getTransitionCount("lead" + i));
+        }
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        LeadPersistencePort conflicting = mock(LeadPersistencePort.class);
+        when(conflicting.findByIdAndDealerId(anyString(), anyString()))
+                .thenAnswer(invocation -> Optional.of(TestDataBuilder.defaultLead().leadId("lead1").build()));
+        when(conflicting.saveIfVersion(any(), anyLong(), any())).thenReturn(false);
+        LeadStateService conflictingService = new LeadStateService(conflicting, auditTrail);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () ->
+                conflictingService.transitionState("lead1", "dealer123", LeadState.CONTACTED, "user1", null));
+
+        assertTrue(error.getMessage().contains("modified concurrently"));
+        verify(conflicting, times(LeadStateService.MAX_ATTEMPTS)).saveIfVersion(any(), anyLong(), any());
+        assertEquals(0, auditTrail.getTransitionCount("lead1"));
+    }
+
+    @Test
+    void shouldTransitionManyLeadsAcrossDealersInBulk() {
+        List<StateTransition> transitions = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String dealerId = "dealer" + (i % 7);
+            repository.save(TestDataBuilder.defaultLead().leadId("lead" + i).dealerId(dealerId).build());
+            transitions.add(StateTransition.builder().leadId("lead" + i).dealerId(dealerId).newState(LeadState.LOST).build());
+        }
+
+        List<TransitionOutcome> outcomes = service.transitionStates(transitions, "nightly-job", "Stale");
+
+        assertEquals(2000, outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            TransitionOutcome outcome = outcomes.get(i);
+            assertTrue(outcome.isSuccess(), outcome.getMessage());
+            assertEquals("lead" + i, outcome.getLeadId());
+            assertEquals(LeadState.NEW, outcome.getFromState());
+            assertEquals(LeadState.LOST, outcome.getToState());
+            Lead lead = repository.findByIdAndDealerId("lead" + i, "dealer" + (i % 7)).orElseThrow();
+            assertEquals(LeadState.LOST, lead.getState());
+            assertEquals(2, lead.getVersion());
+        }
+        assertEquals(2000, auditTrail.getAuditEntriesByActor("nightly-job").size());
+        assertEquals("Stale", auditTrail.getAuditHistory("lead1999").get(0).getReason());
+    }
+
+    @Test
+    void shouldReportPerItemFailuresInBulk() {
+        repository.save(TestDataBuilder.defaultLead().leadId("fresh").build());
+        repository.save(TestDataBuilder.defaultLead().leadId("converted").state(LeadState.CONVERTED).build());
+        repository.save(TestDataBuilder.defaultLead().leadId("twice").build());
+
+        List<TransitionOutcome> outcomes = service.transitionStates(List.of(
+                StateTransition.builder().leadId("fresh").dealerId("dealer123").newState(LeadState.CONTACTED).build(),
+                StateTransition.builder().leadId("converted").dealerId("dealer123").newState(LeadState.LOST).build(),
+                StateTransition.builder().leadId("missing").dealerId("dealer123").newState(LeadState.LOST).build(),
+                StateTransition.builder().leadId("twice").dealerId("dealer123").newState(LeadState.CONTACTED).build(),
+                StateTransition.builder().leadId("fresh").dealerId("dealer123").newState(LeadState.LOST).build(),
+                StateTransition.builder().leadId("twice").dealerId("dealer123").newState(LeadState.QUALIFIED).build(),
+                StateTransition.builder().leadId("fresh").dealerId("dealer123").build()
+        ), "user1", null);
+
+        assertTrue(outcomes.get(0).isSuccess());
+        assertFalse(outcomes.get(1).isSuccess());
+        assertEquals(LeadState.CONVERTED, outcomes.get(1).getFromState());
+        assertTrue(outcomes.get(1).getMessage().contains("Invalid state transition"));
+        assertFalse(outcomes.get(2).isSuccess());
+        assertTrue(outcomes.get(2).getMessage().contains("Lead not found"));
+        // Repeats of the same lead apply in request order
+        assertTrue(outcomes.get(3).isSuccess());
+        assertTrue(outcomes.get(4).isSuccess());
+        assertEquals(LeadState.CONTACTED, outcomes.get(4).getFromState());
+        assertTrue(outcomes.get(5).isSuccess());
+        assertFalse(outcomes.get(6).isSuccess());
+
+        assertEquals(LeadState.LOST, repository.findByIdAndDealerId("fresh", "dealer123").orElseThrow().getState());
+        assertEquals(LeadState.QUALIFIED, repository.findByIdAndDealerId("twice", "dealer123").orElseThrow().getState());
+        assertEquals(2, auditTrail.getTransitionCount("fresh"));
+        assertEquals(0, auditTrail.getTransitionCount("converted"));
+    }
+
+    @Test
+    void shouldSaveEachRoundWithOneBatchedWriteNoLargerThanAnAuditBatch(@TempDir Path directory) throws Exception {
+        AuditTrail smallTrail = new AuditTrail(directory.toString(), 4, 2);
+        InMemoryLeadRepository spied = spy(repository);
+        List<StateTransition> transitions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            repository.save(TestDataBuilder.defaultLead().leadId("lead" + i).build());
+            transitions.add(StateTransition.builder().leadId("lead" + i).dealerId("dealer123").newState(LeadState.CONTACTED).build());
+        }
+        // Repeats of lead0 go into later rounds
+        transitions.add(StateTransition.builder().leadId("lead0").dealerId("dealer123").newState(LeadState.QUALIFIED).build());
+        transitions.add(StateTransition.builder().leadId("lead0").dealerId("dealer123").newState(LeadState.CONVERTED).build());
+
+        try (ForkJoinExecutionStrategy strategy = new ForkJoinExecutionStrategy(1)) {
+            List<TransitionOutcome> outcomes = new LeadStateService(spied, smallTrail, strategy)
+                    .transitionStates(transitions, "job", null);
+
+            assertTrue(outcomes.stream().allMatch(TransitionOutcome::isSuccess));
+            assertEquals(LeadState.CONVERTED, repository.findByIdAndDealerId("lead0", "dealer123").orElseThrow().getState());
+            assertEquals(List.of(LeadState.CONTACTED, LeadState.QUALIFIED, LeadState.CONVERTED),
+                    smallTrail.getAuditHistory("lead0").stream().map(AuditEntry::getToState).toList());
+            assertEquals(22, smallTrail.getAuditEntriesByActor("job").size());
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<Lead>> rounds = ArgumentCaptor.forClass((Class<List<Lead>>) (Class<?>) List.class);
+            verify(spied, atLeastOnce()).saveAllIfVersion(rounds.capture(), any(), any());
+            assertTrue(rounds.getAllValues().stream().allMatch(round -> round.size() <= smallTrail.getMaxBatchSize()));
+        } finally {
+            smallTrail.close();
+        }
+    }
+
+    @Test
+    void shouldReportLeadsCommittedBeforeABulkWriteFailedAsTransitioned() {
+        // Commits the first lead of each round, then fails like a store losing its connection
+        InMemoryLeadRepository failing = new InMemoryLeadRepository(new LeadScoringEngine(List.of(new SourceQualityRule()))) {
+            @Override
+            public boolean[] saveAllIfVersion(List<Lead> leads, long[] expectedVersions, IntConsumer onCommit) {
+                saveIfVersion(leads.get(0), expectedVersions[0], () -> onCommit.accept(0));
+                throw new IllegalStateException("Failed to persist batch");
+            }
+        };
+        failing.save(TestDataBuilder.defaultLead().leadId("lead1").build());
+        failing.save(TestDataBuilder.defaultLead().leadId("lead2").build());
+
+        List<TransitionOutcome> outcomes = new LeadStateService(failing, auditTrail).transitionStates(List.of(
+                StateTransition.builder().leadId("lead1").dealerId("dealer123").newState(LeadState.CONTACTED).build(),
+                StateTransition.builder().leadId("lead2").dealerId("dealer123").newState(LeadState.CONTACTED).build()
+        ), "job", null);
+
+        assertTrue(outcomes.get(0).isSuccess());
+        assertEquals(LeadState.NEW, outcomes.get(0).getFromState());
+        assertFalse(outcomes.get(1).isSuccess());
+        assertEquals("Failed to persist batch", outcomes.get(1).getMessage());
+        assertEquals(LeadState.CONTACTED, failing.findByIdAndDealerId("lead1", "dealer123").orElseThrow().getState());
+        assertEquals(LeadState.NEW, failing.findByIdAndDealerId("lead2", "dealer123").orElseThrow().getState());
+        assertEquals(1, auditTrail.getAuditHistory("lead1").size());
+        assertTrue(auditTrail.getAuditHistory("lead2").isEmpty());
+    }
+
+    @Test
+    void shouldGiveUpOnABulkItemAfterMaxAttempts() {
+        LeadPersistencePort conflicting = mock(LeadPersistencePort.class);
+        when(conflicting.findByIdAndDealerId(anyString(), anyString()))
+                .thenAnswer(invocation -> Optional.of(TestDataBuilder.defaultLead().leadId("lead1").build()));
+        when(conflicting.saveIfVersion(any(), anyLong(), any())).thenReturn(false);
+        when(conflicting.saveAllIfVersion(any(), any(), any())).thenCallRealMethod();
+
+        List<TransitionOutcome> outcomes = new LeadStateService(conflicting, auditTrail).transitionStates(List.of(
+                StateTransition.builder().leadId("lead1").dealerId("dealer123").newState(LeadState.CONTACTED).build()
+        ), "job", null);
+
+        assertFalse(outcomes.get(0).isSuccess());
+        assertTrue(outcomes.get(0).getMessage().contains("modified concurrently"));
+        verify(conflicting, times(LeadStateService.MAX_ATTEMPTS)).saveIfVersion(any(), anyLong(), any());
+        assertEquals(0, auditTrail.getTransitionCount("lead1"));
+    }
+
+    @Test
+    void shouldRejectMissingBulkItems() {
+        assertThrows(IllegalArgumentException.class, () -> service.transitionStates(null, "job", null));
+    }
+
+    @Test
+    void shouldRunEachDealersTransitionsOnItsOwnShard() {
+        List<StateTransition> transitions = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            String dealerId = "dealer" + (i % 7);
+            repository.save(TestDataBuilder.defaultLead().leadId("lead" + i).dealerId(dealerId).build());
+            transitions.add(StateTransition.builder().leadId("lead" + i).dealerId(dealerId).newState(LeadState.LOST).build());
+        }
+
+        try (ShardedExecutionStrategy sharded = new ShardedExecutionStrategy(4, "fork-join", 1, 2)) {
+            LeadStateService shardedService = new LeadStateService(repository, auditTrail, sharded);
+            assertTrue(shardedService.transitionStates(transitions, "job", null).stream()
+                    .allMatch(TransitionOutcome::isSuccess));
+
+            // One job per dealer, each counted on the dealer's shard
+            long[] expected = new long[4];
+            for (int d = 0; d < 7; d++) {
+                expected[sharded.shardOf("dealer" + d)]++;
+            }
+            List<ShardMetrics> metrics = sharded.getMetrics();
+            for (int shard = 0; shard < 4; shard++) {
+                assertEquals(expected[shard], metrics.get(shard).getCompletedJobs());
+            }
+        }
+    }
+
+    @Test
+    void shouldFailOnlyTheItemsOfADealerWhoseShardIsFull() {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").dealerId("busyDealer").build());
+        repository.save(TestDataBuilder.defaultLead().leadId("lead2").dealerId("quietDealer").build());
+        try (BulkExecutionStrategy strategy = rejecting("busyDealer")) {
+            LeadStateService busyService = new LeadStateService(repository, auditTrail, strategy);
+
+            List<TransitionOutcome> outcomes = busyService.transitionStates(List.of(
+                    StateTransition.builder().leadId("lead1").dealerId("busyDealer").newState(LeadState.LOST).build(),
+                    StateTransition.builder().leadId("lead2").dealerId("quietDealer").newState(LeadState.LOST).build()
+            ), "job", null);
+
+            assertFalse(outcomes.get(0).isSuccess());
+            assertEquals("shard full", outcomes.get(0).getMessage());
+            assertTrue(outcomes.get(1).isSuccess());
+            assertEquals(LeadState.NEW, repository.findByIdAndDealerId("lead1", "busyDealer").orElseThrow().getState());
+
+            // Nothing applied at all: the caller is told to retry
+            assertThrows(RejectedExecutionException.class, () -> busyService.transitionStates(List.of(
+                    StateTransition.builder().leadId("lead1").dealerId("busyDealer").newState(LeadState.LOST).build()
+            ), "job", null));
+            assertEquals(0, auditTrail.getTransitionCount("lead1"));
+        }
+    }
+
+    private static BulkExecutionStrategy rejecting(String busyDealer) {
+        ForkJoinExecutionStrategy delegate = new ForkJoinExecutionStrategy(1);
+        return new BulkExecutionStrategy() {
+            @Override
+            public <T, R> List<R> mapChunks(List<T> items, ChunkTask<T, R> task) {
+                return delegate.mapChunks(items, task);
+            }
+
+            @Override
+            public <T, R> List<R> mapChunks(String dealerId, List<T> items, ChunkTask<T, R> task) {
+                if (busyDealer.equals(dealerId)) {
+                    throw new RejectedExecutionException("shard full");
+                }
+                return delegate.mapChunks(items, task);
+            }
+
+            @Override
+            public String getName() {
+                return "rejecting";
+            }
+
+            @Override
+            public void close() {
+                delegate.close();
+            }
+        };
+    }
+
+    private List<String> runConcurrently(Worker worker) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int w = 0; w < THREADS; w++) {
+            int id = w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return worker.run(id);
+            }));
+        }
+        start.countDown();
+        List<String> results = new ArrayList<>();
+        for (Future<String> future : futures) {
+            String result = future.get(30, TimeUnit.SECONDS);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        String run(int worker) throws Exception;
+    }
+}
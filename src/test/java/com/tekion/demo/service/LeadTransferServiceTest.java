@@ -0,0 +1,248 @@
+package com.tekion.demo.service;
+
+import com.tekion.demo.TestDataBuilder;
+import com.tekion.demo.adapter.InMemoryLeadRepository;
+import com.tekion.demo.adapter.LeadBinaryCodec;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.valueObject.Email;
+import com.tekion.demo.scoring.rules.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeadTransferServiceTest {
+
+    private LeadScoringEngine engine;
+    private List<Integer> batches;
+    private InMemoryLeadRepository repository;
+    private LeadTransferService service;
+
+    @BeforeEach
+    void setUp() {
+        engine = new LeadScoringEngine(List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        ));
+        batches = new ArrayList<>();
+        repository = new InMemoryLeadRepository(engine) {
+            @Override
+            public List<Lead> saveAll(List<Lead> leads) {
+                batches.add(leads.size());
+                return super.saveAll(leads);
+            }
+
+            @Override
+            public boolean[] saveAllIfVersion(List<Lead> leads, long[] expectedVersions, IntConsumer onCommit) {
+                batches.add(leads.size());
+                return super.saveAllIfVersion(leads, expectedVersions, onCommit);
+            }
+        };
+        service = new LeadTransferService(repository, 4);
+    }
+
+    @Test
+    void shouldImportLeadsInBatches() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        for (int i = 0; i < 10; i++) {
+            LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead" + i).build());
+        }
+
+        LeadImportResult result = service.importLeads(new ByteArrayInputStream(body.toByteArray()));
+
+        assertEquals(10, result.getImported());
+        assertEquals(0, result.getRejected());
+        assertTrue(result.isComplete());
+        assertEquals(List.of(4, 4, 2), batches);
+        assertEquals(10, repository.findByDealerId("dealer123").size());
+    }
+
+    @Test
+    void shouldRejectInvalidRecordsAndKeepImportingTheRest() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead1").build());
+        // Same length as a valid address, so only the email check fails
+        writeRaw(out, withBadEmail(TestDataBuilder.defaultLead().leadId("lead2").email(new Email("john@example.com")).build()));
+        LeadBinaryCodec.writeFrame(out, Lead.builder().leadId("lead3").build());
+        writeRaw(out, new byte[]{9, 9, 9});
+        LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead5").build());
+
+        LeadImportResult result = service.importLeads(new ByteArrayInputStream(body.toByteArray()));
+
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertTrue(result.isComplete());
+        assertEquals(3, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Record 1: Invalid email"), result.getErrors().get(0));
+        assertTrue(result.getErrors().get(1).startsWith("Record 2: leadId and dealerId are required"));
+        assertTrue(result.getErrors().get(2).startsWith("Record 3: "));
+        assertTrue(repository.findByIdAndDealerId("lead5", "dealer123").isPresent());
+    }
+
+    @Test
+    void shouldSkipStoredLeadsUnlessAskedToOverwrite() throws IOException {
+        repository.save(TestDataBuilder.defaultLead().leadId("lead1").firstName("Stored").build());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead1").firstName("Imported").version(7).build());
+        LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead2").version(7).build());
+
+        LeadImportResult skipped = service.importLeads(new ByteArrayInputStream(body.toByteArray()));
+
+        assertEquals(1, skipped.getImported());
+        assertEquals(1, skipped.getConflicts());
+        assertEquals("Stored", repository.findByIdAndDealerId("lead1", "dealer123").get().getFirstName());
+        assertEquals(1, repository.findByIdAndDealerId("lead2", "dealer123").get().getVersion());
+
+        LeadImportResult overwritten = service.importLeads(new ByteArrayInputStream(body.toByteArray()), ImportPolicy.OVERWRITE);
+
+        assertEquals(2, overwritten.getImported());
+        assertEquals(0, overwritten.getConflicts());
+        Lead lead1 = repository.findByIdAndDealerId("lead1", "dealer123").get();
+        assertEquals("Imported", lead1.getFirstName());
+        assertEquals(2, lead1.getVersion());
+    }
+
+    @Test
+    void shouldSplitBatchOnRepeatedLead() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead1").build());
+        LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead2").build());
+        LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead1").build());
+
+        LeadImportResult result = service.importLeads(new ByteArrayInputStream(body.toByteArray()));
+
+        assertEquals(List.of(2, 1), batches);
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getConflicts());
+    }
+
+    @Test
+    void shouldReportFailedBatchAndKeepImporting() throws IOException {
+        InMemoryLeadRepository flaky = new InMemoryLeadRepository(engine) {
+            private int calls;
+
+            @Override
+            public boolean[] saveAllIfVersion(List<Lead> leads, long[] expectedVersions, IntConsumer onCommit) {
+                if (calls++ == 0) {
+                    throw new IllegalStateException("Failed to persist batch of " + leads.size() + " leads");
+                }
+                return super.saveAllIfVersion(leads, expectedVersions, onCommit);
+            }
+        };
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        for (int i = 0; i < 6; i++) {
+            LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead" + i).build());
+        }
+
+        LeadImportResult result = new LeadTransferService(flaky, 4)
+                .importLeads(new ByteArrayInputStream(body.toByteArray()));
+
+        assertEquals(2, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertTrue(result.isComplete());
+        assertEquals(List.of("Records 0-3: Failed to persist batch of 4 leads"), result.getErrors());
+        assertTrue(flaky.findByIdAndDealerId("lead0", "dealer123").isEmpty());
+        assertTrue(flaky.findByIdAndDealerId("lead5", "dealer123").isPresent());
+    }
+
+    @Test
+    void shouldRejectRecordWithUnknownZoneId() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead1").build());
+        byte[] record = LeadBinaryCodec.encode(TestDataBuilder.defaultLead().leadId("lead2")
+                .createdAt(ZonedDateTime.now(ZoneId.of("Europe/Paris")))
+                .build());
+        writeRaw(out, replaced(record, "Europe/Paris", "Europe/Parix"));
+        LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead3").build());
+
+        LeadImportResult result = service.importLeads(new ByteArrayInputStream(body.toByteArray()));
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.isComplete());
+        assertTrue(result.getErrors().get(0).startsWith("Record 1: "), result.getErrors().get(0));
+        assertTrue(repository.findByIdAndDealerId("lead2", "dealer123").isEmpty());
+    }
+
+    @Test
+    void shouldKeepLeadsReadBeforeATruncatedFrame() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        for (int i = 0; i < 6; i++) {
+            LeadBinaryCodec.writeFrame(out, TestDataBuilder.defaultLead().leadId("lead" + i).build());
+        }
+        byte[] truncated = Arrays.copyOf(body.toByteArray(), body.size() - 10);
+
+        LeadImportResult result = service.importLeads(new ByteArrayInputStream(truncated));
+
+        assertFalse(result.isComplete());
+        assertEquals(5, result.getImported());
+        assertEquals(0, result.getRejected());
+        assertEquals("Stream unreadable after record 5: EOFException", result.getErrors().get(0));
+    }
+
+    @Test
+    void shouldExportEveryLeadOfTheDealerInImportFormat() throws IOException {
+        for (int i = 0; i < 2_345; i++) {
+            repository.save(TestDataBuilder.defaultLead().leadId("lead" + i).build());
+        }
+        repository.save(TestDataBuilder.defaultLead().leadId("other").dealerId("dealer456").build());
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int exported = service.exportLeads("dealer123", body);
+
+        InMemoryLeadRepository target = new InMemoryLeadRepository(engine);
+        LeadImportResult result = new LeadTransferService(target, 1000)
+                .importLeads(new ByteArrayInputStream(body.toByteArray()));
+        assertEquals(2_345, exported);
+        assertEquals(2_345, result.getImported());
+        assertEquals(repository.findByIdAndDealerId("lead42", "dealer123"), target.findByIdAndDealerId("lead42", "dealer123"));
+        assertTrue(target.findByDealerId("dealer456").isEmpty());
+    }
+
+    @Test
+    void shouldRejectNonPositiveBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new LeadTransferService(repository, 0));
+    }
+
+    private static byte[] withBadEmail(Lead lead) {
+        return replaced(LeadBinaryCodec.encode(lead), "john@example.com", "john#example.com");
+    }
+
+    private static byte[] replaced(byte[] record, String from, String to) {
+        byte[] target = from.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i + target.length <= record.length; i++) {
+            if (Arrays.equals(record, i, i + target.length, target, 0, target.length)) {
+                System.arraycopy(to.getBytes(StandardCharsets.UTF_8), 0, record, i, target.length);
+                return record;
+            }
+        }
+        throw new IllegalStateException(from + " not found in record");
+    }
+
+    private static void writeRaw(DataOutputStream out, byte[] record) throws IOException {
+        out.writeInt(record.length);
+        out.write(record);
+    }
+}
@@ -0,0 +1,147 @@
+package com.tekion.demo.service;
+
+import com.tekion.demo.TestDataBuilder;
+import com.tekion.demo.adapter.InMemoryLeadRepository;
+import com.tekion.demo.lead.Lead;
+import com.tekion.demo.lead.LeadSource;
+import com.tekion.demo.scoring.ScoringResult;
+import com.tekion.demo.scoring.rules.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreCacheTest {
+
+    private static final Instant NOW = ZonedDateTime.now().toInstant();
+
+    private LeadScoringEngine engine;
+    private InMemoryLeadRepository repository;
+    private ScoreCache cache;
+
+    @BeforeEach
+    void setUp() {
+        engine = new LeadScoringEngine(List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        ));
+        repository = new InMemoryLeadRepository(engine);
+        cache = new ScoreCache(repository, 1000);
+    }
+
+    @Test
+    void shouldServeRepeatedScoresFromCache() {
+        Lead lead = lead("lead1");
+        ScoringSession session = engine.newSession(NOW);
+
+        ScoringResult first = cache.score(lead, session);
+        ScoringResult second = cache.score(lead, engine.newSession(NOW.plusSeconds(5)));
+
+        assertSame(first, second);
+        assertEquals(session.score(lead), first);
+        ScoreCacheMetrics metrics = cache.getMetrics();
+        assertEquals(1, metrics.getHits());
+        assertEquals(1, metrics.getMisses());
+        assertEquals(1, metrics.getSize());
+        assertEquals(0.5, metrics.getHitRate());
+    }
+
+    @Test
+    void shouldInvalidateOnSave() {
+        Lead lead = lead("lead1");
+        repository.save(lead);
+        ScoringResult first = cache.score(lead, engine.newSession(NOW));
+
+        lead.setSource(LeadSource.REFERRAL);
+        repository.save(lead);
+        ScoringResult second = cache.score(lead, engine.newSession(NOW));
+
+        assertNotSame(first, second);
+        assertEquals(first.getTotalScore() + 0.3 * 0.2 * 100, second.getTotalScore(), 0.0001);
+        assertEquals(1, cache.getMetrics().getInvalidations());
+        assertEquals(2, cache.getMetrics().getMisses());
+    }
+
+    @Test
+    void shouldMissWhenVersionOrUpdatedAtDiffers() {
+        Lead lead = lead("lead1");
+        cache.score(lead, engine.newSession(NOW));
+
+        lead.setVersion(1);
+        cache.score(lead, engine.newSession(NOW));
+        lead.setUpdatedAt(lead.getUpdatedAt().plusSeconds(1));
+        cache.score(lead, engine.newSession(NOW));
+
+        assertEquals(0, cache.getMetrics().getHits());
+        assertEquals(3, cache.getMetrics().getMisses());
+    }
+
+    @Test
+    void shouldExpireWhenRecencyBucketChanges() {
+        Lead lead = lead("lead1");
+        ScoringResult fresh = cache.score(lead, engine.newSession(NOW));
+
+        ScoringSession dayLater = engine.newSession(NOW.plus(Duration.ofHours(26)));
+        ScoringResult older = cache.score(lead, dayLater);
+
+        assertEquals(fresh.getTotalScore() - 0.3 * 0.15 * 100, older.getTotalScore(), 0.0001);
+        assertEquals(dayLater.score(lead), older);
+        assertEquals(1, cache.getMetrics().getExpirations());
+        assertEquals(0, cache.getMetrics().getHits());
+    }
+
+    @Test
+    void shouldRescoreFromCachedPartialScoresUntilTheLeadIsSaved() {
+        Lead lead = lead("lead1");
+        repository.save(lead);
+        int rules = engine.getRuleNames().size();
+
+        assertEquals(rules, cache.rescore(lead, engine.newSession(NOW)).getEvaluatedRules());
+        assertEquals(0, cache.rescore(lead, engine.newSession(NOW.plusSeconds(5))).getEvaluatedRules());
+        assertEquals(1, cache.getMetrics().getSize());
+
+        repository.save(lead);
+
+        assertEquals(rules, cache.rescore(lead, engine.newSession(NOW)).getEvaluatedRules());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondCapacity() {
+        ScoreCache small = new ScoreCache(16);
+        ScoringSession session = engine.newSession(NOW);
+        for (int i = 0; i < 200; i++) {
+            small.score(lead("lead" + i), session);
+        }
+
+        ScoreCacheMetrics metrics = small.getMetrics();
+        assertTrue(metrics.getSize() <= 16);
+        assertEquals(200 - metrics.getSize(), metrics.getEvictions());
+    }
+
+    @Test
+    void shouldNotStoreAnythingWhenDisabled() {
+        ScoreCache disabled = new ScoreCache(0);
+        Lead lead = lead("lead1");
+
+        disabled.score(lead, engine.newSession(NOW));
+        disabled.score(lead, engine.newSession(NOW));
+
+        assertEquals(0, disabled.getMetrics().getSize());
+        assertEquals(2, disabled.getMetrics().getMisses());
+    }
+
+    private Lead lead(String leadId) {
+        return TestDataBuilder.defaultLead()
+                .leadId(leadId)
+                .createdAt(NOW.atZone(ZonedDateTime.now().getZone()))
+                .build();
+    }
+}
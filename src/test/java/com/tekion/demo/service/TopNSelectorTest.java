@@ -0,0 +1,52 @@
+package com.tekion.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopNSelectorTest {
+
+    @Test
+    void shouldKeepHighestScoresBestFirst() {
+        TopNSelector selector = new TopNSelector(3);
+        double[] scores = {10, 50, 20, 90, 40, 70};
+        for (int i = 0; i < scores.length; i++) {
+            selector.offer(i, scores[i]);
+        }
+
+        assertArrayEquals(new int[]{3, 5, 1}, selector.positions());
+    }
+
+    @Test
+    void shouldPreferEarlierPositionOnTies() {
+        TopNSelector selector = new TopNSelector(2);
+        selector.offer(4, 80);
+        selector.offer(1, 80);
+        selector.offer(7, 80);
+        selector.offer(0, 80);
+
+        assertArrayEquals(new int[]{0, 1}, selector.positions());
+    }
+
+    @Test
+    void shouldMergePartialSelections() {
+        TopNSelector first = new TopNSelector(2);
+        first.offer(0, 30);
+        first.offer(1, 60);
+        TopNSelector second = new TopNSelector(2);
+        second.offer(2, 90);
+        second.offer(3, 10);
+
+        first.merge(second);
+
+        assertArrayEquals(new int[]{2, 1}, first.positions());
+    }
+
+    @Test
+    void shouldKeepNothingForZeroLimit() {
+        TopNSelector selector = new TopNSelector(0);
+        selector.offer(0, 100);
+
+        assertEquals(0, selector.positions().length);
+    }
+}
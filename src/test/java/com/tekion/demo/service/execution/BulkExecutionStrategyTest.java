@@ -0,0 +1,66 @@
+package com.tekion.demo.service.execution;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkExecutionStrategyTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"fork-join", "parallel-stream", "virtual-threads"})
+    void shouldCoverEveryItemOnceInOrder(String name) {
+        List<Integer> items = IntStream.range(0, 10_007).boxed().collect(Collectors.toList());
+
+        try (BulkExecutionStrategy strategy = BulkExecutionStrategy.of(name, 4)) {
+            List<List<Integer>> chunks = strategy.mapChunks(items, (chunk, offset) -> {
+                assertEquals(items.get(offset), chunk.get(0));
+                return new ArrayList<>(chunk);
+            });
+
+            List<Integer> flattened = chunks.stream().flatMap(List::stream).collect(Collectors.toList());
+            assertEquals(items, flattened);
+            assertEquals(name, strategy.getName());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"fork-join", "parallel-stream", "virtual-threads"})
+    void shouldReturnNoChunksForEmptyInput(String name) {
+        try (BulkExecutionStrategy strategy = BulkExecutionStrategy.of(name, 2)) {
+            assertTrue(strategy.mapChunks(List.of(), (chunk, offset) -> chunk.size()).isEmpty());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"fork-join", "parallel-stream", "virtual-threads"})
+    void shouldRethrowTaskFailure(String name) {
+        List<Integer> items = IntStream.range(0, 5_000).boxed().collect(Collectors.toList());
+
+        try (BulkExecutionStrategy strategy = BulkExecutionStrategy.of(name, 4)) {
+            assertThrows(IllegalArgumentException.class, () -> strategy.mapChunks(items, (chunk, offset) -> {
+                if (chunk.contains(4_321)) throw new IllegalArgumentException("bad item");
+                return chunk.size();
+            }));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"fork-join", "parallel-stream", "virtual-threads"})
+    void shouldAllowRepeatedClose(String name) {
+        BulkExecutionStrategy strategy = BulkExecutionStrategy.of(name, 2);
+        strategy.close();
+        assertDoesNotThrow(strategy::close);
+    }
+
+    @Test
+    void shouldRejectUnknownStrategy() {
+        assertThrows(IllegalArgumentException.class, () -> BulkExecutionStrategy.of("fixed-pool", 2));
+    }
+}
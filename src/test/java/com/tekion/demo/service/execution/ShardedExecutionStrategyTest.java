@@ -0,0 +1,151 @@
+package com.tekion.demo.service.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test for dealer isolation: a noisy dealer saturating its shard must not slow a quiet
+ * dealer on another shard, while the same load on a shared pool starves the quiet dealer
+ */
+class ShardedExecutionStrategyTest {
+
+    private static final List<Integer> ITEMS = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+    private volatile boolean releaseNoisy;
+    private final AtomicInteger spinning = new AtomicInteger();
+
+    @Test
+    void shouldKeepQuietDealerResponsiveWhileNoisyDealerSaturatesItsShard() throws Exception {
+        ExecutorService callers = Executors.newCachedThreadPool();
+        try (ShardedExecutionStrategy strategy = new ShardedExecutionStrategy(2, "fork-join", 1, 2)) {
+            String noisy = dealerOnShard(strategy, 0);
+            String quiet = dealerOnShard(strategy, 1);
+
+            // Two long jobs fill the noisy shard's single thread and its queue
+            List<Future<?>> noisyJobs = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                noisyJobs.add(callers.submit(() -> strategy.mapChunks(noisy, ITEMS, (chunk, offset) -> spinUntilReleased())));
+            }
+            waitForActiveJobs(strategy, 0, 2);
+
+            // Further noisy work is turned away instead of queueing behind the first two
+            assertThrows(RejectedExecutionException.class,
+                    () -> strategy.mapChunks(noisy, ITEMS, (chunk, offset) -> chunk.size()));
+
+            // The quiet dealer keeps getting every job through, each well inside a second
+            long slowestNanos = 0;
+            for (int i = 0; i < 50; i++) {
+                long started = System.nanoTime();
+                List<Integer> sizes = strategy.mapChunks(quiet, ITEMS, (chunk, offset) -> chunk.size());
+                slowestNanos = Math.max(slowestNanos, System.nanoTime() - started);
+                assertEquals(100, sizes.stream().mapToInt(Integer::intValue).sum());
+            }
+            assertTrue(slowestNanos < TimeUnit.SECONDS.toNanos(1), "Slowest quiet job took " + slowestNanos + " ns");
+
+            releaseNoisy = true;
+            for (Future<?> job : noisyJobs) {
+                job.get(10, TimeUnit.SECONDS);
+            }
+
+            List<ShardMetrics> metrics = strategy.getMetrics();
+            assertEquals(2, metrics.get(0).getCompletedJobs());
+            assertEquals(1, metrics.get(0).getRejectedJobs());
+            assertEquals(50, metrics.get(1).getCompletedJobs());
+            assertEquals(0, metrics.get(1).getRejectedJobs());
+            assertEquals(0, metrics.get(0).getActiveJobs());
+        } finally {
+            releaseNoisy = true;
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldStarveQuietDealerWhenAllDealersShareOnePool() throws Exception {
+        ExecutorService callers = Executors.newCachedThreadPool();
+        try (BulkExecutionStrategy shared = BulkExecutionStrategy.of("fork-join", 2)) {
+            List<Future<?>> noisyJobs = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                noisyJobs.add(callers.submit(() -> shared.mapChunks("noisy", ITEMS, (chunk, offset) -> spinUntilReleased())));
+            }
+            // Both pool threads must be busy before the quiet job arrives
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (spinning.get() < 2) {
+                assertTrue(System.nanoTime() < deadline, "Noisy jobs did not start");
+                Thread.sleep(5);
+            }
+
+            CompletableFuture<List<Integer>> quietJob = CompletableFuture.supplyAsync(
+                    () -> shared.mapChunks("quiet", ITEMS, (chunk, offset) -> chunk.size()), callers);
+
+            assertThrows(TimeoutException.class, () -> quietJob.get(Duration.ofMillis(300).toMillis(), TimeUnit.MILLISECONDS));
+
+            releaseNoisy = true;
+            assertEquals(List.of(100), quietJob.get(10, TimeUnit.SECONDS));
+            for (Future<?> job : noisyJobs) {
+                job.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            releaseNoisy = true;
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRouteUnkeyedWorkToFirstShardAndSkipEmptyInput() {
+        try (ShardedExecutionStrategy strategy = new ShardedExecutionStrategy(3, "parallel-stream", 1, 1)) {
+            assertEquals(List.of(100), strategy.mapChunks(ITEMS, (chunk, offset) -> chunk.size()));
+            assertTrue(strategy.mapChunks("dealer001", List.of(), (chunk, offset) -> chunk.size()).isEmpty());
+
+            List<ShardMetrics> metrics = strategy.getMetrics();
+            assertEquals(3, metrics.size());
+            assertEquals(1, metrics.get(0).getCompletedJobs());
+            assertEquals(0, metrics.get(1).getCompletedJobs() + metrics.get(2).getCompletedJobs());
+            assertEquals("sharded-parallel-stream", strategy.getName());
+        }
+    }
+
+    @Test
+    void shouldRejectNonPositiveQueueCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedExecutionStrategy(2, "fork-join", 1, 0));
+    }
+
+    // Spins rather than blocks so the pool cannot compensate with an extra thread
+    private int spinUntilReleased() {
+        spinning.incrementAndGet();
+        while (!releaseNoisy) {
+            Thread.onSpinWait();
+        }
+        return 0;
+    }
+
+    private static String dealerOnShard(ShardedExecutionStrategy strategy, int shard) {
+        for (int i = 0; ; i++) {
+            if (strategy.shardOf("dealer" + i) == shard) {
+                return "dealer" + i;
+            }
+        }
+    }
+
+    private static void waitForActiveJobs(ShardedExecutionStrategy strategy, int shard, int jobs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (strategy.getMetrics().get(shard).getActiveJobs() < jobs) {
+            assertTrue(System.nanoTime() < deadline, "Noisy jobs were not admitted");
+            Thread.sleep(5);
+        }
+    }
+}
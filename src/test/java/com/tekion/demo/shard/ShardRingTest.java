@@ -0,0 +1,60 @@
+package com.tekion.demo.shard;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRingTest {
+
+    @Test
+    void shouldMapEachKeyToTheSameShardEveryTime() {
+        ShardRing ring = new ShardRing(8);
+        ShardRing other = new ShardRing(8);
+
+        for (int i = 0; i < 1_000; i++) {
+            int shard = ring.shardFor("dealer" + i);
+            assertTrue(shard >= 0 && shard < 8);
+            assertEquals(shard, ring.shardFor("dealer" + i));
+            assertEquals(shard, other.shardFor("dealer" + i));
+        }
+    }
+
+    @Test
+    void shouldSpreadSimilarDealerIdsEvenly() {
+        ShardRing ring = new ShardRing(8);
+        int[] counts = new int[8];
+        for (int i = 0; i < 80_000; i++) {
+            counts[ring.shardFor(String.format("dealer%03d", i))]++;
+        }
+
+        for (int count : counts) {
+            assertTrue(count > 10_000 * 0.75 && count < 10_000 * 1.25, "Unbalanced shard: " + count);
+        }
+    }
+
+    @Test
+    void shouldMoveOnlyKeysOwnedByTheNewShardWhenGrowing() {
+        ShardRing before = new ShardRing(4);
+        ShardRing after = new ShardRing(5);
+        int moved = 0;
+        for (int i = 0; i < 50_000; i++) {
+            String dealerId = "dealer" + i;
+            int from = before.shardFor(dealerId);
+            int to = after.shardFor(dealerId);
+            if (from != to) {
+                assertEquals(4, to);
+                moved++;
+            }
+        }
+
+        // About a fifth of the keys should move to the fifth shard
+        assertTrue(moved > 50_000 * 0.15 && moved < 50_000 * 0.25, "Moved " + moved);
+    }
+
+    @Test
+    void shouldRejectNonPositiveShardCount() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardRing(0));
+        assertEquals(1, new ShardRing(1).getShardCount());
+        assertEquals(0, new ShardRing(1).shardFor("dealer001"));
+    }
+}